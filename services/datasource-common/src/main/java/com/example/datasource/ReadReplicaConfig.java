@@ -0,0 +1,113 @@
+package com.example.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Sends {@code @Transactional(readOnly = true)} work, which includes Spring Data's own finder
+ * methods, to the read replicas listed in {@code datasource.replicas.urls}; everything else goes to
+ * the primary. With no replicas configured the primary pool is used directly.
+ *
+ * <p>Routing happens in {@link LazyConnectionDataSourceProxy}: the physical connection is only
+ * fetched at the first statement, after the transaction has marked it read-only. Replicas use the
+ * primary's driver, credentials and driver properties.
+ *
+ * <p>Shared by every service and picked up by their component scan of {@code com.example}. The
+ * {@code datasource.replicas.healthy} gauge and {@code datasource.replicas.fallbacks} counter are
+ * registered in services that have a {@link MeterRegistry}.
+ */
+@Configuration
+public class ReadReplicaConfig {
+
+  @Value("${datasource.replicas.urls}")
+  private List<String> replicaUrls;
+
+  @Value("${datasource.replicas.max-lag-seconds}")
+  private long maxLagSeconds;
+
+  @Value("${datasource.replicas.health-check-interval-ms}")
+  private long healthCheckIntervalMs;
+
+  @Value("${datasource.replicas.lag-query}")
+  private String lagQuery;
+
+  @Value("${datasource.replicas.lag-column}")
+  private String lagColumn;
+
+  @Bean
+  @ConfigurationProperties("spring.datasource.hikari")
+  public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+    return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+  }
+
+  @Bean
+  public ReplicaRoutingDataSource replicaDataSource(
+      HikariDataSource primaryDataSource,
+      DataSourceProperties properties,
+      ObjectProvider<MeterRegistry> meterRegistry) {
+    List<DataSource> replicas = new ArrayList<>();
+    for (String url : replicaUrls) {
+      if (url.isBlank()) {
+        continue;
+      }
+      HikariDataSource replica =
+          properties.initializeDataSourceBuilder().type(HikariDataSource.class).url(url).build();
+      replica.setPoolName("replica-" + (replicas.size() + 1));
+      replica.setDataSourceProperties(primaryDataSource.getDataSourceProperties());
+      replica.setReadOnly(true);
+      replicas.add(replica);
+    }
+    ReplicaRoutingDataSource replicaDataSource =
+        new ReplicaRoutingDataSource(
+            primaryDataSource,
+            replicas,
+            lagQuery,
+            lagColumn,
+            Duration.ofSeconds(maxLagSeconds),
+            Duration.ofMillis(healthCheckIntervalMs));
+    if (!replicas.isEmpty()) {
+      replicaDataSource.start();
+    }
+    meterRegistry.ifAvailable(registry -> registerMetrics(replicaDataSource, registry));
+    return replicaDataSource;
+  }
+
+  @Bean
+  @Primary
+  public DataSource dataSource(
+      HikariDataSource primaryDataSource, ReplicaRoutingDataSource replicaDataSource) {
+    if (replicaDataSource.replicaCount() == 0) {
+      return primaryDataSource;
+    }
+    LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+    dataSource.setReadOnlyDataSource(replicaDataSource);
+    return dataSource;
+  }
+
+  private static void registerMetrics(
+      ReplicaRoutingDataSource replicaDataSource, MeterRegistry meterRegistry) {
+    Gauge.builder(
+            "datasource.replicas.healthy",
+            replicaDataSource,
+            ReplicaRoutingDataSource::healthyReplicas)
+        .register(meterRegistry);
+    FunctionCounter.builder(
+            "datasource.replicas.fallbacks", replicaDataSource, ReplicaRoutingDataSource::fallbacks)
+        .description("Read-only connections served by the primary because no replica was healthy")
+        .register(meterRegistry);
+  }
+}
@@ -0,0 +1,177 @@
+package com.example.datasource;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+/**
+ * Read-only side of the primary/replica split. Connections come from healthy replicas in rotation,
+ * or from the primary when no replica is healthy.
+ *
+ * <p>A replica is healthy when {@code lagQuery} succeeds on it and reports a lag, read from {@code
+ * lagColumn} of its first row, of at most {@code maxLag}. No row or a {@code NULL} lag (replication
+ * stopped) counts as unhealthy. The check runs every {@code checkInterval} once {@link #start} is
+ * called. A replica that fails to hand out a connection leaves the rotation until its next
+ * successful check. Replicas start out unhealthy, so nothing reads from them before they have been
+ * checked.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+  private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+  private final DataSource primary;
+  private final List<Replica> replicas;
+  private final String lagQuery;
+  private final String lagColumn;
+  private final long maxLagSeconds;
+  private final Duration checkInterval;
+
+  private final AtomicInteger next = new AtomicInteger();
+  private final LongAdder fallbacks = new LongAdder();
+  private ScheduledExecutorService healthChecker;
+
+  public ReplicaRoutingDataSource(
+      DataSource primary,
+      List<DataSource> replicas,
+      String lagQuery,
+      String lagColumn,
+      Duration maxLag,
+      Duration checkInterval) {
+    this.primary = primary;
+    this.replicas = replicas.stream().map(Replica::new).toList();
+    this.lagQuery = lagQuery;
+    this.lagColumn = lagColumn;
+    this.maxLagSeconds = maxLag.toSeconds();
+    this.checkInterval = checkInterval;
+  }
+
+  /** Checks every replica once, then keeps checking them in the background. */
+  public void start() {
+    checkHealth();
+    healthChecker =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "replica-health-check");
+              thread.setDaemon(true);
+              return thread;
+            });
+    healthChecker.scheduleWithFixedDelay(
+        this::checkHealth,
+        checkInterval.toMillis(),
+        checkInterval.toMillis(),
+        TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void close() {
+    if (healthChecker != null) {
+      healthChecker.shutdownNow();
+    }
+    for (Replica replica : replicas) {
+      if (replica.dataSource instanceof AutoCloseable closeable) {
+        try {
+          closeable.close();
+        } catch (Exception e) {
+          log.warn("Failed to close replica data source", e);
+        }
+      }
+    }
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    int start = next.getAndIncrement();
+    for (int i = 0; i < replicas.size(); i++) {
+      Replica replica = replicas.get(Math.floorMod(start + i, replicas.size()));
+      if (!replica.healthy) {
+        continue;
+      }
+      try {
+        return replica.dataSource.getConnection();
+      } catch (SQLException e) {
+        replica.markDown("connection failed: " + e.getMessage());
+      }
+    }
+    fallbacks.increment();
+    return primary.getConnection();
+  }
+
+  /**
+   * Replica pools are set up with the primary's credentials, so a connection for other credentials
+   * comes from the primary.
+   */
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    return primary.getConnection(username, password);
+  }
+
+  public int replicaCount() {
+    return replicas.size();
+  }
+
+  public int healthyReplicas() {
+    return (int) replicas.stream().filter(replica -> replica.healthy).count();
+  }
+
+  /** Number of read-only connections served by the primary because no replica was healthy. */
+  public long fallbacks() {
+    return fallbacks.sum();
+  }
+
+  /** Runs the lag check on every replica once and updates the rotation. */
+  public void checkHealth() {
+    for (Replica replica : replicas) {
+      try (Connection connection = replica.dataSource.getConnection();
+          Statement statement = connection.createStatement()) {
+        statement.setQueryTimeout((int) Math.max(1, checkInterval.toSeconds()));
+        try (ResultSet rs = statement.executeQuery(lagQuery)) {
+          Long lag = rs.next() ? rs.getObject(lagColumn, Long.class) : null;
+          if (lag == null) {
+            replica.markDown("replication is not running");
+          } else if (lag > maxLagSeconds) {
+            replica.markDown("lagging " + lag + "s behind");
+          } else {
+            replica.markUp();
+          }
+        }
+      } catch (SQLException | RuntimeException e) {
+        replica.markDown("health check failed: " + e.getMessage());
+      }
+    }
+  }
+
+  private static final class Replica {
+    private final DataSource dataSource;
+    private volatile boolean healthy;
+
+    private Replica(DataSource dataSource) {
+      this.dataSource = dataSource;
+    }
+
+    private void markUp() {
+      if (!healthy) {
+        log.info("Read replica {} is back in rotation", dataSource);
+      }
+      healthy = true;
+    }
+
+    private void markDown(String reason) {
+      if (healthy) {
+        log.warn("Read replica {} taken out of rotation: {}", dataSource, reason);
+      }
+      healthy = false;
+    }
+  }
+}
@@ -0,0 +1,71 @@
+package com.example.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+@DisplayName("ReadReplicaConfig Tests")
+class ReadReplicaConfigTest {
+
+  private final ApplicationContextRunner contextRunner =
+      new ApplicationContextRunner()
+          .withInitializer(
+              context ->
+                  context
+                      .getBeanFactory()
+                      .setConversionService(ApplicationConversionService.getSharedInstance()))
+          .withConfiguration(AutoConfigurations.of(DataSourceAutoConfiguration.class))
+          .withUserConfiguration(ReadReplicaConfig.class)
+          .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+          .withPropertyValues(
+              "spring.datasource.url=jdbc:h2:mem:config-primary",
+              "datasource.replicas.max-lag-seconds=5",
+              "datasource.replicas.health-check-interval-ms=60000",
+              "datasource.replicas.lag-query=SELECT 0 AS seconds",
+              "datasource.replicas.lag-column=seconds");
+
+  @Test
+  @DisplayName("Should use the primary pool directly when no replicas are configured")
+  void shouldUseThePrimaryPoolDirectlyWhenNoReplicasAreConfigured() {
+    contextRunner
+        .withPropertyValues("datasource.replicas.urls=")
+        .run(
+            context -> {
+              assertThat(context.getBean(DataSource.class))
+                  .isSameAs(context.getBean("primaryDataSource"));
+              assertThat(context.getBean(ReplicaRoutingDataSource.class).replicaCount()).isZero();
+            });
+  }
+
+  @Test
+  @DisplayName("Should route through a lazy proxy when replicas are configured")
+  void shouldRouteThroughALazyProxyWhenReplicasAreConfigured() {
+    contextRunner
+        .withPropertyValues(
+            "datasource.replicas.urls=jdbc:h2:mem:config-replica-1,jdbc:h2:mem:config-replica-2")
+        .run(
+            context -> {
+              assertThat(context.getBean(DataSource.class))
+                  .isInstanceOf(LazyConnectionDataSourceProxy.class);
+              ReplicaRoutingDataSource replicas = context.getBean(ReplicaRoutingDataSource.class);
+              assertThat(replicas.replicaCount()).isEqualTo(2);
+              assertThat(replicas.healthyReplicas()).isEqualTo(2);
+              assertThat(
+                      context
+                          .getBean(MeterRegistry.class)
+                          .get("datasource.replicas.healthy")
+                          .gauge()
+                          .value())
+                  .isEqualTo(2);
+            });
+  }
+}
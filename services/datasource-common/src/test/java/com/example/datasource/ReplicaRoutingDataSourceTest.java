@@ -0,0 +1,203 @@
+package com.example.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@DisplayName("ReplicaRoutingDataSource Tests")
+class ReplicaRoutingDataSourceTest {
+
+  private final List<EmbeddedDatabase> databases = new ArrayList<>();
+
+  private EmbeddedDatabase primary;
+
+  @BeforeEach
+  void setUp() {
+    primary = database("primary");
+  }
+
+  @AfterEach
+  void tearDown() {
+    databases.forEach(EmbeddedDatabase::shutdown);
+  }
+
+  private EmbeddedDatabase database(String name) {
+    EmbeddedDatabase database =
+        new EmbeddedDatabaseBuilder()
+            .setType(EmbeddedDatabaseType.H2)
+            .generateUniqueName(true)
+            .build();
+    JdbcTemplate jdbc = new JdbcTemplate(database);
+    jdbc.execute("CREATE TABLE node (name VARCHAR(16))");
+    jdbc.update("INSERT INTO node VALUES (?)", name);
+    jdbc.execute("CREATE TABLE replica_lag (seconds BIGINT)");
+    jdbc.update("INSERT INTO replica_lag VALUES (0)");
+    databases.add(database);
+    return database;
+  }
+
+  private ReplicaRoutingDataSource routing(DataSource... replicas) {
+    ReplicaRoutingDataSource routing =
+        new ReplicaRoutingDataSource(
+            primary,
+            List.of(replicas),
+            "SELECT seconds FROM replica_lag",
+            "seconds",
+            Duration.ofSeconds(5),
+            Duration.ofSeconds(1));
+    routing.checkHealth();
+    return routing;
+  }
+
+  private String readNode(ReplicaRoutingDataSource routing, boolean readOnly) {
+    LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+    dataSource.setReadOnlyDataSource(routing);
+    TransactionTemplate transaction =
+        new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    transaction.setReadOnly(readOnly);
+    return transaction.execute(
+        status ->
+            new JdbcTemplate(dataSource).queryForObject("SELECT name FROM node", String.class));
+  }
+
+  private static void setLag(EmbeddedDatabase replica, Long seconds) {
+    new JdbcTemplate(replica).update("UPDATE replica_lag SET seconds = ?", seconds);
+  }
+
+  @Test
+  @DisplayName("Should send read-only transactions to the replica and the rest to the primary")
+  void shouldSendReadOnlyTransactionsToTheReplicaAndTheRestToThePrimary() {
+    ReplicaRoutingDataSource routing = routing(database("replica"));
+
+    assertThat(readNode(routing, true)).isEqualTo("replica");
+    assertThat(readNode(routing, false)).isEqualTo("primary");
+    assertThat(routing.fallbacks()).isZero();
+  }
+
+  @Test
+  @DisplayName("Should rotate read-only connections across healthy replicas")
+  void shouldRotateReadOnlyConnectionsAcrossHealthyReplicas() {
+    ReplicaRoutingDataSource routing = routing(database("replica-1"), database("replica-2"));
+
+    List<String> nodes = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      nodes.add(readNode(routing, true));
+    }
+
+    assertThat(nodes).containsExactly("replica-1", "replica-2", "replica-1", "replica-2");
+  }
+
+  @Test
+  @DisplayName("Should fall back to the primary while the replica lags beyond the tolerance")
+  void shouldFallBackToThePrimaryWhileTheReplicaLagsBeyondTheTolerance() {
+    EmbeddedDatabase replica = database("replica");
+    ReplicaRoutingDataSource routing = routing(replica);
+
+    setLag(replica, 30L);
+    routing.checkHealth();
+
+    assertThat(routing.healthyReplicas()).isZero();
+    assertThat(readNode(routing, true)).isEqualTo("primary");
+    assertThat(routing.fallbacks()).isEqualTo(1);
+
+    setLag(replica, 5L);
+    routing.checkHealth();
+
+    assertThat(readNode(routing, true)).isEqualTo("replica");
+  }
+
+  @Test
+  @DisplayName("Should treat a replica that reports no lag as unhealthy")
+  void shouldTreatAReplicaThatReportsNoLagAsUnhealthy() {
+    EmbeddedDatabase replica = database("replica");
+    setLag(replica, null);
+
+    ReplicaRoutingDataSource routing = routing(replica);
+
+    assertThat(routing.healthyReplicas()).isZero();
+    assertThat(readNode(routing, true)).isEqualTo("primary");
+  }
+
+  @Test
+  @DisplayName("Should skip a replica that stops handing out connections until it recovers")
+  void shouldSkipAReplicaThatStopsHandingOutConnectionsUntilItRecovers() {
+    FlakyDataSource flaky = new FlakyDataSource(database("replica-1"));
+    ReplicaRoutingDataSource routing = routing(flaky, database("replica-2"));
+
+    flaky.down = true;
+    List<String> nodes = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      nodes.add(readNode(routing, true));
+    }
+
+    assertThat(nodes).containsOnly("replica-2");
+    assertThat(routing.healthyReplicas()).isEqualTo(1);
+
+    flaky.down = false;
+    routing.checkHealth();
+
+    assertThat(routing.healthyReplicas()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("Should use the primary when no replica is configured")
+  void shouldUseThePrimaryWhenNoReplicaIsConfigured() {
+    ReplicaRoutingDataSource routing = routing();
+
+    assertThat(readNode(routing, true)).isEqualTo("primary");
+  }
+
+  @Test
+  @DisplayName("Should serve connections for explicit credentials from the primary")
+  void shouldServeConnectionsForExplicitCredentialsFromThePrimary() throws SQLException {
+    ReplicaRoutingDataSource routing = routing(database("replica"));
+
+    try (Connection connection = routing.getConnection("sa", "");
+        Statement statement = connection.createStatement();
+        ResultSet rs = statement.executeQuery("SELECT name FROM node")) {
+      assertThat(rs.next()).isTrue();
+      assertThat(rs.getString("name")).isEqualTo("primary");
+    }
+  }
+
+  private static final class FlakyDataSource extends AbstractDataSource {
+    private final DataSource target;
+    private volatile boolean down;
+
+    private FlakyDataSource(DataSource target) {
+      this.target = target;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+      if (down) {
+        throw new SQLException("Connection refused");
+      }
+      return target.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) {
+      throw new UnsupportedOperationException();
+    }
+  }
+}
@@ -5,13 +5,26 @@ import java.time.LocalDateTime;
 import lombok.*;
 
 @Entity
-@Table(name = "notifications")
+@Table(
+    name = "notifications",
+    indexes = {
+      @Index(name = "idx_notifications_created_at", columnList = "created_at"),
+      @Index(name = "idx_notifications_short_code", columnList = "short_code")
+    })
 @Getter
 @Setter
 @NoArgsConstructor
 public class NotificationModel {
+  /** Ids are leased from {@code id_sequence} in blocks so Hibernate can batch inserts. */
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.TABLE, generator = "notifications_id")
+  @TableGenerator(
+      name = "notifications_id",
+      table = "id_sequence",
+      pkColumnName = "name",
+      valueColumnName = "last_id",
+      pkColumnValue = "notifications",
+      allocationSize = 50)
   private Long id;
 
   private String message;
@@ -19,13 +32,17 @@ public class NotificationModel {
   @Column(name = "short_code")
   private String shortCode;
 
-  @ManyToOne
-  @JoinColumn(name = "notification_type_id", nullable = false)
-  private NotificationTypeModel type;
+  /**
+   * Id of the {@link NotificationTypeModel}, kept as a plain column so that neither saving nor
+   * listing notifications touches the lookup table. See {@link
+   * com.example.service.NotificationLookupRegistry}.
+   */
+  @Column(name = "notification_type_id", nullable = false)
+  private Integer typeId;
 
-  @ManyToOne
-  @JoinColumn(name = "notification_status_id", nullable = false)
-  private NotificationStatusModel status;
+  /** Id of the {@link NotificationStatusModel}, see {@link #typeId}. */
+  @Column(name = "notification_status_id", nullable = false)
+  private Integer statusId;
 
   @Column(name = "created_at")
   private LocalDateTime createdAt = LocalDateTime.now();
@@ -19,24 +19,20 @@ import org.springframework.stereotype.Service;
 public class GrpcNotificationService extends NotificationServiceGrpc.NotificationServiceImplBase {
 
   private final NotificationRepository notificationRepo;
-  private final NotificationTypeRepository notificationTypeRepo;
-  private final NotificationStatusRepository notificationStatusRepo;
+  private final NotificationLookupRegistry lookupRegistry;
 
   public GrpcNotificationService(
-      NotificationRepository notificationRepo,
-      NotificationTypeRepository notificationTypeRepo,
-      NotificationStatusRepository notificationStatusRepo) {
+      NotificationRepository notificationRepo, NotificationLookupRegistry lookupRegistry) {
     this.notificationRepo = notificationRepo;
-    this.notificationTypeRepo = notificationTypeRepo;
-    this.notificationStatusRepo = notificationStatusRepo;
+    this.lookupRegistry = lookupRegistry;
   }
 
   @Override
   public void notify(NotificationRequest req, StreamObserver<NotificationReply> responseObserver) {
     try {
-      NotificationTypeModel typeModel =
-          notificationTypeRepo
-              .findByName(req.getNotificationType().name())
+      int typeId =
+          lookupRegistry
+              .typeId(req.getNotificationType())
               .orElseThrow(
                   () ->
                       Status.NOT_FOUND
@@ -44,9 +40,9 @@ public class GrpcNotificationService extends NotificationServiceGrpc.Notificatio
                               "Notification Type not found in DB: " + req.getNotificationType())
                           .asRuntimeException());
 
-      NotificationStatusModel statusModel =
-          notificationStatusRepo
-              .findByName("SUCCESS")
+      int statusId =
+          lookupRegistry
+              .statusId(NotificationStatus.SUCCESS)
               .orElseThrow(
                   () ->
                       Status.FAILED_PRECONDITION
@@ -64,8 +60,8 @@ public class GrpcNotificationService extends NotificationServiceGrpc.Notificatio
 
       NotificationModel notificationModel = new NotificationModel();
       notificationModel.setMessage(req.getMessage());
-      notificationModel.setType(typeModel);
-      notificationModel.setStatus(statusModel);
+      notificationModel.setTypeId(typeId);
+      notificationModel.setStatusId(statusId);
 
       if (req.hasShortCode()) notificationModel.setShortCode(req.getShortCode());
 
@@ -195,8 +191,8 @@ public class GrpcNotificationService extends NotificationServiceGrpc.Notificatio
         Notification.newBuilder()
             .setId(notification.getId())
             .setMessage(notification.getMessage())
-            .setNotificationType(NotificationType.valueOf(notification.getType().getName()))
-            .setNotificationStatus(NotificationStatus.valueOf(notification.getStatus().getName()))
+            .setNotificationType(lookupRegistry.type(notification.getTypeId()))
+            .setNotificationStatus(lookupRegistry.status(notification.getStatusId()))
             .setCreatedAt(createdAt);
 
     if (notification.getShortCode() != null) {
@@ -0,0 +1,85 @@
+package com.example.service;
+
+import com.example.grpc.notification.NotificationStatus;
+import com.example.grpc.notification.NotificationType;
+import com.example.model.NotificationStatusModel;
+import com.example.model.NotificationTypeModel;
+import com.example.repository.NotificationStatusRepository;
+import com.example.repository.NotificationTypeRepository;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ids of the rows in {@code notification_types} and {@code notification_statuses}, read once at
+ * startup. Both tables are seeded by a migration and never change at runtime, so notifications are
+ * written and read with plain foreign-key ids instead of looking the rows up or joining them.
+ *
+ * <p>Rows whose name is not a value of the gRPC enum are ignored.
+ */
+@Component
+public class NotificationLookupRegistry {
+
+  private final Map<NotificationType, Integer> typeIds;
+  private final Map<Integer, NotificationType> typesById;
+  private final Map<NotificationStatus, Integer> statusIds;
+  private final Map<Integer, NotificationStatus> statusesById;
+
+  public NotificationLookupRegistry(
+      NotificationTypeRepository notificationTypeRepo,
+      NotificationStatusRepository notificationStatusRepo) {
+    Map<NotificationType, Integer> types = new EnumMap<>(NotificationType.class);
+    Map<Integer, NotificationType> typesById = new HashMap<>();
+    for (NotificationTypeModel row : notificationTypeRepo.findAll()) {
+      for (NotificationType type : NotificationType.values()) {
+        if (type != NotificationType.UNRECOGNIZED && type.name().equals(row.getName())) {
+          types.put(type, row.getId());
+          typesById.put(row.getId(), type);
+        }
+      }
+    }
+
+    Map<NotificationStatus, Integer> statuses = new EnumMap<>(NotificationStatus.class);
+    Map<Integer, NotificationStatus> statusesById = new HashMap<>();
+    for (NotificationStatusModel row : notificationStatusRepo.findAll()) {
+      for (NotificationStatus status : NotificationStatus.values()) {
+        if (status != NotificationStatus.UNRECOGNIZED && status.name().equals(row.getName())) {
+          statuses.put(status, row.getId());
+          statusesById.put(row.getId(), status);
+        }
+      }
+    }
+
+    this.typeIds = Collections.unmodifiableMap(types);
+    this.typesById = Map.copyOf(typesById);
+    this.statusIds = Collections.unmodifiableMap(statuses);
+    this.statusesById = Map.copyOf(statusesById);
+  }
+
+  public Optional<Integer> typeId(NotificationType type) {
+    return Optional.ofNullable(typeIds.get(type));
+  }
+
+  public Optional<Integer> statusId(NotificationStatus status) {
+    return Optional.ofNullable(statusIds.get(status));
+  }
+
+  public NotificationType type(int id) {
+    NotificationType type = typesById.get(id);
+    if (type == null) {
+      throw new IllegalStateException("Unknown notification type id " + id);
+    }
+    return type;
+  }
+
+  public NotificationStatus status(int id) {
+    NotificationStatus status = statusesById.get(id);
+    if (status == null) {
+      throw new IllegalStateException("Unknown notification status id " + id);
+    }
+    return status;
+  }
+}
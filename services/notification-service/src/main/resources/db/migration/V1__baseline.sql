@@ -0,0 +1,30 @@
+-- Schema as previously created by Hibernate's ddl-auto=update. IF NOT EXISTS lets this run as a
+-- no-op against databases that already have it.
+
+CREATE TABLE IF NOT EXISTS notification_types (
+    id INT NOT NULL AUTO_INCREMENT,
+    name VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_notification_types_name UNIQUE (name)
+);
+
+CREATE TABLE IF NOT EXISTS notification_statuses (
+    id INT NOT NULL AUTO_INCREMENT,
+    name VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_notification_statuses_name UNIQUE (name)
+);
+
+CREATE TABLE IF NOT EXISTS notifications (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    message VARCHAR(255),
+    short_code VARCHAR(255),
+    notification_type_id INT NOT NULL,
+    notification_status_id INT NOT NULL,
+    created_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_notifications_type FOREIGN KEY (notification_type_id)
+        REFERENCES notification_types (id),
+    CONSTRAINT fk_notifications_status FOREIGN KEY (notification_status_id)
+        REFERENCES notification_statuses (id)
+);
@@ -0,0 +1,5 @@
+-- One index per sortBy accepted by GetAllNotifications; id is covered by the primary key, which
+-- InnoDB also appends to each index below as the tie-break.
+
+CREATE INDEX idx_notifications_created_at ON notifications (created_at);
+CREATE INDEX idx_notifications_short_code ON notifications (short_code);
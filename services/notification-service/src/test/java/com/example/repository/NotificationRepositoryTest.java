@@ -55,16 +55,16 @@ class NotificationRepositoryTest {
     NotificationModel notification = new NotificationModel();
     notification.setMessage("Test notification");
     notification.setShortCode("abc123");
-    notification.setType(testType);
-    notification.setStatus(testStatus);
+    notification.setTypeId(testType.getId());
+    notification.setStatusId(testStatus.getId());
 
     NotificationModel savedNotification = notificationRepository.save(notification);
 
     assertThat(savedNotification.getId()).isNotNull();
     assertThat(savedNotification.getMessage()).isEqualTo("Test notification");
     assertThat(savedNotification.getShortCode()).isEqualTo("abc123");
-    assertThat(savedNotification.getType().getName()).isEqualTo("NEWURL");
-    assertThat(savedNotification.getStatus().getName()).isEqualTo("SUCCESS");
+    assertThat(savedNotification.getTypeId()).isEqualTo(testType.getId());
+    assertThat(savedNotification.getStatusId()).isEqualTo(testStatus.getId());
     assertThat(savedNotification.getCreatedAt()).isNotNull();
   }
 
@@ -73,8 +73,8 @@ class NotificationRepositoryTest {
   void shouldFindNotificationById() {
     NotificationModel notification = new NotificationModel();
     notification.setMessage("Test message");
-    notification.setType(testType);
-    notification.setStatus(testStatus);
+    notification.setTypeId(testType.getId());
+    notification.setStatusId(testStatus.getId());
 
     NotificationModel saved = entityManager.persistAndFlush(notification);
 
@@ -98,8 +98,8 @@ class NotificationRepositoryTest {
   void shouldSaveNotificationWithoutShortCode() {
     NotificationModel notification = new NotificationModel();
     notification.setMessage("Notification without short code");
-    notification.setType(testType);
-    notification.setStatus(testStatus);
+    notification.setTypeId(testType.getId());
+    notification.setStatusId(testStatus.getId());
 
     NotificationModel saved = notificationRepository.save(notification);
 
@@ -113,13 +113,13 @@ class NotificationRepositoryTest {
   void shouldFindAllNotifications() {
     NotificationModel notification1 = new NotificationModel();
     notification1.setMessage("First notification");
-    notification1.setType(testType);
-    notification1.setStatus(testStatus);
+    notification1.setTypeId(testType.getId());
+    notification1.setStatusId(testStatus.getId());
 
     NotificationModel notification2 = new NotificationModel();
     notification2.setMessage("Second notification");
-    notification2.setType(testType);
-    notification2.setStatus(testStatus);
+    notification2.setTypeId(testType.getId());
+    notification2.setStatusId(testStatus.getId());
 
     entityManager.persistAndFlush(notification1);
     entityManager.persistAndFlush(notification2);
@@ -135,8 +135,8 @@ class NotificationRepositoryTest {
     for (int i = 0; i < 15; i++) {
       NotificationModel notification = new NotificationModel();
       notification.setMessage("Notification " + i);
-      notification.setType(testType);
-      notification.setStatus(testStatus);
+      notification.setTypeId(testType.getId());
+      notification.setStatusId(testStatus.getId());
       entityManager.persist(notification);
     }
     entityManager.flush();
@@ -154,14 +154,14 @@ class NotificationRepositoryTest {
   void shouldFindNotificationsSortedByIdDescending() {
     NotificationModel notification1 = new NotificationModel();
     notification1.setMessage("First");
-    notification1.setType(testType);
-    notification1.setStatus(testStatus);
+    notification1.setTypeId(testType.getId());
+    notification1.setStatusId(testStatus.getId());
     entityManager.persistAndFlush(notification1);
 
     NotificationModel notification2 = new NotificationModel();
     notification2.setMessage("Second");
-    notification2.setType(testType);
-    notification2.setStatus(testStatus);
+    notification2.setTypeId(testType.getId());
+    notification2.setStatusId(testStatus.getId());
     entityManager.persistAndFlush(notification2);
 
     PageRequest pageable = PageRequest.of(0, 10, Sort.by("id").descending());
@@ -176,8 +176,8 @@ class NotificationRepositoryTest {
   void shouldDeleteNotification() {
     NotificationModel notification = new NotificationModel();
     notification.setMessage("To be deleted");
-    notification.setType(testType);
-    notification.setStatus(testStatus);
+    notification.setTypeId(testType.getId());
+    notification.setStatusId(testStatus.getId());
 
     NotificationModel saved = entityManager.persistAndFlush(notification);
     Long id = saved.getId();
@@ -194,13 +194,13 @@ class NotificationRepositoryTest {
   void shouldCountAllNotifications() {
     NotificationModel notification1 = new NotificationModel();
     notification1.setMessage("First");
-    notification1.setType(testType);
-    notification1.setStatus(testStatus);
+    notification1.setTypeId(testType.getId());
+    notification1.setStatusId(testStatus.getId());
 
     NotificationModel notification2 = new NotificationModel();
     notification2.setMessage("Second");
-    notification2.setType(testType);
-    notification2.setStatus(testStatus);
+    notification2.setTypeId(testType.getId());
+    notification2.setStatusId(testStatus.getId());
 
     entityManager.persistAndFlush(notification1);
     entityManager.persistAndFlush(notification2);
@@ -215,8 +215,8 @@ class NotificationRepositoryTest {
   void shouldUpdateNotificationMessage() {
     NotificationModel notification = new NotificationModel();
     notification.setMessage("Original message");
-    notification.setType(testType);
-    notification.setStatus(testStatus);
+    notification.setTypeId(testType.getId());
+    notification.setStatusId(testStatus.getId());
 
     NotificationModel saved = entityManager.persistAndFlush(notification);
     Long id = saved.getId();
@@ -239,12 +239,12 @@ class NotificationRepositoryTest {
 
     NotificationModel notification = new NotificationModel();
     notification.setMessage("Threshold notification");
-    notification.setType(thresholdType);
-    notification.setStatus(testStatus);
+    notification.setTypeId(thresholdType.getId());
+    notification.setStatusId(testStatus.getId());
 
     NotificationModel saved = notificationRepository.save(notification);
 
-    assertThat(saved.getType().getName()).isEqualTo("THRESHOLD");
+    assertThat(saved.getTypeId()).isEqualTo(thresholdType.getId());
   }
 
   @Test
@@ -256,12 +256,12 @@ class NotificationRepositoryTest {
 
     NotificationModel notification = new NotificationModel();
     notification.setMessage("Pending notification");
-    notification.setType(testType);
-    notification.setStatus(pendingStatus);
+    notification.setTypeId(testType.getId());
+    notification.setStatusId(pendingStatus.getId());
 
     NotificationModel saved = notificationRepository.save(notification);
 
-    assertThat(saved.getStatus().getName()).isEqualTo("PENDING");
+    assertThat(saved.getStatusId()).isEqualTo(pendingStatus.getId());
   }
 
   @Test
@@ -271,8 +271,8 @@ class NotificationRepositoryTest {
 
     NotificationModel notification = new NotificationModel();
     notification.setMessage("Test timestamp");
-    notification.setType(testType);
-    notification.setStatus(testStatus);
+    notification.setTypeId(testType.getId());
+    notification.setStatusId(testStatus.getId());
 
     NotificationModel saved = notificationRepository.save(notification);
     LocalDateTime after = LocalDateTime.now();
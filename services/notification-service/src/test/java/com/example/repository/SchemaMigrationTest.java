@@ -0,0 +1,62 @@
+package com.example.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.model.NotificationStatusModel;
+import com.example.model.NotificationTypeModel;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Runs the Flyway migrations against H2 in MySQL mode and lets Hibernate validate the entities
+ * against the result.
+ */
+@DataJpaTest
+@DisplayName("Schema Migration Tests")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(
+    locations = "classpath:application-test.properties",
+    properties = {
+      "spring.datasource.url=jdbc:h2:mem:migrationdb;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+      "spring.flyway.enabled=true",
+      "spring.jpa.hibernate.ddl-auto=validate"
+    })
+class SchemaMigrationTest {
+
+  private final Flyway flyway;
+  private final NotificationTypeRepository notificationTypeRepository;
+  private final NotificationStatusRepository notificationStatusRepository;
+
+  @Autowired
+  public SchemaMigrationTest(
+      Flyway flyway,
+      NotificationTypeRepository notificationTypeRepository,
+      NotificationStatusRepository notificationStatusRepository) {
+    this.flyway = flyway;
+    this.notificationTypeRepository = notificationTypeRepository;
+    this.notificationStatusRepository = notificationStatusRepository;
+  }
+
+  @Test
+  @DisplayName("Should apply every migration")
+  void shouldApplyEveryMigration() {
+    assertThat(flyway.info().pending()).isEmpty();
+    assertThat(flyway.info().applied()).hasSize(4);
+  }
+
+  @Test
+  @DisplayName("Should seed notification types and statuses")
+  void shouldSeedNotificationTypesAndStatuses() {
+    assertThat(notificationTypeRepository.findAll())
+        .extracting(NotificationTypeModel::getName)
+        .containsExactlyInAnyOrder("NEWURL", "THRESHOLD", "NEWUSER");
+    assertThat(notificationStatusRepository.findAll())
+        .extracting(NotificationStatusModel::getName)
+        .containsExactlyInAnyOrder("PENDING", "SUCCESS", "FAILURE");
+  }
+}
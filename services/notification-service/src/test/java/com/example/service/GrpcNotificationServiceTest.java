@@ -16,13 +16,12 @@ import io.grpc.StatusRuntimeException;
 import io.grpc.stub.StreamObserver;
 import java.time.LocalDateTime;
 import java.util.Arrays;
-import java.util.Optional;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
@@ -43,20 +42,42 @@ class GrpcNotificationServiceTest {
 
   @Mock private StreamObserver<GetNotificationsResponse> getNotificationsResponseObserver;
 
-  @InjectMocks private GrpcNotificationService grpcNotificationService;
+  private GrpcNotificationService grpcNotificationService;
 
   private NotificationTypeModel testType;
   private NotificationStatusModel testStatus;
 
   @BeforeEach
   void setUp() {
-    testType = new NotificationTypeModel();
-    testType.setId(1);
-    testType.setName("NEWURL");
+    testType = type(1, "NEWURL");
+    testStatus = status(1, "SUCCESS");
+    useLookupRows(
+        List.of(testType, type(2, "THRESHOLD"), type(3, "NEWUSER")),
+        List.of(testStatus, status(2, "PENDING"), status(3, "FAILURE")));
+  }
+
+  private void useLookupRows(
+      List<NotificationTypeModel> types, List<NotificationStatusModel> statuses) {
+    when(notificationTypeRepo.findAll()).thenReturn(types);
+    when(notificationStatusRepo.findAll()).thenReturn(statuses);
+    grpcNotificationService =
+        new GrpcNotificationService(
+            notificationRepo,
+            new NotificationLookupRegistry(notificationTypeRepo, notificationStatusRepo));
+  }
 
-    testStatus = new NotificationStatusModel();
-    testStatus.setId(1);
-    testStatus.setName("SUCCESS");
+  private static NotificationTypeModel type(int id, String name) {
+    NotificationTypeModel type = new NotificationTypeModel();
+    type.setId(id);
+    type.setName(name);
+    return type;
+  }
+
+  private static NotificationStatusModel status(int id, String name) {
+    NotificationStatusModel status = new NotificationStatusModel();
+    status.setId(id);
+    status.setName(name);
+    return status;
   }
 
   @Test
@@ -73,11 +94,9 @@ class GrpcNotificationServiceTest {
     savedNotification.setId(1L);
     savedNotification.setMessage("New URL created");
     savedNotification.setShortCode("abc123");
-    savedNotification.setType(testType);
-    savedNotification.setStatus(testStatus);
+    savedNotification.setTypeId(testType.getId());
+    savedNotification.setStatusId(testStatus.getId());
 
-    when(notificationTypeRepo.findByName("NEWURL")).thenReturn(Optional.of(testType));
-    when(notificationStatusRepo.findByName("SUCCESS")).thenReturn(Optional.of(testStatus));
     when(notificationRepo.save(any(NotificationModel.class))).thenReturn(savedNotification);
 
     grpcNotificationService.notify(request, notifyResponseObserver);
@@ -100,11 +119,9 @@ class GrpcNotificationServiceTest {
     NotificationModel savedNotification = new NotificationModel();
     savedNotification.setId(1L);
     savedNotification.setMessage("New URL created");
-    savedNotification.setType(testType);
-    savedNotification.setStatus(testStatus);
+    savedNotification.setTypeId(testType.getId());
+    savedNotification.setStatusId(testStatus.getId());
 
-    when(notificationTypeRepo.findByName("NEWURL")).thenReturn(Optional.of(testType));
-    when(notificationStatusRepo.findByName("SUCCESS")).thenReturn(Optional.of(testStatus));
     when(notificationRepo.save(any(NotificationModel.class))).thenReturn(savedNotification);
 
     grpcNotificationService.notify(request, notifyResponseObserver);
@@ -117,6 +134,24 @@ class GrpcNotificationServiceTest {
     assertThat(captured.getMessage()).isEqualTo("New URL created");
   }
 
+  @Test
+  @DisplayName("Should not query the lookup tables when notifying")
+  void shouldNotQueryTheLookupTablesWhenNotifying() {
+    NotificationRequest request =
+        NotificationRequest.newBuilder()
+            .setNotificationType(NotificationType.THRESHOLD)
+            .setMessage("Threshold reached")
+            .build();
+
+    grpcNotificationService.notify(request, notifyResponseObserver);
+    grpcNotificationService.notify(request, notifyResponseObserver);
+
+    verify(notificationRepo, times(2)).save(any(NotificationModel.class));
+    verify(notificationTypeRepo).findAll();
+    verify(notificationStatusRepo).findAll();
+    verifyNoMoreInteractions(notificationTypeRepo, notificationStatusRepo);
+  }
+
   @Test
   @DisplayName("Should return error when notification type not found")
   void shouldReturnErrorWhenNotificationTypeNotFound() {
@@ -126,7 +161,7 @@ class GrpcNotificationServiceTest {
             .setMessage("Test message")
             .build();
 
-    when(notificationTypeRepo.findByName("NEWURL")).thenReturn(Optional.empty());
+    useLookupRows(List.of(type(2, "THRESHOLD")), List.of(testStatus));
 
     grpcNotificationService.notify(request, notifyResponseObserver);
 
@@ -153,11 +188,7 @@ class GrpcNotificationServiceTest {
             .setMessage("Test message")
             .build();
 
-    NotificationTypeModel thresholdType = new NotificationTypeModel();
-    thresholdType.setName("THRESHOLD");
-
-    when(notificationTypeRepo.findByName("THRESHOLD")).thenReturn(Optional.of(thresholdType));
-    when(notificationStatusRepo.findByName("SUCCESS")).thenReturn(Optional.empty());
+    useLookupRows(List.of(type(2, "THRESHOLD")), List.of(status(2, "PENDING")));
 
     grpcNotificationService.notify(request, notifyResponseObserver);
 
@@ -191,11 +222,9 @@ class GrpcNotificationServiceTest {
     savedNotification.setId(2L);
     savedNotification.setMessage("Threshold reached");
     savedNotification.setShortCode("xyz789");
-    savedNotification.setType(thresholdType);
-    savedNotification.setStatus(testStatus);
+    savedNotification.setTypeId(thresholdType.getId());
+    savedNotification.setStatusId(testStatus.getId());
 
-    when(notificationTypeRepo.findByName("THRESHOLD")).thenReturn(Optional.of(thresholdType));
-    when(notificationStatusRepo.findByName("SUCCESS")).thenReturn(Optional.of(testStatus));
     when(notificationRepo.save(any(NotificationModel.class))).thenReturn(savedNotification);
 
     grpcNotificationService.notify(request, notifyResponseObserver);
@@ -216,11 +245,9 @@ class GrpcNotificationServiceTest {
 
     NotificationModel savedNotification = new NotificationModel();
     savedNotification.setId(123L);
-    savedNotification.setType(testType);
-    savedNotification.setStatus(testStatus);
+    savedNotification.setTypeId(testType.getId());
+    savedNotification.setStatusId(testStatus.getId());
 
-    when(notificationTypeRepo.findByName("NEWURL")).thenReturn(Optional.of(testType));
-    when(notificationStatusRepo.findByName("SUCCESS")).thenReturn(Optional.of(testStatus));
     when(notificationRepo.save(any(NotificationModel.class))).thenReturn(savedNotification);
 
     grpcNotificationService.notify(request, notifyResponseObserver);
@@ -242,16 +269,16 @@ class GrpcNotificationServiceTest {
     notification1.setId(1L);
     notification1.setMessage("First notification");
     notification1.setShortCode("abc123");
-    notification1.setType(testType);
-    notification1.setStatus(testStatus);
+    notification1.setTypeId(testType.getId());
+    notification1.setStatusId(testStatus.getId());
     notification1.setCreatedAt(LocalDateTime.now());
 
     NotificationModel notification2 = new NotificationModel();
     notification2.setId(2L);
     notification2.setMessage("Second notification");
     notification2.setShortCode("xyz789");
-    notification2.setType(testType);
-    notification2.setStatus(testStatus);
+    notification2.setTypeId(testType.getId());
+    notification2.setStatusId(testStatus.getId());
     notification2.setCreatedAt(LocalDateTime.now());
 
     Page<NotificationModel> page = new PageImpl<>(Arrays.asList(notification1, notification2));
@@ -283,8 +310,8 @@ class GrpcNotificationServiceTest {
     notification.setId(1L);
     notification.setMessage("Test notification");
     notification.setShortCode("abc123");
-    notification.setType(testType);
-    notification.setStatus(testStatus);
+    notification.setTypeId(testType.getId());
+    notification.setStatusId(testStatus.getId());
     notification.setCreatedAt(LocalDateTime.now());
 
     Page<NotificationModel> page = new PageImpl<>(Arrays.asList(notification));
@@ -318,8 +345,8 @@ class GrpcNotificationServiceTest {
     notification.setId(1L);
     notification.setMessage("Test notification");
     notification.setShortCode(null);
-    notification.setType(testType);
-    notification.setStatus(testStatus);
+    notification.setTypeId(testType.getId());
+    notification.setStatusId(testStatus.getId());
     notification.setCreatedAt(LocalDateTime.now());
 
     Page<NotificationModel> page = new PageImpl<>(Arrays.asList(notification));
@@ -395,8 +422,6 @@ class GrpcNotificationServiceTest {
             .setMessage("Test message")
             .build();
 
-    when(notificationTypeRepo.findByName("NEWURL")).thenReturn(Optional.of(testType));
-    when(notificationStatusRepo.findByName("SUCCESS")).thenReturn(Optional.of(testStatus));
     when(notificationRepo.save(any(NotificationModel.class)))
         .thenThrow(new RuntimeException("Database error"));
 
@@ -426,17 +451,17 @@ class GrpcNotificationServiceTest {
 
     NotificationModel savedNotification = new NotificationModel();
     savedNotification.setId(1L);
-    savedNotification.setType(newUserType);
-    savedNotification.setStatus(testStatus);
+    savedNotification.setTypeId(newUserType.getId());
+    savedNotification.setStatusId(testStatus.getId());
 
-    when(notificationTypeRepo.findByName("NEWUSER")).thenReturn(Optional.of(newUserType));
-    when(notificationStatusRepo.findByName("SUCCESS")).thenReturn(Optional.of(testStatus));
     when(notificationRepo.save(any(NotificationModel.class))).thenReturn(savedNotification);
 
     grpcNotificationService.notify(request, notifyResponseObserver);
 
-    verify(notificationTypeRepo).findByName("NEWUSER");
-    verify(notificationRepo).save(any(NotificationModel.class));
+    ArgumentCaptor<NotificationModel> captor = ArgumentCaptor.forClass(NotificationModel.class);
+    verify(notificationRepo).save(captor.capture());
+    assertThat(captor.getValue().getTypeId()).isEqualTo(3);
+    assertThat(captor.getValue().getStatusId()).isEqualTo(1);
     verify(notifyResponseObserver).onCompleted();
   }
 
@@ -550,8 +575,8 @@ class GrpcNotificationServiceTest {
     NotificationModel notification = new NotificationModel();
     notification.setId(1L);
     notification.setMessage("Test");
-    notification.setType(testType);
-    notification.setStatus(testStatus);
+    notification.setTypeId(testType.getId());
+    notification.setStatusId(testStatus.getId());
     notification.setCreatedAt(LocalDateTime.now());
 
     Page<NotificationModel> page = new PageImpl<>(Arrays.asList(notification));
@@ -580,8 +605,8 @@ class GrpcNotificationServiceTest {
     notification.setId(1L);
     notification.setMessage("Test");
     notification.setShortCode("abc123");
-    notification.setType(testType);
-    notification.setStatus(testStatus);
+    notification.setTypeId(testType.getId());
+    notification.setStatusId(testStatus.getId());
     notification.setCreatedAt(LocalDateTime.now());
 
     Page<NotificationModel> page = new PageImpl<>(Arrays.asList(notification));
@@ -609,8 +634,8 @@ class GrpcNotificationServiceTest {
     NotificationModel notification = new NotificationModel();
     notification.setId(1L);
     notification.setMessage("Test");
-    notification.setType(testType);
-    notification.setStatus(testStatus);
+    notification.setTypeId(testType.getId());
+    notification.setStatusId(testStatus.getId());
     notification.setCreatedAt(LocalDateTime.now());
 
     Page<NotificationModel> page = new PageImpl<>(Arrays.asList(notification));
@@ -0,0 +1,166 @@
+package com.example.cache;
+
+import com.example.repository.UrlJdbcRepository;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Write-behind click counter.
+ *
+ * <p>Redirects only bump a per-shortCode {@link LongAdder}, so concurrent clicks on the same link
+ * never contend on a database row lock. Accumulated deltas are written in one batch every {@code
+ * click-counter.flush-interval-ms} and once more on shutdown, so a crash loses at most one interval
+ * of clicks.
+ *
+ * <p>Flushes do not write the {@code url} row. Each one adds its deltas to a randomly chosen one of
+ * {@code click-counter.shards} slot rows per URL in {@code url_click_shards}, so instances flushing
+ * the same hot link at the same time rarely wait on the same row lock. Every {@code
+ * click-counter.fold-interval-ms} the slots are folded into {@code url.clicks}, which is what
+ * listings sort by; counters start from the folded count plus the slots.
+ *
+ * <p>Counters that stay idle for a whole interval are dropped and re-read from the database on the
+ * next click. A click racing with that removal may be lost; this is the same bound as a crash.
+ */
+@Component
+public class ClickCounter {
+
+  private static final Logger log = LoggerFactory.getLogger(ClickCounter.class);
+
+  private final UrlJdbcRepository urlJdbcRepo;
+
+  private final ConcurrentHashMap<String, Counter> counters = new ConcurrentHashMap<>();
+
+  @Value("${click-counter.shards}")
+  private int shards;
+
+  @Value("${click-counter.fold-batch-size}")
+  private int foldBatchSize;
+
+  public ClickCounter(UrlJdbcRepository urlJdbcRepo) {
+    this.urlJdbcRepo = urlJdbcRepo;
+  }
+
+  /**
+   * Records one click on {@code shortCode}.
+   *
+   * @return the last persisted click count plus every click buffered since
+   */
+  public long increment(String shortCode) {
+    Counter counter = counters.computeIfAbsent(shortCode, this::loadCounter);
+    counter.clicks.increment();
+    counter.idle = false;
+    return counter.baseline + counter.clicks.sum();
+  }
+
+  /** Discards buffered clicks for a short code whose row no longer exists. */
+  public void evict(String shortCode) {
+    counters.remove(shortCode);
+  }
+
+  @Scheduled(
+      fixedDelayString = "${click-counter.flush-interval-ms}",
+      initialDelayString = "${click-counter.flush-interval-ms}")
+  public synchronized void flush() {
+    Map<String, Long> deltas = new HashMap<>();
+    Map<Counter, Long> flushedUpTo = new HashMap<>();
+    List<String> idle = new ArrayList<>();
+    Map<String, Counter> removed = new HashMap<>();
+
+    counters.forEach(
+        (shortCode, counter) -> {
+          long total = counter.clicks.sum();
+          long delta = total - counter.flushed;
+          if (delta > 0) {
+            deltas.put(shortCode, delta);
+            flushedUpTo.put(counter, total);
+          } else if (counter.idle) {
+            idle.add(shortCode);
+          } else {
+            counter.idle = true;
+          }
+        });
+
+    for (String shortCode : idle) {
+      Counter counter = counters.get(shortCode);
+      if (counter != null && counters.remove(shortCode, counter)) {
+        removed.put(shortCode, counter);
+        long total = counter.clicks.sum();
+        if (total > counter.flushed) {
+          deltas.put(shortCode, total - counter.flushed);
+          flushedUpTo.put(counter, total);
+        }
+      }
+    }
+
+    if (deltas.isEmpty()) {
+      return;
+    }
+
+    try {
+      urlJdbcRepo.addClicks(deltas, ThreadLocalRandom.current().nextInt(shards));
+      flushedUpTo.forEach((counter, total) -> counter.flushed = total);
+    } catch (RuntimeException e) {
+      removed.forEach(counters::putIfAbsent);
+      log.warn("Failed to flush {} click counters, will retry", deltas.size(), e);
+    }
+  }
+
+  /**
+   * Folds every non-empty click slot into {@code url.clicks}, {@code click-counter.fold-batch-size}
+   * slots per transaction.
+   *
+   * @return the number of slots folded
+   */
+  @Scheduled(
+      fixedDelayString = "${click-counter.fold-interval-ms}",
+      initialDelayString = "${click-counter.fold-interval-ms}")
+  public int foldShards() {
+    int total = 0;
+    try {
+      int folded;
+      do {
+        folded = urlJdbcRepo.foldClickShards(foldBatchSize);
+        total += folded;
+      } while (folded == foldBatchSize);
+    } catch (RuntimeException e) {
+      log.warn("Failed to fold click slots after {} slots, will retry", total, e);
+    }
+    return total;
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    flush();
+  }
+
+  int bufferedCodes() {
+    return counters.size();
+  }
+
+  private Counter loadCounter(String shortCode) {
+    Long persisted = urlJdbcRepo.getClickCount(shortCode);
+    return new Counter(persisted != null ? persisted : 0);
+  }
+
+  private static final class Counter {
+    private final long baseline;
+    private final LongAdder clicks = new LongAdder();
+    private volatile long flushed;
+    private volatile boolean idle;
+
+    private Counter(long baseline) {
+      this.baseline = baseline;
+    }
+  }
+}
@@ -0,0 +1,130 @@
+package com.example.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded read-through cache of shortCode to {@link RedirectEntry}.
+ *
+ * <p>Backed by Caffeine, whose W-TinyLFU eviction keeps the frequently clicked links resident even
+ * when a burst of one-off lookups passes through. Each entry lives until its URL expires, capped at
+ * {@code redirect-cache.max-ttl-minutes} so that changes made by other replicas are eventually
+ * picked up. Hit, miss and eviction counts are published as {@code cache.*} meters tagged {@code
+ * cache=redirect}.
+ *
+ * <p>Long URLs are held compressed by the {@link UrlCodec} and decoded on every hit, trading a
+ * short copy per redirect for fitting several times more links in the same heap.
+ */
+@Component
+public class RedirectCache {
+
+  private final MeterRegistry meterRegistry;
+  private final UrlCodec urlCodec;
+
+  private Cache<String, CompressedEntry> cache;
+
+  @Value("${redirect-cache.maximum-size}")
+  private long maximumSize;
+
+  @Value("${redirect-cache.max-ttl-minutes}")
+  private long maxTtlMinutes;
+
+  public RedirectCache(MeterRegistry meterRegistry, UrlCodec urlCodec) {
+    this.meterRegistry = meterRegistry;
+    this.urlCodec = urlCodec;
+  }
+
+  @PostConstruct
+  public void init() {
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfter(new ExpiresAtExpiry(Duration.ofMinutes(maxTtlMinutes)))
+            .recordStats()
+            .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, "redirect");
+  }
+
+  /**
+   * Returns the cached entry for {@code shortCode}, invoking {@code loader} on a miss. A {@code
+   * null} result from the loader is not cached.
+   */
+  public RedirectEntry get(String shortCode, Function<String, RedirectEntry> loader) {
+    CompressedEntry cached = cache.get(shortCode, code -> compress(loader.apply(code)));
+    return cached != null ? expand(cached) : null;
+  }
+
+  public void invalidate(String shortCode) {
+    cache.invalidate(shortCode);
+  }
+
+  public CacheStats stats() {
+    return cache.stats();
+  }
+
+  public long estimatedSize() {
+    return cache.estimatedSize();
+  }
+
+  private CompressedEntry compress(RedirectEntry entry) {
+    if (entry == null) {
+      return null;
+    }
+    return new CompressedEntry(
+        urlCodec.encode(entry.longUrl()), entry.expiresAt(), entry.createdBy());
+  }
+
+  private RedirectEntry expand(CompressedEntry entry) {
+    return new RedirectEntry(
+        urlCodec.decode(entry.longUrl()), entry.expiresAt(), entry.createdBy());
+  }
+
+  /** A {@link RedirectEntry} with its long URL encoded by the {@link UrlCodec}. */
+  private record CompressedEntry(byte[] longUrl, LocalDateTime expiresAt, Long createdBy) {}
+
+  private static final class ExpiresAtExpiry implements Expiry<String, CompressedEntry> {
+    private final Duration maxTtl;
+
+    private ExpiresAtExpiry(Duration maxTtl) {
+      this.maxTtl = maxTtl;
+    }
+
+    @Override
+    public long expireAfterCreate(String key, CompressedEntry entry, long currentTime) {
+      return ttlNanos(entry);
+    }
+
+    @Override
+    public long expireAfterUpdate(
+        String key, CompressedEntry entry, long currentTime, long currentDuration) {
+      return ttlNanos(entry);
+    }
+
+    @Override
+    public long expireAfterRead(
+        String key, CompressedEntry entry, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+
+    private long ttlNanos(CompressedEntry entry) {
+      if (entry.expiresAt() == null) {
+        return maxTtl.toNanos();
+      }
+      Duration untilExpiry = Duration.between(LocalDateTime.now(), entry.expiresAt());
+      if (untilExpiry.isNegative()) {
+        return 0;
+      }
+      return untilExpiry.compareTo(maxTtl) < 0 ? untilExpiry.toNanos() : maxTtl.toNanos();
+    }
+  }
+}
@@ -0,0 +1,19 @@
+package com.example.cache;
+
+import com.example.model.Url;
+import java.time.LocalDateTime;
+
+/**
+ * Compact, immutable view of a {@link Url} holding only what the redirect path needs. Entries are
+ * what the {@link RedirectCache} stores, so they must never reference a managed JPA entity.
+ */
+public record RedirectEntry(String longUrl, LocalDateTime expiresAt, Long createdBy) {
+
+  public static RedirectEntry from(Url url) {
+    return new RedirectEntry(url.getLongUrl(), url.getExpiresAt(), url.getCreatedBy());
+  }
+
+  public boolean isExpired(LocalDateTime now) {
+    return expiresAt != null && now.isAfter(expiresAt);
+  }
+}
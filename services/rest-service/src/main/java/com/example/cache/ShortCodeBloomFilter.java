@@ -0,0 +1,102 @@
+package com.example.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe Bloom filter over short codes.
+ *
+ * <p>Sized from the expected number of insertions and target false-positive probability. Bits are
+ * set with CAS so concurrent {@link #put} calls never lose each other's writes, and lookups do not
+ * allocate. Elements cannot be removed; callers rebuild the filter once too many stale or extra
+ * codes push {@link #expectedFpp()} above their tolerance.
+ */
+public class ShortCodeBloomFilter {
+
+  private static final double LN2 = Math.log(2);
+
+  private final AtomicLongArray words;
+  private final long numBits;
+  private final int numHashes;
+  private final LongAdder bitsSet = new LongAdder();
+  private final LongAdder insertions = new LongAdder();
+
+  public ShortCodeBloomFilter(long expectedInsertions, double fpp) {
+    if (expectedInsertions <= 0) {
+      throw new IllegalArgumentException("Expected insertions must be greater than zero.");
+    }
+    if (fpp <= 0 || fpp >= 1) {
+      throw new IllegalArgumentException("False-positive probability must be in (0, 1).");
+    }
+    long bits = (long) Math.ceil(-expectedInsertions * Math.log(fpp) / (LN2 * LN2));
+    int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (bits + 63) >>> 6));
+    this.words = new AtomicLongArray(wordCount);
+    this.numBits = (long) wordCount << 6;
+    this.numHashes = Math.max(1, (int) Math.round((double) numBits / expectedInsertions * LN2));
+  }
+
+  public void put(CharSequence shortCode) {
+    long hash1 = hash(shortCode);
+    long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L) | 1;
+    for (int i = 0; i < numHashes; i++) {
+      setBit(Math.floorMod(hash1 + i * hash2, numBits));
+    }
+    insertions.increment();
+  }
+
+  public boolean mightContain(CharSequence shortCode) {
+    long hash1 = hash(shortCode);
+    long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L) | 1;
+    for (int i = 0; i < numHashes; i++) {
+      long index = Math.floorMod(hash1 + i * hash2, numBits);
+      if ((words.get((int) (index >>> 6)) & (1L << index)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** Probability that a code never put into the filter is reported as present. */
+  public double expectedFpp() {
+    return Math.pow((double) bitsSet.sum() / numBits, numHashes);
+  }
+
+  public long insertions() {
+    return insertions.sum();
+  }
+
+  public long memoryBytes() {
+    return (long) words.length() * Long.BYTES;
+  }
+
+  private void setBit(long index) {
+    int word = (int) (index >>> 6);
+    long mask = 1L << index;
+    long current;
+    do {
+      current = words.get(word);
+      if ((current & mask) != 0) {
+        return;
+      }
+    } while (!words.compareAndSet(word, current, current | mask));
+    bitsSet.increment();
+  }
+
+  private static long hash(CharSequence value) {
+    long hash = 0xCBF29CE484222325L;
+    for (int i = 0; i < value.length(); i++) {
+      hash ^= value.charAt(i);
+      hash *= 0x100000001B3L;
+    }
+    return mix(hash);
+  }
+
+  private static long mix(long hash) {
+    hash ^= hash >>> 33;
+    hash *= 0xFF51AFD7ED558CCDL;
+    hash ^= hash >>> 33;
+    hash *= 0xC4CEB9FE1A85EC53L;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+}
@@ -0,0 +1,196 @@
+package com.example.cache;
+
+import com.example.repository.UrlJdbcRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Answers "definitely absent" for short codes that were never created, so scanners probing random
+ * codes are turned away without a database query.
+ *
+ * <p>The filter is loaded in the background right after startup; until then every code is treated
+ * as possibly present. Codes created by this instance are added immediately, codes created by other
+ * replicas are picked up every {@code short-code-filter.sync-interval-ms}. A code the filter misses
+ * may still have been created elsewhere since the last sync, so unless the filter has caught up
+ * within the last {@code short-code-filter.catch-up-interval-ms}, it first merges the codes created
+ * since then. However many codes miss, that is at most one range scan on {@code created_at} per
+ * interval; a code created elsewhere within the interval may be reported absent until the next
+ * catch-up or sync. Deleted codes cannot be removed from a Bloom filter, so the filter is rebuilt
+ * from the table once its estimated false-positive rate exceeds {@code
+ * short-code-filter.rebuild-fpp} or half of its entries are stale.
+ */
+@Component
+public class ShortCodeFilter {
+
+  private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+  private static final int REBUILD_CHUNK_SIZE = 10_000;
+
+  private final UrlJdbcRepository urlJdbcRepo;
+  private final MeterRegistry meterRegistry;
+
+  private final LongAdder removals = new LongAdder();
+  private final ReentrantLock syncLock = new ReentrantLock();
+  private Counter rejections;
+  private Counter rebuilds;
+
+  private Clock clock = Clock.systemDefaultZone();
+  private volatile ShortCodeBloomFilter filter;
+  private volatile ShortCodeBloomFilter building;
+  private volatile LocalDateTime syncedUpTo;
+
+  @Value("${short-code-filter.enabled}")
+  private boolean enabled;
+
+  @Value("${short-code-filter.expected-insertions}")
+  private long expectedInsertions;
+
+  @Value("${short-code-filter.fpp}")
+  private double fpp;
+
+  @Value("${short-code-filter.rebuild-fpp}")
+  private double rebuildFpp;
+
+  @Value("${short-code-filter.catch-up-interval-ms}")
+  private long catchUpIntervalMs;
+
+  public ShortCodeFilter(UrlJdbcRepository urlJdbcRepo, MeterRegistry meterRegistry) {
+    this.urlJdbcRepo = urlJdbcRepo;
+    this.meterRegistry = meterRegistry;
+  }
+
+  @PostConstruct
+  public void init() {
+    rejections = meterRegistry.counter("short.code.filter.rejections");
+    rebuilds = meterRegistry.counter("short.code.filter.rebuilds");
+    Gauge.builder("short.code.filter.fpp", this, ShortCodeFilter::expectedFpp)
+        .description("Estimated false-positive probability of the short code filter")
+        .register(meterRegistry);
+    Gauge.builder("short.code.filter.memory", this, ShortCodeFilter::memoryBytes)
+        .baseUnit("bytes")
+        .register(meterRegistry);
+    Gauge.builder("short.code.filter.entries", this, ShortCodeFilter::entries)
+        .register(meterRegistry);
+  }
+
+  /** Returns {@code false} only when {@code shortCode} is known not to exist. */
+  public boolean mightContain(String shortCode) {
+    ShortCodeBloomFilter current = filter;
+    if (!enabled || current == null || current.mightContain(shortCode)) {
+      return true;
+    }
+    syncUpTo(LocalDateTime.now(clock));
+    current = filter;
+    if (current.mightContain(shortCode)) {
+      return true;
+    }
+    rejections.increment();
+    return false;
+  }
+
+  public void put(String shortCode) {
+    if (!enabled) {
+      return;
+    }
+    // Read the filter being rebuilt first: if it is already gone, the swap has happened and
+    // `filter` below is the rebuilt one.
+    ShortCodeBloomFilter next = building;
+    if (next != null) {
+      next.put(shortCode);
+    }
+    ShortCodeBloomFilter current = filter;
+    if (current != null) {
+      current.put(shortCode);
+    }
+  }
+
+  public void recordRemoval() {
+    removals.increment();
+  }
+
+  @Scheduled(fixedDelayString = "${short-code-filter.sync-interval-ms}")
+  public synchronized void refresh() {
+    if (!enabled) {
+      return;
+    }
+    ShortCodeBloomFilter current = filter;
+    if (current == null
+        || current.expectedFpp() > rebuildFpp
+        || removals.sum() * 2 > current.insertions()) {
+      rebuild();
+    } else {
+      sync();
+    }
+  }
+
+  public double expectedFpp() {
+    ShortCodeBloomFilter current = filter;
+    return current != null ? current.expectedFpp() : 1.0;
+  }
+
+  public long memoryBytes() {
+    ShortCodeBloomFilter current = filter;
+    return current != null ? current.memoryBytes() : 0;
+  }
+
+  public long entries() {
+    ShortCodeBloomFilter current = filter;
+    return current != null ? current.insertions() : 0;
+  }
+
+  /**
+   * Adds the codes created since the last sync unless a sync started less than {@code
+   * short-code-filter.catch-up-interval-ms} before {@code requestedAt}.
+   */
+  private void syncUpTo(LocalDateTime requestedAt) {
+    LocalDateTime staleBefore = requestedAt.minus(Duration.ofMillis(catchUpIntervalMs));
+    if (!syncedUpTo.isBefore(staleBefore)) {
+      return;
+    }
+    syncLock.lock();
+    try {
+      if (syncedUpTo.isBefore(staleBefore)) {
+        sync();
+      }
+    } finally {
+      syncLock.unlock();
+    }
+  }
+
+  private void sync() {
+    syncLock.lock();
+    try {
+      LocalDateTime startedAt = LocalDateTime.now(clock);
+      urlJdbcRepo.forEachShortCodeCreatedSince(syncedUpTo.minus(SYNC_OVERLAP), this::put);
+      syncedUpTo = startedAt;
+    } finally {
+      syncLock.unlock();
+    }
+  }
+
+  private void rebuild() {
+    LocalDateTime startedAt = LocalDateTime.now(clock);
+    long capacity = Math.max(expectedInsertions, urlJdbcRepo.countUrls() * 2);
+    ShortCodeBloomFilter next = new ShortCodeBloomFilter(capacity, fpp);
+    building = next;
+    try {
+      urlJdbcRepo.forEachShortCode(REBUILD_CHUNK_SIZE, next::put);
+      // Set before the filter is published, so a lookup that misses in it can catch up from here.
+      syncedUpTo = startedAt;
+      filter = next;
+      removals.reset();
+      rebuilds.increment();
+    } finally {
+      building = null;
+    }
+  }
+}
@@ -0,0 +1,57 @@
+package com.example.cache;
+
+import java.util.Arrays;
+import org.springframework.stereotype.Component;
+
+/**
+ * Compresses long URLs for the redirect cache and store with the newest {@link UrlDictionary}, and
+ * decodes them with whichever version they were written with.
+ *
+ * <p>Starts out with {@link UrlDictionary#BUILT_IN}; stored and newly trained dictionaries are
+ * installed by {@link UrlDictionaryTrainer}. Installed dictionaries are never dropped, so an
+ * encoding stays readable for as long as it is held anywhere.
+ */
+@Component
+public class UrlCodec {
+
+  /** Installed dictionaries indexed by version, with gaps for versions not loaded. */
+  private volatile UrlDictionary[] dictionaries = {UrlDictionary.BUILT_IN};
+
+  private volatile UrlDictionary current = UrlDictionary.BUILT_IN;
+
+  public byte[] encode(String url) {
+    return current.encode(url);
+  }
+
+  public String decode(byte[] encoded) {
+    int version = UrlDictionary.versionOf(encoded);
+    UrlDictionary[] installed = dictionaries;
+    UrlDictionary dictionary = version < installed.length ? installed[version] : null;
+    if (dictionary == null) {
+      throw new IllegalStateException("URL dictionary " + version + " is not installed");
+    }
+    return dictionary.decode(encoded);
+  }
+
+  /**
+   * Makes {@code dictionary} available for decoding, and for encoding too if it is newer than the
+   * current one. Installing a version again is a no-op.
+   */
+  public synchronized void install(UrlDictionary dictionary) {
+    int version = dictionary.version();
+    UrlDictionary[] installed = dictionaries;
+    if (version < installed.length && installed[version] != null) {
+      return;
+    }
+    UrlDictionary[] next = Arrays.copyOf(installed, Math.max(installed.length, version + 1));
+    next[version] = dictionary;
+    dictionaries = next;
+    if (version > current.version()) {
+      current = dictionary;
+    }
+  }
+
+  public UrlDictionary current() {
+    return current;
+  }
+}
@@ -0,0 +1,273 @@
+package com.example.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Versioned dictionary of URL fragments that long URLs are compressed against.
+ *
+ * <p>An encoded URL is the dictionary version in two bytes, the URL's UTF-8 length as a varint, and
+ * the UTF-8 bytes themselves, in which every entry found is replaced with an escape byte and the
+ * entry's index. The escape byte, {@code 0xFF}, never occurs in UTF-8, and at each position the
+ * longest matching entry wins, so a trained entry covering a scheme, host and path prefix shared by
+ * many links replaces the start of each of them with two bytes. Decoding allocates the result once
+ * and fills it with array copies of the literal runs and entries.
+ *
+ * <p>{@link #BUILT_IN}, version 0, holds common schemes and UTM parameters and is used until a
+ * dictionary has been {@link #train trained}. Its entries must never change: encodings written with
+ * it are kept on disk by the redirect store.
+ */
+public final class UrlDictionary {
+
+  public static final int MAX_VERSION = 0xFFFF;
+  public static final int MAX_ENTRIES = 256;
+  static final int MIN_ENTRY_BYTES = 3;
+  static final int MAX_ENTRY_BYTES = 64;
+
+  private static final int HEADER_BYTES = 2;
+  private static final int MAX_LENGTH_BYTES = 5;
+  private static final byte ESCAPE = (byte) 0xFF;
+  private static final int MIN_OCCURRENCES = 2;
+  private static final int MAX_PREFIX_DELIMITERS = 4;
+  private static final int[] NO_ENTRIES = {};
+
+  private static final List<String> BUILT_IN_ENTRIES =
+      List.of(
+          "https://www.",
+          "http://www.",
+          "https://",
+          "http://",
+          "www.",
+          ".com/",
+          ".org/",
+          ".net/",
+          ".html",
+          "?utm_source=",
+          "&utm_source=",
+          "&utm_medium=",
+          "&utm_campaign=",
+          "&utm_content=",
+          "&utm_term=");
+
+  public static final UrlDictionary BUILT_IN = new UrlDictionary(0, BUILT_IN_ENTRIES);
+
+  private final int version;
+  private final List<String> entries;
+  private final byte[][] entryBytes;
+  /** For each first byte, the indexes of the entries starting with it, longest first. */
+  private final int[][] byFirstByte;
+
+  public UrlDictionary(int version, List<String> entries) {
+    if (version < 0 || version > MAX_VERSION) {
+      throw new IllegalArgumentException("Dictionary version must be between 0 and " + MAX_VERSION);
+    }
+    if (entries.size() > MAX_ENTRIES) {
+      throw new IllegalArgumentException("A dictionary holds at most " + MAX_ENTRIES + " entries");
+    }
+    this.version = version;
+    this.entries = List.copyOf(entries);
+    this.entryBytes = new byte[entries.size()][];
+    List<List<Integer>> buckets = new ArrayList<>(256);
+    for (int i = 0; i < 256; i++) {
+      buckets.add(new ArrayList<>());
+    }
+    for (int i = 0; i < entryBytes.length; i++) {
+      byte[] bytes = this.entries.get(i).getBytes(StandardCharsets.UTF_8);
+      if (bytes.length < MIN_ENTRY_BYTES || bytes.length > MAX_ENTRY_BYTES) {
+        throw new IllegalArgumentException(
+            "Dictionary entry has the wrong length: " + this.entries.get(i));
+      }
+      entryBytes[i] = bytes;
+      buckets.get(bytes[0] & 0xFF).add(i);
+    }
+    this.byFirstByte = new int[256][];
+    for (int i = 0; i < 256; i++) {
+      byFirstByte[i] =
+          buckets.get(i).isEmpty()
+              ? NO_ENTRIES
+              : buckets.get(i).stream()
+                  .sorted(Comparator.comparingInt(index -> -entryBytes[index].length))
+                  .mapToInt(Integer::intValue)
+                  .toArray();
+    }
+  }
+
+  /**
+   * Builds a dictionary from the fragments that would save the most bytes across {@code urls}:
+   * prefixes of up to {@value #MAX_PREFIX_DELIMITERS} path and query delimiters past the host, and
+   * query parameter names and name-value pairs. The built-in entries fill whatever room is left.
+   */
+  public static UrlDictionary train(int version, Iterable<String> urls) {
+    Map<String, Integer> occurrences = new HashMap<>();
+    for (String url : urls) {
+      for (String candidate : candidates(url)) {
+        occurrences.merge(candidate, 1, Integer::sum);
+      }
+    }
+    Map<String, Long> savings = new HashMap<>();
+    occurrences.forEach(
+        (candidate, count) -> {
+          int length = candidate.getBytes(StandardCharsets.UTF_8).length;
+          if (count >= MIN_OCCURRENCES
+              && length >= MIN_ENTRY_BYTES
+              && length <= MAX_ENTRY_BYTES
+              && candidate.indexOf('\n') < 0
+              && candidate.indexOf('\r') < 0) {
+            savings.put(candidate, (long) count * (length - HEADER_BYTES));
+          }
+        });
+    Set<String> entries = new LinkedHashSet<>();
+    savings.entrySet().stream()
+        .sorted(
+            Map.Entry.<String, Long>comparingByValue()
+                .reversed()
+                .thenComparing(Map.Entry.comparingByKey()))
+        .limit(MAX_ENTRIES - BUILT_IN_ENTRIES.size())
+        .forEach(saving -> entries.add(saving.getKey()));
+    entries.addAll(BUILT_IN_ENTRIES);
+    return new UrlDictionary(version, new ArrayList<>(entries));
+  }
+
+  private static List<String> candidates(String url) {
+    List<String> candidates = new ArrayList<>();
+    int scheme = url.indexOf("://");
+    int from = scheme >= 0 ? scheme + 3 : 0;
+    int delimiters = 0;
+    int query = -1;
+    for (int i = from; i < url.length(); i++) {
+      char c = url.charAt(i);
+      if (c == '#') {
+        break;
+      }
+      if (c == '/' || c == '?' || c == '=') {
+        if (delimiters++ < MAX_PREFIX_DELIMITERS) {
+          candidates.add(url.substring(0, i + 1));
+        }
+      }
+      if (c == '?' && query < 0) {
+        query = i;
+      }
+    }
+    if (query < 0) {
+      return candidates;
+    }
+    int end = url.indexOf('#', query);
+    String parameters = url.substring(query, end >= 0 ? end : url.length());
+    int start = 0;
+    while (start < parameters.length()) {
+      int next = parameters.indexOf('&', start + 1);
+      String parameter = parameters.substring(start, next >= 0 ? next : parameters.length());
+      int equals = parameter.indexOf('=');
+      if (equals > 1) {
+        candidates.add(parameter.substring(0, equals + 1));
+      }
+      candidates.add(parameter);
+      start = next >= 0 ? next : parameters.length();
+    }
+    return candidates;
+  }
+
+  public int version() {
+    return version;
+  }
+
+  public List<String> entries() {
+    return entries;
+  }
+
+  /** Version of the dictionary that {@code encoded} was written with. */
+  public static int versionOf(byte[] encoded) {
+    return ((encoded[0] & 0xFF) << 8) | (encoded[1] & 0xFF);
+  }
+
+  public byte[] encode(String url) {
+    byte[] in = url.getBytes(StandardCharsets.UTF_8);
+    // Entries are at least three bytes and replaced with two, so the body never grows.
+    byte[] out = new byte[HEADER_BYTES + MAX_LENGTH_BYTES + in.length];
+    out[0] = (byte) (version >>> 8);
+    out[1] = (byte) version;
+    int length = HEADER_BYTES;
+    for (int remaining = in.length; ; remaining >>>= 7) {
+      if (remaining < 0x80) {
+        out[length++] = (byte) remaining;
+        break;
+      }
+      out[length++] = (byte) (remaining | 0x80);
+    }
+    int position = 0;
+    while (position < in.length) {
+      int match = longestMatch(in, position);
+      if (match >= 0) {
+        out[length++] = ESCAPE;
+        out[length++] = (byte) match;
+        position += entryBytes[match].length;
+      } else {
+        out[length++] = in[position++];
+      }
+    }
+    return Arrays.copyOf(out, length);
+  }
+
+  public String decode(byte[] encoded) {
+    if (versionOf(encoded) != version) {
+      throw new IllegalArgumentException(
+          "URL was encoded with dictionary " + versionOf(encoded) + ", not " + version);
+    }
+    int i = HEADER_BYTES;
+    int length = 0;
+    for (int shift = 0; ; shift += 7) {
+      byte b = encoded[i++];
+      length |= (b & 0x7F) << shift;
+      if (b >= 0) {
+        break;
+      }
+    }
+    byte[] out = new byte[length];
+    int position = 0;
+    while (i < encoded.length) {
+      int run = i;
+      while (run < encoded.length && encoded[run] != ESCAPE) {
+        run++;
+      }
+      System.arraycopy(encoded, i, out, position, run - i);
+      position += run - i;
+      if (run == encoded.length) {
+        break;
+      }
+      byte[] entry = entryBytes[encoded[run + 1] & 0xFF];
+      System.arraycopy(entry, 0, out, position, entry.length);
+      position += entry.length;
+      i = run + 2;
+    }
+    return new String(out, StandardCharsets.UTF_8);
+  }
+
+  /** Encoded size of {@code urls} as a fraction of their UTF-8 size. */
+  public double ratio(Iterable<String> urls) {
+    long plain = 0;
+    long encoded = 0;
+    for (String url : urls) {
+      plain += url.getBytes(StandardCharsets.UTF_8).length;
+      encoded += encode(url).length;
+    }
+    return plain > 0 ? (double) encoded / plain : 1.0;
+  }
+
+  private int longestMatch(byte[] in, int from) {
+    for (int index : byFirstByte[in[from] & 0xFF]) {
+      byte[] entry = entryBytes[index];
+      if (entry.length <= in.length - from
+          && Arrays.equals(in, from, from + entry.length, entry, 0, entry.length)) {
+        return index;
+      }
+    }
+    return -1;
+  }
+}
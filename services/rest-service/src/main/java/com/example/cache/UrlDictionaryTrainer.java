@@ -0,0 +1,117 @@
+package com.example.cache;
+
+import com.example.repository.UrlDictionaryJdbcRepository;
+import com.example.repository.UrlJdbcRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the {@link UrlCodec} supplied with dictionaries trained on the links actually being
+ * shortened.
+ *
+ * <p>At startup every dictionary in {@code url_dictionary} is installed. Every {@code
+ * url-codec.training-interval-ms} the long URLs of the newest {@code
+ * url-codec.training-sample-size} links are sampled and a dictionary is trained on them; it is
+ * stored as the next version and installed only if it shrinks the sample by at least {@code
+ * url-codec.min-improvement} of its plain size more than the current one does. Versions stored by
+ * other instances are installed on the same schedule, and an instance that loses the race to store
+ * a version adopts the winner's.
+ *
+ * <p>The compressed size of the sample under the current dictionary is reported as {@code
+ * url.codec.ratio}, the current version as {@code url.codec.dictionary.version}, and stored
+ * dictionaries as {@code url.codec.trainings}.
+ */
+@Component
+public class UrlDictionaryTrainer {
+
+  private static final Logger log = LoggerFactory.getLogger(UrlDictionaryTrainer.class);
+
+  private final UrlCodec urlCodec;
+  private final UrlDictionaryJdbcRepository dictionaryRepo;
+  private final UrlJdbcRepository urlJdbcRepo;
+  private final MeterRegistry meterRegistry;
+
+  private volatile double ratio = 1.0;
+  private Counter trainings;
+
+  @Value("${url-codec.training-sample-size}")
+  private int trainingSampleSize;
+
+  @Value("${url-codec.min-improvement}")
+  private double minImprovement;
+
+  public UrlDictionaryTrainer(
+      UrlCodec urlCodec,
+      UrlDictionaryJdbcRepository dictionaryRepo,
+      UrlJdbcRepository urlJdbcRepo,
+      MeterRegistry meterRegistry) {
+    this.urlCodec = urlCodec;
+    this.dictionaryRepo = dictionaryRepo;
+    this.urlJdbcRepo = urlJdbcRepo;
+    this.meterRegistry = meterRegistry;
+  }
+
+  @PostConstruct
+  public void init() {
+    trainings = meterRegistry.counter("url.codec.trainings");
+    Gauge.builder("url.codec.ratio", this, UrlDictionaryTrainer::ratio)
+        .description("Compressed size of the sampled long URLs as a fraction of their plain size")
+        .register(meterRegistry);
+    Gauge.builder("url.codec.dictionary.version", urlCodec, codec -> codec.current().version())
+        .register(meterRegistry);
+    installStored();
+  }
+
+  @Scheduled(
+      fixedDelayString = "${url-codec.training-interval-ms}",
+      initialDelayString = "${url-codec.training-initial-delay-ms}")
+  public synchronized void train() {
+    installStored();
+    List<String> sample = urlJdbcRepo.findRecentLongUrls(trainingSampleSize);
+    if (sample.isEmpty()) {
+      return;
+    }
+    UrlDictionary current = urlCodec.current();
+    ratio = current.ratio(sample);
+    if (current.version() == UrlDictionary.MAX_VERSION) {
+      log.warn("No URL dictionary versions left; keeping version {}", current.version());
+      return;
+    }
+    UrlDictionary trained = UrlDictionary.train(current.version() + 1, sample);
+    double trainedRatio = trained.ratio(sample);
+    if (trainedRatio > ratio - minImprovement) {
+      return;
+    }
+    try {
+      dictionaryRepo.insert(trained, LocalDateTime.now());
+    } catch (DuplicateKeyException e) {
+      // Another instance stored this version first; install theirs and train on top of it.
+      installStored();
+      return;
+    }
+    urlCodec.install(trained);
+    trainings.increment();
+    log.info(
+        "Installed URL dictionary {}, compressing the sample to {}% of its size instead of {}%",
+        trained.version(), Math.round(trainedRatio * 100), Math.round(ratio * 100));
+    ratio = trainedRatio;
+  }
+
+  public double ratio() {
+    return ratio;
+  }
+
+  private void installStored() {
+    dictionaryRepo.findAll().forEach(urlCodec::install);
+  }
+}
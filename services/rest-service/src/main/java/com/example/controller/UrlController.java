@@ -1,25 +1,41 @@
 package com.example.controller;
 
+import com.example.cache.RedirectEntry;
+import com.example.dto.BatchShortenRequest;
+import com.example.dto.BatchShortenResponse;
 import com.example.dto.ShortenRequest;
+import com.example.dto.UrlCursorPage;
 import com.example.dto.UrlDto;
-import com.example.model.Url;
+import com.example.service.UrlExportService;
+import com.example.service.UrlFileFormat;
+import com.example.service.UrlImportService;
 import com.example.service.UrlService;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.time.Instant;
 import java.util.Map;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 public class UrlController {
 
   private final UrlService urlService;
+  private final UrlImportService urlImportService;
+  private final UrlExportService urlExportService;
 
-  public UrlController(UrlService urlService) {
+  public UrlController(
+      UrlService urlService, UrlImportService urlImportService, UrlExportService urlExportService) {
     this.urlService = urlService;
+    this.urlImportService = urlImportService;
+    this.urlExportService = urlExportService;
   }
 
   @GetMapping("/health")
@@ -42,17 +58,68 @@ public class UrlController {
     return new ResponseEntity<>(newUrl, HttpStatus.CREATED);
   }
 
+  @PostMapping("/api/urls/batch")
+  @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+  public ResponseEntity<BatchShortenResponse> addUrls(@RequestBody BatchShortenRequest request) {
+    BatchShortenResponse response = urlService.addUrls(request.getUrls());
+    return new ResponseEntity<>(response, HttpStatus.OK);
+  }
+
+  @PostMapping(
+      value = "/api/urls/import",
+      consumes = {UrlFileFormat.NDJSON_VALUE, UrlFileFormat.CSV_VALUE},
+      produces = UrlFileFormat.NDJSON_VALUE)
+  @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+  public void importUrls(
+      @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+      InputStream body,
+      HttpServletResponse response)
+      throws IOException {
+    response.setStatus(HttpStatus.OK.value());
+    response.setContentType(UrlFileFormat.NDJSON_VALUE);
+    urlImportService.importUrls(
+        body, UrlFileFormat.fromContentType(contentType), response.getOutputStream());
+  }
+
   @GetMapping("/api/urls")
   @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
-  public ResponseEntity<Page<Url>> getUrls(
+  public ResponseEntity<Slice<UrlDto>> getUrls(
       @RequestParam(defaultValue = "0") int pageNo,
       @RequestParam(defaultValue = "10") int pageSize,
       @RequestParam(required = false) String sortBy,
-      @RequestParam(required = false) String sortDirection) {
-    Page<Url> urls = urlService.getUrls(pageNo, pageSize, sortBy, sortDirection);
+      @RequestParam(required = false) String sortDirection,
+      @RequestParam(defaultValue = "true") boolean includeTotal) {
+    Slice<UrlDto> urls =
+        includeTotal
+            ? urlService.getUrls(pageNo, pageSize, sortBy, sortDirection)
+            : urlService.getUrlSlice(pageNo, pageSize, sortBy, sortDirection);
     return new ResponseEntity<>(urls, HttpStatus.OK);
   }
 
+  @GetMapping(value = "/api/urls", params = "limit")
+  @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+  public ResponseEntity<UrlCursorPage> getUrlPage(
+      @RequestParam int limit,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(required = false) String sortBy,
+      @RequestParam(required = false) String sortDirection,
+      @RequestParam(defaultValue = "false") boolean includeTotal) {
+    UrlCursorPage page = urlService.getUrlPage(cursor, limit, sortBy, sortDirection, includeTotal);
+    return new ResponseEntity<>(page, HttpStatus.OK);
+  }
+
+  @GetMapping("/api/urls/export")
+  @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+  public ResponseEntity<StreamingResponseBody> exportUrls(
+      @RequestParam(defaultValue = "ndjson") String format) {
+    UrlFileFormat fileFormat = UrlFileFormat.fromParameter(format);
+    return ResponseEntity.ok()
+        .contentType(fileFormat.mediaType())
+        .header(
+            HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=urls." + fileFormat.extension())
+        .body(urlExportService.export(fileFormat));
+  }
+
   @GetMapping("/api/urls/{shortCode}")
   @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
   public ResponseEntity<UrlDto> getUrlByShortCode(@PathVariable String shortCode) {
@@ -69,9 +136,9 @@ public class UrlController {
 
   @GetMapping("/{shortCode}")
   public ResponseEntity<Void> redirectUrl(@PathVariable String shortCode) {
-    Url url = urlService.redirect(shortCode);
+    RedirectEntry entry = urlService.redirect(shortCode);
     return ResponseEntity.status(HttpStatus.TEMPORARY_REDIRECT)
-        .location(URI.create(url.getLongUrl()))
+        .location(URI.create(entry.longUrl()))
         .build();
   }
 }
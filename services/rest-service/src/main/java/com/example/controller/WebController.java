@@ -1,13 +1,7 @@
 package com.example.controller;
 
-import com.example.dto.UrlDto;
-import com.example.model.Url;
+import com.example.dto.UrlCursorPage;
 import com.example.service.UrlService;
-import java.time.LocalDateTime;
-import java.util.List;
-import java.util.stream.Collectors;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -18,9 +12,6 @@ public class WebController {
 
   private final UrlService urlService;
 
-  @Value("${app.base-url}")
-  private String baseUrl;
-
   public WebController(UrlService urlService) {
     this.urlService = urlService;
   }
@@ -33,37 +24,19 @@ public class WebController {
 
   @GetMapping("/urls")
   public String urls(
-      @RequestParam(defaultValue = "0") int page,
+      @RequestParam(required = false) String cursor,
       @RequestParam(defaultValue = "10") int size,
       @RequestParam(required = false) String sortBy,
       @RequestParam(required = false) String sortDirection,
       Model model) {
-    Page<Url> urls = urlService.getUrls(page, size, sortBy, sortDirection);
-
-    List<UrlDto> urlDtos = urls.stream().map(this::mapToUrlDto).collect(Collectors.toList());
-
-    model.addAttribute("urls", urlDtos);
-    model.addAttribute("currentPage", urls.getNumber());
-    model.addAttribute("pageSize", urls.getSize());
-    model.addAttribute("totalPages", urls.getTotalPages());
-    model.addAttribute("totalElements", urls.getTotalElements());
-    model.addAttribute("sortBy", sortBy != null ? sortBy : "id");
-    model.addAttribute("sortDirection", sortDirection != null ? sortDirection : "desc");
+    UrlCursorPage page = urlService.getUrlPage(cursor, size, sortBy, sortDirection, false);
+
+    model.addAttribute("urls", page.getUrls());
+    model.addAttribute("pageSize", page.getSize());
+    model.addAttribute("nextCursor", page.getNextCursor());
+    model.addAttribute("previousCursor", page.getPreviousCursor());
+    model.addAttribute("sortBy", page.getSortBy());
+    model.addAttribute("sortDirection", page.getSortDirection());
     return "urls";
   }
-
-  private UrlDto mapToUrlDto(Url url) {
-    UrlDto urlDto = new UrlDto();
-    urlDto.setId(url.getId());
-    urlDto.setLongUrl(url.getLongUrl());
-    urlDto.setShortCode(url.getShortCode());
-    urlDto.setShortUrl(baseUrl + "/" + url.getShortCode());
-    urlDto.setClicks(url.getClicks());
-    urlDto.setCreatedAt(url.getCreatedAt());
-    urlDto.setUpdatedAt(url.getUpdatedAt());
-    urlDto.setExpiresAt(url.getExpiresAt());
-    urlDto.setExpired(
-        url.getExpiresAt() != null && LocalDateTime.now().isAfter(url.getExpiresAt()));
-    return urlDto;
-  }
 }
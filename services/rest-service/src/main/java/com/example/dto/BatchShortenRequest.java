@@ -0,0 +1,9 @@
+package com.example.dto;
+
+import java.util.List;
+import lombok.Data;
+
+@Data
+public class BatchShortenRequest {
+  private List<String> urls;
+}
@@ -0,0 +1,12 @@
+package com.example.dto;
+
+import java.util.List;
+import lombok.Data;
+
+@Data
+public class BatchShortenResponse {
+  private int total;
+  private int succeeded;
+  private int failed;
+  private List<BatchShortenResult> results;
+}
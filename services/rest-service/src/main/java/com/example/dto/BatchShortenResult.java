@@ -0,0 +1,12 @@
+package com.example.dto;
+
+import lombok.Data;
+
+@Data
+public class BatchShortenResult {
+  private int index;
+  private String longUrl;
+  private boolean success;
+  private UrlDto url;
+  private String error;
+}
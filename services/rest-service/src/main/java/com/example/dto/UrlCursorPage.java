@@ -0,0 +1,17 @@
+package com.example.dto;
+
+import java.util.List;
+import lombok.Data;
+
+@Data
+public class UrlCursorPage {
+  private List<UrlDto> urls;
+  private int size;
+  private String sortBy;
+  private String sortDirection;
+  private boolean hasNext;
+  private boolean hasPrevious;
+  private String nextCursor;
+  private String previousCursor;
+  private Long totalElements;
+}
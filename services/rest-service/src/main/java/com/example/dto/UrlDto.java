@@ -14,4 +14,5 @@ public class UrlDto {
   private LocalDateTime createdAt;
   private LocalDateTime updatedAt;
   private LocalDateTime expiresAt;
+  private Long createdBy;
 }
@@ -0,0 +1,10 @@
+package com.example.dto;
+
+import lombok.Data;
+
+@Data
+public class UrlImportSummary {
+  private int total;
+  private int succeeded;
+  private int failed;
+}
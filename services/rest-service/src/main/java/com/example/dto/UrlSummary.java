@@ -0,0 +1,17 @@
+package com.example.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of the {@code url} columns the list endpoints return. Selecting it with a
+ * constructor expression skips entity hydration, so rows are neither managed nor dirty-checked.
+ */
+public record UrlSummary(
+    Long id,
+    String shortCode,
+    String longUrl,
+    int clicks,
+    LocalDateTime createdAt,
+    LocalDateTime updatedAt,
+    LocalDateTime expiresAt,
+    Long createdBy) {}
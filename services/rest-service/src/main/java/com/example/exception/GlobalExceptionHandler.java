@@ -3,6 +3,7 @@ package com.example.exception;
 import java.util.NoSuchElementException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpMediaTypeNotSupportedException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
@@ -38,6 +39,14 @@ public class GlobalExceptionHandler {
     return new ResponseEntity<>(error, HttpStatus.TOO_MANY_REQUESTS);
   }
 
+  @ExceptionHandler(ShortCodeRateExceededException.class)
+  public ResponseEntity<ErrorResponse> handleShortCodeRateExceededException(
+      ShortCodeRateExceededException ex, WebRequest request) {
+    ErrorResponse error =
+        new ErrorResponse(HttpStatus.SERVICE_UNAVAILABLE.value(), ex.getMessage());
+    return new ResponseEntity<>(error, HttpStatus.SERVICE_UNAVAILABLE);
+  }
+
   @ExceptionHandler(IllegalArgumentException.class)
   public ResponseEntity<ErrorResponse> handleIllegalArgumentException(
       IllegalArgumentException ex, WebRequest request) {
@@ -83,6 +92,14 @@ public class GlobalExceptionHandler {
     return new ResponseEntity<>(error, HttpStatus.UNAUTHORIZED);
   }
 
+  @ExceptionHandler(HttpMediaTypeNotSupportedException.class)
+  public ResponseEntity<ErrorResponse> handleHttpMediaTypeNotSupportedException(
+      HttpMediaTypeNotSupportedException ex, WebRequest request) {
+    ErrorResponse error =
+        new ErrorResponse(HttpStatus.UNSUPPORTED_MEDIA_TYPE.value(), ex.getMessage());
+    return new ResponseEntity<>(error, HttpStatus.UNSUPPORTED_MEDIA_TYPE);
+  }
+
   @ExceptionHandler(Exception.class)
   public ResponseEntity<ErrorResponse> handleGlobalException(Exception ex, WebRequest request) {
     ErrorResponse error =
@@ -0,0 +1,7 @@
+package com.example.exception;
+
+public class ShortCodeRateExceededException extends RuntimeException {
+  public ShortCodeRateExceededException() {
+    super("Short codes are being requested faster than this instance can generate them");
+  }
+}
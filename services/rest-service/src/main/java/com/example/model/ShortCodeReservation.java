@@ -0,0 +1,31 @@
+package com.example.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Entity
+@Table(indexes = @Index(name = "idx_short_code_reservation_node", columnList = "node"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShortCodeReservation {
+
+  @Id
+  @Column(length = 16)
+  private String code;
+
+  @Column(nullable = false, length = 64)
+  private String node;
+
+  @Column(nullable = false)
+  private LocalDateTime reservedAt;
+}
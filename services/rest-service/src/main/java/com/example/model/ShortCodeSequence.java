@@ -0,0 +1,24 @@
+package com.example.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShortCodeSequence {
+
+  @Id
+  @Column(length = 64)
+  private String name;
+
+  @Column(nullable = false)
+  private long nextValue;
+}
@@ -5,19 +5,49 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import java.time.LocalDateTime;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
+@Table(
+    indexes = {
+      @Index(name = "idx_url_created_by_url_hash", columnList = "created_by, url_hash"),
+      @Index(name = "idx_url_created_by_id", columnList = "created_by, id"),
+      @Index(name = "idx_url_created_at", columnList = "created_at"),
+      @Index(name = "idx_url_clicks", columnList = "clicks"),
+      @Index(name = "idx_url_expires_at", columnList = "expires_at"),
+      @Index(name = "idx_url_created_by_short_code", columnList = "created_by, short_code"),
+      @Index(name = "idx_url_created_by_created_at", columnList = "created_by, created_at"),
+      @Index(name = "idx_url_created_by_clicks", columnList = "created_by, clicks"),
+      @Index(name = "idx_url_created_by_expires_at", columnList = "created_by, expires_at")
+    })
 @Getter
 @Setter
 @NoArgsConstructor
 public class Url {
 
+  /** Name of the {@code id_sequence} row that url ids are allocated from. */
+  public static final String ID_SEQUENCE = "url";
+
+  /**
+   * Ids are leased from {@code id_sequence} in blocks rather than taken from {@code
+   * AUTO_INCREMENT}, so Hibernate can batch inserts. See {@link
+   * com.example.repository.IdSequenceJdbcRepository}.
+   */
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.TABLE, generator = "url_id")
+  @TableGenerator(
+      name = "url_id",
+      table = "id_sequence",
+      pkColumnName = "name",
+      valueColumnName = "last_id",
+      pkColumnValue = ID_SEQUENCE,
+      allocationSize = 50)
   private Long id;
 
   @Column(nullable = false, unique = true)
@@ -26,6 +56,10 @@ public class Url {
   @Column(nullable = false, columnDefinition = "TEXT")
   private String longUrl;
 
+  /**
+   * Clicks folded in from {@link UrlClickShard} slots. Lags the total by the clicks added since the
+   * last fold; {@link com.example.repository.UrlJdbcRepository#getClickCount} adds them.
+   */
   @Column(nullable = false)
   private int clicks = 0;
 
@@ -43,4 +77,8 @@ public class Url {
 
   @Column(name = "created_by")
   private Long createdBy;
+
+  /** SHA-256 of the normalized long URL, see {@link com.example.util.UrlNormalizer}. */
+  @Column(name = "url_hash", length = 64, columnDefinition = "CHAR(64)")
+  private String urlHash;
 }
@@ -0,0 +1,54 @@
+package com.example.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A {@link Url} removed by {@link com.example.service.UrlReaper} once it had been expired for
+ * longer than the grace period. Rows keep the id they had in {@code url}.
+ */
+@Entity
+@Table(
+    name = "url_archive",
+    indexes = @Index(name = "idx_url_archive_created_by", columnList = "created_by"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class UrlArchive {
+
+  @Id private Long id;
+
+  @Column(nullable = false)
+  private String shortCode;
+
+  @Column(nullable = false, columnDefinition = "TEXT")
+  private String longUrl;
+
+  @Column(nullable = false)
+  private int clicks;
+
+  @Column(nullable = false)
+  private LocalDateTime createdAt;
+
+  @Column(nullable = false)
+  private LocalDateTime updatedAt;
+
+  @Column(nullable = true)
+  private LocalDateTime expiresAt;
+
+  @Column(name = "created_by")
+  private Long createdBy;
+
+  @Column(name = "url_hash", length = 64, columnDefinition = "CHAR(64)")
+  private String urlHash;
+
+  @Column(nullable = false)
+  private LocalDateTime archivedAt;
+}
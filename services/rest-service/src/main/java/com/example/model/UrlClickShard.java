@@ -0,0 +1,43 @@
+package com.example.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One of the {@code click-counter.shards} slots that clicks on a {@link Url} are added to before
+ * they are folded into {@link Url#getClicks()}. See {@link com.example.cache.ClickCounter}.
+ */
+@Entity
+@Table(name = "url_click_shards")
+@IdClass(UrlClickShard.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+public class UrlClickShard {
+
+  @Id
+  @Column(name = "url_id")
+  private Long urlId;
+
+  @Id private Integer slot;
+
+  @Column(nullable = false)
+  private long clicks;
+
+  @EqualsAndHashCode
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class Key implements Serializable {
+    private Long urlId;
+    private Integer slot;
+  }
+}
@@ -0,0 +1,31 @@
+package com.example.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A trained {@link com.example.cache.UrlDictionary}, stored so that URLs encoded with it can be
+ * decoded after a restart. Read and written by {@link
+ * com.example.repository.UrlDictionaryJdbcRepository}.
+ */
+@Entity
+@Table(name = "url_dictionary")
+@Getter
+@Setter
+@NoArgsConstructor
+public class UrlDictionaryVersion {
+
+  @Id private Integer version;
+
+  @Column(nullable = false, columnDefinition = "TEXT")
+  private String entries;
+
+  @Column(nullable = false)
+  private LocalDateTime createdAt;
+}
@@ -0,0 +1,6 @@
+package com.example.repository;
+
+import java.time.LocalDateTime;
+
+/** A URL found by the reaper, and the keyset position of the next chunk to read after it. */
+public record ExpiredUrl(long id, String shortCode, LocalDateTime expiresAt) {}
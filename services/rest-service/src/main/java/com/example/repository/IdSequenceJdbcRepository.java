@@ -0,0 +1,43 @@
+package com.example.repository;
+
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Reserves ids from the {@code id_sequence} table that Hibernate's pooled-lo table generator draws
+ * {@link com.example.model.Url} ids from, for rows inserted with plain JDBC. Each row stores the
+ * last id handed out under its name, so both allocate the same way and never overlap.
+ */
+@Repository
+public class IdSequenceJdbcRepository {
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public IdSequenceJdbcRepository(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /**
+   * Reserves {@code count} consecutive ids under {@code name}. Runs in its own transaction so the
+   * sequence row is only locked for the update itself, not for the caller's inserts.
+   *
+   * @return the first id of the block
+   */
+  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  public long reserve(String name, int count) {
+    List<Long> lastIds =
+        jdbcTemplate.queryForList(
+            "SELECT last_id FROM id_sequence WHERE name = ? FOR UPDATE", Long.class, name);
+    if (lastIds.isEmpty()) {
+      // A concurrent first reservation fails on the primary key and is retried by the caller.
+      jdbcTemplate.update("INSERT INTO id_sequence (name, last_id) VALUES (?, ?)", name, count);
+      return 1;
+    }
+    long lastId = lastIds.get(0);
+    jdbcTemplate.update("UPDATE id_sequence SET last_id = ? WHERE name = ?", lastId + count, name);
+    return lastId + 1;
+  }
+}
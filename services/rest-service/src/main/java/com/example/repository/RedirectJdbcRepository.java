@@ -0,0 +1,56 @@
+package com.example.repository;
+
+import com.example.cache.RedirectEntry;
+import com.example.datasource.ReplicaRoutingDataSource;
+import java.sql.Timestamp;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Redirect lookups by short code, reading straight into a {@link RedirectEntry}. Nothing passes
+ * through the EntityManager: no managed entity, no dirty-checking snapshot, no repository proxy or
+ * transaction. The statement text is constant, so with {@code cachePrepStmts} enabled on the pool
+ * each connection prepares it once.
+ *
+ * <p>{@link #findByShortCode} reads from a healthy read replica when there is one, as the JPA
+ * finder did through its read-only transaction.
+ */
+@Repository
+public class RedirectJdbcRepository {
+
+  private static final String SELECT_BY_SHORT_CODE =
+      "SELECT long_url, expires_at, created_by FROM url WHERE short_code = ?";
+
+  private static final ResultSetExtractor<RedirectEntry> FIRST_ENTRY =
+      rs -> {
+        if (!rs.next()) {
+          return null;
+        }
+        String longUrl = rs.getString(1);
+        Timestamp expiresAt = rs.getTimestamp(2);
+        long creator = rs.getLong(3);
+        Long createdBy = rs.wasNull() ? null : creator;
+        return new RedirectEntry(
+            longUrl, expiresAt != null ? expiresAt.toLocalDateTime() : null, createdBy);
+      };
+
+  private final JdbcTemplate primaryJdbcTemplate;
+  private final JdbcTemplate replicaJdbcTemplate;
+
+  public RedirectJdbcRepository(
+      JdbcTemplate jdbcTemplate, ReplicaRoutingDataSource replicaDataSource) {
+    this.primaryJdbcTemplate = jdbcTemplate;
+    this.replicaJdbcTemplate = new JdbcTemplate(replicaDataSource);
+  }
+
+  /** Returns the redirect for {@code shortCode}, or null if there is no such URL. */
+  public RedirectEntry findByShortCode(String shortCode) {
+    return replicaJdbcTemplate.query(SELECT_BY_SHORT_CODE, FIRST_ENTRY, shortCode);
+  }
+
+  /** {@link #findByShortCode} on the primary, for rows a read replica may not have received yet. */
+  public RedirectEntry findByShortCodeOnPrimary(String shortCode) {
+    return primaryJdbcTemplate.query(SELECT_BY_SHORT_CODE, FIRST_ENTRY, shortCode);
+  }
+}
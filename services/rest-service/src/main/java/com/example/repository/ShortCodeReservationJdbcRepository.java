@@ -0,0 +1,103 @@
+package com.example.repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/** Batch JDBC access to the {@code short_code_reservation} table backing the short code pool. */
+@Repository
+public class ShortCodeReservationJdbcRepository {
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public ShortCodeReservationJdbcRepository(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  public void reserve(String node, Collection<String> codes, LocalDateTime reservedAt) {
+    if (codes.isEmpty()) {
+      return;
+    }
+    List<Object[]> batchArgs = new ArrayList<>(codes.size());
+    for (String code : codes) {
+      batchArgs.add(new Object[] {code, node, reservedAt});
+    }
+    jdbcTemplate.batchUpdate(
+        "INSERT INTO short_code_reservation (code, node, reserved_at) VALUES (?, ?, ?)", batchArgs);
+  }
+
+  public void release(Collection<String> codes) {
+    if (codes.isEmpty()) {
+      return;
+    }
+    List<Object[]> batchArgs = new ArrayList<>(codes.size());
+    for (String code : codes) {
+      batchArgs.add(new Object[] {code});
+    }
+    jdbcTemplate.batchUpdate("DELETE FROM short_code_reservation WHERE code = ?", batchArgs);
+  }
+
+  /** Marks every reservation of {@code node} as still held at {@code now}. */
+  public int renew(String node, LocalDateTime now) {
+    return jdbcTemplate.update(
+        "UPDATE short_code_reservation SET reserved_at = ? WHERE node = ?", now, node);
+  }
+
+  /**
+   * Moves reservations last renewed before {@code expiredBefore}, whichever node made them, to
+   * {@code node} and returns their codes that no URL uses yet, oldest first. Expired reservations
+   * of codes already in use are dropped. Each reservation is moved by one caller only, however many
+   * adopt at the same time.
+   */
+  public List<String> adoptExpired(String node, LocalDateTime expiredBefore, LocalDateTime now) {
+    jdbcTemplate.update(
+        "DELETE FROM short_code_reservation WHERE reserved_at < ?"
+            + " AND code IN (SELECT short_code FROM url)",
+        expiredBefore);
+    List<String> expired =
+        jdbcTemplate.queryForList(
+            "SELECT code FROM short_code_reservation WHERE reserved_at < ? ORDER BY reserved_at",
+            String.class,
+            expiredBefore);
+    if (expired.isEmpty()) {
+      return expired;
+    }
+    List<Object[]> batchArgs = new ArrayList<>(expired.size());
+    for (String code : expired) {
+      batchArgs.add(new Object[] {node, now, code, expiredBefore});
+    }
+    int[] updated =
+        jdbcTemplate.batchUpdate(
+            "UPDATE short_code_reservation SET node = ?, reserved_at = ?"
+                + " WHERE code = ? AND reserved_at < ?",
+            batchArgs);
+    List<String> adopted = new ArrayList<>(expired.size());
+    for (int i = 0; i < updated.length; i++) {
+      if (updated[i] > 0) {
+        adopted.add(expired.get(i));
+      }
+    }
+    return adopted;
+  }
+
+  /** Drops reservations of {@code node} whose code has already been given to a URL. */
+  public int releaseUsed(String node) {
+    return jdbcTemplate.update(
+        "DELETE FROM short_code_reservation WHERE node = ?"
+            + " AND code IN (SELECT short_code FROM url)",
+        node);
+  }
+
+  /** Codes reserved by {@code node} that no URL uses yet, oldest reservation first. */
+  public List<String> findUnused(String node) {
+    return jdbcTemplate.queryForList(
+        "SELECT r.code FROM short_code_reservation r WHERE r.node = ?"
+            + " AND NOT EXISTS (SELECT 1 FROM url u WHERE u.short_code = r.code)"
+            + " ORDER BY r.reserved_at",
+        String.class,
+        node);
+  }
+}
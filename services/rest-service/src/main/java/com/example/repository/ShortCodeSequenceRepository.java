@@ -0,0 +1,15 @@
+package com.example.repository;
+
+import com.example.model.ShortCodeSequence;
+import jakarta.persistence.LockModeType;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ShortCodeSequenceRepository extends JpaRepository<ShortCodeSequence, String> {
+
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  Optional<ShortCodeSequence> findWithLockByName(String name);
+}
@@ -0,0 +1,56 @@
+package com.example.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in a keyset scan over URLs: the sort key and id of the row a page ended (or, for {@code
+ * backward} cursors, started) at, together with the sort it belongs to.
+ *
+ * <p>Clients only ever see the {@link #encode() encoded} form, an opaque URL-safe token.
+ */
+public record UrlCursor(
+    String sortBy, boolean ascending, boolean backward, String sortValue, long id) {
+
+  private static final String VERSION = "1";
+
+  public String encode() {
+    String payload =
+        String.join(
+            "|",
+            VERSION,
+            sortBy,
+            ascending ? "asc" : "desc",
+            backward ? "b" : "f",
+            Long.toString(id),
+            sortValue != null ? "=" + sortValue : "");
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * @throws IllegalArgumentException if {@code token} was not produced by {@link #encode()}
+   */
+  public static UrlCursor decode(String token) {
+    try {
+      String payload = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+      String[] parts = payload.split("\\|", 6);
+      if (parts.length != 6
+          || !parts[0].equals(VERSION)
+          || !(parts[2].equals("asc") || parts[2].equals("desc"))
+          || !(parts[3].equals("f") || parts[3].equals("b"))) {
+        throw new IllegalArgumentException("Invalid cursor");
+      }
+      return new UrlCursor(
+          parts[1],
+          parts[2].equals("asc"),
+          parts[3].equals("b"),
+          parts[5].isEmpty() ? null : parts[5].substring(1),
+          Long.parseLong(parts[4]));
+    } catch (IllegalArgumentException e) {
+      // Also covers bad base64 and NumberFormatException.
+      throw new IllegalArgumentException("Invalid cursor", e);
+    }
+  }
+}
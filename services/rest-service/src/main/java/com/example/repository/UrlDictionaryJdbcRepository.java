@@ -0,0 +1,43 @@
+package com.example.repository;
+
+import com.example.cache.UrlDictionary;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/** Stored versions of the {@link UrlDictionary} that long URLs are compressed with. */
+@Repository
+public class UrlDictionaryJdbcRepository {
+
+  private static final String SEPARATOR = "\n";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public UrlDictionaryJdbcRepository(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /** Returns every stored dictionary, oldest first. */
+  public List<UrlDictionary> findAll() {
+    return jdbcTemplate.query(
+        "SELECT version, entries FROM url_dictionary ORDER BY version",
+        (rs, rowNum) ->
+            new UrlDictionary(
+                rs.getInt("version"), List.of(rs.getString("entries").split(SEPARATOR))));
+  }
+
+  /**
+   * Stores {@code dictionary}.
+   *
+   * @throws org.springframework.dao.DuplicateKeyException if its version is already taken
+   */
+  public void insert(UrlDictionary dictionary, LocalDateTime createdAt) {
+    jdbcTemplate.update(
+        "INSERT INTO url_dictionary (version, entries, created_at) VALUES (?, ?, ?)",
+        dictionary.version(),
+        String.join(SEPARATOR, dictionary.entries()),
+        Timestamp.valueOf(createdAt));
+  }
+}
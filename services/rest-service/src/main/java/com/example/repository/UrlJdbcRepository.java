@@ -0,0 +1,353 @@
+package com.example.repository;
+
+import com.example.model.Url;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Plain JDBC access to the {@code url} table for hot paths where going through the JPA entity
+ * lifecycle would cost more than the query itself.
+ */
+@Repository
+public class UrlJdbcRepository {
+
+  private static final int ID_LOOKUP_CHUNK = 1_000;
+
+  private static final String ADD_SHARD_CLICKS =
+      "UPDATE url_click_shards SET clicks = clicks + ? WHERE url_id = ? AND slot = ?";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final IdSequenceJdbcRepository idSequenceRepo;
+
+  public UrlJdbcRepository(JdbcTemplate jdbcTemplate, IdSequenceJdbcRepository idSequenceRepo) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.idSequenceRepo = idSequenceRepo;
+  }
+
+  /**
+   * Adds each delta to slot {@code slot} of its short code in {@code url_click_shards}, creating
+   * the slot row on first use. Writers that pick different slots never wait on each other's row
+   * locks, and the {@code url} row itself is not written, so {@code updatedAt} stays untouched: a
+   * click is not a modification of the link. Short codes that no longer exist are ignored. All
+   * deltas are added in one transaction, so a flush that fails part way can be retried whole
+   * without counting any of them twice.
+   */
+  @Transactional
+  public void addClicks(Map<String, Long> deltas, int slot) {
+    if (deltas.isEmpty()) {
+      return;
+    }
+    Map<Long, Long> byId = new HashMap<>();
+    List<String> shortCodes = new ArrayList<>(deltas.keySet());
+    for (int from = 0; from < shortCodes.size(); from += ID_LOOKUP_CHUNK) {
+      List<String> chunk =
+          shortCodes.subList(from, Math.min(from + ID_LOOKUP_CHUNK, shortCodes.size()));
+      jdbcTemplate.query(
+          "SELECT id, short_code FROM url WHERE short_code IN (" + placeholders(chunk.size()) + ")",
+          (RowCallbackHandler)
+              rs -> byId.put(rs.getLong("id"), deltas.get(rs.getString("short_code"))),
+          chunk.toArray());
+    }
+    if (byId.isEmpty()) {
+      return;
+    }
+    List<Object[]> batchArgs = new ArrayList<>(byId.size());
+    byId.forEach((id, delta) -> batchArgs.add(new Object[] {delta, id, slot}));
+    int[] updated = jdbcTemplate.batchUpdate(ADD_SHARD_CLICKS, batchArgs);
+    for (int i = 0; i < updated.length; i++) {
+      if (updated[i] == 0) {
+        insertShard(batchArgs.get(i));
+      }
+    }
+  }
+
+  private void insertShard(Object[] args) {
+    try {
+      jdbcTemplate.update(
+          "INSERT INTO url_click_shards (clicks, url_id, slot) VALUES (?, ?, ?)", args);
+    } catch (DuplicateKeyException e) {
+      // Another instance created the slot row first.
+      jdbcTemplate.update(ADD_SHARD_CLICKS, args);
+    }
+  }
+
+  /**
+   * Returns the total click count of {@code shortCode}: the count folded into {@code url} plus its
+   * {@code url_click_shards} slots. Null if there is no such URL.
+   */
+  public Long getClickCount(String shortCode) {
+    return jdbcTemplate.query(
+        "SELECT u.clicks + COALESCE((SELECT SUM(s.clicks) FROM url_click_shards s"
+            + " WHERE s.url_id = u.id), 0) FROM url u WHERE u.short_code = ?",
+        rs -> rs.next() ? rs.getLong(1) : null,
+        shortCode);
+  }
+
+  /**
+   * Moves up to {@code limit} non-empty {@code url_click_shards} slots into {@code url.clicks} in
+   * one transaction, so listings sorted by clicks catch up and total reads stay cheap. The slots
+   * are locked first; writers adding to them wait for the commit rather than being lost.
+   *
+   * @return the number of slots folded
+   */
+  @Transactional
+  public int foldClickShards(int limit) {
+    List<Object[]> slots = new ArrayList<>();
+    Map<Long, Long> totals = new LinkedHashMap<>();
+    jdbcTemplate.query(
+        "SELECT url_id, slot, clicks FROM url_click_shards WHERE clicks > 0"
+            + " ORDER BY url_id, slot LIMIT ? FOR UPDATE",
+        (RowCallbackHandler)
+            rs -> {
+              long urlId = rs.getLong("url_id");
+              long clicks = rs.getLong("clicks");
+              slots.add(new Object[] {clicks, urlId, rs.getInt("slot")});
+              totals.merge(urlId, clicks, Long::sum);
+            },
+        limit);
+    if (slots.isEmpty()) {
+      return 0;
+    }
+    List<Object[]> urlArgs = new ArrayList<>(totals.size());
+    totals.forEach((urlId, clicks) -> urlArgs.add(new Object[] {clicks, urlId}));
+    jdbcTemplate.batchUpdate("UPDATE url SET clicks = clicks + ? WHERE id = ?", urlArgs);
+    jdbcTemplate.batchUpdate(
+        "UPDATE url_click_shards SET clicks = clicks - ? WHERE url_id = ? AND slot = ?", slots);
+    return slots.size();
+  }
+
+  /**
+   * Inserts {@code urls} as one JDBC batch in a single transaction, with ids reserved from the same
+   * sequence as {@link Url} entities, and sets those ids on them. Either every row is inserted or,
+   * if any fails (for example on a duplicate short code), none is.
+   */
+  @Transactional
+  public void insertUrls(List<Url> urls) {
+    if (urls.isEmpty()) {
+      return;
+    }
+    long firstId = idSequenceRepo.reserve(Url.ID_SEQUENCE, urls.size());
+    jdbcTemplate.batchUpdate(
+        "INSERT INTO url (id, short_code, long_url, clicks, is_deleted, created_at, updated_at,"
+            + " expires_at, created_by, url_hash) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+        new BatchPreparedStatementSetter() {
+          @Override
+          public void setValues(PreparedStatement ps, int i) throws SQLException {
+            Url url = urls.get(i);
+            ps.setLong(1, firstId + i);
+            ps.setString(2, url.getShortCode());
+            ps.setString(3, url.getLongUrl());
+            ps.setInt(4, url.getClicks());
+            ps.setBoolean(5, url.isDeleted());
+            ps.setTimestamp(6, Timestamp.valueOf(url.getCreatedAt()));
+            ps.setTimestamp(7, Timestamp.valueOf(url.getUpdatedAt()));
+            ps.setTimestamp(
+                8, url.getExpiresAt() != null ? Timestamp.valueOf(url.getExpiresAt()) : null);
+            if (url.getCreatedBy() != null) {
+              ps.setLong(9, url.getCreatedBy());
+            } else {
+              ps.setNull(9, Types.BIGINT);
+            }
+            ps.setString(10, url.getUrlHash());
+          }
+
+          @Override
+          public int getBatchSize() {
+            return urls.size();
+          }
+        });
+    for (int i = 0; i < urls.size(); i++) {
+      urls.get(i).setId(firstId + i);
+    }
+  }
+
+  public long countUrls() {
+    Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM url", Long.class);
+    return count != null ? count : 0;
+  }
+
+  /** Returns the long URLs of the {@code limit} most recently created links. */
+  public List<String> findRecentLongUrls(int limit) {
+    return jdbcTemplate.queryForList(
+        "SELECT long_url FROM url ORDER BY id DESC LIMIT ?", String.class, limit);
+  }
+
+  /**
+   * Feeds every short code to {@code action}, reading the table in primary-key order {@code
+   * chunkSize} rows at a time so no long-running cursor or large result set is held open.
+   */
+  public void forEachShortCode(int chunkSize, Consumer<String> action) {
+    long lastId = 0;
+    List<IdentifiedCode> chunk;
+    do {
+      chunk =
+          jdbcTemplate.query(
+              "SELECT id, short_code FROM url WHERE id > ? ORDER BY id LIMIT ?",
+              (rs, rowNum) -> new IdentifiedCode(rs.getLong("id"), rs.getString("short_code")),
+              lastId,
+              chunkSize);
+      for (IdentifiedCode row : chunk) {
+        action.accept(row.shortCode());
+      }
+      if (!chunk.isEmpty()) {
+        lastId = chunk.get(chunk.size() - 1).id();
+      }
+    } while (chunk.size() == chunkSize);
+  }
+
+  /**
+   * Feeds every URL created by {@code createdBy}, or every URL when it is null, to {@code action}
+   * in id order. Rows are read {@code chunkSize} at a time with a keyset on {@code id}, so each
+   * query costs the same however far the scan has got, and no connection is held between chunks.
+   * {@code afterChunk} runs once each chunk has been handed over. Each URL's clicks include those
+   * not yet folded in from {@code url_click_shards}.
+   */
+  public void forEachUrl(Long createdBy, int chunkSize, Consumer<Url> action, Runnable afterChunk) {
+    String sql =
+        "SELECT id, short_code, long_url, clicks + COALESCE((SELECT SUM(s.clicks) FROM"
+            + " url_click_shards s WHERE s.url_id = url.id), 0) AS clicks, is_deleted, created_at,"
+            + " updated_at, expires_at, created_by, url_hash FROM url WHERE "
+            + (createdBy != null ? "created_by = ? AND " : "")
+            + "id > ? ORDER BY id LIMIT ?";
+    long lastId = 0;
+    List<Url> chunk;
+    do {
+      Object[] args =
+          createdBy != null
+              ? new Object[] {createdBy, lastId, chunkSize}
+              : new Object[] {lastId, chunkSize};
+      chunk = jdbcTemplate.query(sql, UrlJdbcRepository::mapUrl, args);
+      for (Url url : chunk) {
+        action.accept(url);
+      }
+      if (!chunk.isEmpty()) {
+        lastId = chunk.get(chunk.size() - 1).getId();
+        afterChunk.run();
+      }
+    } while (chunk.size() == chunkSize);
+  }
+
+  public void forEachShortCodeCreatedSince(LocalDateTime since, Consumer<String> action) {
+    jdbcTemplate.query(
+        "SELECT short_code FROM url WHERE created_at >= ?",
+        (RowCallbackHandler) rs -> action.accept(rs.getString("short_code")),
+        since);
+  }
+
+  /**
+   * Returns up to {@code limit} URLs that expired before {@code cutoff}, ordered by expiry and then
+   * id and starting after {@code after} when it is not null. The order follows {@code
+   * idx_url_expires_at}, so every chunk is a short index range scan.
+   */
+  public List<ExpiredUrl> findExpired(LocalDateTime cutoff, ExpiredUrl after, int limit) {
+    RowMapper<ExpiredUrl> mapper =
+        (rs, rowNum) ->
+            new ExpiredUrl(
+                rs.getLong("id"),
+                rs.getString("short_code"),
+                rs.getTimestamp("expires_at").toLocalDateTime());
+    if (after == null) {
+      return jdbcTemplate.query(
+          "SELECT id, short_code, expires_at FROM url WHERE expires_at < ?"
+              + " ORDER BY expires_at, id LIMIT ?",
+          mapper,
+          Timestamp.valueOf(cutoff),
+          limit);
+    }
+    Timestamp afterExpiresAt = Timestamp.valueOf(after.expiresAt());
+    return jdbcTemplate.query(
+        "SELECT id, short_code, expires_at FROM url WHERE expires_at < ?"
+            + " AND (expires_at > ? OR (expires_at = ? AND id > ?))"
+            + " ORDER BY expires_at, id LIMIT ?",
+        mapper,
+        Timestamp.valueOf(cutoff),
+        afterExpiresAt,
+        afterExpiresAt,
+        after.id(),
+        limit);
+  }
+
+  /**
+   * Copies the URLs with the given ids that still expired before {@code cutoff} into {@code
+   * url_archive}, counting clicks not yet folded in from {@code url_click_shards}, and deletes them
+   * from {@code url} and {@code url_click_shards}, in one short transaction. The rows are locked
+   * first, so two reapers working on the same ids cannot archive a row twice.
+   *
+   * @return the number of URLs archived and deleted
+   */
+  @Transactional
+  public int archiveExpired(List<Long> ids, LocalDateTime cutoff, LocalDateTime archivedAt) {
+    if (ids.isEmpty()) {
+      return 0;
+    }
+    List<Object> lockArgs = new ArrayList<>(ids);
+    lockArgs.add(Timestamp.valueOf(cutoff));
+    List<Long> locked =
+        jdbcTemplate.queryForList(
+            "SELECT id FROM url WHERE id IN ("
+                + placeholders(ids.size())
+                + ") AND expires_at < ? FOR UPDATE",
+            Long.class,
+            lockArgs.toArray());
+    if (locked.isEmpty()) {
+      return 0;
+    }
+    String in = placeholders(locked.size());
+    List<Object> insertArgs = new ArrayList<>(locked.size() + 1);
+    insertArgs.add(Timestamp.valueOf(archivedAt));
+    insertArgs.addAll(locked);
+    jdbcTemplate.update(
+        "INSERT INTO url_archive (id, short_code, long_url, clicks, created_at, updated_at,"
+            + " expires_at, created_by, url_hash, archived_at)"
+            + " SELECT id, short_code, long_url, clicks + COALESCE((SELECT SUM(s.clicks) FROM"
+            + " url_click_shards s WHERE s.url_id = url.id), 0), created_at, updated_at,"
+            + " expires_at, created_by, url_hash, ? FROM url WHERE id IN ("
+            + in
+            + ")",
+        insertArgs.toArray());
+    jdbcTemplate.update(
+        "DELETE FROM url_click_shards WHERE url_id IN (" + in + ")", locked.toArray());
+    return jdbcTemplate.update("DELETE FROM url WHERE id IN (" + in + ")", locked.toArray());
+  }
+
+  private static String placeholders(int count) {
+    return String.join(", ", Collections.nCopies(count, "?"));
+  }
+
+  private static Url mapUrl(ResultSet rs, int rowNum) throws SQLException {
+    Url url = new Url();
+    url.setId(rs.getLong("id"));
+    url.setShortCode(rs.getString("short_code"));
+    url.setLongUrl(rs.getString("long_url"));
+    url.setClicks(rs.getInt("clicks"));
+    url.setDeleted(rs.getBoolean("is_deleted"));
+    url.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
+    url.setUpdatedAt(rs.getTimestamp("updated_at").toLocalDateTime());
+    Timestamp expiresAt = rs.getTimestamp("expires_at");
+    url.setExpiresAt(expiresAt != null ? expiresAt.toLocalDateTime() : null);
+    long createdBy = rs.getLong("created_by");
+    url.setCreatedBy(rs.wasNull() ? null : createdBy);
+    url.setUrlHash(rs.getString("url_hash"));
+    return url;
+  }
+
+  private record IdentifiedCode(long id, String shortCode) {}
+}
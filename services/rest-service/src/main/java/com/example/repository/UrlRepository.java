@@ -1,9 +1,12 @@
 package com.example.repository;
 
+import com.example.dto.UrlSummary;
 import com.example.model.Url;
+import java.time.LocalDateTime;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.repository.query.Param;
@@ -11,19 +14,36 @@ import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 @Repository
-public interface UrlRepository extends JpaRepository<Url, Long> {
+public interface UrlRepository extends JpaRepository<Url, Long>, UrlRepositoryCustom {
 
   Optional<Url> findByShortCode(String shortCode);
 
   Page<Url> findByCreatedBy(Long createdBy, Pageable pageable);
 
-  @Modifying
-  @Transactional
+  long countByCreatedBy(Long createdBy);
+
+  String SUMMARY_SELECT =
+      "SELECT new com.example.dto.UrlSummary(u.id, u.shortCode, u.longUrl, u.clicks,"
+          + " u.createdAt, u.updatedAt, u.expiresAt, u.createdBy) FROM Url u";
+
+  @Query(value = SUMMARY_SELECT, countQuery = "SELECT COUNT(u) FROM Url u")
+  Page<UrlSummary> findSummaries(Pageable pageable);
+
   @Query(
-      "UPDATE Url u SET u.clicks = u.clicks + 1, u.updatedAt = CURRENT_TIMESTAMP WHERE u.shortCode"
-          + " = :shortCode")
-  void incrementClickCount(@Param("shortCode") String shortCode);
+      value = SUMMARY_SELECT + " WHERE u.createdBy = :createdBy",
+      countQuery = "SELECT COUNT(u) FROM Url u WHERE u.createdBy = :createdBy")
+  Page<UrlSummary> findSummariesByCreatedBy(@Param("createdBy") Long createdBy, Pageable pageable);
 
-  @Query("SELECT u.clicks FROM Url u WHERE u.shortCode = :shortCode")
-  Integer getClickCount(@Param("shortCode") String shortCode);
+  /** Like {@link #findSummaries} but reads one extra row instead of counting. */
+  @Query(SUMMARY_SELECT)
+  Slice<UrlSummary> findSummarySlice(Pageable pageable);
+
+  @Query(SUMMARY_SELECT + " WHERE u.createdBy = :createdBy")
+  Slice<UrlSummary> findSummarySliceByCreatedBy(
+      @Param("createdBy") Long createdBy, Pageable pageable);
+
+  // Part of the write path, so read from the primary rather than a possibly stale replica.
+  @Transactional
+  Optional<Url> findFirstByCreatedByAndUrlHashAndExpiresAtAfterOrderByIdDesc(
+      Long createdBy, String urlHash, LocalDateTime now);
 }
@@ -0,0 +1,15 @@
+package com.example.repository;
+
+import com.example.dto.UrlSummary;
+import java.util.List;
+
+public interface UrlRepositoryCustom {
+
+  /**
+   * Returns up to {@code limit} URLs of {@code createdBy} (every URL when null) ordered by {@code
+   * sortBy} and then id, starting right after {@code cursor}, or from the start when it is null.
+   * For a backward cursor the rows before it are returned, nearest first.
+   */
+  List<UrlSummary> findPage(
+      Long createdBy, String sortBy, boolean ascending, UrlCursor cursor, int limit);
+}
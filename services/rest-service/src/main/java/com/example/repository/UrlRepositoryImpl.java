@@ -0,0 +1,110 @@
+package com.example.repository;
+
+import com.example.dto.UrlSummary;
+import com.example.model.Url;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Keyset ("seek") pagination for {@link UrlRepository}. Instead of skipping {@code OFFSET} rows,
+ * each page continues from the (sort key, id) of the previous page's last row, so any page costs
+ * about as much as the first one. NULL sort keys, which only {@code expiresAt} can have, are
+ * treated as lower than every value, matching how MySQL and H2 order them.
+ */
+class UrlRepositoryImpl implements UrlRepositoryCustom {
+
+  @PersistenceContext private EntityManager entityManager;
+
+  @Override
+  @Transactional(readOnly = true)
+  public List<UrlSummary> findPage(
+      Long createdBy, String sortBy, boolean ascending, UrlCursor cursor, int limit) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<UrlSummary> query = cb.createQuery(UrlSummary.class);
+    Root<Url> url = query.from(Url.class);
+    query.select(
+        cb.construct(
+            UrlSummary.class,
+            url.get("id"),
+            url.get("shortCode"),
+            url.get("longUrl"),
+            url.get("clicks"),
+            url.get("createdAt"),
+            url.get("updatedAt"),
+            url.get("expiresAt"),
+            url.get("createdBy")));
+    boolean scanAscending = cursor != null && cursor.backward() ? !ascending : ascending;
+
+    List<Predicate> predicates = new ArrayList<>();
+    if (createdBy != null) {
+      predicates.add(cb.equal(url.get("createdBy"), createdBy));
+    }
+    if (cursor != null) {
+      predicates.add(after(cb, url, sortBy, scanAscending, cursor));
+    }
+    query.where(predicates.toArray(Predicate[]::new));
+
+    Path<Long> id = url.get("id");
+    if (sortBy.equals("id")) {
+      query.orderBy(scanAscending ? cb.asc(id) : cb.desc(id));
+    } else {
+      Path<Object> key = url.get(sortBy);
+      query.orderBy(
+          scanAscending ? cb.asc(key) : cb.desc(key), scanAscending ? cb.asc(id) : cb.desc(id));
+    }
+    return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+  }
+
+  /** Rows that come after the cursor row when scanning in the given direction. */
+  private static Predicate after(
+      CriteriaBuilder cb, Root<Url> url, String sortBy, boolean scanAscending, UrlCursor cursor) {
+    Path<Long> id = url.get("id");
+    Predicate idAfter =
+        scanAscending ? cb.greaterThan(id, cursor.id()) : cb.lessThan(id, cursor.id());
+    if (sortBy.equals("id")) {
+      return idAfter;
+    }
+
+    Path<Comparable<Object>> key = url.get(sortBy);
+    Comparable<Object> value = parseSortValue(sortBy, cursor.sortValue());
+    if (value == null) {
+      // Cursor row has no key: ascending, every non-null key follows; descending, only null keys.
+      Predicate sameNull = cb.and(cb.isNull(key), idAfter);
+      return scanAscending ? cb.or(sameNull, cb.isNotNull(key)) : sameNull;
+    }
+    Expression<Comparable<Object>> literal = cb.literal(value);
+    Predicate keyAfter = scanAscending ? cb.greaterThan(key, literal) : cb.lessThan(key, literal);
+    Predicate sameKey = cb.and(cb.equal(key, literal), idAfter);
+    return scanAscending ? cb.or(keyAfter, sameKey) : cb.or(keyAfter, sameKey, cb.isNull(key));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Comparable<Object> parseSortValue(String sortBy, String value) {
+    if (value == null) {
+      return null;
+    }
+    try {
+      Comparable<?> parsed =
+          switch (sortBy) {
+            case "clicks" -> Integer.valueOf(value);
+            case "shortCode" -> value;
+            case "createdAt", "expiresAt" -> LocalDateTime.parse(value);
+            default -> throw new IllegalArgumentException("Cannot seek on sortBy: " + sortBy);
+          };
+      return (Comparable<Object>) parsed;
+    } catch (DateTimeParseException e) {
+      throw new IllegalArgumentException("Invalid cursor", e);
+    }
+  }
+}
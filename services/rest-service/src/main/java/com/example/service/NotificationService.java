@@ -39,6 +39,21 @@ public class NotificationService {
     }
   }
 
+  public void sendUrlsCreatedNotification(int count) {
+    try {
+      NotificationRequest request =
+          NotificationRequest.newBuilder()
+              .setNotificationType(NotificationType.NEWURL)
+              .setMessage("Batch Created " + count + " New URLs")
+              .build();
+
+      notificationClient.notify(request);
+
+    } catch (StatusRuntimeException e) {
+      throw GrpcExceptionHandler.handleGrpcException(e, "Failed to send URLs created notification");
+    }
+  }
+
   public void sendThresholdNotification(String shortCode) {
     try {
       NotificationRequest request =
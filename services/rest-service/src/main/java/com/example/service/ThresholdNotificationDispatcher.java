@@ -0,0 +1,154 @@
+package com.example.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sends threshold notifications off the redirect thread.
+ *
+ * <p>Events are queued on a dedicated, bounded executor so a slow or unavailable
+ * notification-service never adds latency to a redirect. While an event for a short code is still
+ * queued, further events for the same code are coalesced into it. When the queue is full the
+ * configured {@link OverflowPolicy} decides which event is dropped. Queue depth and dropped,
+ * coalesced and failed events are published as {@code notification.dispatcher.*} meters.
+ */
+@Component
+public class ThresholdNotificationDispatcher {
+
+  private static final Logger log = LoggerFactory.getLogger(ThresholdNotificationDispatcher.class);
+
+  public enum OverflowPolicy {
+    DROP_NEWEST,
+    DROP_OLDEST
+  }
+
+  private final NotificationService notificationService;
+  private final MeterRegistry meterRegistry;
+
+  private final Set<String> queuedCodes = ConcurrentHashMap.newKeySet();
+  private ThreadPoolExecutor executor;
+  private Counter dropped;
+  private Counter coalesced;
+  private Counter failed;
+
+  @Value("${notification.dispatcher.threads}")
+  private int threads;
+
+  @Value("${notification.dispatcher.queue-capacity}")
+  private int queueCapacity;
+
+  @Value("${notification.dispatcher.overflow-policy}")
+  private OverflowPolicy overflowPolicy;
+
+  public ThresholdNotificationDispatcher(
+      NotificationService notificationService, MeterRegistry meterRegistry) {
+    this.notificationService = notificationService;
+    this.meterRegistry = meterRegistry;
+  }
+
+  @PostConstruct
+  public void init() {
+    executor =
+        new ThreadPoolExecutor(
+            threads,
+            threads,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            new DispatcherThreadFactory(),
+            new OverflowHandler());
+
+    dropped = meterRegistry.counter("notification.dispatcher.dropped");
+    coalesced = meterRegistry.counter("notification.dispatcher.coalesced");
+    failed = meterRegistry.counter("notification.dispatcher.failed");
+    Gauge.builder("notification.dispatcher.queue.size", executor, e -> e.getQueue().size())
+        .register(meterRegistry);
+  }
+
+  @PreDestroy
+  public void shutdown() throws InterruptedException {
+    executor.shutdown();
+    executor.awaitTermination(5, TimeUnit.SECONDS);
+  }
+
+  /** Queues a threshold notification for {@code shortCode}; never blocks the caller. */
+  public void dispatch(String shortCode) {
+    if (!queuedCodes.add(shortCode)) {
+      coalesced.increment();
+      return;
+    }
+    executor.execute(new ThresholdTask(shortCode));
+  }
+
+  public int queueSize() {
+    return executor.getQueue().size();
+  }
+
+  private final class ThresholdTask implements Runnable {
+    private final String shortCode;
+
+    private ThresholdTask(String shortCode) {
+      this.shortCode = shortCode;
+    }
+
+    @Override
+    public void run() {
+      queuedCodes.remove(shortCode);
+      try {
+        notificationService.sendThresholdNotification(shortCode);
+      } catch (RuntimeException e) {
+        failed.increment();
+        log.warn("Failed to send threshold notification for '{}'", shortCode, e);
+      }
+    }
+  }
+
+  private final class OverflowHandler implements RejectedExecutionHandler {
+    @Override
+    public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+      if (overflowPolicy == OverflowPolicy.DROP_OLDEST && !executor.isShutdown()) {
+        Runnable oldest = executor.getQueue().poll();
+        if (oldest != null) {
+          discard(oldest);
+          if (executor.getQueue().offer(task)) {
+            return;
+          }
+        }
+      }
+      discard(task);
+    }
+
+    private void discard(Runnable task) {
+      if (task instanceof ThresholdTask thresholdTask) {
+        queuedCodes.remove(thresholdTask.shortCode);
+      }
+      dropped.increment();
+    }
+  }
+
+  private static final class DispatcherThreadFactory implements ThreadFactory {
+    private final AtomicInteger sequence = new AtomicInteger();
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable, "threshold-notifier-" + sequence.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+}
@@ -0,0 +1,158 @@
+package com.example.service;
+
+import com.example.dto.UrlDto;
+import com.example.repository.UrlJdbcRepository;
+import com.example.util.UserContext;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedWriter;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Streams a user's URLs, or every URL for admins, as NDJSON or CSV.
+ *
+ * <p>Rows are read with a keyset scan over {@code id} in chunks of {@code url-export.chunk-size}
+ * and written as they arrive, flushing after each chunk. Neither the database nor the server holds
+ * more than one chunk, and the first bytes go out after the first chunk rather than after the whole
+ * result.
+ */
+@Service
+public class UrlExportService {
+
+  static final String CSV_HEADER =
+      "id,short_code,short_url,long_url,clicks,expired,created_at,updated_at,expires_at";
+
+  private final UrlJdbcRepository urlJdbcRepo;
+  private final UrlService urlService;
+  private final ObjectMapper objectMapper;
+
+  @Value("${url-export.chunk-size}")
+  private int chunkSize;
+
+  public UrlExportService(
+      UrlJdbcRepository urlJdbcRepo, UrlService urlService, ObjectMapper objectMapper) {
+    this.urlJdbcRepo = urlJdbcRepo;
+    this.urlService = urlService;
+    this.objectMapper = objectMapper;
+  }
+
+  /**
+   * Returns the export body for the current user. The owner is resolved now, on the request thread;
+   * the returned body may be written from another thread.
+   */
+  public StreamingResponseBody export(UrlFileFormat format) {
+    String userRole = UserContext.getCurrentUserRole();
+    Long owner = userRole.equalsIgnoreCase("admin") ? null : UserContext.getCurrentUserId();
+    return out -> {
+      try {
+        if (format == UrlFileFormat.CSV) {
+          writeCsv(owner, out);
+        } else {
+          writeNdjson(owner, out);
+        }
+      } catch (UncheckedIOException e) {
+        throw e.getCause();
+      }
+    };
+  }
+
+  private void writeNdjson(Long owner, OutputStream out) throws IOException {
+    try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+      generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+      urlJdbcRepo.forEachUrl(
+          owner,
+          chunkSize,
+          url -> {
+            try {
+              objectMapper.writeValue(generator, urlService.toUrlDto(url));
+              generator.writeRaw('\n');
+            } catch (IOException e) {
+              throw new UncheckedIOException(e);
+            }
+          },
+          () -> flush(generator));
+    }
+  }
+
+  private void writeCsv(Long owner, OutputStream out) throws IOException {
+    Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    writer.write(CSV_HEADER);
+    writer.write('\n');
+    urlJdbcRepo.forEachUrl(
+        owner,
+        chunkSize,
+        url -> {
+          try {
+            writeCsvRow(writer, urlService.toUrlDto(url));
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        },
+        () -> flush(writer));
+    writer.flush();
+  }
+
+  private static void writeCsvRow(Writer writer, UrlDto url) throws IOException {
+    writer.write(String.valueOf(url.getId()));
+    writer.write(',');
+    writeCsvField(writer, url.getShortCode());
+    writer.write(',');
+    writeCsvField(writer, url.getShortUrl());
+    writer.write(',');
+    writeCsvField(writer, url.getLongUrl());
+    writer.write(',');
+    writer.write(String.valueOf(url.getClicks()));
+    writer.write(',');
+    writer.write(String.valueOf(url.isExpired()));
+    writer.write(',');
+    writeCsvField(writer, url.getCreatedAt());
+    writer.write(',');
+    writeCsvField(writer, url.getUpdatedAt());
+    writer.write(',');
+    writeCsvField(writer, url.getExpiresAt());
+    writer.write('\n');
+  }
+
+  private static void writeCsvField(Writer writer, LocalDateTime value) throws IOException {
+    if (value != null) {
+      writer.write(value.toString());
+    }
+  }
+
+  /** Quotes the field when it contains a comma, quote or line break, doubling inner quotes. */
+  static void writeCsvField(Writer writer, String value) throws IOException {
+    if (value == null) {
+      return;
+    }
+    boolean quote = false;
+    for (int i = 0; i < value.length() && !quote; i++) {
+      char c = value.charAt(i);
+      quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+    }
+    if (!quote) {
+      writer.write(value);
+      return;
+    }
+    writer.write('"');
+    writer.write(value.replace("\"", "\"\""));
+    writer.write('"');
+  }
+
+  private static void flush(Flushable flushable) {
+    try {
+      flushable.flush();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
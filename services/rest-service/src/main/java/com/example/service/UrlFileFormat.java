@@ -0,0 +1,45 @@
+package com.example.service;
+
+import java.util.Locale;
+import org.springframework.http.MediaType;
+
+/** File formats accepted by URL imports and produced by URL exports. */
+public enum UrlFileFormat {
+  NDJSON(UrlFileFormat.NDJSON_VALUE, "ndjson"),
+  CSV(UrlFileFormat.CSV_VALUE, "csv");
+
+  public static final String NDJSON_VALUE = "application/x-ndjson";
+  public static final String CSV_VALUE = "text/csv";
+
+  private final MediaType mediaType;
+  private final String extension;
+
+  UrlFileFormat(String mediaType, String extension) {
+    this.mediaType = MediaType.parseMediaType(mediaType);
+    this.extension = extension;
+  }
+
+  public MediaType mediaType() {
+    return mediaType;
+  }
+
+  public String extension() {
+    return extension;
+  }
+
+  /** Format for a {@code format} request parameter such as {@code csv} or {@code ndjson}. */
+  public static UrlFileFormat fromParameter(String value) {
+    for (UrlFileFormat format : values()) {
+      if (format.extension.equals(value.toLowerCase(Locale.ROOT))) {
+        return format;
+      }
+    }
+    throw new IllegalArgumentException(
+        "Invalid format: '" + value + "'. Allowed values: ndjson, csv");
+  }
+
+  /** Format matching a request {@code Content-Type}; anything that is not CSV is NDJSON. */
+  public static UrlFileFormat fromContentType(String contentType) {
+    return MediaType.parseMediaType(contentType).isCompatibleWith(CSV.mediaType) ? CSV : NDJSON;
+  }
+}
@@ -0,0 +1,349 @@
+package com.example.service;
+
+import com.example.dto.BatchShortenResult;
+import com.example.dto.UrlImportSummary;
+import com.example.util.UserContext;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.concurrent.DelegatingSecurityContextCallable;
+import org.springframework.stereotype.Service;
+
+/**
+ * Shortens the URLs of an NDJSON or CSV upload while it is still being received.
+ *
+ * <p>The body is read line by line and cut into chunks of {@code url-import.chunk-size} lines. Each
+ * chunk goes through {@link UrlService#addUrls(List, long)}, so it gets the same validation, dedup
+ * and JDBC batching as the batch endpoint and is committed on its own. Up to {@code
+ * url-import.parallelism} chunks of one upload are processed at a time. Their results are written
+ * back in line order as soon as each chunk is done. At most that many chunks are held in memory, so
+ * memory use does not grow with the size of the upload.
+ */
+@Service
+public class UrlImportService {
+
+  private static final byte[] NEWLINE = {'\n'};
+
+  private final UrlService urlService;
+  private final ObjectMapper objectMapper;
+  private final MeterRegistry meterRegistry;
+
+  private ThreadPoolExecutor executor;
+  private Counter succeededLines;
+  private Counter failedLines;
+
+  @Value("${url-import.chunk-size}")
+  private int chunkSize;
+
+  @Value("${url-import.parallelism}")
+  private int parallelism;
+
+  @Value("${url-import.max-line-length}")
+  private int maxLineLength;
+
+  @Value("${url-batch.max-size}")
+  private int batchMaxSize;
+
+  public UrlImportService(
+      UrlService urlService, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+    this.urlService = urlService;
+    this.objectMapper = objectMapper;
+    this.meterRegistry = meterRegistry;
+  }
+
+  @PostConstruct
+  public void init() {
+    if (chunkSize <= 0 || chunkSize > batchMaxSize) {
+      throw new IllegalStateException(
+          "url-import.chunk-size must be between 1 and url-batch.max-size (" + batchMaxSize + ")");
+    }
+    // Callers cap their own in-flight chunks, the queue only absorbs several concurrent uploads.
+    // When it is full the uploading thread processes the chunk itself.
+    executor =
+        new ThreadPoolExecutor(
+            parallelism,
+            parallelism,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(parallelism * 4),
+            new ImportThreadFactory(),
+            new ThreadPoolExecutor.CallerRunsPolicy());
+
+    succeededLines = meterRegistry.counter("url.import.lines", "result", "succeeded");
+    failedLines = meterRegistry.counter("url.import.lines", "result", "failed");
+  }
+
+  @PreDestroy
+  public void shutdown() throws InterruptedException {
+    executor.shutdown();
+    executor.awaitTermination(5, TimeUnit.SECONDS);
+  }
+
+  /**
+   * Reads URLs from {@code in} and writes one {@link BatchShortenResult} per non-blank line to
+   * {@code out} as NDJSON, followed by a {@link UrlImportSummary} line. The {@code index} of each
+   * result is its 1-based line number. A missing summary line means the import was aborted.
+   */
+  public UrlImportSummary importUrls(InputStream in, UrlFileFormat format, OutputStream out)
+      throws IOException {
+    long userId = UserContext.getCurrentUserId();
+    LineReader reader =
+        new LineReader(new InputStreamReader(in, StandardCharsets.UTF_8), maxLineLength);
+    UrlImportSummary summary = new UrlImportSummary();
+    Deque<Future<List<BatchShortenResult>>> inFlight = new ArrayDeque<>();
+    try {
+      List<ImportLine> chunk;
+      while (!(chunk = readChunk(reader, format)).isEmpty()) {
+        if (inFlight.size() >= parallelism) {
+          write(await(inFlight.removeFirst()), summary, out);
+        }
+        List<ImportLine> lines = chunk;
+        inFlight.addLast(
+            executor.submit(new DelegatingSecurityContextCallable<>(() -> shorten(lines, userId))));
+      }
+      while (!inFlight.isEmpty()) {
+        write(await(inFlight.removeFirst()), summary, out);
+      }
+    } finally {
+      inFlight.forEach(future -> future.cancel(false));
+    }
+    out.write(objectMapper.writeValueAsBytes(summary));
+    out.write(NEWLINE);
+    out.flush();
+    return summary;
+  }
+
+  private List<ImportLine> readChunk(LineReader reader, UrlFileFormat format) throws IOException {
+    List<ImportLine> chunk = new ArrayList<>(chunkSize);
+    String text;
+    while (chunk.size() < chunkSize && (text = reader.readLine()) != null) {
+      if (text.isBlank()) {
+        continue;
+      }
+      int lineNumber = reader.lineNumber();
+      if (reader.truncated()) {
+        chunk.add(ImportLine.failed(lineNumber, null, "Line exceeds " + maxLineLength + " chars"));
+      } else if (format == UrlFileFormat.CSV) {
+        String url = firstCsvField(text);
+        if (lineNumber == 1 && isCsvHeader(url)) {
+          continue;
+        }
+        chunk.add(ImportLine.parsed(lineNumber, url));
+      } else {
+        chunk.add(parseJsonLine(lineNumber, text));
+      }
+    }
+    return chunk;
+  }
+
+  private List<BatchShortenResult> shorten(List<ImportLine> lines, long userId) {
+    List<String> urls = new ArrayList<>(lines.size());
+    for (ImportLine line : lines) {
+      if (line.error() == null) {
+        urls.add(line.url());
+      }
+    }
+    List<BatchShortenResult> created =
+        urls.isEmpty() ? List.of() : urlService.addUrls(urls, userId).getResults();
+
+    List<BatchShortenResult> results = new ArrayList<>(lines.size());
+    int next = 0;
+    for (ImportLine line : lines) {
+      BatchShortenResult result;
+      if (line.error() == null) {
+        result = created.get(next++);
+      } else {
+        result = new BatchShortenResult();
+        result.setLongUrl(line.url());
+        result.setError(line.error());
+      }
+      result.setIndex(line.number());
+      results.add(result);
+    }
+    return results;
+  }
+
+  private void write(List<BatchShortenResult> results, UrlImportSummary summary, OutputStream out)
+      throws IOException {
+    for (BatchShortenResult result : results) {
+      out.write(objectMapper.writeValueAsBytes(result));
+      out.write(NEWLINE);
+      summary.setTotal(summary.getTotal() + 1);
+      if (result.isSuccess()) {
+        summary.setSucceeded(summary.getSucceeded() + 1);
+        succeededLines.increment();
+      } else {
+        summary.setFailed(summary.getFailed() + 1);
+        failedLines.increment();
+      }
+    }
+    out.flush();
+  }
+
+  private static List<BatchShortenResult> await(Future<List<BatchShortenResult>> future)
+      throws IOException {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while importing URLs", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new IllegalStateException("URL import chunk failed", e.getCause());
+    }
+  }
+
+  /** Accepts either a JSON string or an object with a {@code url} field, like a single shorten. */
+  private ImportLine parseJsonLine(int lineNumber, String text) {
+    JsonNode node;
+    try {
+      node = objectMapper.readTree(text);
+    } catch (JsonProcessingException e) {
+      return ImportLine.failed(lineNumber, null, "Malformed JSON");
+    }
+    if (node.isObject() && node.path("url").isTextual()) {
+      node = node.get("url");
+    }
+    if (!node.isTextual()) {
+      return ImportLine.failed(lineNumber, null, "Expected a URL string or {\"url\": ...}");
+    }
+    return ImportLine.parsed(lineNumber, node.textValue());
+  }
+
+  /** First field of a CSV record; quoted fields may contain commas and doubled quotes. */
+  static String firstCsvField(String line) {
+    String trimmed = line.strip();
+    if (!trimmed.startsWith("\"")) {
+      int comma = trimmed.indexOf(',');
+      return (comma < 0 ? trimmed : trimmed.substring(0, comma)).strip();
+    }
+    StringBuilder field = new StringBuilder(trimmed.length());
+    for (int i = 1; i < trimmed.length(); i++) {
+      char c = trimmed.charAt(i);
+      if (c == '"') {
+        if (i + 1 < trimmed.length() && trimmed.charAt(i + 1) == '"') {
+          field.append('"');
+          i++;
+        } else {
+          break;
+        }
+      } else {
+        field.append(c);
+      }
+    }
+    return field.toString();
+  }
+
+  private static boolean isCsvHeader(String field) {
+    return field.equalsIgnoreCase("url") || field.equalsIgnoreCase("long_url");
+  }
+
+  private record ImportLine(int number, String url, String error) {
+    static ImportLine parsed(int number, String url) {
+      return new ImportLine(number, url, null);
+    }
+
+    static ImportLine failed(int number, String url, String error) {
+      return new ImportLine(number, url, error);
+    }
+  }
+
+  /**
+   * Line reader that never buffers more than {@code maxLength} characters of a line. Longer lines
+   * are skipped to their end and reported through {@link #truncated()}.
+   */
+  static final class LineReader {
+    private final Reader reader;
+    private final int maxLength;
+    private final char[] buffer = new char[8192];
+    private final StringBuilder line = new StringBuilder();
+    private int position;
+    private int limit;
+    private int lineNumber;
+    private boolean truncated;
+
+    LineReader(Reader reader, int maxLength) {
+      this.reader = reader;
+      this.maxLength = maxLength;
+    }
+
+    /** Next line without its terminator, or null at end of input. */
+    String readLine() throws IOException {
+      line.setLength(0);
+      truncated = false;
+      boolean any = false;
+      while (true) {
+        if (position == limit) {
+          limit = reader.read(buffer);
+          position = 0;
+          if (limit <= 0) {
+            limit = 0;
+            if (!any) {
+              return null;
+            }
+            break;
+          }
+        }
+        any = true;
+        char c = buffer[position++];
+        if (c == '\n') {
+          break;
+        }
+        if (line.length() < maxLength) {
+          line.append(c);
+        } else if (c != '\r') {
+          truncated = true;
+        }
+      }
+      lineNumber++;
+      int end = line.length();
+      if (end > 0 && line.charAt(end - 1) == '\r') {
+        line.setLength(end - 1);
+      }
+      return line.toString();
+    }
+
+    int lineNumber() {
+      return lineNumber;
+    }
+
+    boolean truncated() {
+      return truncated;
+    }
+  }
+
+  private static final class ImportThreadFactory implements ThreadFactory {
+    private final AtomicInteger sequence = new AtomicInteger();
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable, "url-import-" + sequence.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+}
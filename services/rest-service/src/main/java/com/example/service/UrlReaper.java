@@ -0,0 +1,157 @@
+package com.example.service;
+
+import com.example.cache.ClickCounter;
+import com.example.cache.RedirectCache;
+import com.example.cache.ShortCodeFilter;
+import com.example.datasource.ReplicaRoutingDataSource;
+import com.example.repository.ExpiredUrl;
+import com.example.repository.UrlJdbcRepository;
+import com.example.store.RedirectStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves URLs that expired more than {@code url-reaper.grace-period-hours} ago to {@code
+ * url_archive} and deletes them, so the {@code url} table and its indexes only hold live links.
+ *
+ * <p>Each run walks {@code idx_url_expires_at} with a keyset in chunks of {@code
+ * url-reaper.batch-size}, archiving every chunk in its own short transaction. Throughput is capped
+ * at {@code url-reaper.max-rows-per-second} and {@code url-reaper.max-rows-per-run}, and a run
+ * stops early while any read replica is out of rotation, so the deletes never hold locks for long
+ * or push replicas further behind. Reaped short codes are dropped from the redirect store and
+ * cache, the click counter and the short code filter.
+ *
+ * <p>Progress is reported as {@code url.reaper.reaped} and the {@code url.reaper.batch} timer.
+ */
+@Component
+@ConditionalOnProperty(name = "url-reaper.enabled", havingValue = "true")
+public class UrlReaper {
+
+  private static final Logger log = LoggerFactory.getLogger(UrlReaper.class);
+
+  private final UrlJdbcRepository urlJdbcRepo;
+  private final RedirectStore redirectStore;
+  private final RedirectCache redirectCache;
+  private final ClickCounter clickCounter;
+  private final ShortCodeFilter shortCodeFilter;
+  private final ReplicaRoutingDataSource replicaDataSource;
+  private final MeterRegistry meterRegistry;
+
+  private Counter reaped;
+  private Timer batchTimer;
+
+  @Value("${url-reaper.grace-period-hours}")
+  private long gracePeriodHours;
+
+  @Value("${url-reaper.batch-size}")
+  private int batchSize;
+
+  @Value("${url-reaper.max-rows-per-second}")
+  private int maxRowsPerSecond;
+
+  @Value("${url-reaper.max-rows-per-run}")
+  private int maxRowsPerRun;
+
+  public UrlReaper(
+      UrlJdbcRepository urlJdbcRepo,
+      RedirectStore redirectStore,
+      RedirectCache redirectCache,
+      ClickCounter clickCounter,
+      ShortCodeFilter shortCodeFilter,
+      ReplicaRoutingDataSource replicaDataSource,
+      MeterRegistry meterRegistry) {
+    this.urlJdbcRepo = urlJdbcRepo;
+    this.redirectStore = redirectStore;
+    this.redirectCache = redirectCache;
+    this.clickCounter = clickCounter;
+    this.shortCodeFilter = shortCodeFilter;
+    this.replicaDataSource = replicaDataSource;
+    this.meterRegistry = meterRegistry;
+  }
+
+  @PostConstruct
+  public void init() {
+    if (gracePeriodHours < 0 || batchSize <= 0 || maxRowsPerSecond < 0 || maxRowsPerRun <= 0) {
+      throw new IllegalStateException(
+          "url-reaper requires grace-period-hours >= 0, batch-size > 0, max-rows-per-second >= 0"
+              + " and max-rows-per-run > 0");
+    }
+    reaped = meterRegistry.counter("url.reaper.reaped");
+    batchTimer = meterRegistry.timer("url.reaper.batch");
+  }
+
+  /**
+   * Reaps up to {@code url-reaper.max-rows-per-run} URLs.
+   *
+   * @return the number of URLs archived and deleted
+   */
+  @Scheduled(
+      fixedDelayString = "${url-reaper.interval-ms}",
+      initialDelayString = "${url-reaper.interval-ms}")
+  public synchronized int reap() {
+    LocalDateTime cutoff = LocalDateTime.now().minusHours(gracePeriodHours);
+    int total = 0;
+    ExpiredUrl after = null;
+    try {
+      while (total < maxRowsPerRun) {
+        if (replicaDataSource.healthyReplicas() < replicaDataSource.replicaCount()) {
+          log.info("Pausing the URL reaper while a read replica is out of rotation");
+          break;
+        }
+        long startedAt = System.nanoTime();
+        List<ExpiredUrl> chunk =
+            urlJdbcRepo.findExpired(cutoff, after, Math.min(batchSize, maxRowsPerRun - total));
+        if (chunk.isEmpty()) {
+          break;
+        }
+        int count =
+            urlJdbcRepo.archiveExpired(
+                chunk.stream().map(ExpiredUrl::id).toList(), cutoff, LocalDateTime.now());
+        for (ExpiredUrl url : chunk) {
+          redirectStore.remove(url.shortCode());
+          redirectCache.invalidate(url.shortCode());
+          clickCounter.evict(url.shortCode());
+        }
+        for (int i = 0; i < count; i++) {
+          shortCodeFilter.recordRemoval();
+        }
+        long elapsedNanos = System.nanoTime() - startedAt;
+        batchTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        reaped.increment(count);
+        total += count;
+        after = chunk.get(chunk.size() - 1);
+        throttle(chunk.size(), elapsedNanos);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (RuntimeException e) {
+      log.warn("URL reaper run failed after {} URLs, will retry", total, e);
+    }
+    if (total > 0) {
+      log.info("Archived and deleted {} URLs expired before {}", total, cutoff);
+    }
+    return total;
+  }
+
+  private void throttle(int rows, long elapsedNanos) throws InterruptedException {
+    if (maxRowsPerSecond == 0) {
+      return;
+    }
+    long budgetMillis = rows * 1000L / maxRowsPerSecond;
+    long sleepMillis = budgetMillis - elapsedNanos / 1_000_000;
+    if (sleepMillis > 0) {
+      Thread.sleep(sleepMillis);
+    }
+  }
+}
@@ -1,22 +1,51 @@
 package com.example.service;
 
+import com.example.cache.ClickCounter;
+import com.example.cache.RedirectCache;
+import com.example.cache.RedirectEntry;
+import com.example.cache.ShortCodeFilter;
+import com.example.dto.BatchShortenResponse;
+import com.example.dto.BatchShortenResult;
+import com.example.dto.UrlCursorPage;
 import com.example.dto.UrlDto;
+import com.example.dto.UrlSummary;
 import com.example.exception.*;
 import com.example.model.Url;
+import com.example.repository.RedirectJdbcRepository;
+import com.example.repository.UrlCursor;
+import com.example.repository.UrlJdbcRepository;
 import com.example.repository.UrlRepository;
+import com.example.shortcode.ShortCodeGenerator;
+import com.example.store.RedirectStore;
+import com.example.util.UrlNormalizer;
 import com.example.util.UserContext;
+import com.example.validation.BannedHostProvider;
+import com.example.validation.HostValidator;
 import io.grpc.Status;
-import java.net.InetAddress;
 import java.net.URI;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
@@ -25,11 +54,22 @@ import org.springframework.stereotype.Service;
 public class UrlService {
   private final UrlRepository urlRepo;
   private final NotificationService notificationService;
-
-  private static final Random random = new Random();
-
-  @Value("${banned-hosts}")
-  private Set<String> bannedHosts;
+  private final RedirectCache redirectCache;
+  private final ClickCounter clickCounter;
+  private final ShortCodeFilter shortCodeFilter;
+  private final ThresholdNotificationDispatcher thresholdDispatcher;
+  private final ShortCodeGenerator shortCodeGenerator;
+  private final HostValidator hostValidator;
+  private final BannedHostProvider bannedHostProvider;
+  private final UrlNormalizer urlNormalizer;
+  private final UrlJdbcRepository urlJdbcRepo;
+  private final RedirectJdbcRepository redirectJdbcRepo;
+  private final RedirectStore redirectStore;
+
+  private static final Logger log = LoggerFactory.getLogger(UrlService.class);
+  private static final int MAX_INSERT_ATTEMPTS = 3;
+  private static final Set<String> SORT_FIELDS =
+      Set.of("id", "shortCode", "clicks", "createdAt", "expiresAt");
 
   @Value("${url-expiration-hours}")
   private int urlExpirationHours;
@@ -40,9 +80,54 @@ public class UrlService {
   @Value("${app.base-url}")
   private String baseUrl;
 
-  public UrlService(UrlRepository urlRepo, NotificationService notificationService) {
+  @Value("${url-dedup.enabled}")
+  private boolean dedupEnabled;
+
+  @Value("${url-batch.max-size}")
+  private int batchMaxSize;
+
+  @Value("${url-batch.jdbc-batch-size}")
+  private int batchJdbcSize;
+
+  @Value("${url-batch.validation-parallelism}")
+  private int batchValidationParallelism;
+
+  @Value("${url-pagination.max-page-size}")
+  private int maxPageSize;
+
+  @Value("${datasource.replicas.max-lag-seconds}")
+  private long replicaMaxLagSeconds;
+
+  @Value("${datasource.replicas.health-check-interval-ms}")
+  private long replicaHealthCheckIntervalMs;
+
+  public UrlService(
+      UrlRepository urlRepo,
+      NotificationService notificationService,
+      RedirectCache redirectCache,
+      ClickCounter clickCounter,
+      ShortCodeFilter shortCodeFilter,
+      ThresholdNotificationDispatcher thresholdDispatcher,
+      ShortCodeGenerator shortCodeGenerator,
+      HostValidator hostValidator,
+      BannedHostProvider bannedHostProvider,
+      UrlNormalizer urlNormalizer,
+      UrlJdbcRepository urlJdbcRepo,
+      RedirectJdbcRepository redirectJdbcRepo,
+      RedirectStore redirectStore) {
     this.urlRepo = urlRepo;
     this.notificationService = notificationService;
+    this.redirectCache = redirectCache;
+    this.clickCounter = clickCounter;
+    this.shortCodeFilter = shortCodeFilter;
+    this.thresholdDispatcher = thresholdDispatcher;
+    this.shortCodeGenerator = shortCodeGenerator;
+    this.hostValidator = hostValidator;
+    this.bannedHostProvider = bannedHostProvider;
+    this.urlNormalizer = urlNormalizer;
+    this.urlJdbcRepo = urlJdbcRepo;
+    this.redirectJdbcRepo = redirectJdbcRepo;
+    this.redirectStore = redirectStore;
   }
 
   public UrlDto addUrl(String url) {
@@ -50,14 +135,21 @@ public class UrlService {
       throw new InvalidUrlException();
     }
 
-    String code = generateShortCode(7);
     LocalDateTime currentTime = LocalDateTime.now();
     LocalDateTime expiresAt = currentTime.plusHours(urlExpirationHours);
 
     long userId = UserContext.getCurrentUserId();
 
+    String normalizedUrl = urlNormalizer.normalize(url);
+    String urlHash = urlNormalizer.hash(normalizedUrl);
+    if (dedupEnabled) {
+      Optional<Url> existing = findDuplicate(userId, normalizedUrl, urlHash, currentTime);
+      if (existing.isPresent()) {
+        return toUrlDto(existing.get());
+      }
+    }
+
     Url newUrl = new Url();
-    newUrl.setShortCode(code);
     newUrl.setLongUrl(url);
     newUrl.setClicks(0);
     newUrl.setDeleted(false);
@@ -65,8 +157,12 @@ public class UrlService {
     newUrl.setCreatedAt(currentTime);
     newUrl.setUpdatedAt(currentTime);
     newUrl.setExpiresAt(expiresAt);
+    newUrl.setUrlHash(urlHash);
 
-    Url urlAdded = urlRepo.save(newUrl);
+    Url urlAdded = saveWithNewShortCode(newUrl);
+    String code = urlAdded.getShortCode();
+    shortCodeFilter.put(code);
+    redirectStore.put(code, RedirectEntry.from(urlAdded));
     notificationService.sendUrlCreatedNotification(code, url);
 
     UrlDto urlDto = new UrlDto();
@@ -79,34 +175,160 @@ public class UrlService {
     urlDto.setCreatedAt(currentTime);
     urlDto.setUpdatedAt(currentTime);
     urlDto.setExpiresAt(expiresAt);
+    urlDto.setCreatedBy(userId);
 
     return urlDto;
   }
 
-  public Page<Url> getUrls(int pageNo, int pageSize, String sortBy, String sortDirection) {
+  public BatchShortenResponse addUrls(List<String> urls) {
+    return addUrls(urls, UserContext.getCurrentUserId());
+  }
 
-    if (pageNo < 0) {
-      throw new IllegalArgumentException("Page number cannot be negative");
+  /**
+   * Shortens up to {@code url-batch.max-size} URLs for {@code userId} in one call. Every item is
+   * reported individually; an invalid URL fails only its own item.
+   *
+   * <p>Hosts are resolved concurrently, at most {@code url-batch.validation-parallelism} at a time.
+   * Rows are inserted with JDBC batches of {@code url-batch.jdbc-batch-size}. If a chunk hits a
+   * short code collision, it is rolled back and its rows are retried one at a time. A single
+   * notification is sent for the whole batch.
+   */
+  public BatchShortenResponse addUrls(List<String> urls, long userId) {
+    if (urls == null || urls.isEmpty()) {
+      throw new IllegalArgumentException("At least one URL is required");
+    }
+    if (urls.size() > batchMaxSize) {
+      throw new IllegalArgumentException("A batch may contain at most " + batchMaxSize + " URLs");
     }
 
-    if (pageSize <= 0) {
-      throw new IllegalArgumentException("Page size must be greater than zero.");
+    LocalDateTime currentTime = LocalDateTime.now();
+    LocalDateTime expiresAt = currentTime.plusHours(urlExpirationHours);
+
+    String[] hosts = new String[urls.size()];
+    for (int i = 0; i < urls.size(); i++) {
+      hosts[i] = urls.get(i) != null ? checkedHost(urls.get(i)) : null;
     }
+    Map<String, Boolean> resolvable = resolveHosts(hosts);
+
+    Url[] assigned = new Url[urls.size()];
+    Map<String, Url> batchUrls = new HashMap<>();
+    List<Url> pending = new ArrayList<>();
+    for (int i = 0; i < urls.size(); i++) {
+      if (hosts[i] == null || !resolvable.get(hosts[i])) {
+        continue;
+      }
+      String url = urls.get(i);
+      String normalizedUrl = urlNormalizer.normalize(url);
+      if (dedupEnabled) {
+        Url existing = batchUrls.get(normalizedUrl);
+        if (existing == null) {
+          existing =
+              findDuplicate(userId, normalizedUrl, urlNormalizer.hash(normalizedUrl), currentTime)
+                  .orElse(null);
+        }
+        if (existing != null) {
+          assigned[i] = existing;
+          continue;
+        }
+      }
 
-    Set<String> allowedSortField = Set.of("id", "shortCode", "clicks", "createdAt", "expiresAt");
+      Url newUrl = new Url();
+      newUrl.setLongUrl(url);
+      newUrl.setClicks(0);
+      newUrl.setDeleted(false);
+      newUrl.setCreatedBy(userId);
+      newUrl.setCreatedAt(currentTime);
+      newUrl.setUpdatedAt(currentTime);
+      newUrl.setExpiresAt(expiresAt);
+      newUrl.setUrlHash(urlNormalizer.hash(normalizedUrl));
+      assigned[i] = newUrl;
+      batchUrls.put(normalizedUrl, newUrl);
+      pending.add(newUrl);
+    }
 
-    if (sortBy != null && !allowedSortField.contains(sortBy)) {
-      throw new IllegalArgumentException(
-          "Invalid sortBy: '" + sortBy + "'. Allowed values: " + allowedSortField);
+    int created = insertBatch(pending);
+    if (created > 0) {
+      try {
+        notificationService.sendUrlsCreatedNotification(created);
+      } catch (RuntimeException e) {
+        // The links exist already; failing the whole batch would invite a duplicate retry.
+        log.warn("Failed to send notification for {} created URLs", created, e);
+      }
     }
-    String validSortBy = sortBy != null ? sortBy : "id";
 
-    if (sortDirection != null
-        && !sortDirection.equalsIgnoreCase("asc")
-        && !sortDirection.equalsIgnoreCase("desc")) {
-      throw new IllegalArgumentException(
-          "Invalid sortDirection: '" + sortDirection + "'. Allowed values: asc, desc");
+    List<BatchShortenResult> results = new ArrayList<>(urls.size());
+    int succeeded = 0;
+    for (int i = 0; i < urls.size(); i++) {
+      BatchShortenResult result = new BatchShortenResult();
+      result.setIndex(i);
+      result.setLongUrl(urls.get(i));
+      if (assigned[i] == null) {
+        result.setError(new InvalidUrlException().getMessage());
+      } else if (assigned[i].getId() == null) {
+        result.setError("Failed to create short URL");
+      } else {
+        result.setSuccess(true);
+        result.setUrl(toUrlDto(assigned[i]));
+        succeeded++;
+      }
+      results.add(result);
     }
+
+    BatchShortenResponse response = new BatchShortenResponse();
+    response.setTotal(urls.size());
+    response.setSucceeded(succeeded);
+    response.setFailed(urls.size() - succeeded);
+    response.setResults(results);
+    return response;
+  }
+
+  public Page<UrlDto> getUrls(int pageNo, int pageSize, String sortBy, String sortDirection) {
+    Pageable pageable = pageRequest(pageNo, pageSize, sortBy, sortDirection);
+
+    String userRole = UserContext.getCurrentUserRole();
+
+    Page<UrlSummary> urlPage;
+    if (userRole.equalsIgnoreCase("admin")) {
+      urlPage = urlRepo.findSummaries(pageable);
+    } else {
+      long userId = UserContext.getCurrentUserId();
+      urlPage = urlRepo.findSummariesByCreatedBy(userId, pageable);
+    }
+
+    if (pageNo > 0 && urlPage.getTotalPages() > 0 && pageNo >= urlPage.getTotalPages()) {
+      throw Status.INVALID_ARGUMENT
+          .withDescription(
+              "Page number " + pageNo + " exceeds total pages (" + urlPage.getTotalPages() + ")")
+          .asRuntimeException();
+    }
+
+    return urlPage.map(this::toUrlDto);
+  }
+
+  /**
+   * Same listing as {@link #getUrls} without the {@code COUNT(*)}: one extra row is read to tell
+   * whether another page follows, and no totals are reported.
+   */
+  public Slice<UrlDto> getUrlSlice(int pageNo, int pageSize, String sortBy, String sortDirection) {
+    Pageable pageable = pageRequest(pageNo, pageSize, sortBy, sortDirection);
+
+    Slice<UrlSummary> urlSlice;
+    if (UserContext.getCurrentUserRole().equalsIgnoreCase("admin")) {
+      urlSlice = urlRepo.findSummarySlice(pageable);
+    } else {
+      urlSlice = urlRepo.findSummarySliceByCreatedBy(UserContext.getCurrentUserId(), pageable);
+    }
+    return urlSlice.map(this::toUrlDto);
+  }
+
+  private Pageable pageRequest(int pageNo, int pageSize, String sortBy, String sortDirection) {
+    if (pageNo < 0) {
+      throw new IllegalArgumentException("Page number cannot be negative");
+    }
+
+    validatePageSize(pageSize);
+    validateSort(sortBy, sortDirection);
+    String validSortBy = sortBy != null ? sortBy : "id";
     String validDirection = sortDirection != null ? sortDirection : "desc";
 
     Sort.Direction direction =
@@ -122,26 +344,74 @@ public class UrlService {
                   .asRuntimeException();
         };
 
-    Pageable pageable = PageRequest.of(pageNo, pageSize, Sort.by(direction, validSortBy));
-
-    String userRole = UserContext.getCurrentUserRole();
+    return PageRequest.of(pageNo, pageSize, Sort.by(direction, validSortBy));
+  }
 
-    Page<Url> urlPage;
-    if (userRole.equalsIgnoreCase("admin")) {
-      urlPage = urlRepo.findAll(pageable);
+  /**
+   * Keyset-paginated listing: returns up to {@code size} URLs after (or, for a previous-page
+   * cursor, before) {@code cursor}, or the first page when it is null. Every page costs the same
+   * however deep it is. The exact total needs a count over all of the caller's URLs, so it is only
+   * computed when {@code includeTotal} is set.
+   *
+   * <p>A cursor carries the sort it was issued for; {@code sortBy} and {@code sortDirection} may be
+   * omitted with a cursor but must match it when given.
+   */
+  public UrlCursorPage getUrlPage(
+      String cursor, int size, String sortBy, String sortDirection, boolean includeTotal) {
+    validatePageSize(size);
+    validateSort(sortBy, sortDirection);
+
+    UrlCursor position = cursor != null && !cursor.isEmpty() ? UrlCursor.decode(cursor) : null;
+    String validSortBy;
+    boolean ascending;
+    if (position != null) {
+      if (!SORT_FIELDS.contains(position.sortBy())
+          || (sortBy != null && !sortBy.equals(position.sortBy()))
+          || (sortDirection != null
+              && sortDirection.equalsIgnoreCase("asc") != position.ascending())) {
+        throw new IllegalArgumentException("Cursor does not match the requested sort");
+      }
+      validSortBy = position.sortBy();
+      ascending = position.ascending();
     } else {
-      long userId = UserContext.getCurrentUserId();
-      urlPage = urlRepo.findByCreatedBy(userId, pageable);
+      validSortBy = sortBy != null ? sortBy : "id";
+      ascending = sortDirection != null && sortDirection.equalsIgnoreCase("asc");
     }
 
-    if (pageNo > 0 && urlPage.getTotalPages() > 0 && pageNo >= urlPage.getTotalPages()) {
-      throw Status.INVALID_ARGUMENT
-          .withDescription(
-              "Page number " + pageNo + " exceeds total pages (" + urlPage.getTotalPages() + ")")
-          .asRuntimeException();
+    Long owner =
+        UserContext.getCurrentUserRole().equalsIgnoreCase("admin")
+            ? null
+            : UserContext.getCurrentUserId();
+    List<UrlSummary> rows = urlRepo.findPage(owner, validSortBy, ascending, position, size + 1);
+    boolean more = rows.size() > size;
+    if (more) {
+      rows = rows.subList(0, size);
     }
-
-    return urlPage;
+    boolean backward = position != null && position.backward();
+    if (backward) {
+      rows = new ArrayList<>(rows);
+      Collections.reverse(rows);
+    }
+    boolean hasNext = backward || more;
+    boolean hasPrevious = backward ? more : position != null;
+
+    UrlCursorPage page = new UrlCursorPage();
+    page.setUrls(rows.stream().map(this::toUrlDto).collect(Collectors.toList()));
+    page.setSize(size);
+    page.setSortBy(validSortBy);
+    page.setSortDirection(ascending ? "asc" : "desc");
+    page.setHasNext(hasNext && !rows.isEmpty());
+    page.setHasPrevious(hasPrevious && !rows.isEmpty());
+    if (page.isHasNext()) {
+      page.setNextCursor(cursorFor(rows.get(rows.size() - 1), validSortBy, ascending, false));
+    }
+    if (page.isHasPrevious()) {
+      page.setPreviousCursor(cursorFor(rows.get(0), validSortBy, ascending, true));
+    }
+    if (includeTotal) {
+      page.setTotalElements(owner == null ? urlRepo.count() : urlRepo.countByCreatedBy(owner));
+    }
+    return page;
   }
 
   public UrlDto getUrlByShortCode(String shortCode) {
@@ -157,43 +427,32 @@ public class UrlService {
       throw new AccessDeniedException("You do not have permission to view this URL");
     }
 
-    UrlDto urlDto = new UrlDto();
-    urlDto.setId(url.getId());
-    urlDto.setLongUrl(url.getLongUrl());
-    urlDto.setShortCode(url.getShortCode());
-    urlDto.setShortUrl(baseUrl + "/" + url.getShortCode());
-    urlDto.setClicks(url.getClicks());
-    urlDto.setExpired(
-        url.getExpiresAt() != null && LocalDateTime.now().isAfter(url.getExpiresAt()));
-    urlDto.setCreatedAt(url.getCreatedAt());
-    urlDto.setUpdatedAt(url.getUpdatedAt());
-    urlDto.setExpiresAt(url.getExpiresAt());
-
+    UrlDto urlDto = toUrlDto(url);
+    Long clicks = urlJdbcRepo.getClickCount(shortCode);
+    if (clicks != null) {
+      urlDto.setClicks((int) Math.min(clicks, Integer.MAX_VALUE));
+    }
     return urlDto;
   }
 
-  public Url redirect(String shortCode) {
-    Optional<Url> urlOpt = urlRepo.findByShortCode(shortCode);
-
-    Url url =
-        urlOpt.orElseThrow(
-            () ->
-                new NoSuchElementException("Url with shortcode " + shortCode + " does not exist"));
+  public RedirectEntry redirect(String shortCode) {
+    RedirectEntry entry = redirectCache.get(shortCode, this::loadRedirectEntry);
+    if (entry == null) {
+      throw new NoSuchElementException("Url with shortcode " + shortCode + " does not exist");
+    }
 
-    LocalDateTime currentTime = LocalDateTime.now();
-    if (url.getExpiresAt() != null && currentTime.isAfter(url.getExpiresAt())) {
+    if (entry.isExpired(LocalDateTime.now())) {
       throw new UrlExpiredException();
     }
 
-    urlRepo.incrementClickCount(shortCode);
-    Integer count = urlRepo.getClickCount(shortCode);
+    long count = clickCounter.increment(shortCode);
 
-    if (count != null && count > notificationThreshold) {
-      notificationService.sendThresholdNotification(shortCode);
+    if (count > notificationThreshold) {
+      thresholdDispatcher.dispatch(shortCode);
       throw new ThresholdReachedException();
     }
 
-    return url;
+    return entry;
   }
 
   public void deleteUrl(String shortCode) {
@@ -210,58 +469,224 @@ public class UrlService {
     }
 
     urlRepo.delete(url);
+    redirectStore.remove(shortCode);
+    redirectCache.invalidate(shortCode);
+    clickCounter.evict(shortCode);
+    shortCodeFilter.recordRemoval();
+  }
+
+  UrlDto toUrlDto(Url url) {
+    return toUrlDto(
+        new UrlSummary(
+            url.getId(),
+            url.getShortCode(),
+            url.getLongUrl(),
+            url.getClicks(),
+            url.getCreatedAt(),
+            url.getUpdatedAt(),
+            url.getExpiresAt(),
+            url.getCreatedBy()));
+  }
+
+  private UrlDto toUrlDto(UrlSummary url) {
+    UrlDto urlDto = new UrlDto();
+    urlDto.setId(url.id());
+    urlDto.setLongUrl(url.longUrl());
+    urlDto.setShortCode(url.shortCode());
+    urlDto.setShortUrl(baseUrl + "/" + url.shortCode());
+    urlDto.setClicks(url.clicks());
+    urlDto.setExpired(url.expiresAt() != null && LocalDateTime.now().isAfter(url.expiresAt()));
+    urlDto.setCreatedAt(url.createdAt());
+    urlDto.setUpdatedAt(url.updatedAt());
+    urlDto.setExpiresAt(url.expiresAt());
+    urlDto.setCreatedBy(url.createdBy());
+    return urlDto;
+  }
+
+  private void validatePageSize(int pageSize) {
+    if (pageSize <= 0) {
+      throw new IllegalArgumentException("Page size must be greater than zero.");
+    }
+    if (pageSize > maxPageSize) {
+      throw new IllegalArgumentException("Page size must not exceed " + maxPageSize + ".");
+    }
+  }
+
+  private static void validateSort(String sortBy, String sortDirection) {
+    if (sortBy != null && !SORT_FIELDS.contains(sortBy)) {
+      throw new IllegalArgumentException(
+          "Invalid sortBy: '" + sortBy + "'. Allowed values: " + SORT_FIELDS);
+    }
+    if (sortDirection != null
+        && !sortDirection.equalsIgnoreCase("asc")
+        && !sortDirection.equalsIgnoreCase("desc")) {
+      throw new IllegalArgumentException(
+          "Invalid sortDirection: '" + sortDirection + "'. Allowed values: asc, desc");
+    }
   }
 
-  private String getRandomString(int length) {
-    StringBuilder sb = new StringBuilder();
-    while (sb.length() < length) {
-      char c = (char) (random.nextInt(95) + 32);
-      if (Character.isLetterOrDigit(c)) {
-        sb.append(c);
+  private static String cursorFor(
+      UrlSummary url, String sortBy, boolean ascending, boolean backward) {
+    Object value =
+        switch (sortBy) {
+          case "shortCode" -> url.shortCode();
+          case "clicks" -> url.clicks();
+          case "createdAt" -> url.createdAt();
+          case "expiresAt" -> url.expiresAt();
+          default -> url.id();
+        };
+    return new UrlCursor(
+            sortBy, ascending, backward, value != null ? value.toString() : null, url.id())
+        .encode();
+  }
+
+  private Map<String, Boolean> resolveHosts(String[] hosts) {
+    List<String> distinctHosts =
+        Arrays.stream(hosts).filter(Objects::nonNull).distinct().collect(Collectors.toList());
+    Map<String, Boolean> resolvable = new HashMap<>();
+    for (int start = 0; start < distinctHosts.size(); start += batchValidationParallelism) {
+      List<String> window =
+          distinctHosts.subList(
+              start, Math.min(start + batchValidationParallelism, distinctHosts.size()));
+      List<CompletableFuture<Boolean>> checks =
+          window.stream().map(hostValidator::checkAsync).collect(Collectors.toList());
+      for (int i = 0; i < window.size(); i++) {
+        resolvable.put(window.get(i), checks.get(i).join());
       }
     }
-    return sb.toString();
+    return resolvable;
   }
 
-  private String generateShortCode(int length) {
-    String code = getRandomString(length);
-    Optional<Url> existing = urlRepo.findByShortCode(code);
+  /**
+   * Gives each URL a code and inserts them chunk by chunk; returns how many rows were created. URLs
+   * that could not be inserted, including those left once the generator runs out of codes, are left
+   * without an id.
+   */
+  private int insertBatch(List<Url> pending) {
+    int created = 0;
+    for (int start = 0; start < pending.size(); start += batchJdbcSize) {
+      List<Url> chunk = pending.subList(start, Math.min(start + batchJdbcSize, pending.size()));
+      try {
+        for (Url url : chunk) {
+          url.setShortCode(shortCodeGenerator.nextCode());
+        }
+      } catch (ShortCodeRateExceededException e) {
+        log.warn("Ran out of short codes after {} of {} batch URLs", start, pending.size());
+        break;
+      }
+      try {
+        urlJdbcRepo.insertUrls(chunk);
+      } catch (DataIntegrityViolationException e) {
+        for (Url url : chunk) {
+          url.setId(null);
+          try {
+            Url saved = saveWithNewShortCode(url);
+            url.setId(saved.getId());
+            url.setShortCode(saved.getShortCode());
+          } catch (DataIntegrityViolationException
+              | ShortCodeRateExceededException retryFailure) {
+            log.warn("Failed to insert batch URL {}", url.getLongUrl(), retryFailure);
+          }
+        }
+      }
+      for (Url url : chunk) {
+        if (url.getId() != null) {
+          shortCodeFilter.put(url.getShortCode());
+          redirectStore.put(url.getShortCode(), RedirectEntry.from(url));
+          created++;
+        }
+      }
+    }
+    return created;
+  }
 
-    if (existing.isEmpty()) {
-      return code;
-    } else {
-      return generateShortCode(length);
+  /**
+   * Latest unexpired link of {@code userId} for the same normalized URL. The hash only narrows the
+   * lookup; the stored URL is normalized again and compared before it is reused.
+   */
+  private Optional<Url> findDuplicate(
+      long userId, String normalizedUrl, String urlHash, LocalDateTime now) {
+    return urlRepo
+        .findFirstByCreatedByAndUrlHashAndExpiresAtAfterOrderByIdDesc(userId, urlHash, now)
+        .filter(existing -> urlNormalizer.normalize(existing.getLongUrl()).equals(normalizedUrl));
+  }
+
+  private RedirectEntry loadRedirectEntry(String shortCode) {
+    if (!shortCodeFilter.mightContain(shortCode)) {
+      return null;
+    }
+    RedirectEntry stored = redirectStore.find(shortCode);
+    if (stored != null) {
+      return stored;
+    }
+    // Codes that pass the filter almost always exist, so a miss is worth one more read in case the
+    // replica that served it has not caught up with a recent insert.
+    long readAsOf = System.nanoTime() - replicaStaleness().toNanos();
+    RedirectEntry entry = redirectJdbcRepo.findByShortCode(shortCode);
+    if (entry == null) {
+      readAsOf = System.nanoTime();
+      entry = redirectJdbcRepo.findByShortCodeOnPrimary(shortCode);
+    }
+    if (entry != null) {
+      redirectStore.fill(
+          shortCode, entry, readAsOf, () -> redirectJdbcRepo.findByShortCodeOnPrimary(shortCode));
+    }
+    return entry;
+  }
+
+  /**
+   * How far behind the primary a replica read can be: a replica stays in rotation until a health
+   * check sees it lag by more than the allowed whole seconds.
+   */
+  private Duration replicaStaleness() {
+    return Duration.ofSeconds(replicaMaxLagSeconds + 1).plusMillis(replicaHealthCheckIntervalMs);
+  }
+
+  /**
+   * Generated codes are unique among themselves, but may still clash with a code issued by an
+   * earlier generator; the unique index catches that and a fresh code is tried.
+   */
+  private Url saveWithNewShortCode(Url url) {
+    for (int attempt = 1; ; attempt++) {
+      url.setShortCode(shortCodeGenerator.nextCode());
+      try {
+        return urlRepo.save(url);
+      } catch (DataIntegrityViolationException e) {
+        if (attempt >= MAX_INSERT_ATTEMPTS) {
+          throw e;
+        }
+      }
     }
   }
 
   private boolean isValidUrl(String url) {
+    String host = checkedHost(url);
+    return host != null && hostValidator.isResolvable(host);
+  }
+
+  /** Lower-cased host of {@code url} if it passes every check except DNS, otherwise null. */
+  private String checkedHost(String url) {
     try {
       URI uri = new URI(url);
 
       String scheme = uri.getScheme();
       if (!(scheme.equals("http") || scheme.equals("https"))) {
-        return false;
+        return null;
       }
 
       URI baseUri = new URI(baseUrl);
       if (uri.getHost().equalsIgnoreCase(baseUri.getHost())) {
-        return false;
+        return null;
       }
 
       String host = uri.getHost();
-      if (host == null || bannedHosts.contains(host)) {
-        return false;
-      }
-
-      try {
-        InetAddress.getByName(uri.getHost());
-      } catch (Exception e) {
-        return false;
+      if (host == null || bannedHostProvider.isBanned(host)) {
+        return null;
       }
 
-      return true;
+      return host.toLowerCase(Locale.ROOT);
     } catch (Exception e) {
-      return false;
+      return null;
     }
   }
 }
@@ -0,0 +1,56 @@
+package com.example.shortcode;
+
+/** Fixed-width base62 encoding over the alphabet {@code [0-9A-Za-z]}. */
+public final class Base62 {
+
+  private static final char[] ALPHABET =
+      "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz".toCharArray();
+
+  /** Number of distinct seven-character codes, 62^7. */
+  public static final long CAPACITY_7 = 3_521_614_606_208L;
+
+  private Base62() {}
+
+  /** Encodes {@code value} as exactly {@code length} characters, left-padded with {@code '0'}. */
+  public static String encode(long value, int length) {
+    if (value < 0) {
+      throw new IllegalArgumentException("Value must not be negative: " + value);
+    }
+    char[] chars = new char[length];
+    for (int i = length - 1; i >= 0; i--) {
+      chars[i] = ALPHABET[(int) (value % 62)];
+      value /= 62;
+    }
+    if (value != 0) {
+      throw new IllegalArgumentException("Value does not fit in " + length + " characters");
+    }
+    return new String(chars);
+  }
+
+  /** Decodes a code produced by {@link #encode}. */
+  public static long decode(CharSequence code) {
+    long value = 0;
+    for (int i = 0; i < code.length(); i++) {
+      int digit = digit(code.charAt(i));
+      if (digit < 0) {
+        throw new IllegalArgumentException("Not a base62 code: " + code);
+      }
+      value = value * 62 + digit;
+    }
+    return value;
+  }
+
+  /** Returns the value of a single base62 character, or -1 if it is not one. */
+  public static int digit(char c) {
+    if (c >= '0' && c <= '9') {
+      return c - '0';
+    }
+    if (c >= 'A' && c <= 'Z') {
+      return c - 'A' + 10;
+    }
+    if (c >= 'a' && c <= 'z') {
+      return c - 'a' + 36;
+    }
+    return -1;
+  }
+}
@@ -0,0 +1,67 @@
+package com.example.shortcode;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hi/lo short code generator.
+ *
+ * <p>Ids are leased from the database {@code short-code.block-size} at a time and handed out from
+ * memory, so only one request per block touches the database. Each id is optionally passed through
+ * a keyed {@link ShortCodePermutation} so that consecutive links do not get guessable, sequential
+ * codes, then base62-encoded to seven characters.
+ */
+@Component
+@ConditionalOnProperty(name = "short-code.generator", havingValue = "block", matchIfMissing = true)
+public class BlockAllocatedShortCodeGenerator implements ShortCodeGenerator {
+
+  private final ShortCodeBlockAllocator allocator;
+
+  private ShortCodePermutation permutation;
+  private long next;
+  private long blockEnd;
+
+  @Value("${short-code.block-size}")
+  private int blockSize;
+
+  @Value("${short-code.scramble}")
+  private boolean scramble;
+
+  @Value("${short-code.scramble-key}")
+  private long scrambleKey;
+
+  public BlockAllocatedShortCodeGenerator(ShortCodeBlockAllocator allocator) {
+    this.allocator = allocator;
+  }
+
+  @PostConstruct
+  public void init() {
+    permutation = scramble ? new ShortCodePermutation(scrambleKey) : null;
+  }
+
+  @Override
+  public synchronized String nextCode() {
+    if (next >= blockEnd) {
+      long start = leaseBlock();
+      next = start;
+      blockEnd = start + blockSize;
+    }
+    long id = next++;
+    if (id >= Base62.CAPACITY_7) {
+      throw new IllegalStateException("Short code space exhausted");
+    }
+    return Base62.encode(permutation != null ? permutation.apply(id) : id, CODE_LENGTH);
+  }
+
+  private long leaseBlock() {
+    try {
+      return allocator.leaseBlock(blockSize);
+    } catch (DataIntegrityViolationException e) {
+      // Another instance created the sequence row first; it exists now.
+      return allocator.leaseBlock(blockSize);
+    }
+  }
+}
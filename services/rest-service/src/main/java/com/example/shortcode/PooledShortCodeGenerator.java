@@ -0,0 +1,221 @@
+package com.example.shortcode;
+
+import com.example.repository.ShortCodeReservationJdbcRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Serves short codes from a pool generated ahead of time, so creating a link never waits for code
+ * generation.
+ *
+ * <p>Codes are taken from the configured generator in batches of {@code
+ * short-code.pool.refill-batch-size}, recorded in the {@code short_code_reservation} table under
+ * this node's name and pushed onto a lock-free queue. Whenever the queue drops below {@code
+ * short-code.pool.low-watermark} it is topped up to {@code short-code.pool.high-watermark} on a
+ * background thread. If the pool runs dry, codes come straight from the generator and the {@code
+ * short.code.pool.exhausted} counter is incremented.
+ *
+ * <p>Reservations of codes handed out are deleted in the background. Codes still reserved when the
+ * process stops, cleanly or not, are put back into the pool on the next start under the same node
+ * name unless a URL already uses them. Reservations are held on a lease: every third of {@code
+ * short-code.pool.lease-timeout-ms} a node renews its own and adopts those of any node, such as a
+ * container that came back under a new hostname, that were not renewed within the timeout. A node
+ * stalled for longer than the timeout may see its codes handed out elsewhere too, in which case the
+ * unique index on {@code short_code} turns the second use into a retry.
+ */
+@Component
+@Primary
+@ConditionalOnProperty(name = "short-code.pool.enabled", havingValue = "true")
+public class PooledShortCodeGenerator implements ShortCodeGenerator {
+
+  private static final Logger log = LoggerFactory.getLogger(PooledShortCodeGenerator.class);
+
+  private final ShortCodeGenerator delegate;
+  private final ShortCodeReservationJdbcRepository reservationRepo;
+  private final MeterRegistry meterRegistry;
+
+  private final ConcurrentLinkedQueue<String> pool = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger size = new AtomicInteger();
+  private final ConcurrentLinkedQueue<String> handedOut = new ConcurrentLinkedQueue<>();
+  private final AtomicBoolean refillRequested = new AtomicBoolean();
+  private ExecutorService refillExecutor;
+  private boolean recovered;
+  private Clock clock = Clock.systemDefaultZone();
+  private LocalDateTime leaseRenewedAt;
+  private Counter exhausted;
+  private Counter reserved;
+  private Counter recoveredCodes;
+
+  @Value("${short-code.pool.node}")
+  private String node;
+
+  @Value("${short-code.pool.low-watermark}")
+  private int lowWatermark;
+
+  @Value("${short-code.pool.high-watermark}")
+  private int highWatermark;
+
+  @Value("${short-code.pool.refill-batch-size}")
+  private int refillBatchSize;
+
+  @Value("${short-code.pool.lease-timeout-ms}")
+  private long leaseTimeoutMs;
+
+  public PooledShortCodeGenerator(
+      ShortCodeGenerator delegate,
+      ShortCodeReservationJdbcRepository reservationRepo,
+      MeterRegistry meterRegistry) {
+    this.delegate = delegate;
+    this.reservationRepo = reservationRepo;
+    this.meterRegistry = meterRegistry;
+  }
+
+  @PostConstruct
+  public void init() {
+    if (lowWatermark < 0 || highWatermark <= lowWatermark || refillBatchSize <= 0) {
+      throw new IllegalStateException(
+          "short-code.pool requires 0 <= low-watermark < high-watermark and refill-batch-size > 0");
+    }
+    refillExecutor =
+        Executors.newSingleThreadExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "short-code-pool-refill");
+              thread.setDaemon(true);
+              return thread;
+            });
+
+    exhausted = meterRegistry.counter("short.code.pool.exhausted");
+    reserved = meterRegistry.counter("short.code.pool.reserved");
+    recoveredCodes = meterRegistry.counter("short.code.pool.recovered");
+    Gauge.builder("short.code.pool.size", size, AtomicInteger::get).register(meterRegistry);
+  }
+
+  @PreDestroy
+  public void shutdown() throws InterruptedException {
+    refillExecutor.shutdown();
+    refillExecutor.awaitTermination(5, TimeUnit.SECONDS);
+    releaseHandedOut();
+  }
+
+  @Override
+  public String nextCode() {
+    String code = pool.poll();
+    if (code == null) {
+      exhausted.increment();
+      requestRefill();
+      return delegate.nextCode();
+    }
+    if (size.decrementAndGet() < lowWatermark) {
+      requestRefill();
+    }
+    handedOut.add(code);
+    return code;
+  }
+
+  public int size() {
+    return size.get();
+  }
+
+  /**
+   * Recovers this node's leftover reservations on the first run, renews its lease and adopts
+   * expired reservations when due, releases reservations of codes handed out since the last run and
+   * tops the pool up if it is below the low watermark.
+   */
+  @Scheduled(fixedDelayString = "${short-code.pool.refill-interval-ms}")
+  public synchronized void refill() {
+    refillRequested.set(false);
+    try {
+      if (!recovered) {
+        recover();
+        recovered = true;
+      }
+      maintainLease();
+      releaseHandedOut();
+      if (size.get() >= lowWatermark) {
+        return;
+      }
+      while (size.get() < highWatermark) {
+        int count = Math.min(refillBatchSize, highWatermark - size.get());
+        List<String> codes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+          codes.add(delegate.nextCode());
+        }
+        reservationRepo.reserve(node, codes, LocalDateTime.now(clock));
+        pool.addAll(codes);
+        size.addAndGet(count);
+        reserved.increment(count);
+      }
+    } catch (RuntimeException e) {
+      log.warn("Failed to refill the short code pool, {} codes left", size.get(), e);
+    }
+  }
+
+  private void recover() {
+    reservationRepo.releaseUsed(node);
+    List<String> unused = reservationRepo.findUnused(node);
+    pool.addAll(unused);
+    size.addAndGet(unused.size());
+    recoveredCodes.increment(unused.size());
+    if (!unused.isEmpty()) {
+      log.info("Recovered {} reserved short codes for node '{}'", unused.size(), node);
+    }
+  }
+
+  private void maintainLease() {
+    LocalDateTime now = LocalDateTime.now(clock);
+    Duration leaseTimeout = Duration.ofMillis(leaseTimeoutMs);
+    if (leaseRenewedAt != null && now.isBefore(leaseRenewedAt.plus(leaseTimeout.dividedBy(3)))) {
+      return;
+    }
+    reservationRepo.renew(node, now);
+    leaseRenewedAt = now;
+    List<String> adopted = reservationRepo.adoptExpired(node, now.minus(leaseTimeout), now);
+    pool.addAll(adopted);
+    size.addAndGet(adopted.size());
+    recoveredCodes.increment(adopted.size());
+    if (!adopted.isEmpty()) {
+      log.info("Adopted {} short codes whose reservations expired", adopted.size());
+    }
+  }
+
+  private void releaseHandedOut() {
+    List<String> codes = new ArrayList<>();
+    String code;
+    while ((code = handedOut.poll()) != null) {
+      codes.add(code);
+    }
+    try {
+      reservationRepo.release(codes);
+    } catch (RuntimeException e) {
+      // Recovery skips codes that a URL already uses, so these reservations are harmless.
+      log.warn("Failed to release {} short code reservations", codes.size(), e);
+    }
+  }
+
+  private void requestRefill() {
+    if (refillRequested.compareAndSet(false, true) && !refillExecutor.isShutdown()) {
+      refillExecutor.execute(this::refill);
+    }
+  }
+}
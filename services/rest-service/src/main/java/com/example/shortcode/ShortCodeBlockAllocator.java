@@ -0,0 +1,40 @@
+package com.example.shortcode;
+
+import com.example.model.ShortCodeSequence;
+import com.example.repository.ShortCodeSequenceRepository;
+import java.util.Optional;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/** Leases contiguous blocks of ids from the {@code short_code_sequence} table. */
+@Component
+public class ShortCodeBlockAllocator {
+
+  static final String SEQUENCE_NAME = "url";
+  private static final long FIRST_VALUE = 1;
+
+  private final ShortCodeSequenceRepository sequenceRepo;
+
+  public ShortCodeBlockAllocator(ShortCodeSequenceRepository sequenceRepo) {
+    this.sequenceRepo = sequenceRepo;
+  }
+
+  /**
+   * Reserves {@code blockSize} ids for the caller's exclusive use.
+   *
+   * @return the first id of the block
+   */
+  @Transactional
+  public long leaseBlock(int blockSize) {
+    Optional<ShortCodeSequence> existing = sequenceRepo.findWithLockByName(SEQUENCE_NAME);
+    if (existing.isEmpty()) {
+      // A concurrent first lease fails on the primary key and is retried by the caller.
+      sequenceRepo.saveAndFlush(new ShortCodeSequence(SEQUENCE_NAME, FIRST_VALUE + blockSize));
+      return FIRST_VALUE;
+    }
+    ShortCodeSequence sequence = existing.get();
+    long start = sequence.getNextValue();
+    sequence.setNextValue(start + blockSize);
+    return start;
+  }
+}
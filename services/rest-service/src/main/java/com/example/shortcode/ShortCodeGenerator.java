@@ -0,0 +1,16 @@
+package com.example.shortcode;
+
+/**
+ * Source of short codes for new URLs.
+ *
+ * <p>Implementations must hand out each code at most once across every rest-service instance
+ * sharing the database, without consulting the {@code url} table, so callers can insert the code
+ * straight away. The unique index on {@code short_code} remains the last line of defence against
+ * clashes with codes issued by an earlier generator.
+ */
+public interface ShortCodeGenerator {
+
+  int CODE_LENGTH = 7;
+
+  String nextCode();
+}
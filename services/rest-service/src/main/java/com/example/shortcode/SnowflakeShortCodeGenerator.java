@@ -0,0 +1,97 @@
+package com.example.shortcode;
+
+import com.example.exception.ShortCodeRateExceededException;
+import jakarta.annotation.PostConstruct;
+import java.time.Clock;
+import java.time.Instant;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Coordination-free short code generator for multi-replica deployments.
+ *
+ * <p>Each id packs 41 bits, which is the most that fits in seven base62 characters:
+ *
+ * <pre>
+ *   | 28 bits: seconds since 2026-01-01 | 5 bits: node id | 8 bits: sequence |
+ * </pre>
+ *
+ * Every replica is configured with a distinct {@code short-code.snowflake.node-id}, so replicas can
+ * never produce the same id. Within a node, the (second, sequence) pair only ever increases: if the
+ * wall clock moves backwards the generator keeps counting from the last second it used, and when a
+ * second's 256 sequence numbers are used up it borrows up to {@value #MAX_BORROW_SECONDS} seconds
+ * from the future. Ids are scrambled with the same keyed permutation as the block generator when
+ * {@code short-code.scramble} is on.
+ *
+ * <p>A node therefore sustains 256 codes a second, with bursts of up to 768. Once the borrowed
+ * seconds are used up too, {@link #nextCode} throws {@link ShortCodeRateExceededException} at once
+ * rather than waiting for the clock, so one large batch cannot hold up every other request.
+ */
+@Component
+@ConditionalOnProperty(name = "short-code.generator", havingValue = "snowflake")
+public class SnowflakeShortCodeGenerator implements ShortCodeGenerator {
+
+  static final long EPOCH_SECOND = Instant.parse("2026-01-01T00:00:00Z").getEpochSecond();
+  static final int NODE_BITS = 5;
+  static final int SEQUENCE_BITS = 8;
+  static final int TIMESTAMP_BITS = 28;
+  static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+  static final long MAX_SEQUENCE = (1L << SEQUENCE_BITS) - 1;
+  static final long MAX_TIMESTAMP = (1L << TIMESTAMP_BITS) - 1;
+  static final long MAX_BORROW_SECONDS = 2;
+
+  private Clock clock = Clock.systemUTC();
+  private ShortCodePermutation permutation;
+
+  private long lastSecond = -1;
+  private long sequence;
+
+  @Value("${short-code.snowflake.node-id}")
+  private long nodeId;
+
+  @Value("${short-code.scramble}")
+  private boolean scramble;
+
+  @Value("${short-code.scramble-key}")
+  private long scrambleKey;
+
+  @PostConstruct
+  public void init() {
+    if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+      throw new IllegalStateException(
+          "short-code.snowflake.node-id must be between 0 and " + MAX_NODE_ID);
+    }
+    permutation = scramble ? new ShortCodePermutation(scrambleKey) : null;
+  }
+
+  @Override
+  public synchronized String nextCode() {
+    long id = nextId();
+    return Base62.encode(permutation != null ? permutation.apply(id) : id, CODE_LENGTH);
+  }
+
+  long nextId() {
+    long now = currentSecond();
+    if (now > lastSecond) {
+      lastSecond = now;
+      sequence = 0;
+    } else if (sequence < MAX_SEQUENCE) {
+      // Same second, or the clock went backwards: keep counting from where we were.
+      sequence++;
+    } else if (lastSecond + 1 - now <= MAX_BORROW_SECONDS) {
+      lastSecond++;
+      sequence = 0;
+    } else {
+      throw new ShortCodeRateExceededException();
+    }
+    if (lastSecond > MAX_TIMESTAMP) {
+      throw new IllegalStateException("Short code timestamp range exhausted");
+    }
+    return (lastSecond << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | sequence;
+  }
+
+  private long currentSecond() {
+    return Math.max(0, clock.instant().getEpochSecond() - EPOCH_SECOND);
+  }
+}
@@ -0,0 +1,30 @@
+package com.example.store;
+
+import com.example.cache.RedirectEntry;
+import java.util.function.Supplier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/** The {@link RedirectStore} used unless {@code redirect-store.enabled} is set: keeps nothing. */
+@Component
+@ConditionalOnProperty(
+    name = "redirect-store.enabled",
+    havingValue = "false",
+    matchIfMissing = true)
+public class DisabledRedirectStore implements RedirectStore {
+
+  @Override
+  public RedirectEntry find(String shortCode) {
+    return null;
+  }
+
+  @Override
+  public void put(String shortCode, RedirectEntry entry) {}
+
+  @Override
+  public void fill(
+      String shortCode, RedirectEntry entry, long readAsOf, Supplier<RedirectEntry> primary) {}
+
+  @Override
+  public void remove(String shortCode) {}
+}
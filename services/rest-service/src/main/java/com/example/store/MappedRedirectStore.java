@@ -0,0 +1,195 @@
+package com.example.store;
+
+import com.example.cache.RedirectEntry;
+import com.example.cache.UrlCodec;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link RedirectStore} kept in a {@link RedirectLog} under {@code redirect-store.directory}, so a
+ * single-node or edge deployment keeps serving known short codes without querying MySQL, including
+ * right after a restart.
+ *
+ * <p>Every {@code redirect-store.maintenance-interval-ms} the log is written through to disk and,
+ * once superseded records take up more than {@code redirect-store.compaction-garbage-ratio} of it,
+ * compacted. If a write fails the store can no longer vouch for its contents: it is bypassed and
+ * its file deleted, and redirects are served from the database until the next restart.
+ *
+ * <p>Deletions are only seen by the instance that makes them, so the store is meant for deployments
+ * with one rest-service instance.
+ */
+@Component
+@ConditionalOnProperty(name = "redirect-store.enabled", havingValue = "true")
+public class MappedRedirectStore implements RedirectStore {
+
+  private static final Logger log = LoggerFactory.getLogger(MappedRedirectStore.class);
+
+  private static final int REMOVAL_STRIPES = 1024;
+
+  private final MeterRegistry meterRegistry;
+  private final UrlCodec urlCodec;
+
+  /**
+   * When a code hashing to each stripe was last removed. Starts at the store's creation, so reads
+   * older than that are checked as well.
+   */
+  private final AtomicLongArray removedAt = new AtomicLongArray(REMOVAL_STRIPES);
+
+  private volatile RedirectLog redirectLog;
+  private Counter compactions;
+
+  @Value("${redirect-store.directory}")
+  private String directory;
+
+  @Value("${redirect-store.initial-size-mb}")
+  private int initialSizeMb;
+
+  @Value("${redirect-store.compaction-garbage-ratio}")
+  private double compactionGarbageRatio;
+
+  public MappedRedirectStore(MeterRegistry meterRegistry, UrlCodec urlCodec) {
+    this.meterRegistry = meterRegistry;
+    this.urlCodec = urlCodec;
+    long createdAt = System.nanoTime();
+    for (int i = 0; i < REMOVAL_STRIPES; i++) {
+      removedAt.set(i, createdAt);
+    }
+  }
+
+  @PostConstruct
+  public void init() throws IOException {
+    redirectLog = RedirectLog.open(Path.of(directory), initialSizeMb * 1024L * 1024L, urlCodec);
+    log.info("Opened redirect store in {} with {} short codes", directory, redirectLog.entries());
+    compactions = meterRegistry.counter("redirect.store.compactions");
+    Gauge.builder("redirect.store.entries", this, MappedRedirectStore::entries)
+        .register(meterRegistry);
+    Gauge.builder("redirect.store.size", this, MappedRedirectStore::sizeBytes)
+        .baseUnit("bytes")
+        .register(meterRegistry);
+    Gauge.builder("redirect.store.index.memory", this, MappedRedirectStore::indexBytes)
+        .baseUnit("bytes")
+        .register(meterRegistry);
+  }
+
+  @Override
+  public RedirectEntry find(String shortCode) {
+    RedirectLog current = redirectLog;
+    return current != null ? current.get(shortCode) : null;
+  }
+
+  @Override
+  public void put(String shortCode, RedirectEntry entry) {
+    RedirectLog current = redirectLog;
+    if (current == null) {
+      return;
+    }
+    try {
+      current.put(shortCode, entry);
+    } catch (IOException | RuntimeException e) {
+      discard(current, e);
+    }
+  }
+
+  @Override
+  public void fill(
+      String shortCode, RedirectEntry entry, long readAsOf, Supplier<RedirectEntry> primary) {
+    put(shortCode, entry);
+    // remove() stamps the code's stripe before dropping it, so a removal the read missed either
+    // drops the entry after the put above or has its stamp seen here.
+    if (removedAt.get(stripe(shortCode)) - readAsOf >= 0 && primary.get() == null) {
+      remove(shortCode);
+    }
+  }
+
+  @Override
+  public void remove(String shortCode) {
+    removedAt.accumulateAndGet(stripe(shortCode), System.nanoTime(), Math::max);
+    RedirectLog current = redirectLog;
+    if (current == null) {
+      return;
+    }
+    try {
+      current.remove(shortCode);
+    } catch (IOException | RuntimeException e) {
+      discard(current, e);
+    }
+  }
+
+  @Scheduled(
+      fixedDelayString = "${redirect-store.maintenance-interval-ms}",
+      initialDelayString = "${redirect-store.maintenance-interval-ms}")
+  public void maintain() {
+    RedirectLog current = redirectLog;
+    if (current == null) {
+      return;
+    }
+    current.sync();
+    if (current.garbageBytes() <= current.sizeBytes() * compactionGarbageRatio) {
+      return;
+    }
+    try {
+      long before = current.sizeBytes();
+      current.compact();
+      compactions.increment();
+      log.info("Compacted the redirect store from {} to {} bytes", before, current.sizeBytes());
+    } catch (IOException e) {
+      // The old log is still in place and complete; try again on the next run.
+      log.warn("Failed to compact the redirect store", e);
+    }
+  }
+
+  @PreDestroy
+  public void close() {
+    RedirectLog current = redirectLog;
+    if (current != null) {
+      current.close();
+    }
+  }
+
+  public long entries() {
+    RedirectLog current = redirectLog;
+    return current != null ? current.entries() : 0;
+  }
+
+  public long sizeBytes() {
+    RedirectLog current = redirectLog;
+    return current != null ? current.sizeBytes() : 0;
+  }
+
+  public long indexBytes() {
+    RedirectLog current = redirectLog;
+    return current != null ? current.indexBytes() : 0;
+  }
+
+  private static int stripe(String shortCode) {
+    return shortCode.hashCode() & (REMOVAL_STRIPES - 1);
+  }
+
+  private synchronized void discard(RedirectLog failed, Exception cause) {
+    if (redirectLog != failed) {
+      return;
+    }
+    redirectLog = null;
+    log.error(
+        "Redirect store write failed; serving redirects from the database until restart", cause);
+    try {
+      Files.deleteIfExists(failed.file());
+    } catch (IOException e) {
+      log.error("Failed to delete {}; remove it before restarting", failed.file(), e);
+    }
+  }
+}
@@ -0,0 +1,330 @@
+package com.example.store;
+
+import com.example.cache.RedirectEntry;
+import com.example.cache.UrlCodec;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.zip.CRC32C;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append-only log of redirect records in one memory-mapped file, with a {@link ShortCodeIndex} from
+ * short code to the offset of its latest record. The file doubles as the arena the index points
+ * into, so a cached redirect costs the JVM heap one slot of the index and nothing else.
+ *
+ * <p>Each record is {@code [length][crc32c][flags, expiry, creator, code length, url length, code,
+ * url]}; a removal is a record with the deleted flag and no URL. URLs are written encoded by the
+ * {@link UrlCodec}, and records from before it was introduced are told apart by a flag. The length
+ * is written last, and a zero length marks the end of the log. On {@link #open} the log is replayed
+ * to rebuild the index; replay stops at the first record that is cut short or fails its checksum,
+ * which is what a crash mid-append leaves behind, and everything after it is zeroed.
+ *
+ * <p>Superseded and removed records stay in the file until {@link #compact} copies the live ones to
+ * a new file and renames it over the old one. Lookups never block: they read whichever mapping is
+ * current, while appends, growth and compaction are serialized.
+ */
+public class RedirectLog implements Closeable {
+
+  private static final Logger log = LoggerFactory.getLogger(RedirectLog.class);
+
+  static final String FILE_NAME = "redirects.log";
+  private static final String COMPACT_FILE_NAME = "redirects.log.compact";
+
+  private static final int HEADER_BYTES = 8;
+  // flags (1), expiry seconds (8), expiry nanos (4), creator (8), code length (2), url length (4)
+  private static final int FIXED_BODY_BYTES = 27;
+  private static final long MAX_FILE_BYTES = Integer.MAX_VALUE;
+
+  private static final byte DELETED = 1;
+  private static final byte HAS_EXPIRY = 2;
+  private static final byte HAS_CREATOR = 4;
+  private static final byte ENCODED = 8;
+
+  private final Path directory;
+  private final Path file;
+  private final long initialCapacity;
+  private final UrlCodec urlCodec;
+
+  private volatile Segment segment;
+  private volatile int writePosition;
+  private volatile long liveBytes;
+
+  /** A mapping of the log file and the index of the records in it. */
+  private record Segment(MappedByteBuffer buffer, ShortCodeIndex index) {}
+
+  private RedirectLog(Path directory, long initialCapacity, UrlCodec urlCodec) {
+    this.directory = directory;
+    this.file = directory.resolve(FILE_NAME);
+    this.initialCapacity = initialCapacity;
+    this.urlCodec = urlCodec;
+  }
+
+  /** Opens the log in {@code directory}, creating it if needed, and replays it. */
+  public static RedirectLog open(Path directory, long initialCapacity, UrlCodec urlCodec)
+      throws IOException {
+    if (initialCapacity <= 0 || initialCapacity > MAX_FILE_BYTES) {
+      throw new IllegalArgumentException("initialCapacity must be between 1 and 2 GiB");
+    }
+    Files.createDirectories(directory);
+    // Left behind by a compaction that did not finish; the log it was replacing is intact.
+    Files.deleteIfExists(directory.resolve(COMPACT_FILE_NAME));
+    RedirectLog redirectLog = new RedirectLog(directory, initialCapacity, urlCodec);
+    redirectLog.recover();
+    return redirectLog;
+  }
+
+  public RedirectEntry get(String shortCode) {
+    while (true) {
+      Segment read = segment;
+      int offset = read.index().get(shortCode);
+      if (offset == ShortCodeIndex.ABSENT) {
+        return null;
+      }
+      // The record may have been appended after the log grew; the newest mapping of the same
+      // index covers it. If the log was compacted in between, look the code up again.
+      Segment current = segment;
+      if (current.index() == read.index()) {
+        return decode(current.buffer(), offset);
+      }
+    }
+  }
+
+  public synchronized void put(String shortCode, RedirectEntry entry) throws IOException {
+    append(shortCode, entry);
+  }
+
+  public synchronized void remove(String shortCode) throws IOException {
+    if (segment.index().containsKey(shortCode)) {
+      append(shortCode, null);
+    }
+  }
+
+  /** Number of short codes in the index. */
+  public int entries() {
+    return segment.index().size();
+  }
+
+  /** Heap taken by the index. */
+  public long indexBytes() {
+    return segment.index().memoryBytes();
+  }
+
+  /** Bytes of the file taken by records, live or not. */
+  public long sizeBytes() {
+    return writePosition;
+  }
+
+  /** Bytes taken by superseded and removed records, which {@link #compact} would reclaim. */
+  public long garbageBytes() {
+    return writePosition - liveBytes;
+  }
+
+  /** Writes appended records through to disk. */
+  public synchronized void sync() {
+    segment.buffer().force();
+  }
+
+  /**
+   * Rewrites the log with only the latest record of every indexed short code. Appends wait until it
+   * has finished; lookups keep reading the old file until the new one is in place.
+   */
+  public synchronized void compact() throws IOException {
+    Segment old = segment;
+    Path target = directory.resolve(COMPACT_FILE_NAME);
+    long capacity = Math.min(MAX_FILE_BYTES, Math.max(initialCapacity, liveBytes * 2));
+    MappedByteBuffer buffer = map(target, capacity);
+    ShortCodeIndex index = new ShortCodeIndex(old.index().size());
+    int[] end = {0};
+    old.index()
+        .forEach(
+            (shortCode, offset) -> {
+              int size = recordSize(old.buffer(), offset);
+              buffer.put(end[0], old.buffer(), offset, size);
+              index.put(shortCode, end[0]);
+              end[0] += size;
+            });
+    int position = end[0];
+    buffer.force();
+    Files.move(
+        target, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    segment = new Segment(buffer, index);
+    writePosition = position;
+    liveBytes = position;
+  }
+
+  @Override
+  public synchronized void close() {
+    sync();
+  }
+
+  Path file() {
+    return file;
+  }
+
+  private void recover() throws IOException {
+    long capacity = Math.max(initialCapacity, Files.exists(file) ? Files.size(file) : 0);
+    MappedByteBuffer buffer = map(file, Math.min(capacity, MAX_FILE_BYTES));
+    ShortCodeIndex index = new ShortCodeIndex();
+    int position = 0;
+    long live = 0;
+    while (position <= buffer.capacity() - HEADER_BYTES) {
+      int length = buffer.getInt(position);
+      if (length == 0) {
+        break;
+      }
+      if (!isIntact(buffer, position, length)) {
+        log.warn(
+            "Discarding the redirect log after byte {}: its last record is incomplete", position);
+        zero(buffer, position);
+        break;
+      }
+      int size = HEADER_BYTES + length;
+      String shortCode = readShortCode(buffer, position);
+      boolean deleted = (buffer.get(position + HEADER_BYTES) & DELETED) != 0;
+      int previous = deleted ? index.remove(shortCode) : index.put(shortCode, position);
+      if (previous != ShortCodeIndex.ABSENT) {
+        live -= recordSize(buffer, previous);
+      }
+      if (!deleted) {
+        live += size;
+      }
+      position += size;
+    }
+    segment = new Segment(buffer, index);
+    writePosition = position;
+    liveBytes = live;
+  }
+
+  private void append(String shortCode, RedirectEntry entry) throws IOException {
+    byte[] code = shortCode.getBytes(StandardCharsets.UTF_8);
+    byte[] url = entry != null ? urlCodec.encode(entry.longUrl()) : new byte[0];
+    if (code.length > 0xFFFF) {
+      throw new IllegalArgumentException("Short code is too long");
+    }
+    int length = FIXED_BODY_BYTES + code.length + url.length;
+    int size = HEADER_BYTES + length;
+    ensureCapacity(size);
+
+    Segment current = segment;
+    MappedByteBuffer buffer = current.buffer();
+    int position = writePosition;
+    int body = position + HEADER_BYTES;
+    byte flags = 0;
+    LocalDateTime expiresAt = null;
+    Long createdBy = null;
+    if (entry == null) {
+      flags |= DELETED;
+    } else {
+      flags |= ENCODED;
+      expiresAt = entry.expiresAt();
+      createdBy = entry.createdBy();
+      flags |= expiresAt != null ? HAS_EXPIRY : 0;
+      flags |= createdBy != null ? HAS_CREATOR : 0;
+    }
+    buffer.put(body, flags);
+    buffer.putLong(body + 1, expiresAt != null ? expiresAt.toEpochSecond(ZoneOffset.UTC) : 0);
+    buffer.putInt(body + 9, expiresAt != null ? expiresAt.getNano() : 0);
+    buffer.putLong(body + 13, createdBy != null ? createdBy : 0);
+    buffer.putShort(body + 21, (short) code.length);
+    buffer.putInt(body + 23, url.length);
+    buffer.put(body + FIXED_BODY_BYTES, code);
+    buffer.put(body + FIXED_BODY_BYTES + code.length, url);
+    buffer.putInt(position + 4, checksum(buffer, body, length));
+    buffer.putInt(position, length);
+
+    int previous =
+        entry != null
+            ? current.index().put(shortCode, position)
+            : current.index().remove(shortCode);
+    long live = liveBytes + (entry != null ? size : 0);
+    if (previous != ShortCodeIndex.ABSENT) {
+      live -= recordSize(buffer, previous);
+    }
+    liveBytes = live;
+    writePosition = position + size;
+  }
+
+  private void ensureCapacity(int size) throws IOException {
+    Segment current = segment;
+    long required = (long) writePosition + size;
+    if (required <= current.buffer().capacity()) {
+      return;
+    }
+    if (required > MAX_FILE_BYTES) {
+      throw new IOException("Redirect log is full; compact it or raise its size");
+    }
+    long capacity = Math.min(MAX_FILE_BYTES, Math.max(required, current.buffer().capacity() * 2L));
+    segment = new Segment(map(file, capacity), current.index());
+  }
+
+  private static void zero(MappedByteBuffer buffer, int from) {
+    byte[] zeros = new byte[64 * 1024];
+    for (int position = from; position < buffer.capacity(); position += zeros.length) {
+      buffer.put(position, zeros, 0, Math.min(zeros.length, buffer.capacity() - position));
+    }
+    buffer.force();
+  }
+
+  private static MappedByteBuffer map(Path path, long capacity) throws IOException {
+    try (FileChannel channel =
+        FileChannel.open(
+            path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      return channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+    }
+  }
+
+  private static boolean isIntact(ByteBuffer buffer, int position, int length) {
+    int body = position + HEADER_BYTES;
+    if (length < FIXED_BODY_BYTES || length > buffer.capacity() - body) {
+      return false;
+    }
+    int codeLength = buffer.getShort(body + 21) & 0xFFFF;
+    int urlLength = buffer.getInt(body + 23);
+    return urlLength >= 0
+        && FIXED_BODY_BYTES + codeLength + (long) urlLength == length
+        && buffer.getInt(position + 4) == checksum(buffer, body, length);
+  }
+
+  private static int checksum(ByteBuffer buffer, int offset, int length) {
+    CRC32C crc = new CRC32C();
+    crc.update(buffer.slice(offset, length));
+    return (int) crc.getValue();
+  }
+
+  private static int recordSize(ByteBuffer buffer, int offset) {
+    return HEADER_BYTES + buffer.getInt(offset);
+  }
+
+  private static String readShortCode(ByteBuffer buffer, int offset) {
+    int body = offset + HEADER_BYTES;
+    byte[] code = new byte[buffer.getShort(body + 21) & 0xFFFF];
+    buffer.get(body + FIXED_BODY_BYTES, code);
+    return new String(code, StandardCharsets.UTF_8);
+  }
+
+  private RedirectEntry decode(ByteBuffer buffer, int offset) {
+    int body = offset + HEADER_BYTES;
+    byte flags = buffer.get(body);
+    int codeLength = buffer.getShort(body + 21) & 0xFFFF;
+    byte[] url = new byte[buffer.getInt(body + 23)];
+    buffer.get(body + FIXED_BODY_BYTES + codeLength, url);
+    return new RedirectEntry(
+        (flags & ENCODED) != 0 ? urlCodec.decode(url) : new String(url, StandardCharsets.UTF_8),
+        (flags & HAS_EXPIRY) != 0
+            ? LocalDateTime.ofEpochSecond(
+                buffer.getLong(body + 1), buffer.getInt(body + 9), ZoneOffset.UTC)
+            : null,
+        (flags & HAS_CREATOR) != 0 ? buffer.getLong(body + 13) : null);
+  }
+}
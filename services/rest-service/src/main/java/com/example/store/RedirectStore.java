@@ -0,0 +1,29 @@
+package com.example.store;
+
+import com.example.cache.RedirectEntry;
+import java.util.function.Supplier;
+
+/**
+ * Local copy of the redirect of every short code this instance has created or served, consulted
+ * before the database when the redirect cache misses. The {@code url} table stays the source of
+ * truth: a short code the store does not know is looked up there and then added.
+ */
+public interface RedirectStore {
+
+  /** Returns the stored redirect for {@code shortCode}, or null if the store does not have it. */
+  RedirectEntry find(String shortCode);
+
+  /** Stores the redirect of a short code just inserted into the primary. */
+  void put(String shortCode, RedirectEntry entry);
+
+  /**
+   * Stores {@code entry}, read for {@code shortCode} from a database that had seen every delete
+   * made before {@code readAsOf}, a {@link System#nanoTime} reading. If the code may have been
+   * removed since then, {@code primary} is read to check the row is still there, and the entry
+   * dropped if it is not.
+   */
+  void fill(String shortCode, RedirectEntry entry, long readAsOf, Supplier<RedirectEntry> primary);
+
+  /** Drops {@code shortCode}; called only once its row is gone from the primary. */
+  void remove(String shortCode);
+}
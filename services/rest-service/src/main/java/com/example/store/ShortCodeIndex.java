@@ -0,0 +1,237 @@
+package com.example.store;
+
+import com.example.shortcode.Base62;
+import com.example.shortcode.ShortCodeGenerator;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Map from short code to a non-negative {@code int} offset, without an object per entry.
+ *
+ * <p>A seven-character base62 code is a number below 62^7 &lt; 2^42, so it is stored as a {@code
+ * long} key in an open-addressing table of two primitive arrays: 12 bytes per slot and no {@code
+ * String}, boxed offset or map node for the garbage collector to trace. Codes of any other shape,
+ * left over from earlier generators, go to a {@link ConcurrentHashMap} on the side.
+ *
+ * <p>Writes are serialized; lookups never block. A lookup racing with a write sees the map either
+ * before or after it, and one still probing a table that a resize has replaced does not see writes
+ * made after the resize.
+ */
+public class ShortCodeIndex {
+
+  /** Returned by lookups and removals when the code is not in the index. */
+  public static final int ABSENT = -1;
+
+  private static final long EMPTY = 0;
+  private static final long REMOVED = -1;
+  private static final int MIN_CAPACITY = 16;
+
+  private static final VarHandle KEYS = MethodHandles.arrayElementVarHandle(long[].class);
+  private static final VarHandle OFFSETS = MethodHandles.arrayElementVarHandle(int[].class);
+
+  private final ConcurrentHashMap<String, Integer> others = new ConcurrentHashMap<>();
+
+  private volatile Table table;
+  private volatile int packedSize;
+  private int usedSlots;
+
+  public ShortCodeIndex() {
+    this(MIN_CAPACITY);
+  }
+
+  public ShortCodeIndex(int expectedSize) {
+    table = new Table(capacityFor(expectedSize));
+  }
+
+  /**
+   * Returns {@code shortCode} as a key greater than zero, or {@link #EMPTY} if it is not a
+   * seven-character base62 code.
+   */
+  static long pack(String shortCode) {
+    if (shortCode.length() != ShortCodeGenerator.CODE_LENGTH) {
+      return EMPTY;
+    }
+    long value = 0;
+    for (int i = 0; i < ShortCodeGenerator.CODE_LENGTH; i++) {
+      int digit = Base62.digit(shortCode.charAt(i));
+      if (digit < 0) {
+        return EMPTY;
+      }
+      value = value * 62 + digit;
+    }
+    return value + 1;
+  }
+
+  static String unpack(long key) {
+    return Base62.encode(key - 1, ShortCodeGenerator.CODE_LENGTH);
+  }
+
+  public int get(String shortCode) {
+    long key = pack(shortCode);
+    if (key == EMPTY) {
+      Integer offset = others.get(shortCode);
+      return offset != null ? offset : ABSENT;
+    }
+    Table current = table;
+    for (int slot = current.slot(key); ; slot = (slot + 1) & current.mask) {
+      long stored = (long) KEYS.getAcquire(current.keys, slot);
+      if (stored == key) {
+        return (int) OFFSETS.getAcquire(current.offsets, slot);
+      }
+      if (stored == EMPTY) {
+        return ABSENT;
+      }
+    }
+  }
+
+  /**
+   * Maps {@code shortCode} to {@code offset}.
+   *
+   * @return the offset it replaced, or {@link #ABSENT}
+   */
+  public synchronized int put(String shortCode, int offset) {
+    if (offset < 0) {
+      throw new IllegalArgumentException("Offset must not be negative: " + offset);
+    }
+    long key = pack(shortCode);
+    if (key == EMPTY) {
+      Integer previous = others.put(shortCode, offset);
+      return previous != null ? previous : ABSENT;
+    }
+    Table current = table;
+    int free = -1;
+    int slot = current.slot(key);
+    for (; ; slot = (slot + 1) & current.mask) {
+      long stored = current.keys[slot];
+      if (stored == key) {
+        int previous = current.offsets[slot];
+        OFFSETS.setRelease(current.offsets, slot, offset);
+        return previous;
+      }
+      if (stored == REMOVED && free < 0) {
+        free = slot;
+      }
+      if (stored == EMPTY) {
+        break;
+      }
+    }
+    if (free < 0) {
+      if (usedSlots + 1 > current.threshold) {
+        resize();
+        return put(shortCode, offset);
+      }
+      free = slot;
+      usedSlots++;
+    }
+    // The offset is published before the key, so a lookup that finds the key also finds it.
+    OFFSETS.setRelease(current.offsets, free, offset);
+    KEYS.setRelease(current.keys, free, key);
+    packedSize++;
+    return ABSENT;
+  }
+
+  /**
+   * Removes {@code shortCode}.
+   *
+   * @return its offset, or {@link #ABSENT} if it was not in the index
+   */
+  public synchronized int remove(String shortCode) {
+    long key = pack(shortCode);
+    if (key == EMPTY) {
+      Integer previous = others.remove(shortCode);
+      return previous != null ? previous : ABSENT;
+    }
+    Table current = table;
+    for (int slot = current.slot(key); ; slot = (slot + 1) & current.mask) {
+      long stored = current.keys[slot];
+      if (stored == key) {
+        KEYS.setRelease(current.keys, slot, REMOVED);
+        packedSize--;
+        return current.offsets[slot];
+      }
+      if (stored == EMPTY) {
+        return ABSENT;
+      }
+    }
+  }
+
+  public boolean containsKey(String shortCode) {
+    return get(shortCode) != ABSENT;
+  }
+
+  public int size() {
+    return packedSize + others.size();
+  }
+
+  /** Calls {@code action} with every code and its offset. Must not run alongside writes. */
+  public synchronized void forEach(ObjIntConsumer<String> action) {
+    Table current = table;
+    for (int slot = 0; slot < current.keys.length; slot++) {
+      long stored = current.keys[slot];
+      if (stored != EMPTY && stored != REMOVED) {
+        action.accept(unpack(stored), current.offsets[slot]);
+      }
+    }
+    others.forEach(action::accept);
+  }
+
+  /** Heap taken by the packed table, not counting codes held on the side. */
+  public long memoryBytes() {
+    return (long) table.keys.length * (Long.BYTES + Integer.BYTES);
+  }
+
+  private void resize() {
+    Table current = table;
+    // Removed slots are dropped by the rehash, so a table full of them is rebuilt at its size.
+    int capacity =
+        packedSize + 1 > current.threshold / 2 ? current.keys.length * 2 : current.keys.length;
+    Table next = new Table(capacity);
+    for (int slot = 0; slot < current.keys.length; slot++) {
+      long stored = current.keys[slot];
+      if (stored != EMPTY && stored != REMOVED) {
+        int target = next.slot(stored);
+        while (next.keys[target] != EMPTY) {
+          target = (target + 1) & next.mask;
+        }
+        next.keys[target] = stored;
+        next.offsets[target] = current.offsets[slot];
+      }
+    }
+    usedSlots = packedSize;
+    table = next;
+  }
+
+  private static int capacityFor(int expectedSize) {
+    long needed = Math.max(MIN_CAPACITY, (long) Math.ceil(expectedSize / Table.LOAD_FACTOR) + 1);
+    if (needed > 1 << 30) {
+      throw new IllegalArgumentException("Too many entries: " + expectedSize);
+    }
+    return Integer.highestOneBit((int) needed - 1) << 1;
+  }
+
+  private static final class Table {
+
+    private static final double LOAD_FACTOR = 0.75;
+
+    private final long[] keys;
+    private final int[] offsets;
+    private final int mask;
+    private final int shift;
+    private final int threshold;
+
+    private Table(int capacity) {
+      keys = new long[capacity];
+      offsets = new int[capacity];
+      mask = capacity - 1;
+      shift = Long.SIZE - Integer.numberOfTrailingZeros(capacity);
+      threshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    /** Fibonacci hashing: packed codes from a counter-based generator are far from random. */
+    private int slot(long key) {
+      return (int) ((key * 0x9E3779B97F4A7C15L) >>> shift);
+    }
+  }
+}
@@ -0,0 +1,104 @@
+package com.example.util;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Locale;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reduces equivalent spellings of a URL to one canonical form and hashes it, so repeated requests
+ * to shorten the same link can be recognised.
+ *
+ * <p>The scheme and host are lower-cased, the default port for the scheme is dropped, an empty path
+ * becomes {@code /} and a trailing slash on any other path is removed. When {@code
+ * url-dedup.sort-query-params} is set, query parameters are sorted by name. Paths, parameter values
+ * and fragments are otherwise kept exactly as given.
+ */
+@Component
+public class UrlNormalizer {
+
+  private static final HexFormat HEX = HexFormat.of();
+
+  @Value("${url-dedup.sort-query-params}")
+  private boolean sortQueryParams;
+
+  /**
+   * @throws IllegalArgumentException if {@code url} is not a valid absolute URI
+   */
+  public String normalize(String url) {
+    URI uri;
+    try {
+      uri = new URI(url.trim());
+    } catch (URISyntaxException e) {
+      throw new IllegalArgumentException("Invalid URL: " + url, e);
+    }
+    if (uri.getScheme() == null || uri.getRawAuthority() == null) {
+      throw new IllegalArgumentException("URL must be absolute: " + url);
+    }
+
+    String scheme = uri.getScheme().toLowerCase(Locale.ROOT);
+    StringBuilder normalized = new StringBuilder(url.length()).append(scheme).append("://");
+    if (uri.getRawUserInfo() != null) {
+      normalized.append(uri.getRawUserInfo()).append('@');
+    }
+    normalized.append(uri.getHost() != null ? uri.getHost().toLowerCase(Locale.ROOT) : "");
+    int port = uri.getPort();
+    if (port != -1 && port != defaultPort(scheme)) {
+      normalized.append(':').append(port);
+    }
+
+    String path = uri.getRawPath();
+    if (path == null || path.isEmpty()) {
+      path = "/";
+    } else if (path.length() > 1 && path.endsWith("/")) {
+      path = path.substring(0, path.length() - 1);
+    }
+    normalized.append(path);
+
+    String query = uri.getRawQuery();
+    if (query != null && !query.isEmpty()) {
+      normalized.append('?').append(sortQueryParams ? sortParams(query) : query);
+    }
+    if (uri.getRawFragment() != null) {
+      normalized.append('#').append(uri.getRawFragment());
+    }
+    return normalized.toString();
+  }
+
+  /** Hex-encoded SHA-256 of {@code normalizedUrl}; always 64 characters. */
+  public String hash(String normalizedUrl) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return HEX.formatHex(digest.digest(normalizedUrl.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+  }
+
+  private static String sortParams(String query) {
+    String[] params = query.split("&");
+    // Stable sort: repeated parameters keep their relative order.
+    Arrays.sort(params, Comparator.comparing(UrlNormalizer::paramName));
+    return String.join("&", params);
+  }
+
+  private static String paramName(String param) {
+    int equals = param.indexOf('=');
+    return equals >= 0 ? param.substring(0, equals) : param;
+  }
+
+  private static int defaultPort(String scheme) {
+    return switch (scheme) {
+      case "http" -> 80;
+      case "https" -> 443;
+      default -> -1;
+    };
+  }
+}
@@ -0,0 +1,375 @@
+package com.example.validation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable blocklist of domains, stored as a trie over reversed domain labels.
+ *
+ * <p>An entry such as {@code example.com} bans that host and every subdomain of it. An entry such
+ * as {@code *.example.com} bans the subdomains only. Matching ignores ASCII case and a trailing
+ * dot.
+ *
+ * <p>Nodes live in flat arrays rather than objects, and each label is stored once in a shared
+ * {@code char[]}. Children are found through one open-addressing table keyed by (parent node,
+ * label), so a lookup costs one probe per label no matter how many siblings a node has, and {@link
+ * #matches} does not allocate.
+ */
+public final class BannedHostMatcher {
+
+  private static final BannedHostMatcher EMPTY = builder().build();
+
+  private static final byte BANNED = 1;
+  private static final byte WILDCARD = 2;
+
+  /** Separates labels in build keys; sorts below every character allowed in a label. */
+  private static final char SEPARATOR = '\u0001';
+
+  private final char[] labels;
+  private final int[] labelOffset;
+  private final byte[] labelLength;
+  private final int[] parent;
+  private final byte[] flags;
+  private final int[] childIndex;
+  private final int entries;
+
+  private BannedHostMatcher(
+      char[] labels,
+      int[] labelOffset,
+      byte[] labelLength,
+      int[] parent,
+      byte[] flags,
+      int entries) {
+    this.labels = labels;
+    this.labelOffset = labelOffset;
+    this.labelLength = labelLength;
+    this.parent = parent;
+    this.flags = flags;
+    this.entries = entries;
+    // Power-of-two table at most two-thirds full.
+    this.childIndex =
+        new int[Integer.highestOneBit(Math.max(1, flags.length + flags.length / 2)) << 1];
+    int mask = childIndex.length - 1;
+    for (int node = 1; node < flags.length; node++) {
+      int slot = hash(parent[node], labels, labelOffset[node], labelLength[node]) & mask;
+      while (childIndex[slot] != 0) {
+        slot = (slot + 1) & mask;
+      }
+      childIndex[slot] = node;
+    }
+  }
+
+  public static BannedHostMatcher empty() {
+    return EMPTY;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /** Returns whether {@code host} or one of its parent domains is banned. */
+  public boolean matches(CharSequence host) {
+    int end = host.length();
+    if (end > 0 && host.charAt(end - 1) == '.') {
+      end--;
+    }
+    int node = 0;
+    while (end > 0) {
+      int start = end - 1;
+      while (start >= 0 && host.charAt(start) != '.') {
+        start--;
+      }
+      start++;
+      int child = findChild(node, host, start, end);
+      if (child < 0) {
+        return false;
+      }
+      if ((flags[child] & BANNED) != 0 || (start > 0 && (flags[child] & WILDCARD) != 0)) {
+        return true;
+      }
+      node = child;
+      end = start - 1;
+    }
+    return false;
+  }
+
+  /** Number of distinct entries. */
+  public int size() {
+    return entries;
+  }
+
+  public int nodeCount() {
+    return flags.length;
+  }
+
+  /** Approximate heap used by the trie arrays. */
+  public long memoryBytes() {
+    return (long) labels.length * Character.BYTES
+        + (long) labelOffset.length * Integer.BYTES
+        + labelLength.length
+        + (long) parent.length * Integer.BYTES
+        + flags.length
+        + (long) childIndex.length * Integer.BYTES;
+  }
+
+  private int findChild(int node, CharSequence host, int start, int end) {
+    int mask = childIndex.length - 1;
+    int slot = hash(node, host, start, end) & mask;
+    int child;
+    while ((child = childIndex[slot]) != 0) {
+      if (parent[child] == node && labelEquals(child, host, start, end)) {
+        return child;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return -1;
+  }
+
+  private boolean labelEquals(int node, CharSequence host, int start, int end) {
+    int length = labelLength[node];
+    if (length != end - start) {
+      return false;
+    }
+    int offset = labelOffset[node];
+    for (int i = 0; i < length; i++) {
+      if (labels[offset + i] != lowerCase(host.charAt(start + i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static int hash(int parent, CharSequence host, int start, int end) {
+    int hash = parent * 0x9E3779B9;
+    for (int i = start; i < end; i++) {
+      hash = 31 * hash + lowerCase(host.charAt(i));
+    }
+    return mix(hash);
+  }
+
+  private static int hash(int parent, char[] labels, int offset, int length) {
+    int hash = parent * 0x9E3779B9;
+    for (int i = offset; i < offset + length; i++) {
+      hash = 31 * hash + labels[i];
+    }
+    return mix(hash);
+  }
+
+  private static int mix(int hash) {
+    hash ^= hash >>> 16;
+    hash *= 0x85EBCA6B;
+    hash ^= hash >>> 13;
+    hash *= 0xC2B2AE35;
+    hash ^= hash >>> 16;
+    return hash;
+  }
+
+  private static char lowerCase(char c) {
+    return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+  }
+
+  /**
+   * Collects entries and builds a {@link BannedHostMatcher}. Building sorts the reversed entries
+   * once and emits nodes level by level, so no intermediate node objects are created.
+   */
+  public static final class Builder {
+
+    private final List<String> keys = new ArrayList<>();
+
+    private Builder() {}
+
+    /**
+     * Adds one blocklist entry. Blank entries are ignored.
+     *
+     * @throws IllegalArgumentException if the entry has an empty label or a {@code *} anywhere but
+     *     as its whole first label
+     */
+    public Builder add(String entry) {
+      String domain = entry.trim().toLowerCase(Locale.ROOT);
+      if (domain.endsWith(".")) {
+        domain = domain.substring(0, domain.length() - 1);
+      }
+      if (domain.isEmpty()) {
+        return this;
+      }
+      String[] parts = domain.split("\\.", -1);
+      StringBuilder key = new StringBuilder(domain.length());
+      for (int i = parts.length - 1; i >= 0; i--) {
+        String label = parts[i];
+        boolean wildcard = label.equals("*") && i == 0 && parts.length > 1;
+        if (label.isEmpty()
+            || label.length() > Byte.MAX_VALUE
+            || (label.indexOf('*') >= 0 && !wildcard)) {
+          throw new IllegalArgumentException("Invalid banned host entry: " + entry);
+        }
+        if (key.length() > 0) {
+          key.append(SEPARATOR);
+        }
+        key.append(label);
+      }
+      keys.add(key.toString());
+      return this;
+    }
+
+    public BannedHostMatcher build() {
+      String[] sorted = sortedDistinct(keys);
+      int[] position = new int[sorted.length];
+
+      IntList rangeStart = new IntList();
+      IntList rangeEnd = new IntList();
+      IntList labelOffsets = new IntList();
+      IntList labelLengths = new IntList();
+      IntList parents = new IntList();
+      ByteList nodeFlags = new ByteList();
+      StringBuilder labelPool = new StringBuilder();
+      Map<String, Integer> pooledLabels = new HashMap<>();
+
+      rangeStart.add(0);
+      rangeEnd.add(sorted.length);
+      labelOffsets.add(0);
+      labelLengths.add(0);
+      parents.add(-1);
+      nodeFlags.add((byte) 0);
+
+      for (int node = 0; node < nodeFlags.size(); node++) {
+        int i = rangeStart.get(node);
+        int end = rangeEnd.get(node);
+        while (i < end && position[i] >= sorted[i].length()) {
+          i++;
+        }
+        while (i < end) {
+          String key = sorted[i];
+          int labelStart = position[i];
+          int labelEnd = key.indexOf(SEPARATOR, labelStart);
+          if (labelEnd < 0) {
+            labelEnd = key.length();
+          }
+          int groupEnd = i + 1;
+          while (groupEnd < end
+              && sameLabel(sorted[groupEnd], position[groupEnd], key, labelStart, labelEnd)) {
+            groupEnd++;
+          }
+
+          String label = key.substring(labelStart, labelEnd);
+          if (label.equals("*")) {
+            // Only ever the last label of a key, see add().
+            nodeFlags.set(node, (byte) (nodeFlags.get(node) | WILDCARD));
+            i = groupEnd;
+            continue;
+          }
+
+          byte childFlags = 0;
+          for (int k = i; k < groupEnd; k++) {
+            position[k] = Math.min(labelEnd + 1, sorted[k].length());
+            if (labelEnd == sorted[k].length()) {
+              childFlags |= BANNED;
+            }
+          }
+          Integer offset = pooledLabels.get(label);
+          if (offset == null) {
+            offset = labelPool.length();
+            labelPool.append(label);
+            pooledLabels.put(label, offset);
+          }
+          rangeStart.add(i);
+          rangeEnd.add(groupEnd);
+          labelOffsets.add(offset);
+          labelLengths.add(label.length());
+          parents.add(node);
+          nodeFlags.add(childFlags);
+          i = groupEnd;
+        }
+      }
+
+      byte[] lengths = new byte[labelLengths.size()];
+      for (int n = 0; n < lengths.length; n++) {
+        lengths[n] = (byte) labelLengths.get(n);
+      }
+      char[] pool = new char[labelPool.length()];
+      labelPool.getChars(0, pool.length, pool, 0);
+      return new BannedHostMatcher(
+          pool,
+          labelOffsets.toArray(),
+          lengths,
+          parents.toArray(),
+          nodeFlags.toArray(),
+          sorted.length);
+    }
+
+    private static String[] sortedDistinct(List<String> keys) {
+      String[] sorted = keys.toArray(String[]::new);
+      Arrays.parallelSort(sorted);
+      int distinct = 0;
+      for (int i = 0; i < sorted.length; i++) {
+        if (distinct == 0 || !sorted[i].equals(sorted[distinct - 1])) {
+          sorted[distinct++] = sorted[i];
+        }
+      }
+      return Arrays.copyOf(sorted, distinct);
+    }
+
+    private static boolean sameLabel(
+        String candidate, int candidateStart, String key, int labelStart, int labelEnd) {
+      int length = labelEnd - labelStart;
+      int candidateEnd = candidateStart + length;
+      return candidate.regionMatches(candidateStart, key, labelStart, length)
+          && (candidateEnd == candidate.length() || candidate.charAt(candidateEnd) == SEPARATOR);
+    }
+  }
+
+  private static final class IntList {
+    private int[] values = new int[16];
+    private int size;
+
+    void add(int value) {
+      if (size == values.length) {
+        values = Arrays.copyOf(values, size * 2);
+      }
+      values[size++] = value;
+    }
+
+    int get(int index) {
+      return values[index];
+    }
+
+    int size() {
+      return size;
+    }
+
+    int[] toArray() {
+      return Arrays.copyOf(values, size);
+    }
+  }
+
+  private static final class ByteList {
+    private byte[] values = new byte[16];
+    private int size;
+
+    void add(byte value) {
+      if (size == values.length) {
+        values = Arrays.copyOf(values, size * 2);
+      }
+      values[size++] = value;
+    }
+
+    byte get(int index) {
+      return values[index];
+    }
+
+    void set(int index, byte value) {
+      values[index] = value;
+    }
+
+    int size() {
+      return size;
+    }
+
+    byte[] toArray() {
+      return Arrays.copyOf(values, size);
+    }
+  }
+}
@@ -0,0 +1,92 @@
+package com.example.validation;
+
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds the current {@link BannedHostMatcher}.
+ *
+ * <p>Entries come from the {@code banned-hosts} property and, when {@code banned-hosts.file} is
+ * set, from that file: one domain per line, blank lines and lines starting with {@code #} ignored.
+ * The file is checked every {@code banned-hosts.reload-interval-ms} and, when its modification time
+ * changes, a new matcher is built off to the side and swapped in atomically. If a reload fails the
+ * previous matcher stays in place.
+ */
+@Component
+public class BannedHostProvider {
+
+  private static final Logger log = LoggerFactory.getLogger(BannedHostProvider.class);
+
+  private volatile BannedHostMatcher matcher = BannedHostMatcher.empty();
+  private long loadedModifiedTime = Long.MIN_VALUE;
+
+  @Value("${banned-hosts}")
+  private List<String> bannedHosts;
+
+  @Value("${banned-hosts.file}")
+  private String file;
+
+  @PostConstruct
+  public void init() {
+    try {
+      load();
+    } catch (IOException | UncheckedIOException e) {
+      throw new IllegalStateException("Cannot read banned hosts file " + file, e);
+    }
+  }
+
+  public boolean isBanned(String host) {
+    return matcher.matches(host);
+  }
+
+  public BannedHostMatcher matcher() {
+    return matcher;
+  }
+
+  @Scheduled(
+      fixedDelayString = "${banned-hosts.reload-interval-ms}",
+      initialDelayString = "${banned-hosts.reload-interval-ms}")
+  public void reload() {
+    if (file.isBlank()) {
+      return;
+    }
+    try {
+      if (Files.getLastModifiedTime(Path.of(file)).toMillis() != loadedModifiedTime) {
+        load();
+      }
+    } catch (IOException | UncheckedIOException | IllegalArgumentException e) {
+      log.warn("Failed to reload banned hosts from {}, keeping the previous list", file, e);
+    }
+  }
+
+  private synchronized void load() throws IOException {
+    BannedHostMatcher.Builder builder = BannedHostMatcher.builder();
+    bannedHosts.forEach(builder::add);
+    long modifiedTime = Long.MIN_VALUE;
+    if (!file.isBlank()) {
+      Path path = Path.of(file);
+      modifiedTime = Files.getLastModifiedTime(path).toMillis();
+      try (Stream<String> lines = Files.lines(path)) {
+        lines.filter(line -> !line.isBlank() && !line.startsWith("#")).forEach(builder::add);
+      }
+    }
+    BannedHostMatcher loaded = builder.build();
+    matcher = loaded;
+    loadedModifiedTime = modifiedTime;
+    log.info(
+        "Loaded {} banned hosts into {} trie nodes ({} bytes)",
+        loaded.size(),
+        loaded.nodeCount(),
+        loaded.memoryBytes());
+  }
+}
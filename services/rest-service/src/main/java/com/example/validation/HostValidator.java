@@ -0,0 +1,194 @@
+package com.example.validation;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Checks that the host of a submitted URL resolves, without tying up request threads on a slow
+ * resolver.
+ *
+ * <p>Lookups run on a small bounded pool and callers wait at most {@code url-validation.timeout-ms}
+ * for them. Concurrent checks of the same host share one lookup. How results are reused depends on
+ * {@link DnsMode}: in {@code CACHED} mode resolvable hosts are remembered for {@code
+ * url-validation.positive-ttl-seconds} and unresolvable ones for {@code
+ * url-validation.negative-ttl-seconds}.
+ *
+ * <p>A host whose lookup times out or cannot be queued is treated as unresolvable, so the check
+ * fails closed.
+ */
+@Component
+public class HostValidator {
+
+  public enum DnsMode {
+    /** Resolve on every check; only lookups already in flight are shared. */
+    STRICT,
+    /** Reuse earlier results until their TTL expires. */
+    CACHED,
+    /** Do not resolve at all. */
+    SKIP_DNS
+  }
+
+  private final MeterRegistry meterRegistry;
+
+  private Predicate<String> resolver = HostValidator::resolves;
+  private AsyncCache<String, Boolean> results;
+  private ThreadPoolExecutor resolverPool;
+  private Counter timeouts;
+  private Counter rejected;
+
+  @Value("${url-validation.dns-mode}")
+  private DnsMode dnsMode;
+
+  @Value("${url-validation.timeout-ms}")
+  private long timeoutMs;
+
+  @Value("${url-validation.positive-ttl-seconds}")
+  private long positiveTtlSeconds;
+
+  @Value("${url-validation.negative-ttl-seconds}")
+  private long negativeTtlSeconds;
+
+  @Value("${url-validation.cache-maximum-size}")
+  private long cacheMaximumSize;
+
+  @Value("${url-validation.resolver-threads}")
+  private int resolverThreads;
+
+  @Value("${url-validation.resolver-queue-capacity}")
+  private int resolverQueueCapacity;
+
+  public HostValidator(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  @PostConstruct
+  public void init() {
+    AtomicInteger sequence = new AtomicInteger();
+    resolverPool =
+        new ThreadPoolExecutor(
+            resolverThreads,
+            resolverThreads,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(resolverQueueCapacity),
+            runnable -> {
+              Thread thread = new Thread(runnable, "dns-resolver-" + sequence.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            });
+
+    results =
+        Caffeine.newBuilder()
+            .maximumSize(cacheMaximumSize)
+            .expireAfter(new ResultExpiry())
+            .recordStats()
+            .buildAsync();
+    CaffeineCacheMetrics.monitor(meterRegistry, results.synchronous(), "host-validation");
+
+    timeouts = meterRegistry.counter("url.validation.dns.timeouts");
+    rejected = meterRegistry.counter("url.validation.dns.rejected");
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    resolverPool.shutdownNow();
+  }
+
+  /** Returns whether {@code host} resolves, honouring the configured {@link DnsMode}. */
+  public boolean isResolvable(String host) {
+    return checkAsync(host).join();
+  }
+
+  /**
+   * Non-blocking variant of {@link #isResolvable}, so callers can check many hosts at once. The
+   * returned future never completes exceptionally and completes within the configured timeout.
+   */
+  public CompletableFuture<Boolean> checkAsync(String host) {
+    if (dnsMode == DnsMode.SKIP_DNS) {
+      return CompletableFuture.completedFuture(true);
+    }
+    String key = host.toLowerCase(Locale.ROOT);
+    CompletableFuture<Boolean> lookup;
+    try {
+      // In strict mode a completed lookup may not have been expired yet; only in-flight ones count.
+      lookup =
+          dnsMode == DnsMode.STRICT
+              ? results
+                  .asMap()
+                  .compute(
+                      key,
+                      (k, inFlight) ->
+                          inFlight != null && !inFlight.isDone() ? inFlight : resolve(k))
+              : results.get(key, (k, executor) -> resolve(k));
+    } catch (RejectedExecutionException e) {
+      rejected.increment();
+      return CompletableFuture.completedFuture(false);
+    }
+    // Time out a dependent copy: the shared lookup stays in the cache for other callers.
+    return lookup
+        .thenApply(Boolean::booleanValue)
+        .orTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+        .exceptionally(
+            e -> {
+              if (e instanceof TimeoutException) {
+                timeouts.increment();
+              }
+              return false;
+            });
+  }
+
+  private CompletableFuture<Boolean> resolve(String host) {
+    return CompletableFuture.supplyAsync(() -> resolver.test(host), resolverPool);
+  }
+
+  private static boolean resolves(String host) {
+    try {
+      InetAddress.getByName(host);
+      return true;
+    } catch (UnknownHostException e) {
+      return false;
+    }
+  }
+
+  private final class ResultExpiry implements Expiry<String, Boolean> {
+    @Override
+    public long expireAfterCreate(String host, Boolean resolvable, long currentTime) {
+      if (dnsMode != DnsMode.CACHED) {
+        return 0;
+      }
+      return Duration.ofSeconds(resolvable ? positiveTtlSeconds : negativeTtlSeconds).toNanos();
+    }
+
+    @Override
+    public long expireAfterUpdate(
+        String host, Boolean resolvable, long currentTime, long currentDuration) {
+      return expireAfterCreate(host, resolvable, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(
+        String host, Boolean resolvable, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+  }
+}
@@ -0,0 +1,23 @@
+-- Schema added after the baseline. Databases that are baselined at version 0 still have the V1 url
+-- table, so this runs against them too: it adds the normalized URL hash used to find a user's
+-- existing link for the same URL, the per-owner id index behind the owner listing, and the tables
+-- of the block and pooled short code generators.
+
+ALTER TABLE url ADD COLUMN url_hash CHAR(64);
+
+CREATE INDEX idx_url_created_by_url_hash ON url (created_by, url_hash);
+CREATE INDEX idx_url_created_by_id ON url (created_by, id);
+
+CREATE TABLE short_code_sequence (
+    name VARCHAR(64) NOT NULL,
+    next_value BIGINT NOT NULL,
+    PRIMARY KEY (name)
+);
+
+CREATE TABLE short_code_reservation (
+    code VARCHAR(16) NOT NULL,
+    node VARCHAR(64) NOT NULL,
+    reserved_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (code),
+    INDEX idx_short_code_reservation_node (node)
+);
@@ -0,0 +1,16 @@
+-- Schema as previously created by Hibernate's ddl-auto=update. IF NOT EXISTS lets this run as a
+-- no-op against databases that already have it.
+
+CREATE TABLE IF NOT EXISTS url (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    short_code VARCHAR(255) NOT NULL,
+    long_url TEXT NOT NULL,
+    clicks INT NOT NULL,
+    is_deleted BIT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    expires_at DATETIME(6),
+    created_by BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_url_short_code UNIQUE (short_code)
+);
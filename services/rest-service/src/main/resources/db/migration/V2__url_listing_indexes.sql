@@ -0,0 +1,13 @@
+-- One index per sortBy accepted by GET /api/urls, for both the admin listing (no filter) and the
+-- per-owner listing (created_by = ?). InnoDB appends the primary key to every secondary index, so
+-- each of these also serves the id tie-break used by cursor pagination. Sorting by id uses the
+-- primary key and idx_url_created_by_id; sorting by short_code alone uses uk_url_short_code.
+
+CREATE INDEX idx_url_created_at ON url (created_at);
+CREATE INDEX idx_url_clicks ON url (clicks);
+CREATE INDEX idx_url_expires_at ON url (expires_at);
+
+CREATE INDEX idx_url_created_by_short_code ON url (created_by, short_code);
+CREATE INDEX idx_url_created_by_created_at ON url (created_by, created_at);
+CREATE INDEX idx_url_created_by_clicks ON url (created_by, clicks);
+CREATE INDEX idx_url_created_by_expires_at ON url (created_by, expires_at);
@@ -0,0 +1,17 @@
+-- URLs that have been expired for longer than the grace period are copied here by the reaper in the
+-- same transaction that deletes them from url. Rows keep their original id.
+
+CREATE TABLE url_archive (
+    id BIGINT NOT NULL,
+    short_code VARCHAR(255) NOT NULL,
+    long_url TEXT NOT NULL,
+    clicks INT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    expires_at DATETIME(6),
+    created_by BIGINT,
+    url_hash CHAR(64),
+    archived_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    INDEX idx_url_archive_created_by (created_by)
+);
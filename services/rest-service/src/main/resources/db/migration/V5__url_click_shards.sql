@@ -0,0 +1,11 @@
+-- Clicks are added to one of several slot rows per URL instead of to the url row, so concurrent
+-- flushes for a hot link do not queue on one row lock. Slots are periodically folded into
+-- url.clicks; the total click count is url.clicks plus the URL's slots.
+
+CREATE TABLE url_click_shards (
+    url_id BIGINT NOT NULL,
+    slot INT NOT NULL,
+    clicks BIGINT NOT NULL,
+    PRIMARY KEY (url_id, slot),
+    CONSTRAINT fk_url_click_shards_url FOREIGN KEY (url_id) REFERENCES url (id) ON DELETE CASCADE
+);
@@ -0,0 +1,10 @@
+-- Versions of the dictionary that long URLs are compressed with in the redirect cache and store.
+-- Encoded URLs name the version they were written with, and the redirect store keeps them on disk
+-- across restarts, so rows are only ever added. Entries are separated by line feeds.
+
+CREATE TABLE url_dictionary (
+    version INT NOT NULL,
+    entries TEXT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (version)
+);
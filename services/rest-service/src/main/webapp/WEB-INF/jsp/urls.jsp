@@ -367,10 +367,10 @@
                 </tbody>
             </table>
             <div class="pagination" id="pagination">
-                <c:if test="${totalPages > 1}">
+                <c:if test="${not empty previousCursor or not empty nextCursor}">
                     <c:choose>
-                        <c:when test="${currentPage > 0}">
-                            <a href="/urls?page=${currentPage - 1}&size=${pageSize}&sortBy=${sortBy}&sortDirection=${sortDirection}">
+                        <c:when test="${not empty previousCursor}">
+                            <a href="/urls?cursor=${previousCursor}&size=${pageSize}">
                                 <button>Previous</button>
                             </a>
                         </c:when>
@@ -379,22 +379,9 @@
                         </c:otherwise>
                     </c:choose>
 
-                    <c:forEach begin="0" end="${totalPages - 1}" var="i">
-                        <c:choose>
-                            <c:when test="${i == currentPage}">
-                                <button class="active">${i + 1}</button>
-                            </c:when>
-                            <c:otherwise>
-                                <a href="/urls?page=${i}&size=${pageSize}&sortBy=${sortBy}&sortDirection=${sortDirection}">
-                                    <button>${i + 1}</button>
-                                </a>
-                            </c:otherwise>
-                        </c:choose>
-                    </c:forEach>
-
                     <c:choose>
-                        <c:when test="${currentPage < totalPages - 1}">
-                            <a href="/urls?page=${currentPage + 1}&size=${pageSize}&sortBy=${sortBy}&sortDirection=${sortDirection}">
+                        <c:when test="${not empty nextCursor}">
+                            <a href="/urls?cursor=${nextCursor}&size=${pageSize}">
                                 <button>Next</button>
                             </a>
                         </c:when>
@@ -411,10 +398,10 @@
     function sortTable(column) {
         const currentSortBy = '${sortBy}';
         const currentSortDirection = '${sortDirection}';
-        const currentPage = ${currentPage};
         const pageSize = ${pageSize};
 
-        let url = '/urls?page=' + currentPage + '&size=' + pageSize;
+        // A new sort starts again from the first page.
+        let url = '/urls?size=' + pageSize;
 
         if (column === currentSortBy) {
             if (currentSortDirection === 'asc') {
@@ -0,0 +1,141 @@
+package com.example.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.validation.BannedHostMatcher;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * Build time, footprint and match latency of {@link BannedHostMatcher} over a synthetic blocklist
+ * of one million domains. Run with {@code mvn test -Dtest=BannedHostMatcherBenchmark
+ * -Dbenchmarks=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+@DisplayName("BannedHostMatcher Benchmark")
+class BannedHostMatcherBenchmark {
+
+  private static final int DOMAINS = 1_000_000;
+  private static final int LOOKUPS = 1_000_000;
+  private static final String[] TLDS = {
+    "com", "net", "org", "io", "co", "info", "biz", "ru", "cn", "de", "xyz", "top", "online"
+  };
+
+  private static List<String> domains;
+  private static String[] lookups;
+
+  @BeforeAll
+  static void generate() {
+    Random random = new Random(42);
+    domains = new ArrayList<>(DOMAINS);
+    for (int i = 0; i < DOMAINS; i++) {
+      String domain = randomLabel(random) + "." + TLDS[random.nextInt(TLDS.length)];
+      if (random.nextInt(10) == 0) {
+        domain = randomLabel(random) + "." + domain;
+      }
+      domains.add(random.nextInt(50) == 0 ? "*." + domain : domain);
+    }
+    lookups = new String[LOOKUPS];
+    for (int i = 0; i < LOOKUPS; i++) {
+      if (i % 2 == 0) {
+        String banned = domains.get(random.nextInt(DOMAINS)).replace("*.", "");
+        lookups[i] = "www." + banned;
+      } else {
+        lookups[i] = "www." + randomLabel(random) + "." + TLDS[random.nextInt(TLDS.length)];
+      }
+    }
+  }
+
+  private static String randomLabel(Random random) {
+    int length = 5 + random.nextInt(8);
+    char[] chars = new char[length];
+    for (int i = 0; i < length; i++) {
+      chars[i] = (char) ('a' + random.nextInt(26));
+    }
+    return new String(chars);
+  }
+
+  @Test
+  @DisplayName("Benchmark build time and match latency for one million domains")
+  void benchmarkBuildAndMatch() {
+    long coldBuildMs = 0;
+    long buildMs = 0;
+    BannedHostMatcher matcher = null;
+    for (int round = 0; round < 3; round++) {
+      long buildStart = System.nanoTime();
+      BannedHostMatcher.Builder builder = BannedHostMatcher.builder();
+      domains.forEach(builder::add);
+      matcher = builder.build();
+      buildMs = (System.nanoTime() - buildStart) / 1_000_000;
+      if (round == 0) {
+        coldBuildMs = buildMs;
+      }
+    }
+
+    long setStart = System.nanoTime();
+    Set<String> exactSet = new HashSet<>(domains);
+    long setMs = (System.nanoTime() - setStart) / 1_000_000;
+
+    int hits = 0;
+    for (int round = 0; round < 5; round++) {
+      hits = 0;
+      for (String host : lookups) {
+        if (matcher.matches(host)) {
+          hits++;
+        }
+      }
+    }
+
+    com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long threadId = Thread.currentThread().getId();
+    long[] latencies = new long[LOOKUPS];
+    long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+    long start = System.nanoTime();
+    for (int i = 0; i < LOOKUPS; i++) {
+      long t0 = System.nanoTime();
+      matcher.matches(lookups[i]);
+      latencies[i] = System.nanoTime() - t0;
+    }
+    long elapsed = System.nanoTime() - start;
+    long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+    long setHits = 0;
+    long setStartLookup = System.nanoTime();
+    for (String host : lookups) {
+      if (exactSet.contains(host)) {
+        setHits++;
+      }
+    }
+    long setElapsed = System.nanoTime() - setStartLookup;
+
+    Arrays.sort(latencies);
+    System.out.printf(
+        "BannedHostMatcher: %d entries, %d nodes, %.1f MB arrays, built in %d ms cold, %d ms"
+            + " warm%n",
+        matcher.size(), matcher.nodeCount(), matcher.memoryBytes() / 1e6, coldBuildMs, buildMs);
+    System.out.printf(
+        "  match: %.0f ns/op avg (incl. timer), p50 %d ns, p99 %d ns, %d hits, %d bytes"
+            + " allocated%n",
+        (double) elapsed / LOOKUPS,
+        latencies[LOOKUPS / 2],
+        latencies[LOOKUPS * 99 / 100],
+        hits,
+        allocated);
+    System.out.printf(
+        "  HashSet exact match: built in %d ms, %.0f ns/op, %d hits (subdomains missed)%n",
+        setMs, (double) setElapsed / LOOKUPS, setHits);
+
+    assertThat(hits).isGreaterThanOrEqualTo(LOOKUPS / 2);
+    assertThat(allocated).isLessThan(64 * 1024);
+  }
+}
@@ -0,0 +1,129 @@
+package com.example.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.repository.IdSequenceJdbcRepository;
+import com.example.repository.UrlJdbcRepository;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Throughput of concurrent click writes on one hot short code: every writer updating the {@code
+ * url} row (the old path, including the {@code updated_at} rewrite) versus writers spread over
+ * {@code url_click_shards} slots. Each write commits on its own, as a flush from one instance
+ * does. Run with {@code mvn test -Dtest=ClickShardBenchmark -Dbenchmarks=true}.
+ */
+@DataJpaTest
+@Import({UrlJdbcRepository.class, IdSequenceJdbcRepository.class})
+@TestPropertySource(locations = "classpath:application.properties")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+@DisplayName("Click Shard Benchmark")
+class ClickShardBenchmark {
+
+  private static final String HOT_CODE = "benchhot";
+  private static final int THREADS = 8;
+  private static final int SLOTS = 8;
+  private static final long WARMUP_MILLIS = 2_000;
+  private static final long MEASURE_MILLIS = 5_000;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final UrlJdbcRepository urlJdbcRepository;
+
+  @Autowired
+  ClickShardBenchmark(JdbcTemplate jdbcTemplate, UrlJdbcRepository urlJdbcRepository) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.urlJdbcRepository = urlJdbcRepository;
+  }
+
+  @AfterEach
+  void tearDown() {
+    jdbcTemplate.update("DELETE FROM url_click_shards");
+    jdbcTemplate.update("DELETE FROM url WHERE short_code = ?", HOT_CODE);
+  }
+
+  @Test
+  @DisplayName("Benchmark one hot url row against sharded click slots")
+  void benchmarkHotCodeIncrements() throws Exception {
+    Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+    jdbcTemplate.update(
+        "INSERT INTO url (id, short_code, long_url, clicks, is_deleted, created_at, updated_at,"
+            + " created_by) VALUES (1, ?, 'https://www.example.com/hot', 0, FALSE, ?, ?, 1)",
+        HOT_CODE,
+        now,
+        now);
+
+    LongConsumer singleRow =
+        delta ->
+            jdbcTemplate.update(
+                "UPDATE url SET clicks = clicks + ?, updated_at = CURRENT_TIMESTAMP"
+                    + " WHERE short_code = ?",
+                delta,
+                HOT_CODE);
+    LongConsumer sharded =
+        delta ->
+            urlJdbcRepository.addClicks(
+                Map.of(HOT_CODE, delta), ThreadLocalRandom.current().nextInt(SLOTS));
+
+    run(singleRow, WARMUP_MILLIS);
+    run(sharded, WARMUP_MILLIS);
+    long before = urlJdbcRepository.getClickCount(HOT_CODE);
+
+    long singleRowWrites = measure("single url row   ", singleRow);
+    long shardedWrites = measure("sharded, " + SLOTS + " slots", sharded);
+
+    assertThat(urlJdbcRepository.getClickCount(HOT_CODE))
+        .isEqualTo(before + singleRowWrites + shardedWrites);
+  }
+
+  private long measure(String label, LongConsumer write) throws Exception {
+    long writes = run(write, MEASURE_MILLIS);
+    System.out.printf(
+        "%d threads, %s %9.0f writes/s%n", THREADS, label, writes / (MEASURE_MILLIS / 1e3));
+    return writes;
+  }
+
+  private long run(LongConsumer write, long millis) throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+    List<Future<Long>> results = new ArrayList<>();
+    for (int i = 0; i < THREADS; i++) {
+      results.add(
+          executor.submit(
+              () -> {
+                long writes = 0;
+                while (System.nanoTime() < deadline) {
+                  write.accept(1);
+                  writes++;
+                }
+                return writes;
+              }));
+    }
+    long total = 0;
+    for (Future<Long> result : results) {
+      total += result.get();
+    }
+    executor.shutdown();
+    return total;
+  }
+}
@@ -0,0 +1,142 @@
+package com.example.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.cache.RedirectEntry;
+import com.example.datasource.ReplicaRoutingDataSource;
+import com.example.repository.RedirectJdbcRepository;
+import com.example.repository.UrlRepository;
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntFunction;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Allocation, CPU time and latency of one redirect lookup through the JPA finder (the old path)
+ * versus {@link RedirectJdbcRepository}. Lookups run outside a test transaction, each in its own
+ * connection, as they do when the redirect cache misses. Run with {@code mvn test
+ * -Dtest=RedirectLookupBenchmark -Dbenchmarks=true}.
+ */
+@DataJpaTest
+@TestPropertySource(locations = "classpath:application.properties")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+@DisplayName("Redirect Lookup Benchmark")
+class RedirectLookupBenchmark {
+
+  private static final int ROWS = 10_000;
+  private static final int WARMUP = 20_000;
+  private static final int LOOKUPS = 100_000;
+
+  private final UrlRepository urlRepository;
+  private final JdbcTemplate jdbcTemplate;
+  private final RedirectJdbcRepository redirectJdbcRepository;
+
+  @Autowired
+  RedirectLookupBenchmark(
+      UrlRepository urlRepository, JdbcTemplate jdbcTemplate, DataSource dataSource) {
+    this.urlRepository = urlRepository;
+    this.jdbcTemplate = jdbcTemplate;
+    this.redirectJdbcRepository =
+        new RedirectJdbcRepository(
+            jdbcTemplate,
+            new ReplicaRoutingDataSource(
+                dataSource, List.of(), "", "", Duration.ZERO, Duration.ofSeconds(1)));
+  }
+
+  @AfterEach
+  void tearDown() {
+    jdbcTemplate.update("DELETE FROM url WHERE short_code LIKE 'bench%'");
+  }
+
+  @Test
+  @DisplayName("Benchmark the JPA finder against the JDBC redirect repository")
+  void benchmarkLookups() {
+    insertRows();
+    Result jpa =
+        measure(
+            i ->
+                urlRepository
+                    .findByShortCode("bench" + i % ROWS)
+                    .map(RedirectEntry::from)
+                    .orElseThrow()
+                    .longUrl()
+                    .length(),
+            "JPA finder, Url entity ");
+    Result jdbc =
+        measure(
+            i -> redirectJdbcRepository.findByShortCode("bench" + i % ROWS).longUrl().length(),
+            "JDBC, RedirectEntry    ");
+
+    assertThat(jdbc.bytesPerLookup).isLessThan(jpa.bytesPerLookup);
+  }
+
+  private void insertRows() {
+    LocalDateTime now = LocalDateTime.now();
+    List<Object[]> rows = new ArrayList<>(ROWS);
+    for (int i = 0; i < ROWS; i++) {
+      Timestamp createdAt = Timestamp.valueOf(now.minusSeconds(i));
+      rows.add(
+          new Object[] {
+            i + 1L,
+            "bench" + i,
+            "https://www.example.com/some/fairly/long/path/" + i + "?utm_source=benchmark",
+            createdAt,
+            createdAt,
+            Timestamp.valueOf(now.plusDays(30)),
+            (long) (i % 10)
+          });
+    }
+    jdbcTemplate.batchUpdate(
+        "INSERT INTO url (id, short_code, long_url, clicks, is_deleted, created_at, updated_at,"
+            + " expires_at, created_by) VALUES (?, ?, ?, 0, FALSE, ?, ?, ?, ?)",
+        rows);
+  }
+
+  private Result measure(IntFunction<Integer> lookup, String label) {
+    for (int i = 0; i < WARMUP; i++) {
+      lookup.apply(i);
+    }
+    com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long threadId = Thread.currentThread().getId();
+    long[] latencies = new long[LOOKUPS];
+    long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+    long cpuBefore = threads.getCurrentThreadCpuTime();
+    for (int i = 0; i < LOOKUPS; i++) {
+      long t0 = System.nanoTime();
+      lookup.apply(i);
+      latencies[i] = System.nanoTime() - t0;
+    }
+    long cpu = threads.getCurrentThreadCpuTime() - cpuBefore;
+    long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+    Arrays.sort(latencies);
+
+    Result result = new Result(allocated / LOOKUPS);
+    System.out.printf(
+        "%s %7.1f KB/lookup, %6.1f us CPU/lookup, p50 %6.1f us, p99 %6.1f us%n",
+        label,
+        result.bytesPerLookup / 1024.0,
+        cpu / 1e3 / LOOKUPS,
+        latencies[LOOKUPS / 2] / 1e3,
+        latencies[LOOKUPS * 99 / 100] / 1e3);
+    return result;
+  }
+
+  private record Result(long bytesPerLookup) {}
+}
@@ -0,0 +1,141 @@
+package com.example.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.cache.RedirectEntry;
+import com.example.cache.UrlCodec;
+import com.example.model.Url;
+import com.example.shortcode.Base62;
+import com.example.store.RedirectLog;
+import com.example.store.ShortCodeIndex;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToIntFunction;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Heap per entry and lookup latency of one million redirects held in a {@code
+ * ConcurrentHashMap<String, Url>} versus a {@link RedirectLog}, whose {@link ShortCodeIndex} keeps
+ * packed codes in primitive arrays and whose URLs live in the mapped file. Heap is read after
+ * {@code System.gc()}, so the per-entry figures are estimates. Run with {@code mvn test
+ * -Dtest=ShortCodeIndexBenchmark -Dbenchmarks=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+@DisplayName("ShortCodeIndex Benchmark")
+class ShortCodeIndexBenchmark {
+
+  private static final int ENTRIES = 1_000_000;
+  private static final int LOOKUPS = 1_000_000;
+  // Coprime with 62^7, so multiples of it spread the codes over the whole space without repeats.
+  private static final long STRIDE = 1_000_000_007L;
+
+  private static String[] lookups;
+
+  @TempDir Path directory;
+
+  @BeforeAll
+  static void generate() {
+    Random random = new Random(42);
+    lookups = new String[LOOKUPS];
+    for (int i = 0; i < LOOKUPS; i++) {
+      lookups[i] = shortCode(random.nextInt(ENTRIES));
+    }
+  }
+
+  private static String shortCode(int i) {
+    return Base62.encode(i * STRIDE % Base62.CAPACITY_7, 7);
+  }
+
+  private static String longUrl(int i) {
+    return "https://www.example.com/articles/" + i + "/a-fairly-typical-slug-for-a-link";
+  }
+
+  @Test
+  @DisplayName("Benchmark memory and lookups against a map of Url entities")
+  void benchmarkMemoryAndLookups() throws IOException {
+    LocalDateTime now = LocalDateTime.now();
+
+    long heapBefore = usedHeap();
+    ConcurrentHashMap<String, Url> map = new ConcurrentHashMap<>();
+    for (int i = 0; i < ENTRIES; i++) {
+      Url url = new Url();
+      url.setId((long) i);
+      url.setShortCode(shortCode(i));
+      url.setLongUrl(longUrl(i));
+      url.setCreatedBy((long) (i % 10));
+      url.setCreatedAt(now);
+      url.setUpdatedAt(now);
+      url.setExpiresAt(now.plusDays(30));
+      map.put(url.getShortCode(), url);
+    }
+    long mapHeap = usedHeap() - heapBefore;
+
+    try (RedirectLog redirectLog =
+        RedirectLog.open(directory, 256L * 1024 * 1024, new UrlCodec())) {
+      heapBefore = usedHeap();
+      for (int i = 0; i < ENTRIES; i++) {
+        redirectLog.put(
+            shortCode(i), new RedirectEntry(longUrl(i), now.plusDays(30), (long) (i % 10)));
+      }
+      long logHeap = usedHeap() - heapBefore;
+
+      double mapNanos = measure(code -> map.get(code).getLongUrl().length(), "map");
+      double logNanos = measure(code -> redirectLog.get(code).longUrl().length(), "log");
+
+      System.out.printf(
+          "ConcurrentHashMap<String, Url>: %5.0f heap bytes/entry, %5.0f ns/lookup%n",
+          (double) mapHeap / ENTRIES, mapNanos);
+      System.out.printf(
+          "RedirectLog:                    %5.0f heap bytes/entry (index %.0f),"
+              + " %5.0f mapped bytes/entry, %5.0f ns/lookup%n",
+          (double) logHeap / ENTRIES,
+          (double) redirectLog.indexBytes() / ENTRIES,
+          (double) redirectLog.sizeBytes() / ENTRIES,
+          logNanos);
+
+      assertThat(redirectLog.entries()).isEqualTo(ENTRIES);
+      assertThat(logHeap).isLessThan(mapHeap / 4);
+    }
+    assertThat(map).hasSize(ENTRIES);
+  }
+
+  private static double measure(ToIntFunction<String> lookup, String label) {
+    long checksum = 0;
+    for (int round = 0; round < 3; round++) {
+      for (String code : lookups) {
+        checksum += lookup.applyAsInt(code);
+      }
+    }
+
+    com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long threadId = Thread.currentThread().getId();
+    long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+    long start = System.nanoTime();
+    for (String code : lookups) {
+      checksum += lookup.applyAsInt(code);
+    }
+    long elapsed = System.nanoTime() - start;
+    long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+    System.out.printf(
+        "  %s: %.0f bytes allocated/lookup (checksum %d)%n",
+        label, (double) allocated / LOOKUPS, checksum);
+    return (double) elapsed / LOOKUPS;
+  }
+
+  private static long usedHeap() {
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+    }
+    return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+  }
+}
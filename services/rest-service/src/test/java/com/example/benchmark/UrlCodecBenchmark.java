@@ -0,0 +1,175 @@
+package com.example.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.cache.UrlDictionary;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * Compression ratio and decode latency of {@link UrlDictionary} on a synthetic corpus shaped like
+ * production traffic: most links go to a few dozen popular hosts with their usual path layouts,
+ * the rest to a long tail of hosts, and four in ten carry UTM parameters. The dictionary is
+ * trained on one half of the corpus and measured on the other. Run with {@code mvn test
+ * -Dtest=UrlCodecBenchmark -Dbenchmarks=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+@DisplayName("UrlCodec Benchmark")
+class UrlCodecBenchmark {
+
+  private static final int URLS = 100_000;
+  private static final String[] SOURCES = {"newsletter", "twitter", "facebook", "linkedin"};
+  private static final String[] MEDIUMS = {"email", "social", "cpc"};
+  private static final String[] TLDS = {"com", "net", "org", "io", "de", "co.uk"};
+  private static final String ALPHANUMERIC =
+      "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+
+  private static List<String> training;
+  private static List<String> measured;
+
+  @BeforeAll
+  static void generate() {
+    Random random = new Random(42);
+    String[] campaigns = new String[20];
+    for (int i = 0; i < campaigns.length; i++) {
+      campaigns[i] = label(random) + "-" + (2020 + random.nextInt(6));
+    }
+    List<String> urls = new ArrayList<>(URLS);
+    for (int i = 0; i < URLS; i++) {
+      String url = random.nextInt(10) < 7 ? popular(random) : longTail(random);
+      if (random.nextInt(10) < 4) {
+        url +=
+            (url.indexOf('?') >= 0 ? "&" : "?")
+                + "utm_source="
+                + SOURCES[random.nextInt(SOURCES.length)]
+                + "&utm_medium="
+                + MEDIUMS[random.nextInt(MEDIUMS.length)]
+                + "&utm_campaign="
+                + campaigns[random.nextInt(campaigns.length)];
+      }
+      urls.add(url);
+    }
+    training = urls.subList(0, URLS / 2);
+    measured = urls.subList(URLS / 2, URLS);
+  }
+
+  private static String popular(Random random) {
+    return switch (random.nextInt(8)) {
+      case 0 -> "https://www.youtube.com/watch?v=" + token(random, 11);
+      case 1 -> "https://www.amazon.com/dp/" + token(random, 10) + "/ref=" + label(random);
+      case 2 ->
+          "https://github.com/" + label(random) + "/" + label(random) + "/blob/main/src/"
+              + label(random) + ".java";
+      case 3 -> "https://en.wikipedia.org/wiki/" + label(random) + "_" + label(random);
+      case 4 -> "https://docs.google.com/document/d/" + token(random, 44) + "/edit";
+      case 5 -> "https://www.linkedin.com/posts/" + label(random) + "_" + token(random, 19);
+      case 6 ->
+          "https://medium.com/@" + label(random) + "/" + label(random) + "-" + token(random, 12);
+      default ->
+          "https://www.nytimes.com/2024/0" + (1 + random.nextInt(9)) + "/"
+              + label(random) + "/" + label(random) + "-" + label(random) + ".html";
+    };
+  }
+
+  private static String longTail(Random random) {
+    return "https://www." + label(random) + "." + TLDS[random.nextInt(TLDS.length)] + "/"
+        + label(random) + "/" + label(random) + "-" + label(random);
+  }
+
+  private static String label(Random random) {
+    int length = 4 + random.nextInt(8);
+    char[] chars = new char[length];
+    for (int i = 0; i < length; i++) {
+      chars[i] = (char) ('a' + random.nextInt(26));
+    }
+    return new String(chars);
+  }
+
+  private static String token(Random random, int length) {
+    char[] chars = new char[length];
+    for (int i = 0; i < length; i++) {
+      chars[i] = ALPHANUMERIC.charAt(random.nextInt(ALPHANUMERIC.length()));
+    }
+    return new String(chars);
+  }
+
+  @Test
+  @DisplayName("Benchmark compression ratio and decode latency on a held-out corpus")
+  void benchmarkCompressionAndDecode() {
+    long trainStart = System.nanoTime();
+    UrlDictionary trained = UrlDictionary.train(1, training);
+    long trainMs = (System.nanoTime() - trainStart) / 1_000_000;
+
+    double builtInRatio = UrlDictionary.BUILT_IN.ratio(measured);
+    double trainedRatio = trained.ratio(measured);
+
+    byte[][] encoded = new byte[measured.size()][];
+    byte[][] plain = new byte[measured.size()][];
+    long stringHeap = 0;
+    long encodedHeap = 0;
+    for (int i = 0; i < encoded.length; i++) {
+      encoded[i] = trained.encode(measured.get(i));
+      plain[i] = measured.get(i).getBytes(StandardCharsets.UTF_8);
+      // A compact String is a 24-byte object around a byte[] with a 16-byte header.
+      stringHeap += 24 + align(16 + plain[i].length);
+      encodedHeap += align(16 + encoded[i].length);
+    }
+
+    long checksum = 0;
+    for (int round = 0; round < 5; round++) {
+      for (byte[] url : encoded) {
+        checksum += trained.decode(url).length();
+      }
+      for (byte[] url : plain) {
+        checksum += new String(url, StandardCharsets.UTF_8).length();
+      }
+    }
+
+    long[] latencies = new long[encoded.length];
+    long start = System.nanoTime();
+    for (int i = 0; i < encoded.length; i++) {
+      long t0 = System.nanoTime();
+      checksum += trained.decode(encoded[i]).length();
+      latencies[i] = System.nanoTime() - t0;
+    }
+    long elapsed = System.nanoTime() - start;
+    long copyStart = System.nanoTime();
+    for (byte[] url : plain) {
+      checksum += new String(url, StandardCharsets.UTF_8).length();
+    }
+    long copyElapsed = System.nanoTime() - copyStart;
+
+    Arrays.sort(latencies);
+    System.out.printf(
+        "UrlDictionary: %d entries trained on %d URLs in %d ms%n",
+        trained.entries().size(), training.size(), trainMs);
+    System.out.printf(
+        "  bytes: %.2f of plain with the built-in dictionary, %.2f with the trained one%n",
+        builtInRatio, trainedRatio);
+    System.out.printf(
+        "  heap: %.0f bytes/URL as String, %.0f as encoded bytes%n",
+        (double) stringHeap / encoded.length, (double) encodedHeap / encoded.length);
+    System.out.printf(
+        "  decode: %.0f ns/op avg (incl. timer), p50 %d ns, p99 %d ns;"
+            + " plain String copy %.0f ns/op (checksum %d)%n",
+        (double) elapsed / encoded.length,
+        latencies[encoded.length / 2],
+        latencies[encoded.length * 99 / 100],
+        (double) copyElapsed / plain.length,
+        checksum);
+
+    assertThat(trainedRatio).isLessThan(builtInRatio).isLessThan(0.8);
+    assertThat(encodedHeap).isLessThan(stringHeap);
+  }
+
+  private static long align(long bytes) {
+    return (bytes + 7) & ~7L;
+  }
+}
@@ -0,0 +1,98 @@
+package com.example.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.model.Url;
+import java.time.LocalDateTime;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Throughput of persisting {@link Url} entities one statement at a time, which is all Hibernate
+ * could do while ids came from {@code AUTO_INCREMENT}, versus in JDBC batches of {@code
+ * hibernate.jdbc.batch_size} now that they are leased from {@code id_sequence}. Run with {@code mvn
+ * test -Dtest=UrlInsertBenchmark -Dbenchmarks=true}.
+ */
+@DataJpaTest
+@TestPropertySource(
+    locations = "classpath:application.properties",
+    properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+@DisplayName("URL Insert Benchmark")
+class UrlInsertBenchmark {
+
+  private static final int WARMUP = 2_000;
+  private static final int ROWS = 20_000;
+  private static final int FLUSH_EVERY = 1_000;
+  private static final int BATCH_SIZE = 50;
+
+  private final TestEntityManager entityManager;
+
+  @Autowired
+  UrlInsertBenchmark(TestEntityManager entityManager) {
+    this.entityManager = entityManager;
+  }
+
+  @Test
+  @DisplayName("Benchmark unbatched inserts against batched inserts")
+  void benchmarkInserts() {
+    insert("warmup-single", WARMUP, 1);
+    insert("warmup-batched", WARMUP, BATCH_SIZE);
+
+    Result single = measure("single", 1);
+    Result batched = measure("batched", BATCH_SIZE);
+
+    assertThat(batched.statements).isLessThan(single.statements);
+  }
+
+  private Result measure(String label, int batchSize) {
+    Statistics statistics =
+        entityManager
+            .getEntityManager()
+            .getEntityManagerFactory()
+            .unwrap(SessionFactory.class)
+            .getStatistics();
+    statistics.clear();
+    long t0 = System.nanoTime();
+    insert(label, ROWS, batchSize);
+    long elapsed = System.nanoTime() - t0;
+
+    Result result = new Result(statistics.getPrepareStatementCount());
+    System.out.printf(
+        "batch size %3d  %8.0f rows/s, %6d statements prepared%n",
+        batchSize, ROWS / (elapsed / 1e9), result.statements);
+    return result;
+  }
+
+  private void insert(String prefix, int rows, int batchSize) {
+    Session session = entityManager.getEntityManager().unwrap(Session.class);
+    session.setJdbcBatchSize(batchSize);
+    LocalDateTime now = LocalDateTime.now();
+    for (int i = 0; i < rows; i++) {
+      Url url = new Url();
+      url.setShortCode(prefix + i);
+      url.setLongUrl("https://www.example.com/some/fairly/long/path/" + i);
+      url.setCreatedBy((long) (i % 10));
+      url.setCreatedAt(now);
+      url.setUpdatedAt(now);
+      url.setExpiresAt(now.plusDays(30));
+      session.persist(url);
+      if ((i + 1) % FLUSH_EVERY == 0) {
+        session.flush();
+        session.clear();
+      }
+    }
+    session.flush();
+    session.clear();
+  }
+
+  private record Result(long statements) {}
+}
@@ -0,0 +1,165 @@
+package com.example.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.dto.UrlDto;
+import com.example.dto.UrlSummary;
+import com.example.model.Url;
+import com.example.repository.UrlRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntSupplier;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Allocation and latency of one {@code GET /api/urls} page served from {@link Url} entities (the
+ * old path) versus {@link UrlSummary} projections, with and without the total count. Each request
+ * runs the query, maps the rows and serializes the page to JSON. Run with {@code mvn test
+ * -Dtest=UrlListingBenchmark -Dbenchmarks=true}.
+ */
+@DataJpaTest
+@TestPropertySource(locations = "classpath:application.properties")
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+@DisplayName("URL Listing Benchmark")
+class UrlListingBenchmark {
+
+  private static final int ROWS = 20_000;
+  private static final int WARMUP = 200;
+  private static final int REQUESTS = 500;
+
+  private final TestEntityManager entityManager;
+  private final UrlRepository urlRepository;
+  private final JdbcTemplate jdbcTemplate;
+  private final ObjectMapper objectMapper =
+      new ObjectMapper()
+          .registerModule(new JavaTimeModule())
+          .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+  @Autowired
+  UrlListingBenchmark(
+      TestEntityManager entityManager, UrlRepository urlRepository, JdbcTemplate jdbcTemplate) {
+    this.entityManager = entityManager;
+    this.urlRepository = urlRepository;
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  @Test
+  @DisplayName("Benchmark entity pages against projection pages and slices")
+  void benchmarkListing() {
+    insertRows();
+    for (int size : new int[] {10, 100, 1000}) {
+      PageRequest page = PageRequest.of(3, size, Sort.by(Sort.Direction.DESC, "createdAt"));
+      Result entities =
+          measure(
+              () -> serialize(urlRepository.findAll(page)), "entities, Page<Url>          ", size);
+      Result summaries =
+          measure(
+              () -> serialize(urlRepository.findSummaries(page).map(this::toDto)),
+              "projection, Page<UrlDto>     ",
+              size);
+      Result slice =
+          measure(
+              () -> serialize(urlRepository.findSummarySlice(page).map(this::toDto)),
+              "projection, Slice<UrlDto>    ",
+              size);
+
+      assertThat(summaries.bytesPerRequest).isLessThan(entities.bytesPerRequest);
+      assertThat(slice.bytesPerRequest).isLessThan(entities.bytesPerRequest);
+    }
+  }
+
+  private void insertRows() {
+    LocalDateTime now = LocalDateTime.now();
+    List<Object[]> rows = new ArrayList<>(ROWS);
+    for (int i = 0; i < ROWS; i++) {
+      Timestamp createdAt = Timestamp.valueOf(now.minusSeconds(i));
+      rows.add(
+          new Object[] {
+            i + 1L,
+            "bench" + i,
+            "https://www.example.com/some/fairly/long/path/" + i + "?utm_source=benchmark",
+            i % 97,
+            createdAt,
+            createdAt,
+            Timestamp.valueOf(now.plusDays(30)),
+            (long) (i % 10)
+          });
+    }
+    jdbcTemplate.batchUpdate(
+        "INSERT INTO url (id, short_code, long_url, clicks, is_deleted, created_at, updated_at,"
+            + " expires_at, created_by) VALUES (?, ?, ?, ?, FALSE, ?, ?, ?, ?)",
+        rows);
+  }
+
+  private int serialize(Object body) {
+    try {
+      return objectMapper.writeValueAsBytes(body).length;
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private UrlDto toDto(UrlSummary summary) {
+    UrlDto dto = new UrlDto();
+    dto.setId(summary.id());
+    dto.setShortCode(summary.shortCode());
+    dto.setLongUrl(summary.longUrl());
+    dto.setClicks(summary.clicks());
+    dto.setShortUrl("http://localhost:8080/redirect/" + summary.shortCode());
+    dto.setCreatedAt(summary.createdAt());
+    dto.setUpdatedAt(summary.updatedAt());
+    dto.setExpiresAt(summary.expiresAt());
+    dto.setCreatedBy(summary.createdBy());
+    return dto;
+  }
+
+  private Result measure(IntSupplier request, String label, int size) {
+    for (int i = 0; i < WARMUP; i++) {
+      request.getAsInt();
+      entityManager.clear();
+    }
+    com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long threadId = Thread.currentThread().getId();
+    long[] latencies = new long[REQUESTS];
+    long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+    for (int i = 0; i < REQUESTS; i++) {
+      long t0 = System.nanoTime();
+      request.getAsInt();
+      // The persistence context would be closed with the request's session.
+      entityManager.clear();
+      latencies[i] = System.nanoTime() - t0;
+    }
+    long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+    Arrays.sort(latencies);
+
+    Result result = new Result(allocated / REQUESTS);
+    System.out.printf(
+        "size %4d  %s %9.1f KB/request, p50 %7.1f us, p99 %7.1f us%n",
+        size,
+        label,
+        result.bytesPerRequest / 1024.0,
+        latencies[REQUESTS / 2] / 1e3,
+        latencies[REQUESTS * 99 / 100] / 1e3);
+    return result;
+  }
+
+  private record Result(long bytesPerRequest) {}
+}
@@ -0,0 +1,185 @@
+package com.example.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+import com.example.repository.UrlJdbcRepository;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ClickCounter Tests")
+class ClickCounterTest {
+
+  @Mock private UrlJdbcRepository urlJdbcRepository;
+
+  private ClickCounter clickCounter;
+
+  @BeforeEach
+  void setUp() {
+    clickCounter = new ClickCounter(urlJdbcRepository);
+    ReflectionTestUtils.setField(clickCounter, "shards", 4);
+    ReflectionTestUtils.setField(clickCounter, "foldBatchSize", 2);
+  }
+
+  @Test
+  @DisplayName("Should add buffered clicks to the persisted count")
+  void shouldAddBufferedClicksToThePersistedCount() {
+    when(urlJdbcRepository.getClickCount("abc1234")).thenReturn(10L);
+
+    assertThat(clickCounter.increment("abc1234")).isEqualTo(11);
+    assertThat(clickCounter.increment("abc1234")).isEqualTo(12);
+
+    verify(urlJdbcRepository, times(1)).getClickCount("abc1234");
+    verify(urlJdbcRepository, never()).addClicks(anyMap(), anyInt());
+  }
+
+  @Test
+  @DisplayName("Should treat missing persisted count as zero")
+  void shouldTreatMissingPersistedCountAsZero() {
+    when(urlJdbcRepository.getClickCount("abc1234")).thenReturn(null);
+
+    assertThat(clickCounter.increment("abc1234")).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Should flush accumulated deltas in one batch")
+  void shouldFlushAccumulatedDeltasInOneBatch() {
+    when(urlJdbcRepository.getClickCount(anyString())).thenReturn(0L);
+
+    clickCounter.increment("abc1234");
+    clickCounter.increment("abc1234");
+    clickCounter.increment("xyz7890");
+
+    clickCounter.flush();
+
+    verify(urlJdbcRepository).addClicks(eq(Map.of("abc1234", 2L, "xyz7890", 1L)), anyInt());
+  }
+
+  @Test
+  @DisplayName("Should only flush clicks recorded since the previous flush")
+  void shouldOnlyFlushClicksRecordedSinceThePreviousFlush() {
+    when(urlJdbcRepository.getClickCount("abc1234")).thenReturn(5L);
+
+    clickCounter.increment("abc1234");
+    clickCounter.flush();
+    long total = clickCounter.increment("abc1234");
+    clickCounter.flush();
+
+    assertThat(total).isEqualTo(7);
+    verify(urlJdbcRepository, times(2)).addClicks(eq(Map.of("abc1234", 1L)), anyInt());
+  }
+
+  @Test
+  @DisplayName("Should flush into one of the configured click slots")
+  void shouldFlushIntoOneOfTheConfiguredClickSlots() {
+    when(urlJdbcRepository.getClickCount("abc1234")).thenReturn(0L);
+
+    for (int i = 0; i < 20; i++) {
+      clickCounter.increment("abc1234");
+      clickCounter.flush();
+    }
+
+    verify(urlJdbcRepository, times(20))
+        .addClicks(eq(Map.of("abc1234", 1L)), intThat(slot -> slot >= 0 && slot < 4));
+  }
+
+  @Test
+  @DisplayName("Should not write when nothing was clicked")
+  void shouldNotWriteWhenNothingWasClicked() {
+    clickCounter.flush();
+
+    verifyNoInteractions(urlJdbcRepository);
+  }
+
+  @Test
+  @DisplayName("Should retry deltas on the next flush after a failure")
+  void shouldRetryDeltasOnTheNextFlushAfterAFailure() {
+    when(urlJdbcRepository.getClickCount("abc1234")).thenReturn(0L);
+    doThrow(new DataAccessResourceFailureException("down"))
+        .doNothing()
+        .when(urlJdbcRepository)
+        .addClicks(anyMap(), anyInt());
+
+    clickCounter.increment("abc1234");
+    clickCounter.flush();
+    clickCounter.flush();
+
+    verify(urlJdbcRepository, times(2)).addClicks(eq(Map.of("abc1234", 1L)), anyInt());
+  }
+
+  @Test
+  @DisplayName("Should drop counters that stay idle and reload them on the next click")
+  void shouldDropCountersThatStayIdleAndReloadThemOnTheNextClick() {
+    when(urlJdbcRepository.getClickCount("abc1234")).thenReturn(0L).thenReturn(1L);
+
+    clickCounter.increment("abc1234");
+    clickCounter.flush();
+    clickCounter.flush();
+    clickCounter.flush();
+
+    assertThat(clickCounter.bufferedCodes()).isZero();
+    assertThat(clickCounter.increment("abc1234")).isEqualTo(2);
+    verify(urlJdbcRepository, times(2)).getClickCount("abc1234");
+  }
+
+  @Test
+  @DisplayName("Should discard buffered clicks on evict")
+  void shouldDiscardBufferedClicksOnEvict() {
+    when(urlJdbcRepository.getClickCount("abc1234")).thenReturn(0L);
+
+    clickCounter.increment("abc1234");
+    clickCounter.evict("abc1234");
+    clickCounter.flush();
+
+    verify(urlJdbcRepository, never()).addClicks(anyMap(), anyInt());
+  }
+
+  @Test
+  @DisplayName("Should count every concurrent click exactly once")
+  void shouldCountEveryConcurrentClickExactlyOnce() throws InterruptedException {
+    when(urlJdbcRepository.getClickCount("abc1234")).thenReturn(0L);
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    for (int i = 0; i < 10_000; i++) {
+      executor.execute(() -> clickCounter.increment("abc1234"));
+    }
+    executor.shutdown();
+    assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+    clickCounter.flush();
+
+    verify(urlJdbcRepository).addClicks(eq(Map.of("abc1234", 10_000L)), anyInt());
+  }
+
+  @Test
+  @DisplayName("Should fold click slots batch by batch until a batch comes back short")
+  void shouldFoldClickSlotsBatchByBatchUntilABatchComesBackShort() {
+    when(urlJdbcRepository.foldClickShards(2)).thenReturn(2, 2, 1);
+
+    assertThat(clickCounter.foldShards()).isEqualTo(5);
+
+    verify(urlJdbcRepository, times(3)).foldClickShards(2);
+  }
+
+  @Test
+  @DisplayName("Should give up folding until the next run when the database fails")
+  void shouldGiveUpFoldingUntilTheNextRunWhenTheDatabaseFails() {
+    when(urlJdbcRepository.foldClickShards(2))
+        .thenReturn(2)
+        .thenThrow(new DataAccessResourceFailureException("down"));
+
+    assertThat(clickCounter.foldShards()).isEqualTo(2);
+  }
+}
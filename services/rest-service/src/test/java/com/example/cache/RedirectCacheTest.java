@@ -0,0 +1,137 @@
+package com.example.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@DisplayName("RedirectCache Tests")
+class RedirectCacheTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private UrlCodec urlCodec;
+  private RedirectCache redirectCache;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    urlCodec = new UrlCodec();
+    redirectCache = new RedirectCache(meterRegistry, urlCodec);
+    ReflectionTestUtils.setField(redirectCache, "maximumSize", 100L);
+    ReflectionTestUtils.setField(redirectCache, "maxTtlMinutes", 60L);
+    redirectCache.init();
+  }
+
+  @Test
+  @DisplayName("Should load entry once and serve subsequent lookups from cache")
+  void shouldLoadEntryOnceAndServeSubsequentLookupsFromCache() {
+    AtomicInteger loads = new AtomicInteger();
+    RedirectEntry entry =
+        new RedirectEntry("https://example.com", LocalDateTime.now().plusHours(1), 1L);
+
+    RedirectEntry first =
+        redirectCache.get(
+            "abc1234",
+            code -> {
+              loads.incrementAndGet();
+              return entry;
+            });
+    RedirectEntry second =
+        redirectCache.get(
+            "abc1234",
+            code -> {
+              loads.incrementAndGet();
+              return entry;
+            });
+
+    assertThat(first).isEqualTo(entry);
+    assertThat(second).isEqualTo(entry);
+    assertThat(loads).hasValue(1);
+    assertThat(redirectCache.stats().hitCount()).isEqualTo(1);
+    assertThat(redirectCache.stats().missCount()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Should return entries cached before a newer dictionary was installed")
+  void shouldReturnEntriesCachedBeforeANewerDictionaryWasInstalled() {
+    RedirectEntry before = new RedirectEntry("https://www.example.com/a?utm_source=x", null, 1L);
+    RedirectEntry after = new RedirectEntry("https://www.example.com/b?utm_source=x", null, 1L);
+    redirectCache.get("abc1234", code -> before);
+
+    urlCodec.install(new UrlDictionary(1, List.of("https://www.example.com/", "?utm_source=x")));
+    redirectCache.get("def5678", code -> after);
+
+    assertThat(redirectCache.get("abc1234", code -> null)).isEqualTo(before);
+    assertThat(redirectCache.get("def5678", code -> null)).isEqualTo(after);
+  }
+
+  @Test
+  @DisplayName("Should not cache missing entries")
+  void shouldNotCacheMissingEntries() {
+    AtomicInteger loads = new AtomicInteger();
+
+    redirectCache.get(
+        "missing",
+        code -> {
+          loads.incrementAndGet();
+          return null;
+        });
+    redirectCache.get(
+        "missing",
+        code -> {
+          loads.incrementAndGet();
+          return null;
+        });
+
+    assertThat(loads).hasValue(2);
+    assertThat(redirectCache.estimatedSize()).isZero();
+  }
+
+  @Test
+  @DisplayName("Should reload entry after invalidation")
+  void shouldReloadEntryAfterInvalidation() {
+    RedirectEntry entry = new RedirectEntry("https://example.com", null, 1L);
+    redirectCache.get("abc1234", code -> entry);
+
+    redirectCache.invalidate("abc1234");
+
+    RedirectEntry reloaded = redirectCache.get("abc1234", code -> null);
+    assertThat(reloaded).isNull();
+  }
+
+  @Test
+  @DisplayName("Should not retain entries whose URL has already expired")
+  void shouldNotRetainEntriesWhoseUrlHasAlreadyExpired() {
+    RedirectEntry expired =
+        new RedirectEntry("https://example.com", LocalDateTime.now().minusMinutes(1), 1L);
+    redirectCache.get("expired", code -> expired);
+
+    RedirectEntry reloaded = redirectCache.get("expired", code -> null);
+
+    assertThat(reloaded).isNull();
+  }
+
+  @Test
+  @DisplayName("Should publish cache metrics to the meter registry")
+  void shouldPublishCacheMetricsToTheMeterRegistry() {
+    redirectCache.get("abc1234", code -> new RedirectEntry("https://example.com", null, 1L));
+    redirectCache.get("abc1234", code -> null);
+
+    assertThat(
+            meterRegistry
+                .get("cache.gets")
+                .tag("cache", "redirect")
+                .tag("result", "hit")
+                .functionCounter()
+                .count())
+        .isEqualTo(1.0);
+    assertThat(meterRegistry.get("cache.evictions").tag("cache", "redirect").functionCounter())
+        .isNotNull();
+  }
+}
@@ -0,0 +1,75 @@
+package com.example.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("ShortCodeBloomFilter Tests")
+class ShortCodeBloomFilterTest {
+
+  @Test
+  @DisplayName("Should never report an inserted code as absent")
+  void shouldNeverReportAnInsertedCodeAsAbsent() {
+    ShortCodeBloomFilter filter = new ShortCodeBloomFilter(10_000, 0.01);
+
+    for (int i = 0; i < 10_000; i++) {
+      filter.put("in" + i);
+    }
+
+    for (int i = 0; i < 10_000; i++) {
+      assertThat(filter.mightContain("in" + i)).isTrue();
+    }
+    assertThat(filter.insertions()).isEqualTo(10_000);
+  }
+
+  @Test
+  @DisplayName("Should keep false positives close to the configured probability")
+  void shouldKeepFalsePositivesCloseToTheConfiguredProbability() {
+    ShortCodeBloomFilter filter = new ShortCodeBloomFilter(10_000, 0.01);
+    for (int i = 0; i < 10_000; i++) {
+      filter.put("in" + i);
+    }
+
+    int falsePositives = 0;
+    for (int i = 0; i < 100_000; i++) {
+      if (filter.mightContain("out" + i)) {
+        falsePositives++;
+      }
+    }
+
+    assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+    assertThat(filter.expectedFpp()).isBetween(0.005, 0.02);
+  }
+
+  @Test
+  @DisplayName("Should report growing false-positive probability when overfilled")
+  void shouldReportGrowingFalsePositiveProbabilityWhenOverfilled() {
+    ShortCodeBloomFilter filter = new ShortCodeBloomFilter(1_000, 0.01);
+    for (int i = 0; i < 5_000; i++) {
+      filter.put("in" + i);
+    }
+
+    assertThat(filter.expectedFpp()).isGreaterThan(0.1);
+  }
+
+  @Test
+  @DisplayName("Should report memory footprint derived from its size")
+  void shouldReportMemoryFootprintDerivedFromItsSize() {
+    ShortCodeBloomFilter filter = new ShortCodeBloomFilter(1_000_000, 0.01);
+
+    // ~9.6 bits per element for 1% false positives
+    assertThat(filter.memoryBytes()).isBetween(1_150_000L, 1_250_000L);
+    assertThat(filter.expectedFpp()).isZero();
+  }
+
+  @Test
+  @DisplayName("Should reject invalid sizing parameters")
+  void shouldRejectInvalidSizingParameters() {
+    assertThatThrownBy(() -> new ShortCodeBloomFilter(0, 0.01))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new ShortCodeBloomFilter(100, 1.0))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,79 @@
+package com.example.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.model.Url;
+import com.example.repository.IdSequenceJdbcRepository;
+import com.example.repository.UrlJdbcRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@DataJpaTest
+@Import({UrlJdbcRepository.class, IdSequenceJdbcRepository.class})
+@TestPropertySource(locations = "classpath:application.properties")
+@DisplayName("ShortCodeFilter Sync Tests")
+class ShortCodeFilterSyncTest {
+
+  private final TestEntityManager entityManager;
+  private final UrlJdbcRepository urlJdbcRepository;
+
+  private ShortCodeFilter shortCodeFilter;
+
+  @Autowired
+  public ShortCodeFilterSyncTest(
+      TestEntityManager entityManager, UrlJdbcRepository urlJdbcRepository) {
+    this.entityManager = entityManager;
+    this.urlJdbcRepository = urlJdbcRepository;
+  }
+
+  @BeforeEach
+  void setUp() {
+    shortCodeFilter = new ShortCodeFilter(urlJdbcRepository, new SimpleMeterRegistry());
+    ReflectionTestUtils.setField(shortCodeFilter, "enabled", true);
+    ReflectionTestUtils.setField(shortCodeFilter, "expectedInsertions", 1_000L);
+    ReflectionTestUtils.setField(shortCodeFilter, "fpp", 0.01);
+    ReflectionTestUtils.setField(shortCodeFilter, "rebuildFpp", 0.03);
+    ReflectionTestUtils.setField(shortCodeFilter, "catchUpIntervalMs", 1_000L);
+    shortCodeFilter.init();
+  }
+
+  private void persistUrl(String shortCode) {
+    LocalDateTime now = LocalDateTime.now();
+    Url url = new Url();
+    url.setShortCode(shortCode);
+    url.setLongUrl("https://www.example.com/" + shortCode);
+    url.setClicks(0);
+    url.setDeleted(false);
+    url.setCreatedBy(1L);
+    url.setCreatedAt(now);
+    url.setUpdatedAt(now);
+    url.setExpiresAt(now.plusDays(30));
+    entityManager.persistAndFlush(url);
+  }
+
+  @Test
+  @DisplayName("Should find a code inserted by another instance before the next sync")
+  void shouldFindACodeInsertedByAnotherInstanceBeforeTheNextSync() {
+    persistUrl("abc1234");
+    shortCodeFilter.refresh();
+
+    persistUrl("remote1");
+    ReflectionTestUtils.setField(
+        shortCodeFilter, "clock", Clock.offset(Clock.systemDefaultZone(), Duration.ofSeconds(2)));
+
+    assertThat(shortCodeFilter.mightContain("remote1")).isTrue();
+    assertThat(shortCodeFilter.mightContain("abc1234")).isTrue();
+    assertThat(shortCodeFilter.mightContain("nope000")).isFalse();
+  }
+}
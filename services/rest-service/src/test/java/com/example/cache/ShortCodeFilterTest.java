@@ -0,0 +1,194 @@
+package com.example.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.example.repository.UrlJdbcRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ShortCodeFilter Tests")
+class ShortCodeFilterTest {
+
+  @Mock private UrlJdbcRepository urlJdbcRepository;
+
+  private SimpleMeterRegistry meterRegistry;
+  private ShortCodeFilter shortCodeFilter;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    shortCodeFilter = new ShortCodeFilter(urlJdbcRepository, meterRegistry);
+    ReflectionTestUtils.setField(shortCodeFilter, "enabled", true);
+    ReflectionTestUtils.setField(shortCodeFilter, "expectedInsertions", 1_000L);
+    ReflectionTestUtils.setField(shortCodeFilter, "fpp", 0.01);
+    ReflectionTestUtils.setField(shortCodeFilter, "rebuildFpp", 0.03);
+    ReflectionTestUtils.setField(shortCodeFilter, "catchUpIntervalMs", 1_000L);
+    shortCodeFilter.init();
+  }
+
+  private void stubExistingCodes(String... codes) {
+    when(urlJdbcRepository.countUrls()).thenReturn((long) codes.length);
+    doAnswer(
+            invocation -> {
+              Consumer<String> action = invocation.getArgument(1);
+              List.of(codes).forEach(action);
+              return null;
+            })
+        .when(urlJdbcRepository)
+        .forEachShortCode(anyInt(), any());
+  }
+
+  @Test
+  @DisplayName("Should treat every code as possibly present until loaded")
+  void shouldTreatEveryCodeAsPossiblyPresentUntilLoaded() {
+    assertThat(shortCodeFilter.mightContain("anything")).isTrue();
+    assertThat(shortCodeFilter.expectedFpp()).isEqualTo(1.0);
+  }
+
+  @Test
+  @DisplayName("Should reject unknown codes once loaded")
+  void shouldRejectUnknownCodesOnceLoaded() {
+    stubExistingCodes("abc1234", "xyz7890");
+
+    shortCodeFilter.refresh();
+
+    assertThat(shortCodeFilter.mightContain("abc1234")).isTrue();
+    assertThat(shortCodeFilter.mightContain("xyz7890")).isTrue();
+    assertThat(shortCodeFilter.mightContain("nope000")).isFalse();
+    assertThat(meterRegistry.get("short.code.filter.rejections").counter().count()).isEqualTo(1);
+    assertThat(shortCodeFilter.entries()).isEqualTo(2);
+    assertThat(shortCodeFilter.memoryBytes()).isPositive();
+  }
+
+  @Test
+  @DisplayName("Should accept codes added after loading")
+  void shouldAcceptCodesAddedAfterLoading() {
+    stubExistingCodes("abc1234");
+    shortCodeFilter.refresh();
+
+    shortCodeFilter.put("new1234");
+
+    assertThat(shortCodeFilter.mightContain("new1234")).isTrue();
+  }
+
+  @Test
+  @DisplayName("Should pick up codes created by other replicas on sync")
+  void shouldPickUpCodesCreatedByOtherReplicasOnSync() {
+    stubExistingCodes("abc1234");
+    shortCodeFilter.refresh();
+    doAnswer(
+            invocation -> {
+              invocation.<Consumer<String>>getArgument(1).accept("remote1");
+              return null;
+            })
+        .when(urlJdbcRepository)
+        .forEachShortCodeCreatedSince(any(LocalDateTime.class), any());
+
+    shortCodeFilter.refresh();
+
+    assertThat(shortCodeFilter.mightContain("remote1")).isTrue();
+    verify(urlJdbcRepository, times(1)).forEachShortCode(anyInt(), any());
+  }
+
+  @Test
+  @DisplayName("Should catch up before rejecting a code created elsewhere since the last sync")
+  void shouldCatchUpBeforeRejectingACodeCreatedElsewhereSinceTheLastSync() {
+    Instant loadedAt = Instant.parse("2026-10-16T12:00:00Z");
+    setClock(loadedAt);
+    stubExistingCodes("abc1234");
+    shortCodeFilter.refresh();
+    doAnswer(
+            invocation -> {
+              invocation.<Consumer<String>>getArgument(1).accept("remote1");
+              return null;
+            })
+        .when(urlJdbcRepository)
+        .forEachShortCodeCreatedSince(any(LocalDateTime.class), any());
+    setClock(loadedAt.plusSeconds(2));
+
+    assertThat(shortCodeFilter.mightContain("remote1")).isTrue();
+    assertThat(meterRegistry.get("short.code.filter.rejections").counter().count()).isZero();
+    verify(urlJdbcRepository)
+        .forEachShortCodeCreatedSince(
+            eq(LocalDateTime.ofInstant(loadedAt, ZoneOffset.UTC).minusMinutes(1)), any());
+  }
+
+  @Test
+  @DisplayName("Should catch up once for every miss requested before the catch-up started")
+  void shouldCatchUpOnceForEveryMissRequestedBeforeTheCatchUpStarted() {
+    Instant loadedAt = Instant.parse("2026-10-16T12:00:00Z");
+    setClock(loadedAt);
+    stubExistingCodes("abc1234");
+    shortCodeFilter.refresh();
+    setClock(loadedAt.plusSeconds(2));
+
+    assertThat(shortCodeFilter.mightContain("nope000")).isFalse();
+    assertThat(shortCodeFilter.mightContain("nope001")).isFalse();
+    assertThat(shortCodeFilter.mightContain("nope002")).isFalse();
+
+    verify(urlJdbcRepository, times(1)).forEachShortCodeCreatedSince(any(), any());
+    assertThat(meterRegistry.get("short.code.filter.rejections").counter().count()).isEqualTo(3);
+  }
+
+  @Test
+  @DisplayName("Should catch up at most once per interval however many probes miss")
+  void shouldCatchUpAtMostOncePerIntervalHoweverManyProbesMiss() {
+    Instant loadedAt = Instant.parse("2026-10-16T12:00:00Z");
+    setClock(loadedAt);
+    stubExistingCodes("abc1234");
+    shortCodeFilter.refresh();
+
+    for (int i = 0; i < 20; i++) {
+      setClock(loadedAt.plusMillis(100L * i));
+      assertThat(shortCodeFilter.mightContain("nope" + i)).isFalse();
+    }
+
+    verify(urlJdbcRepository, times(1)).forEachShortCodeCreatedSince(any(), any());
+    assertThat(meterRegistry.get("short.code.filter.rejections").counter().count()).isEqualTo(20);
+  }
+
+  private void setClock(Instant now) {
+    ReflectionTestUtils.setField(shortCodeFilter, "clock", Clock.fixed(now, ZoneOffset.UTC));
+  }
+
+  @Test
+  @DisplayName("Should rebuild once too many codes were removed")
+  void shouldRebuildOnceTooManyCodesWereRemoved() {
+    stubExistingCodes("abc1234", "xyz7890");
+    shortCodeFilter.refresh();
+
+    shortCodeFilter.recordRemoval();
+    shortCodeFilter.recordRemoval();
+    shortCodeFilter.refresh();
+
+    verify(urlJdbcRepository, times(2)).forEachShortCode(anyInt(), any());
+    assertThat(meterRegistry.get("short.code.filter.rebuilds").counter().count()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("Should not query anything when disabled")
+  void shouldNotQueryAnythingWhenDisabled() {
+    ReflectionTestUtils.setField(shortCodeFilter, "enabled", false);
+
+    shortCodeFilter.refresh();
+    shortCodeFilter.put("abc1234");
+
+    assertThat(shortCodeFilter.mightContain("nope000")).isTrue();
+    verifyNoInteractions(urlJdbcRepository);
+  }
+}
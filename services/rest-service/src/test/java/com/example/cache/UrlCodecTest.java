@@ -0,0 +1,49 @@
+package com.example.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("UrlCodec Tests")
+class UrlCodecTest {
+
+  private static final String URL = "https://www.example.com/page?utm_source=news";
+
+  private final UrlCodec urlCodec = new UrlCodec();
+
+  @Test
+  @DisplayName("Should encode with the newest dictionary and decode with any installed one")
+  void shouldEncodeWithTheNewestDictionaryAndDecodeWithAnyInstalledOne() {
+    byte[] builtIn = urlCodec.encode(URL);
+
+    urlCodec.install(new UrlDictionary(2, List.of("https://www.example.com/")));
+    urlCodec.install(new UrlDictionary(1, List.of("https://www.example.org/")));
+    byte[] trained = urlCodec.encode(URL);
+
+    assertThat(urlCodec.current().version()).isEqualTo(2);
+    assertThat(UrlDictionary.versionOf(trained)).isEqualTo(2);
+    assertThat(urlCodec.decode(builtIn)).isEqualTo(URL);
+    assertThat(urlCodec.decode(trained)).isEqualTo(URL);
+  }
+
+  @Test
+  @DisplayName("Should keep the first dictionary installed under a version")
+  void shouldKeepTheFirstDictionaryInstalledUnderAVersion() {
+    UrlDictionary first = new UrlDictionary(1, List.of("https://www.example.com/"));
+    urlCodec.install(first);
+    urlCodec.install(new UrlDictionary(1, List.of("https://www.example.org/")));
+
+    assertThat(urlCodec.current()).isSameAs(first);
+  }
+
+  @Test
+  @DisplayName("Should fail to decode URLs encoded with a dictionary that is not installed")
+  void shouldFailToDecodeUrlsEncodedWithADictionaryThatIsNotInstalled() {
+    byte[] encoded = new UrlDictionary(3, List.of("https://www.example.com/")).encode(URL);
+
+    assertThatThrownBy(() -> urlCodec.decode(encoded)).isInstanceOf(IllegalStateException.class);
+  }
+}
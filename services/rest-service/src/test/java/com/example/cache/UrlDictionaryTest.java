@@ -0,0 +1,100 @@
+package com.example.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("UrlDictionary Tests")
+class UrlDictionaryTest {
+
+  private static List<String> corpus() {
+    List<String> urls = new ArrayList<>();
+    for (int i = 0; i < 200; i++) {
+      urls.add(
+          "https://shop.example.com/products/item-"
+              + i
+              + "?utm_source=newsletter&utm_medium=email&utm_campaign=spring");
+      urls.add("https://blog.example.org/2024/05/post-" + i);
+    }
+    return urls;
+  }
+
+  @Test
+  @DisplayName("Should return URLs intact after encoding them")
+  void shouldReturnUrlsIntactAfterEncodingThem() {
+    UrlDictionary dictionary = UrlDictionary.train(1, corpus());
+    List<String> urls = new ArrayList<>(corpus());
+    urls.add("");
+    urls.add("ftp://files.example.net/a");
+    urls.add("https://\u4f8b\u3048.jp/\u30d1\u30b9?q=\u00fc&utm_source=x");
+    urls.add("https://www.example.com/" + "a".repeat(5_000));
+
+    for (String url : urls) {
+      assertThat(dictionary.decode(dictionary.encode(url))).isEqualTo(url);
+      assertThat(UrlDictionary.BUILT_IN.decode(UrlDictionary.BUILT_IN.encode(url))).isEqualTo(url);
+    }
+  }
+
+  @Test
+  @DisplayName("Should replace schemes and UTM parameters with the built-in dictionary")
+  void shouldReplaceSchemesAndUtmParametersWithTheBuiltInDictionary() {
+    String url = "https://www.example.com/?utm_source=a&utm_medium=b&utm_campaign=c";
+
+    byte[] encoded = UrlDictionary.BUILT_IN.encode(url);
+
+    assertThat(UrlDictionary.versionOf(encoded)).isZero();
+    assertThat(encoded.length).isLessThan(url.length() / 2);
+  }
+
+  @Test
+  @DisplayName("Should learn the prefixes and parameters shared by the sample")
+  void shouldLearnThePrefixesAndParametersSharedByTheSample() {
+    UrlDictionary dictionary = UrlDictionary.train(1, corpus());
+
+    assertThat(dictionary.version()).isEqualTo(1);
+    assertThat(dictionary.entries())
+        .contains(
+            "https://shop.example.com/products/",
+            "https://blog.example.org/2024/05/",
+            "&utm_medium=email",
+            "&utm_campaign=spring")
+        .doesNotContain("https://blog.example.org/2024/05/post-1")
+        .hasSizeLessThanOrEqualTo(UrlDictionary.MAX_ENTRIES);
+    assertThat(dictionary.ratio(corpus())).isLessThan(UrlDictionary.BUILT_IN.ratio(corpus()));
+  }
+
+  @Test
+  @DisplayName("Should only learn entries that fit the dictionary")
+  void shouldOnlyLearnEntriesThatFitTheDictionary() {
+    String longPath = "https://example.com/" + "x".repeat(UrlDictionary.MAX_ENTRY_BYTES) + "/";
+    UrlDictionary dictionary = UrlDictionary.train(1, List.of(longPath + "a", longPath + "b"));
+
+    assertThat(dictionary.entries())
+        .allSatisfy(
+            entry ->
+                assertThat(entry.getBytes(StandardCharsets.UTF_8).length)
+                    .isBetween(UrlDictionary.MIN_ENTRY_BYTES, UrlDictionary.MAX_ENTRY_BYTES));
+  }
+
+  @Test
+  @DisplayName("Should refuse URLs encoded with another version")
+  void shouldRefuseUrlsEncodedWithAnotherVersion() {
+    UrlDictionary dictionary = UrlDictionary.train(1, corpus());
+    byte[] encoded = UrlDictionary.BUILT_IN.encode("https://www.example.com");
+
+    assertThatThrownBy(() -> dictionary.decode(encoded))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  @DisplayName("Should reject entries too short to save space")
+  void shouldRejectEntriesTooShortToSaveSpace() {
+    assertThatThrownBy(() -> new UrlDictionary(1, List.of("ab")))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
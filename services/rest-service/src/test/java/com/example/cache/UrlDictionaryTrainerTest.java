@@ -0,0 +1,117 @@
+package com.example.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.example.repository.UrlDictionaryJdbcRepository;
+import com.example.repository.UrlJdbcRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UrlDictionaryTrainer Tests")
+class UrlDictionaryTrainerTest {
+
+  @Mock private UrlDictionaryJdbcRepository dictionaryRepository;
+  @Mock private UrlJdbcRepository urlJdbcRepository;
+
+  private SimpleMeterRegistry meterRegistry;
+  private UrlCodec urlCodec;
+  private UrlDictionaryTrainer trainer;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    urlCodec = new UrlCodec();
+    trainer =
+        new UrlDictionaryTrainer(urlCodec, dictionaryRepository, urlJdbcRepository, meterRegistry);
+    ReflectionTestUtils.setField(trainer, "trainingSampleSize", 100);
+    ReflectionTestUtils.setField(trainer, "minImprovement", 0.05);
+  }
+
+  private static List<String> sharedPrefixSample() {
+    List<String> urls = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      urls.add("https://shop.example.com/products/item-" + i + "?utm_source=newsletter");
+    }
+    return urls;
+  }
+
+  @Test
+  @DisplayName("Should install stored dictionaries at startup")
+  void shouldInstallStoredDictionariesAtStartup() {
+    UrlDictionary stored = new UrlDictionary(1, List.of("https://www.example.com/"));
+    when(dictionaryRepository.findAll()).thenReturn(List.of(stored));
+
+    trainer.init();
+
+    assertThat(urlCodec.current()).isSameAs(stored);
+    assertThat(meterRegistry.get("url.codec.dictionary.version").gauge().value()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Should store and install a dictionary that shrinks the sample")
+  void shouldStoreAndInstallADictionaryThatShrinksTheSample() {
+    trainer.init();
+    when(urlJdbcRepository.findRecentLongUrls(100)).thenReturn(sharedPrefixSample());
+
+    trainer.train();
+
+    verify(dictionaryRepository).insert(argThat(dictionary -> dictionary.version() == 1), any());
+    assertThat(urlCodec.current().version()).isEqualTo(1);
+    assertThat(urlCodec.current().entries()).contains("https://shop.example.com/products/");
+    assertThat(meterRegistry.counter("url.codec.trainings").count()).isEqualTo(1);
+    assertThat(meterRegistry.get("url.codec.ratio").gauge().value())
+        .isEqualTo(urlCodec.current().ratio(sharedPrefixSample()));
+  }
+
+  @Test
+  @DisplayName("Should keep the current dictionary when nothing is shared")
+  void shouldKeepTheCurrentDictionaryWhenNothingIsShared() {
+    List<String> sample = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      sample.add("https://host-" + i + ".test/" + i);
+    }
+    when(urlJdbcRepository.findRecentLongUrls(100)).thenReturn(sample);
+
+    trainer.train();
+
+    verify(dictionaryRepository, never()).insert(any(), any());
+    assertThat(urlCodec.current()).isSameAs(UrlDictionary.BUILT_IN);
+  }
+
+  @Test
+  @DisplayName("Should adopt the dictionary another instance stored first")
+  void shouldAdoptTheDictionaryAnotherInstanceStoredFirst() {
+    UrlDictionary theirs = new UrlDictionary(1, List.of("https://shop.example.com/"));
+    when(dictionaryRepository.findAll()).thenReturn(List.of(), List.of(theirs));
+    when(urlJdbcRepository.findRecentLongUrls(100)).thenReturn(sharedPrefixSample());
+    doThrow(new DuplicateKeyException("version 1"))
+        .when(dictionaryRepository)
+        .insert(any(), any());
+
+    trainer.train();
+
+    assertThat(urlCodec.current()).isSameAs(theirs);
+  }
+
+  @Test
+  @DisplayName("Should not train without any URLs")
+  void shouldNotTrainWithoutAnyUrls() {
+    when(urlJdbcRepository.findRecentLongUrls(100)).thenReturn(List.of());
+
+    trainer.train();
+
+    verify(dictionaryRepository, never()).insert(any(), any());
+  }
+}
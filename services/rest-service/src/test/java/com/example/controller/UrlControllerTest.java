@@ -5,11 +5,19 @@ import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import com.example.cache.RedirectEntry;
+import com.example.dto.BatchShortenResponse;
+import com.example.dto.BatchShortenResult;
+import com.example.dto.UrlCursorPage;
 import com.example.dto.UrlDto;
-import com.example.model.Url;
+import com.example.service.UrlExportService;
+import com.example.service.UrlFileFormat;
+import com.example.service.UrlImportService;
 import com.example.service.UrlService;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.List;
 import java.util.NoSuchElementException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -19,9 +27,12 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 @WebMvcTest(UrlController.class)
 @AutoConfigureMockMvc(addFilters = false)
@@ -32,6 +43,10 @@ class UrlControllerTest {
 
   @MockBean private UrlService urlService;
 
+  @MockBean private UrlImportService urlImportService;
+
+  @MockBean private UrlExportService urlExportService;
+
   @MockBean private com.example.util.JwtUtil jwtUtil;
 
   @Test
@@ -45,6 +60,165 @@ class UrlControllerTest {
         .andExpect(jsonPath("$.timestamp").exists());
   }
 
+  @Test
+  @WithMockUser(roles = "USER")
+  @DisplayName("Should create short URLs in batch and report each item")
+  void shouldCreateShortUrlsInBatchAndReportEachItem() throws Exception {
+    UrlDto urlDto = new UrlDto();
+    urlDto.setId(1L);
+    urlDto.setLongUrl("https://www.example.com");
+    urlDto.setShortCode("abc1234");
+
+    BatchShortenResult created = new BatchShortenResult();
+    created.setIndex(0);
+    created.setLongUrl("https://www.example.com");
+    created.setSuccess(true);
+    created.setUrl(urlDto);
+    BatchShortenResult rejected = new BatchShortenResult();
+    rejected.setIndex(1);
+    rejected.setLongUrl("not-a-url");
+    rejected.setError("Invalid URL provided");
+
+    BatchShortenResponse response = new BatchShortenResponse();
+    response.setTotal(2);
+    response.setSucceeded(1);
+    response.setFailed(1);
+    response.setResults(List.of(created, rejected));
+
+    when(urlService.addUrls(List.of("https://www.example.com", "not-a-url"))).thenReturn(response);
+
+    String requestBody = "{\"urls\":[\"https://www.example.com\",\"not-a-url\"]}";
+
+    mockMvc
+        .perform(
+            post("/api/urls/batch").contentType(MediaType.APPLICATION_JSON).content(requestBody))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.total").value(2))
+        .andExpect(jsonPath("$.succeeded").value(1))
+        .andExpect(jsonPath("$.results[0].url.shortCode").value("abc1234"))
+        .andExpect(jsonPath("$.results[1].success").value(false))
+        .andExpect(jsonPath("$.results[1].error").value("Invalid URL provided"));
+  }
+
+  @Test
+  @WithMockUser(roles = "USER")
+  @DisplayName("Should return 400 when batch exceeds the maximum size")
+  void shouldReturn400WhenBatchExceedsTheMaximumSize() throws Exception {
+    when(urlService.addUrls(anyList()))
+        .thenThrow(new IllegalArgumentException("A batch may contain at most 1 URLs"));
+
+    mockMvc
+        .perform(
+            post("/api/urls/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"urls\":[\"https://a.com\",\"https://b.com\"]}"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  @WithMockUser(roles = "USER")
+  @DisplayName("Should stream CSV imports as NDJSON results")
+  void shouldStreamCsvImportsAsNdjsonResults() throws Exception {
+    when(urlImportService.importUrls(any(), eq(UrlFileFormat.CSV), any()))
+        .thenAnswer(
+            invocation -> {
+              OutputStream out = invocation.getArgument(2);
+              out.write("{\"total\":0,\"succeeded\":0,\"failed\":0}\n".getBytes());
+              return null;
+            });
+
+    mockMvc
+        .perform(
+            post("/api/urls/import")
+                .contentType("text/csv; charset=UTF-8")
+                .content("url\nhttps://www.example.com\n"))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType(UrlFileFormat.NDJSON_VALUE))
+        .andExpect(content().string("{\"total\":0,\"succeeded\":0,\"failed\":0}\n"));
+  }
+
+  @Test
+  @WithMockUser(roles = "USER")
+  @DisplayName("Should import NDJSON uploads")
+  void shouldImportNdjsonUploads() throws Exception {
+    mockMvc
+        .perform(
+            post("/api/urls/import")
+                .contentType(UrlFileFormat.NDJSON_VALUE)
+                .content("\"https://www.example.com\"\n"))
+        .andExpect(status().isOk());
+
+    verify(urlImportService).importUrls(any(), eq(UrlFileFormat.NDJSON), any());
+  }
+
+  @Test
+  @WithMockUser(roles = "USER")
+  @DisplayName("Should return 415 for unsupported import content types")
+  void shouldReturn415ForUnsupportedImportContentTypes() throws Exception {
+    mockMvc
+        .perform(post("/api/urls/import").contentType(MediaType.TEXT_PLAIN).content("x"))
+        .andExpect(status().isUnsupportedMediaType());
+
+    verifyNoInteractions(urlImportService);
+  }
+
+  @Test
+  @WithMockUser(roles = "USER")
+  @DisplayName("Should stream the URL export as a CSV attachment")
+  void shouldStreamTheUrlExportAsACsvAttachment() throws Exception {
+    when(urlExportService.export(UrlFileFormat.CSV))
+        .thenReturn(out -> out.write("id,short_code\n1,abc1234\n".getBytes()));
+
+    MvcResult result =
+        mockMvc
+            .perform(get("/api/urls/export").param("format", "csv"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+    mockMvc
+        .perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType("text/csv"))
+        .andExpect(header().string("Content-Disposition", "attachment; filename=urls.csv"))
+        .andExpect(content().string("id,short_code\n1,abc1234\n"));
+  }
+
+  @Test
+  @WithMockUser(roles = "USER")
+  @DisplayName("Should return 400 for an unknown export format")
+  void shouldReturn400ForAnUnknownExportFormat() throws Exception {
+    mockMvc
+        .perform(get("/api/urls/export").param("format", "xml"))
+        .andExpect(status().isBadRequest());
+
+    verifyNoInteractions(urlExportService);
+  }
+
+  @Test
+  @WithMockUser(roles = "USER")
+  @DisplayName("Should use keyset pagination when a limit is given")
+  void shouldUseKeysetPaginationWhenALimitIsGiven() throws Exception {
+    UrlCursorPage page = new UrlCursorPage();
+    page.setUrls(List.of());
+    page.setSize(20);
+    page.setHasNext(true);
+    page.setNextCursor("next-token");
+    when(urlService.getUrlPage("abc", 20, "clicks", null, true)).thenReturn(page);
+
+    mockMvc
+        .perform(
+            get("/api/urls")
+                .param("limit", "20")
+                .param("cursor", "abc")
+                .param("sortBy", "clicks")
+                .param("includeTotal", "true"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.nextCursor").value("next-token"))
+        .andExpect(jsonPath("$.hasNext").value(true));
+
+    verify(urlService, never()).getUrls(anyInt(), anyInt(), any(), any());
+  }
+
   @Test
   @WithMockUser(roles = "USER")
   @DisplayName("Should create short URL successfully")
@@ -81,19 +255,20 @@ class UrlControllerTest {
   @WithMockUser(roles = "ADMIN")
   @DisplayName("Should get paginated URLs successfully")
   void shouldGetPaginatedUrlsSuccessfully() throws Exception {
-    Url url1 = new Url();
+    UrlDto url1 = new UrlDto();
     url1.setId(1L);
     url1.setShortCode("abc123");
     url1.setLongUrl("https://example1.com");
     url1.setClicks(5);
+    url1.setCreatedBy(7L);
 
-    Url url2 = new Url();
+    UrlDto url2 = new UrlDto();
     url2.setId(2L);
     url2.setShortCode("xyz789");
     url2.setLongUrl("https://example2.com");
     url2.setClicks(10);
 
-    Page<Url> urlPage = new PageImpl<>(Arrays.asList(url1, url2));
+    Page<UrlDto> urlPage = new PageImpl<>(Arrays.asList(url1, url2));
 
     when(urlService.getUrls(0, 10, null, null)).thenReturn(urlPage);
 
@@ -102,16 +277,36 @@ class UrlControllerTest {
         .andExpect(status().isOk())
         .andExpect(jsonPath("$.content").isArray())
         .andExpect(jsonPath("$.content[0].shortCode").value("abc123"))
+        .andExpect(jsonPath("$.content[0].createdBy").value(7))
         .andExpect(jsonPath("$.content[1].shortCode").value("xyz789"));
 
     verify(urlService).getUrls(0, 10, null, null);
   }
 
+  @Test
+  @WithMockUser(roles = "ADMIN")
+  @DisplayName("Should return a slice without totals when includeTotal is false")
+  void shouldReturnASliceWithoutTotalsWhenIncludeTotalIsFalse() throws Exception {
+    UrlDto url = new UrlDto();
+    url.setShortCode("abc123");
+    when(urlService.getUrlSlice(0, 1, null, null))
+        .thenReturn(new SliceImpl<>(List.of(url), PageRequest.of(0, 1), true));
+
+    mockMvc
+        .perform(get("/api/urls").param("pageSize", "1").param("includeTotal", "false"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content[0].shortCode").value("abc123"))
+        .andExpect(jsonPath("$.last").value(false))
+        .andExpect(jsonPath("$.totalElements").doesNotExist());
+
+    verify(urlService, never()).getUrls(anyInt(), anyInt(), any(), any());
+  }
+
   @Test
   @WithMockUser(roles = "ADMIN")
   @DisplayName("Should get URLs with default pagination parameters")
   void shouldGetUrlsWithDefaultPaginationParameters() throws Exception {
-    Page<Url> emptyPage = new PageImpl<>(Arrays.asList());
+    Page<UrlDto> emptyPage = new PageImpl<>(Arrays.asList());
 
     when(urlService.getUrls(0, 10, null, null)).thenReturn(emptyPage);
 
@@ -242,12 +437,9 @@ class UrlControllerTest {
     String shortCode = "abc123";
     String longUrl = "https://www.example.com";
 
-    Url url = new Url();
-    url.setId(1L);
-    url.setShortCode(shortCode);
-    url.setLongUrl(longUrl);
+    RedirectEntry entry = new RedirectEntry(longUrl, null, 1L);
 
-    when(urlService.redirect(shortCode)).thenReturn(url);
+    when(urlService.redirect(shortCode)).thenReturn(entry);
 
     mockMvc
         .perform(get("/{shortCode}", shortCode))
@@ -273,7 +465,7 @@ class UrlControllerTest {
   @WithMockUser(roles = "ADMIN")
   @DisplayName("Should handle large page size")
   void shouldHandleLargePageSize() throws Exception {
-    Page<Url> emptyPage = new PageImpl<>(Arrays.asList());
+    Page<UrlDto> emptyPage = new PageImpl<>(Arrays.asList());
 
     when(urlService.getUrls(0, 1000, null, null)).thenReturn(emptyPage);
 
@@ -288,7 +480,7 @@ class UrlControllerTest {
   @WithMockUser(roles = "ADMIN")
   @DisplayName("Should handle empty URL list")
   void shouldHandleEmptyUrlList() throws Exception {
-    Page<Url> emptyPage = new PageImpl<>(Arrays.asList());
+    Page<UrlDto> emptyPage = new PageImpl<>(Arrays.asList());
 
     when(urlService.getUrls(0, 10, null, null)).thenReturn(emptyPage);
 
@@ -333,11 +525,9 @@ class UrlControllerTest {
     String shortCode1 = "abc123";
     String longUrl1 = "https://example1.com";
 
-    Url url1 = new Url();
-    url1.setShortCode(shortCode1);
-    url1.setLongUrl(longUrl1);
+    RedirectEntry entry1 = new RedirectEntry(longUrl1, null, 1L);
 
-    when(urlService.redirect(shortCode1)).thenReturn(url1);
+    when(urlService.redirect(shortCode1)).thenReturn(entry1);
 
     mockMvc
         .perform(get("/{shortCode}", shortCode1))
@@ -351,7 +541,7 @@ class UrlControllerTest {
   @WithMockUser(roles = "ADMIN")
   @DisplayName("Should handle pagination with specific page number")
   void shouldHandlePaginationWithSpecificPageNumber() throws Exception {
-    Page<Url> urlPage = new PageImpl<>(Arrays.asList());
+    Page<UrlDto> urlPage = new PageImpl<>(Arrays.asList());
 
     when(urlService.getUrls(5, 20, null, null)).thenReturn(urlPage);
 
@@ -416,7 +606,7 @@ class UrlControllerTest {
   @WithMockUser(roles = "USER")
   @DisplayName("Should allow USER role to get URLs")
   void shouldAllowUserRoleToGetUrls() throws Exception {
-    Page<Url> emptyPage = new PageImpl<>(Arrays.asList());
+    Page<UrlDto> emptyPage = new PageImpl<>(Arrays.asList());
 
     when(urlService.getUrls(0, 10, null, null)).thenReturn(emptyPage);
 
@@ -510,12 +700,9 @@ class UrlControllerTest {
     String shortCode = "abc123";
     String longUrl = "https://www.example.com";
 
-    Url url = new Url();
-    url.setId(1L);
-    url.setShortCode(shortCode);
-    url.setLongUrl(longUrl);
+    RedirectEntry entry = new RedirectEntry(longUrl, null, 1L);
 
-    when(urlService.redirect(shortCode)).thenReturn(url);
+    when(urlService.redirect(shortCode)).thenReturn(entry);
 
     mockMvc
         .perform(get("/{shortCode}", shortCode))
@@ -529,7 +716,7 @@ class UrlControllerTest {
   @WithMockUser(roles = "USER")
   @DisplayName("Should handle sorting and filtering with USER role")
   void shouldHandleSortingAndFilteringWithUserRole() throws Exception {
-    Page<Url> urlPage = new PageImpl<>(Arrays.asList());
+    Page<UrlDto> urlPage = new PageImpl<>(Arrays.asList());
 
     when(urlService.getUrls(0, 10, "clicks", "desc")).thenReturn(urlPage);
 
@@ -549,7 +736,7 @@ class UrlControllerTest {
   @WithMockUser(roles = "ADMIN")
   @DisplayName("Should handle sorting and filtering with ADMIN role")
   void shouldHandleSortingAndFilteringWithAdminRole() throws Exception {
-    Page<Url> urlPage = new PageImpl<>(Arrays.asList());
+    Page<UrlDto> urlPage = new PageImpl<>(Arrays.asList());
 
     when(urlService.getUrls(0, 10, "createdAt", "asc")).thenReturn(urlPage);
 
@@ -4,6 +4,8 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.example.controller.UrlController;
+import com.example.service.UrlExportService;
+import com.example.service.UrlImportService;
 import com.example.service.UrlService;
 import java.util.NoSuchElementException;
 import org.junit.jupiter.api.DisplayName;
@@ -24,6 +26,10 @@ class GlobalExceptionHandlerTest {
 
   @MockBean private UrlService urlService;
 
+  @MockBean private UrlImportService urlImportService;
+
+  @MockBean private UrlExportService urlExportService;
+
   @MockBean private com.example.util.JwtUtil jwtUtil;
 
   @Test
@@ -42,6 +48,15 @@ class GlobalExceptionHandlerTest {
         .andExpect(jsonPath("$.message").value("Invalid URL provided"));
   }
 
+  @Test
+  @DisplayName("Should handle unsupported content types and return 415 UNSUPPORTED MEDIA TYPE")
+  void shouldHandleUnsupportedContentTypesAndReturn415() throws Exception {
+    mockMvc
+        .perform(post("/api/urls").contentType("text/plain").content("https://example.com"))
+        .andExpect(status().isUnsupportedMediaType())
+        .andExpect(jsonPath("$.status").value(415));
+  }
+
   @Test
   @DisplayName("Should handle NoSuchElementException and return 404 NOT FOUND")
   void shouldHandleNoSuchElementExceptionAndReturn404() throws Exception {
@@ -88,7 +103,8 @@ class GlobalExceptionHandlerTest {
   @Test
   @DisplayName("Should handle generic Exception and return 500 INTERNAL SERVER ERROR")
   void shouldHandleGenericExceptionAndReturn500() throws Exception {
-    Mockito.when(urlService.getUrls(Mockito.anyInt(), Mockito.anyInt(), Mockito.any(), Mockito.any()))
+    Mockito.when(
+            urlService.getUrls(Mockito.anyInt(), Mockito.anyInt(), Mockito.any(), Mockito.any()))
         .thenThrow(new RuntimeException("Unexpected error"));
 
     mockMvc
@@ -101,16 +117,15 @@ class GlobalExceptionHandlerTest {
   @Test
   @DisplayName("Should handle IllegalArgumentException and return 400 BAD REQUEST")
   void shouldHandleIllegalArgumentExceptionAndReturn500() throws Exception {
-    Mockito.when(urlService.getUrls(Mockito.eq(-1), Mockito.eq(10), Mockito.isNull(), Mockito.isNull()))
+    Mockito.when(
+            urlService.getUrls(Mockito.eq(-1), Mockito.eq(10), Mockito.isNull(), Mockito.isNull()))
         .thenThrow(new IllegalArgumentException("Page number cannot be negative"));
 
     mockMvc
         .perform(get("/api/urls").param("pageNo", "-1").param("pageSize", "10"))
         .andExpect(status().isBadRequest())
         .andExpect(jsonPath("$.status").value(400))
-        .andExpect(
-            jsonPath("$.message")
-                .value("Page number cannot be negative"));
+        .andExpect(jsonPath("$.message").value("Page number cannot be negative"));
   }
 
   @Test
@@ -173,7 +188,8 @@ class GlobalExceptionHandlerTest {
   void shouldPreserveExceptionMessageInErrorResponse() throws Exception {
     String customMessage = "This is a custom error message";
 
-    Mockito.when(urlService.getUrls(Mockito.anyInt(), Mockito.anyInt(), Mockito.any(), Mockito.any()))
+    Mockito.when(
+            urlService.getUrls(Mockito.anyInt(), Mockito.anyInt(), Mockito.any(), Mockito.any()))
         .thenThrow(new RuntimeException(customMessage));
 
     mockMvc
@@ -0,0 +1,113 @@
+package com.example.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.cache.RedirectEntry;
+import com.example.datasource.ReplicaRoutingDataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+@DisplayName("RedirectJdbcRepository Tests")
+class RedirectJdbcRepositoryTest {
+
+  private final List<EmbeddedDatabase> databases = new ArrayList<>();
+  private final LocalDateTime expiresAt = LocalDateTime.now().plusDays(30).withNano(0);
+
+  private EmbeddedDatabase primary;
+  private EmbeddedDatabase replica;
+  private RedirectJdbcRepository repository;
+
+  @BeforeEach
+  void setUp() {
+    primary = database();
+    replica = database();
+    ReplicaRoutingDataSource routing =
+        new ReplicaRoutingDataSource(
+            primary,
+            List.of(replica),
+            "SELECT seconds FROM replica_lag",
+            "seconds",
+            Duration.ofSeconds(5),
+            Duration.ofSeconds(1));
+    routing.checkHealth();
+    repository = new RedirectJdbcRepository(new JdbcTemplate(primary), routing);
+  }
+
+  @AfterEach
+  void tearDown() {
+    databases.forEach(EmbeddedDatabase::shutdown);
+  }
+
+  private EmbeddedDatabase database() {
+    EmbeddedDatabase database =
+        new EmbeddedDatabaseBuilder()
+            .setType(EmbeddedDatabaseType.H2)
+            .generateUniqueName(true)
+            .build();
+    JdbcTemplate jdbc = new JdbcTemplate(database);
+    jdbc.execute(
+        "CREATE TABLE url (short_code VARCHAR(255), long_url TEXT, expires_at TIMESTAMP,"
+            + " created_by BIGINT)");
+    jdbc.execute("CREATE TABLE replica_lag (seconds BIGINT)");
+    jdbc.update("INSERT INTO replica_lag VALUES (0)");
+    databases.add(database);
+    return database;
+  }
+
+  private void insert(
+      EmbeddedDatabase database, String shortCode, LocalDateTime expiresAt, Long createdBy) {
+    new JdbcTemplate(database)
+        .update(
+            "INSERT INTO url VALUES (?, ?, ?, ?)",
+            shortCode,
+            "https://www.example.com/" + shortCode,
+            expiresAt != null ? Timestamp.valueOf(expiresAt) : null,
+            createdBy);
+  }
+
+  @Test
+  @DisplayName("Should read the redirect columns from a replica")
+  void shouldReadTheRedirectColumnsFromAReplica() {
+    insert(replica, "abc1234", expiresAt, 7L);
+
+    assertThat(repository.findByShortCode("abc1234"))
+        .isEqualTo(new RedirectEntry("https://www.example.com/abc1234", expiresAt, 7L));
+    assertThat(repository.findByShortCodeOnPrimary("abc1234")).isNull();
+  }
+
+  @Test
+  @DisplayName("Should read from the primary when asked to")
+  void shouldReadFromThePrimaryWhenAskedTo() {
+    insert(primary, "abc1234", expiresAt, 7L);
+
+    assertThat(repository.findByShortCode("abc1234")).isNull();
+    assertThat(repository.findByShortCodeOnPrimary("abc1234"))
+        .isEqualTo(new RedirectEntry("https://www.example.com/abc1234", expiresAt, 7L));
+  }
+
+  @Test
+  @DisplayName("Should map missing expiry and creator to null")
+  void shouldMapMissingExpiryAndCreatorToNull() {
+    insert(replica, "noexp01", null, null);
+
+    assertThat(repository.findByShortCode("noexp01"))
+        .isEqualTo(new RedirectEntry("https://www.example.com/noexp01", null, null));
+  }
+
+  @Test
+  @DisplayName("Should return null for an unknown short code")
+  void shouldReturnNullForAnUnknownShortCode() {
+    assertThat(repository.findByShortCode("missing")).isNull();
+  }
+}
@@ -0,0 +1,129 @@
+package com.example.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Runs the Flyway migrations against H2 in MySQL mode and lets Hibernate validate the entities
+ * against the result, so a migration that drifts from the mapping fails the build.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(
+    locations = "classpath:application.properties",
+    properties = {
+      "spring.datasource.url=jdbc:h2:mem:migrationdb;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+      "spring.flyway.enabled=true",
+      "spring.flyway.baseline-on-migrate=true",
+      "spring.flyway.baseline-version=0",
+      "spring.jpa.hibernate.ddl-auto=validate"
+    })
+@DisplayName("Schema Migration Tests")
+class SchemaMigrationTest {
+
+  /** The url table as Hibernate's ddl-auto=update created it before the migrations existed. */
+  private static final String PRE_MIGRATION_URL_TABLE =
+      "CREATE TABLE url (clicks INT NOT NULL, is_deleted BIT NOT NULL,"
+          + " created_at DATETIME(6) NOT NULL, created_by BIGINT, expires_at DATETIME(6),"
+          + " id BIGINT NOT NULL AUTO_INCREMENT, updated_at DATETIME(6) NOT NULL,"
+          + " long_url TEXT NOT NULL, short_code VARCHAR(255) NOT NULL, PRIMARY KEY (id),"
+          + " CONSTRAINT UK_4r0ws6e9f0hx2ksh7n1v6mlon UNIQUE (short_code))";
+
+  private final Flyway flyway;
+  private final JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  public SchemaMigrationTest(Flyway flyway, JdbcTemplate jdbcTemplate) {
+    this.flyway = flyway;
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  @Test
+  @DisplayName("Should apply every migration")
+  void shouldApplyEveryMigration() {
+    assertThat(flyway.info().pending()).isEmpty();
+    assertThat(flyway.info().applied())
+        .extracting(MigrationInfo::getVersion)
+        .extracting(Object::toString)
+        .containsExactly("1", "1.1", "2", "3", "4", "5", "6");
+  }
+
+  @Test
+  @DisplayName("Should create an index for every listing sort")
+  void shouldCreateAnIndexForEveryListingSort() {
+    List<String> indexes =
+        jdbcTemplate.queryForList(
+            "SELECT index_name FROM information_schema.indexes WHERE table_name = 'url'",
+            String.class);
+
+    assertThat(indexes)
+        .contains(
+            "idx_url_created_at",
+            "idx_url_clicks",
+            "idx_url_expires_at",
+            "idx_url_created_by_id",
+            "idx_url_created_by_short_code",
+            "idx_url_created_by_created_at",
+            "idx_url_created_by_clicks",
+            "idx_url_created_by_expires_at");
+  }
+
+  @Test
+  @DisplayName("Should upgrade a database created before the migrations to the same url schema")
+  void shouldUpgradeADatabaseCreatedBeforeTheMigrationsToTheSameUrlSchema() {
+    EmbeddedDatabase database =
+        new EmbeddedDatabaseBuilder()
+            .setType(EmbeddedDatabaseType.H2)
+            .setName("baselinedb;MODE=MySQL;DATABASE_TO_LOWER=TRUE")
+            .build();
+    try {
+      JdbcTemplate baseline = new JdbcTemplate(database);
+      baseline.execute(PRE_MIGRATION_URL_TABLE);
+      baseline.update(
+          "INSERT INTO url (clicks, is_deleted, created_at, updated_at, long_url, short_code)"
+              + " VALUES (3, FALSE, NOW(), NOW(), 'https://www.example.com', 'abc1234')");
+
+      Flyway upgrade =
+          Flyway.configure().configuration(flyway.getConfiguration()).dataSource(database).load();
+      upgrade.migrate();
+
+      assertThat(upgrade.info().pending()).isEmpty();
+      assertThat(upgrade.info().applied())
+          .extracting(MigrationInfo::getVersion)
+          .extracting(Object::toString)
+          .containsExactly("0", "1", "1.1", "2", "3", "4", "5", "6");
+      assertThat(columns(baseline)).containsExactlyInAnyOrderElementsOf(columns(jdbcTemplate));
+      assertThat(indexes(baseline)).containsExactlyInAnyOrderElementsOf(indexes(jdbcTemplate));
+      assertThat(baseline.queryForObject("SELECT last_id FROM id_sequence", Long.class))
+          .isEqualTo(1L);
+    } finally {
+      database.shutdown();
+    }
+  }
+
+  private static List<String> columns(JdbcTemplate jdbc) {
+    return jdbc.queryForList(
+        "SELECT column_name FROM information_schema.columns WHERE table_name = 'url'",
+        String.class);
+  }
+
+  private static List<String> indexes(JdbcTemplate jdbc) {
+    return jdbc.queryForList(
+        "SELECT DISTINCT index_name FROM information_schema.indexes"
+            + " WHERE table_name = 'url' AND index_name LIKE 'idx_%'",
+        String.class);
+  }
+}
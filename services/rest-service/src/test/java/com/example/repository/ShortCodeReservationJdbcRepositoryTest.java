@@ -0,0 +1,119 @@
+package com.example.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.model.ShortCodeReservation;
+import com.example.model.Url;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+@DataJpaTest
+@Import(ShortCodeReservationJdbcRepository.class)
+@TestPropertySource(locations = "classpath:application.properties")
+@DisplayName("ShortCodeReservationJdbcRepository Tests")
+class ShortCodeReservationJdbcRepositoryTest {
+
+  private final TestEntityManager entityManager;
+  private final ShortCodeReservationJdbcRepository reservationRepository;
+
+  @Autowired
+  public ShortCodeReservationJdbcRepositoryTest(
+      TestEntityManager entityManager, ShortCodeReservationJdbcRepository reservationRepository) {
+    this.entityManager = entityManager;
+    this.reservationRepository = reservationRepository;
+  }
+
+  private void persistUrl(String shortCode) {
+    LocalDateTime now = LocalDateTime.now();
+    Url url = new Url();
+    url.setShortCode(shortCode);
+    url.setLongUrl("https://www.example.com/" + shortCode);
+    url.setDeleted(false);
+    url.setCreatedBy(1L);
+    url.setCreatedAt(now);
+    url.setUpdatedAt(now);
+    url.setExpiresAt(now.plusDays(30));
+    entityManager.persistAndFlush(url);
+  }
+
+  @Test
+  @DisplayName("Should reserve and release codes")
+  void shouldReserveAndReleaseCodes() {
+    reservationRepository.reserve("node-1", List.of("aaa0001", "aaa0002"), LocalDateTime.now());
+
+    reservationRepository.release(List.of("aaa0001"));
+
+    assertThat(entityManager.find(ShortCodeReservation.class, "aaa0001")).isNull();
+    assertThat(entityManager.find(ShortCodeReservation.class, "aaa0002").getNode())
+        .isEqualTo("node-1");
+  }
+
+  @Test
+  @DisplayName("Should find only this node's codes that no URL uses")
+  void shouldFindOnlyThisNodesCodesThatNoUrlUses() {
+    LocalDateTime now = LocalDateTime.now();
+    reservationRepository.reserve("node-1", List.of("aaa0001", "aaa0002"), now.minusMinutes(1));
+    reservationRepository.reserve("node-1", List.of("aaa0003"), now);
+    reservationRepository.reserve("node-2", List.of("bbb0001"), now);
+    persistUrl("aaa0002");
+
+    assertThat(reservationRepository.findUnused("node-1")).containsExactly("aaa0001", "aaa0003");
+  }
+
+  @Test
+  @DisplayName("Should release this node's reservations whose code is already used")
+  void shouldReleaseThisNodesReservationsWhoseCodeIsAlreadyUsed() {
+    reservationRepository.reserve("node-1", List.of("aaa0001", "aaa0002"), LocalDateTime.now());
+    reservationRepository.reserve("node-2", List.of("bbb0001"), LocalDateTime.now());
+    persistUrl("aaa0001");
+    persistUrl("bbb0001");
+
+    int released = reservationRepository.releaseUsed("node-1");
+
+    assertThat(released).isEqualTo(1);
+    assertThat(entityManager.find(ShortCodeReservation.class, "aaa0001")).isNull();
+    assertThat(entityManager.find(ShortCodeReservation.class, "bbb0001")).isNotNull();
+  }
+
+  @Test
+  @DisplayName("Should adopt expired reservations of any node once")
+  void shouldAdoptExpiredReservationsOfAnyNodeOnce() {
+    LocalDateTime now = LocalDateTime.now();
+    reservationRepository.reserve("old-pod", List.of("aaa0001", "aaa0002"), now.minusHours(1));
+    reservationRepository.reserve("old-pod", List.of("aaa0003"), now.minusHours(2));
+    reservationRepository.reserve("live-pod", List.of("bbb0001"), now);
+    persistUrl("aaa0002");
+
+    List<String> adopted = reservationRepository.adoptExpired("new-pod", now.minusMinutes(10), now);
+    List<String> adoptedAgain =
+        reservationRepository.adoptExpired("other-pod", now.minusMinutes(10), now);
+
+    assertThat(adopted).containsExactly("aaa0003", "aaa0001");
+    assertThat(adoptedAgain).isEmpty();
+    assertThat(entityManager.find(ShortCodeReservation.class, "aaa0001").getNode())
+        .isEqualTo("new-pod");
+    assertThat(entityManager.find(ShortCodeReservation.class, "aaa0002")).isNull();
+    assertThat(entityManager.find(ShortCodeReservation.class, "bbb0001").getNode())
+        .isEqualTo("live-pod");
+  }
+
+  @Test
+  @DisplayName("Should renew only this node's reservations")
+  void shouldRenewOnlyThisNodesReservations() {
+    LocalDateTime now = LocalDateTime.now();
+    reservationRepository.reserve("node-1", List.of("aaa0001"), now.minusHours(1));
+    reservationRepository.reserve("node-2", List.of("bbb0001"), now.minusHours(1));
+
+    reservationRepository.renew("node-1", now);
+
+    assertThat(reservationRepository.adoptExpired("node-3", now.minusMinutes(10), now))
+        .containsExactly("bbb0001");
+  }
+}
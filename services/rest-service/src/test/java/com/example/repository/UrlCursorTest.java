@@ -0,0 +1,48 @@
+package com.example.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("UrlCursor Tests")
+class UrlCursorTest {
+
+  @Test
+  @DisplayName("Should round-trip through an opaque URL-safe token")
+  void shouldRoundTripThroughAnOpaqueUrlSafeToken() {
+    UrlCursor cursor = new UrlCursor("shortCode", false, true, "ab|c=d", 42);
+
+    String token = cursor.encode();
+
+    assertThat(token).matches("[A-Za-z0-9_-]+");
+    assertThat(UrlCursor.decode(token)).isEqualTo(cursor);
+  }
+
+  @Test
+  @DisplayName("Should keep a missing sort value distinct from an empty one")
+  void shouldKeepAMissingSortValueDistinctFromAnEmptyOne() {
+    assertThat(UrlCursor.decode(new UrlCursor("expiresAt", true, false, null, 1).encode()))
+        .extracting(UrlCursor::sortValue)
+        .isNull();
+    assertThat(UrlCursor.decode(new UrlCursor("shortCode", true, false, "", 1).encode()))
+        .extracting(UrlCursor::sortValue)
+        .isEqualTo("");
+  }
+
+  @Test
+  @DisplayName("Should reject tokens it did not produce")
+  void shouldRejectTokensItDidNotProduce() {
+    String forged =
+        Base64.getUrlEncoder()
+            .encodeToString("1|id|asc|f|notanumber|".getBytes(StandardCharsets.UTF_8));
+
+    assertThatThrownBy(() -> UrlCursor.decode("%%%")).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> UrlCursor.decode(forged))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Invalid cursor");
+  }
+}
@@ -0,0 +1,54 @@
+package com.example.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.cache.UrlDictionary;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.test.context.TestPropertySource;
+
+@DataJpaTest
+@Import(UrlDictionaryJdbcRepository.class)
+@TestPropertySource(locations = "classpath:application.properties")
+@DisplayName("UrlDictionaryJdbcRepository Tests")
+class UrlDictionaryJdbcRepositoryTest {
+
+  private final UrlDictionaryJdbcRepository dictionaryRepository;
+
+  @Autowired
+  public UrlDictionaryJdbcRepositoryTest(UrlDictionaryJdbcRepository dictionaryRepository) {
+    this.dictionaryRepository = dictionaryRepository;
+  }
+
+  @Test
+  @DisplayName("Should return stored dictionaries in version order with their entries intact")
+  void shouldReturnStoredDictionariesInVersionOrderWithTheirEntriesIntact() {
+    List<String> entries = List.of("https://www.example.com/", "&utm_medium=email", "/p\u00e4th/");
+    dictionaryRepository.insert(new UrlDictionary(2, entries), LocalDateTime.now());
+    dictionaryRepository.insert(new UrlDictionary(1, List.of("abc")), LocalDateTime.now());
+
+    List<UrlDictionary> stored = dictionaryRepository.findAll();
+
+    assertThat(stored).extracting(UrlDictionary::version).containsExactly(1, 2);
+    assertThat(stored.get(1).entries()).isEqualTo(entries);
+  }
+
+  @Test
+  @DisplayName("Should refuse a version that is already stored")
+  void shouldRefuseAVersionThatIsAlreadyStored() {
+    dictionaryRepository.insert(new UrlDictionary(1, List.of("abc")), LocalDateTime.now());
+
+    assertThatThrownBy(
+            () ->
+                dictionaryRepository.insert(
+                    new UrlDictionary(1, List.of("def")), LocalDateTime.now()))
+        .isInstanceOf(DuplicateKeyException.class);
+  }
+}
@@ -0,0 +1,342 @@
+package com.example.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.model.Url;
+import com.example.model.UrlArchive;
+import com.example.model.UrlClickShard;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.TestPropertySource;
+
+@DataJpaTest
+@Import({UrlJdbcRepository.class, IdSequenceJdbcRepository.class})
+@TestPropertySource(locations = "classpath:application.properties")
+@DisplayName("UrlJdbcRepository Tests")
+class UrlJdbcRepositoryTest {
+
+  private final TestEntityManager entityManager;
+  private final UrlJdbcRepository urlJdbcRepository;
+
+  @Autowired
+  public UrlJdbcRepositoryTest(
+      TestEntityManager entityManager, UrlJdbcRepository urlJdbcRepository) {
+    this.entityManager = entityManager;
+    this.urlJdbcRepository = urlJdbcRepository;
+  }
+
+  private Url persistUrl(String shortCode, int clicks) {
+    LocalDateTime createdAt = LocalDateTime.now().minusDays(1).withNano(0);
+    Url url = new Url();
+    url.setShortCode(shortCode);
+    url.setLongUrl("https://www.example.com/" + shortCode);
+    url.setClicks(clicks);
+    url.setDeleted(false);
+    url.setCreatedBy(1L);
+    url.setCreatedAt(createdAt);
+    url.setUpdatedAt(createdAt);
+    url.setExpiresAt(LocalDateTime.now().plusDays(30));
+    return entityManager.persistAndFlush(url);
+  }
+
+  private long shardClicks(Url url) {
+    return entityManager
+        .getEntityManager()
+        .createQuery(
+            "SELECT COALESCE(SUM(s.clicks), 0) FROM UrlClickShard s WHERE s.urlId = :id",
+            Long.class)
+        .setParameter("id", url.getId())
+        .getSingleResult();
+  }
+
+  private UrlClickShard slot(Url url, int slot) {
+    return entityManager.find(UrlClickShard.class, new UrlClickShard.Key(url.getId(), slot));
+  }
+
+  @Test
+  @DisplayName("Should add click deltas to a slot for every short code in the batch")
+  void shouldAddClickDeltasToASlotForEveryShortCodeInTheBatch() {
+    Url first = persistUrl("abc1234", 3);
+    Url second = persistUrl("xyz7890", 0);
+    entityManager.clear();
+
+    urlJdbcRepository.addClicks(Map.of("abc1234", 5L, "xyz7890", 2L), 0);
+    urlJdbcRepository.addClicks(Map.of("abc1234", 1L), 0);
+    urlJdbcRepository.addClicks(Map.of("abc1234", 4L), 3);
+
+    assertThat(slot(first, 0).getClicks()).isEqualTo(6);
+    assertThat(slot(first, 3).getClicks()).isEqualTo(4);
+    assertThat(shardClicks(second)).isEqualTo(2);
+    assertThat(entityManager.find(Url.class, first.getId()).getClicks()).isEqualTo(3);
+  }
+
+  @Test
+  @DisplayName("Should leave the url row untouched when adding clicks")
+  void shouldLeaveTheUrlRowUntouchedWhenAddingClicks() {
+    Url url = persistUrl("abc1234", 0);
+    LocalDateTime updatedAt = url.getUpdatedAt();
+    entityManager.clear();
+
+    urlJdbcRepository.addClicks(Map.of("abc1234", 1L), 1);
+
+    Url stored = entityManager.find(Url.class, url.getId());
+    assertThat(stored.getUpdatedAt()).isEqualTo(updatedAt);
+    assertThat(stored.getClicks()).isZero();
+  }
+
+  @Test
+  @DisplayName("Should ignore short codes that no longer exist")
+  void shouldIgnoreShortCodesThatNoLongerExist() {
+    urlJdbcRepository.addClicks(Map.of("missing", 1L), 0);
+  }
+
+  @Test
+  @DisplayName("Should count folded clicks and clicks still in slots")
+  void shouldCountFoldedClicksAndClicksStillInSlots() {
+    persistUrl("abc1234", 3);
+    urlJdbcRepository.addClicks(Map.of("abc1234", 5L), 0);
+    urlJdbcRepository.addClicks(Map.of("abc1234", 2L), 1);
+
+    assertThat(urlJdbcRepository.getClickCount("abc1234")).isEqualTo(10);
+    assertThat(urlJdbcRepository.getClickCount("missing")).isNull();
+  }
+
+  @Test
+  @DisplayName("Should fold slots into the url click count without changing the total")
+  void shouldFoldSlotsIntoTheUrlClickCountWithoutChangingTheTotal() {
+    Url first = persistUrl("abc1234", 3);
+    Url second = persistUrl("xyz7890", 0);
+    urlJdbcRepository.addClicks(Map.of("abc1234", 5L, "xyz7890", 1L), 0);
+    urlJdbcRepository.addClicks(Map.of("abc1234", 2L), 1);
+    entityManager.clear();
+
+    assertThat(urlJdbcRepository.foldClickShards(2)).isEqualTo(2);
+    assertThat(urlJdbcRepository.foldClickShards(2)).isEqualTo(1);
+    assertThat(urlJdbcRepository.foldClickShards(2)).isZero();
+
+    assertThat(entityManager.find(Url.class, first.getId()).getClicks()).isEqualTo(10);
+    assertThat(entityManager.find(Url.class, second.getId()).getClicks()).isEqualTo(1);
+    assertThat(shardClicks(first)).isZero();
+    assertThat(urlJdbcRepository.getClickCount("abc1234")).isEqualTo(10);
+  }
+
+  @Test
+  @DisplayName("Should visit every short code across chunks")
+  void shouldVisitEveryShortCodeAcrossChunks() {
+    persistUrl("abc1234", 0);
+    persistUrl("def5678", 0);
+    persistUrl("xyz7890", 0);
+
+    List<String> codes = new ArrayList<>();
+    urlJdbcRepository.forEachShortCode(2, codes::add);
+
+    assertThat(codes).containsExactly("abc1234", "def5678", "xyz7890");
+    assertThat(urlJdbcRepository.countUrls()).isEqualTo(3);
+  }
+
+  @Test
+  @DisplayName("Should return the long URLs of the newest links first")
+  void shouldReturnTheLongUrlsOfTheNewestLinksFirst() {
+    persistUrl("abc1234", 0);
+    persistUrl("def5678", 0);
+    persistUrl("xyz7890", 0);
+
+    assertThat(urlJdbcRepository.findRecentLongUrls(2))
+        .containsExactly("https://www.example.com/xyz7890", "https://www.example.com/def5678");
+  }
+
+  @Test
+  @DisplayName("Should only visit short codes created since the given time")
+  void shouldOnlyVisitShortCodesCreatedSinceTheGivenTime() {
+    persistUrl("abc1234", 0);
+
+    List<String> codes = new ArrayList<>();
+    urlJdbcRepository.forEachShortCodeCreatedSince(LocalDateTime.now(), codes::add);
+    urlJdbcRepository.forEachShortCodeCreatedSince(LocalDateTime.now().minusDays(2), codes::add);
+
+    assertThat(codes).containsExactly("abc1234");
+  }
+
+  @Test
+  @DisplayName("Should insert URLs in one batch and set their generated ids")
+  void shouldInsertUrlsInOneBatchAndSetTheirGeneratedIds() {
+    List<Url> urls = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      Url url = new Url();
+      url.setShortCode("bat000" + i);
+      url.setLongUrl("https://www.example.com/" + i);
+      url.setCreatedBy(1L);
+      url.setCreatedAt(LocalDateTime.now().withNano(0));
+      url.setUpdatedAt(LocalDateTime.now().withNano(0));
+      url.setExpiresAt(LocalDateTime.now().plusDays(1).withNano(0));
+      url.setUrlHash("b".repeat(64));
+      urls.add(url);
+    }
+
+    urlJdbcRepository.insertUrls(urls);
+
+    assertThat(urls).allMatch(url -> url.getId() != null);
+    assertThat(urls).extracting(Url::getId).doesNotHaveDuplicates();
+    Url stored = entityManager.find(Url.class, urls.get(2).getId());
+    assertThat(stored.getShortCode()).isEqualTo("bat0002");
+    assertThat(stored.getUrlHash()).isEqualTo("b".repeat(64));
+  }
+
+  @Test
+  @DisplayName("Should take batch ids from the same sequence as entity ids")
+  void shouldTakeBatchIdsFromTheSameSequenceAsEntityIds() {
+    Url before = persistUrl("seq0001", 0);
+    Url url = new Url();
+    url.setShortCode("seq0002");
+    url.setLongUrl("https://www.example.com/seq");
+    url.setCreatedAt(LocalDateTime.now());
+    url.setUpdatedAt(LocalDateTime.now());
+
+    urlJdbcRepository.insertUrls(List.of(url));
+    Url after = persistUrl("seq0003", 0);
+
+    assertThat(List.of(before.getId(), url.getId(), after.getId())).doesNotHaveDuplicates();
+    assertThat(entityManager.find(Url.class, url.getId()).getShortCode()).isEqualTo("seq0002");
+  }
+
+  @Test
+  @DisplayName("Should fail the batch when a short code already exists")
+  void shouldFailTheBatchWhenAShortCodeAlreadyExists() {
+    persistUrl("dup0001", 0);
+    Url url = new Url();
+    url.setShortCode("dup0001");
+    url.setLongUrl("https://www.example.com/dup");
+    url.setCreatedAt(LocalDateTime.now());
+    url.setUpdatedAt(LocalDateTime.now());
+
+    assertThatThrownBy(() -> urlJdbcRepository.insertUrls(List.of(url)))
+        .isInstanceOf(DataIntegrityViolationException.class);
+  }
+
+  @Test
+  @DisplayName("Should scan one owner's URLs in id order across keyset chunks")
+  void shouldScanOneOwnersUrlsInIdOrderAcrossKeysetChunks() {
+    Url first = persistUrl("own0001", 1);
+    Url other = persistUrl("oth0001", 0);
+    other.setCreatedBy(2L);
+    entityManager.persistAndFlush(other);
+    persistUrl("own0002", 0);
+    Url last = persistUrl("own0003", 0);
+    last.setExpiresAt(null);
+    entityManager.persistAndFlush(last);
+
+    List<Url> seen = new ArrayList<>();
+    int[] chunks = {0};
+    urlJdbcRepository.forEachUrl(1L, 2, seen::add, () -> chunks[0]++);
+
+    assertThat(seen).extracting(Url::getShortCode).containsExactly("own0001", "own0002", "own0003");
+    assertThat(chunks[0]).isEqualTo(2);
+    assertThat(seen.get(0).getId()).isEqualTo(first.getId());
+    assertThat(seen.get(0).getClicks()).isEqualTo(1);
+    assertThat(seen.get(0).getCreatedBy()).isEqualTo(1L);
+    assertThat(seen.get(0).getCreatedAt()).isEqualTo(first.getCreatedAt());
+    assertThat(seen.get(2).getExpiresAt()).isNull();
+  }
+
+  @Test
+  @DisplayName("Should scan every URL when no owner is given")
+  void shouldScanEveryUrlWhenNoOwnerIsGiven() {
+    persistUrl("all0001", 0);
+    Url other = persistUrl("all0002", 0);
+    other.setCreatedBy(null);
+    entityManager.persistAndFlush(other);
+
+    List<Url> seen = new ArrayList<>();
+    urlJdbcRepository.forEachUrl(null, 10, seen::add, () -> {});
+
+    assertThat(seen).extracting(Url::getShortCode).containsExactly("all0001", "all0002");
+    assertThat(seen.get(1).getCreatedBy()).isNull();
+  }
+
+  @Test
+  @DisplayName("Should count clicks still in slots when scanning URLs")
+  void shouldCountClicksStillInSlotsWhenScanningUrls() {
+    persistUrl("slot001", 3);
+    persistUrl("slot002", 1);
+    urlJdbcRepository.addClicks(Map.of("slot001", 5L), 0);
+    urlJdbcRepository.addClicks(Map.of("slot001", 2L), 1);
+
+    List<Url> seen = new ArrayList<>();
+    urlJdbcRepository.forEachUrl(null, 10, seen::add, () -> {});
+
+    assertThat(seen).extracting(Url::getClicks).containsExactly(10, 1);
+  }
+
+  private Url persistExpiredUrl(String shortCode, LocalDateTime expiresAt) {
+    Url url = persistUrl(shortCode, 4);
+    url.setExpiresAt(expiresAt);
+    return entityManager.persistAndFlush(url);
+  }
+
+  @Test
+  @DisplayName("Should find URLs expired before the cutoff in expiry order across keyset chunks")
+  void shouldFindUrlsExpiredBeforeTheCutoffInExpiryOrderAcrossKeysetChunks() {
+    LocalDateTime cutoff = LocalDateTime.now().withNano(0);
+    persistExpiredUrl("exp0003", cutoff.minusDays(1));
+    persistExpiredUrl("exp0001", cutoff.minusDays(3));
+    persistExpiredUrl("exp0002", cutoff.minusDays(1));
+    persistExpiredUrl("live001", cutoff.plusDays(1));
+    persistExpiredUrl("noexp01", null);
+
+    List<ExpiredUrl> first = urlJdbcRepository.findExpired(cutoff, null, 2);
+    List<ExpiredUrl> second =
+        urlJdbcRepository.findExpired(cutoff, first.get(first.size() - 1), 2);
+
+    assertThat(first).extracting(ExpiredUrl::shortCode).containsExactly("exp0001", "exp0003");
+    assertThat(second).extracting(ExpiredUrl::shortCode).containsExactly("exp0002");
+  }
+
+  @Test
+  @DisplayName("Should archive and delete only URLs still expired before the cutoff")
+  void shouldArchiveAndDeleteOnlyUrlsStillExpiredBeforeTheCutoff() {
+    LocalDateTime cutoff = LocalDateTime.now().withNano(0);
+    Url expired = persistExpiredUrl("exp0001", cutoff.minusDays(1));
+    Url extended = persistExpiredUrl("ext0001", cutoff.plusDays(1));
+    LocalDateTime archivedAt = cutoff.plusMinutes(1);
+    urlJdbcRepository.addClicks(Map.of("exp0001", 3L), 0);
+    entityManager.clear();
+
+    int count =
+        urlJdbcRepository.archiveExpired(
+            List.of(expired.getId(), extended.getId()), cutoff, archivedAt);
+
+    assertThat(count).isEqualTo(1);
+    assertThat(entityManager.find(Url.class, expired.getId())).isNull();
+    assertThat(entityManager.find(Url.class, extended.getId())).isNotNull();
+    UrlArchive archived = entityManager.find(UrlArchive.class, expired.getId());
+    assertThat(archived.getShortCode()).isEqualTo("exp0001");
+    assertThat(archived.getClicks()).isEqualTo(7);
+    assertThat(shardClicks(expired)).isZero();
+    assertThat(archived.getCreatedBy()).isEqualTo(1L);
+    assertThat(archived.getArchivedAt()).isEqualTo(archivedAt);
+    assertThat(entityManager.find(UrlArchive.class, extended.getId())).isNull();
+  }
+
+  @Test
+  @DisplayName("Should not archive a URL another reaper already removed")
+  void shouldNotArchiveAUrlAnotherReaperAlreadyRemoved() {
+    LocalDateTime cutoff = LocalDateTime.now().withNano(0);
+    Url expired = persistExpiredUrl("exp0001", cutoff.minusDays(1));
+    entityManager.clear();
+
+    urlJdbcRepository.archiveExpired(List.of(expired.getId()), cutoff, cutoff);
+
+    assertThat(urlJdbcRepository.archiveExpired(List.of(expired.getId()), cutoff, cutoff))
+        .isZero();
+  }
+}
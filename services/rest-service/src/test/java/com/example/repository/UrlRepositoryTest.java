@@ -3,8 +3,11 @@ package com.example.repository;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import com.example.dto.UrlSummary;
 import com.example.model.Url;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -15,6 +18,8 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.TestPropertySource;
 
 @DataJpaTest
@@ -80,67 +85,6 @@ class UrlRepositoryTest {
     assertThat(foundUrl).isEmpty();
   }
 
-  @Test
-  @DisplayName("Should increment click count successfully")
-  void shouldIncrementClickCount() {
-    entityManager.persistAndFlush(testUrl);
-    assertThat(testUrl.getClicks()).isEqualTo(0);
-
-    urlRepository.incrementClickCount("abc123");
-    entityManager.flush();
-    entityManager.clear();
-
-    Url updatedUrl = urlRepository.findByShortCode("abc123").orElseThrow();
-    assertThat(updatedUrl.getClicks()).isEqualTo(1);
-  }
-
-  @Test
-  @DisplayName("Should increment click count multiple times")
-  void shouldIncrementClickCountMultipleTimes() {
-    entityManager.persistAndFlush(testUrl);
-
-    urlRepository.incrementClickCount("abc123");
-    urlRepository.incrementClickCount("abc123");
-    urlRepository.incrementClickCount("abc123");
-    entityManager.flush();
-    entityManager.clear();
-
-    Url updatedUrl = urlRepository.findByShortCode("abc123").orElseThrow();
-    assertThat(updatedUrl.getClicks()).isEqualTo(3);
-  }
-
-  @Test
-  @DisplayName("Should get click count for existing short code")
-  void shouldGetClickCount() {
-    testUrl.setClicks(5);
-    entityManager.persistAndFlush(testUrl);
-
-    Integer clickCount = urlRepository.getClickCount("abc123");
-
-    assertThat(clickCount).isEqualTo(5);
-  }
-
-  @Test
-  @DisplayName("Should return null when getting click count for non-existent short code")
-  void shouldReturnNullForNonExistentShortCode() {
-    Integer clickCount = urlRepository.getClickCount("notexists");
-
-    assertThat(clickCount).isNull();
-  }
-
-  @Test
-  @DisplayName("Should update click count and retrieve it correctly")
-  void shouldUpdateAndRetrieveClickCount() {
-    entityManager.persistAndFlush(testUrl);
-
-    urlRepository.incrementClickCount("abc123");
-    urlRepository.incrementClickCount("abc123");
-    entityManager.flush();
-    Integer clickCount = urlRepository.getClickCount("abc123");
-
-    assertThat(clickCount).isEqualTo(2);
-  }
-
   @Test
   @DisplayName("Should enforce unique constraint on short code")
   void shouldEnforceUniqueShortCode() {
@@ -300,9 +244,7 @@ class UrlRepositoryTest {
 
     assertThat(userUrls).isNotNull();
     assertThat(userUrls.getContent()).hasSize(2);
-    assertThat(userUrls.getContent())
-        .extracting(Url::getCreatedBy)
-        .containsOnly(userId);
+    assertThat(userUrls.getContent()).extracting(Url::getCreatedBy).containsOnly(userId);
     assertThat(userUrls.getContent())
         .extracting(Url::getShortCode)
         .containsExactlyInAnyOrder("user100-1", "user100-2");
@@ -375,4 +317,156 @@ class UrlRepositoryTest {
     assertThat(savedUrl).isNotNull();
     assertThat(savedUrl.getCreatedBy()).isNull();
   }
+
+  @Test
+  @DisplayName("Should find the latest unexpired URL of a user by hash")
+  void shouldFindTheLatestUnexpiredUrlOfAUserByHash() {
+    String hash = "a".repeat(64);
+    LocalDateTime now = LocalDateTime.now();
+    persistUrlWithHash("old0001", 1L, hash, now.plusDays(1));
+    Url latest = persistUrlWithHash("new0001", 1L, hash, now.plusDays(1));
+    persistUrlWithHash("exp0001", 1L, hash, now.minusMinutes(1));
+    persistUrlWithHash("oth0001", 2L, hash, now.plusDays(1));
+
+    Optional<Url> found =
+        urlRepository.findFirstByCreatedByAndUrlHashAndExpiresAtAfterOrderByIdDesc(1L, hash, now);
+
+    assertThat(found).map(Url::getId).contains(latest.getId());
+    assertThat(
+            urlRepository.findFirstByCreatedByAndUrlHashAndExpiresAtAfterOrderByIdDesc(
+                3L, hash, now))
+        .isEmpty();
+  }
+
+  private Url persistUrlWithHash(
+      String shortCode, Long createdBy, String urlHash, LocalDateTime expiresAt) {
+    Url url = new Url();
+    url.setShortCode(shortCode);
+    url.setLongUrl("https://www.example.com/page");
+    url.setCreatedBy(createdBy);
+    url.setCreatedAt(LocalDateTime.now());
+    url.setUpdatedAt(LocalDateTime.now());
+    url.setExpiresAt(expiresAt);
+    url.setUrlHash(urlHash);
+    return entityManager.persistAndFlush(url);
+  }
+
+  private Url persistUrl(String shortCode, long createdBy, int clicks, LocalDateTime expiresAt) {
+    Url url = new Url();
+    url.setShortCode(shortCode);
+    url.setLongUrl("https://www.example.com/" + shortCode);
+    url.setClicks(clicks);
+    url.setCreatedBy(createdBy);
+    url.setCreatedAt(LocalDateTime.now());
+    url.setUpdatedAt(LocalDateTime.now());
+    url.setExpiresAt(expiresAt);
+    return entityManager.persistAndFlush(url);
+  }
+
+  /** Walks every page forward from the start and returns the short codes in order. */
+  private List<String> walk(Long createdBy, String sortBy, boolean ascending, int pageSize) {
+    List<String> codes = new ArrayList<>();
+    UrlCursor cursor = null;
+    List<UrlSummary> page;
+    do {
+      page = urlRepository.findPage(createdBy, sortBy, ascending, cursor, pageSize);
+      page.forEach(url -> codes.add(url.shortCode()));
+      if (!page.isEmpty()) {
+        UrlSummary last = page.get(page.size() - 1);
+        Object value = sortBy.equals("clicks") ? last.clicks() : last.expiresAt();
+        cursor =
+            new UrlCursor(
+                sortBy, ascending, false, value != null ? value.toString() : null, last.id());
+      }
+    } while (page.size() == pageSize);
+    return codes;
+  }
+
+  @Test
+  @DisplayName("Should seek through ties on the sort key by id without skipping rows")
+  void shouldSeekThroughTiesOnTheSortKeyByIdWithoutSkippingRows() {
+    LocalDateTime expiresAt = LocalDateTime.now().plusDays(1).withNano(0);
+    persistUrl("c1", 1L, 5, expiresAt);
+    persistUrl("c2", 1L, 3, expiresAt);
+    persistUrl("c3", 1L, 5, expiresAt);
+    persistUrl("c4", 2L, 4, expiresAt);
+    persistUrl("c5", 1L, 5, expiresAt);
+    persistUrl("c6", 1L, 1, expiresAt);
+
+    assertThat(walk(1L, "clicks", true, 2)).containsExactly("c6", "c2", "c1", "c3", "c5");
+    assertThat(walk(1L, "clicks", false, 2)).containsExactly("c5", "c3", "c1", "c2", "c6");
+    assertThat(walk(null, "clicks", true, 4)).containsExactly("c6", "c2", "c4", "c1", "c3", "c5");
+  }
+
+  @Test
+  @DisplayName("Should seek across URLs without an expiry in both directions")
+  void shouldSeekAcrossUrlsWithoutAnExpiryInBothDirections() {
+    LocalDateTime base = LocalDateTime.now().plusDays(1).withNano(0);
+    persistUrl("e1", 1L, 0, base.plusHours(2));
+    persistUrl("e2", 1L, 0, null);
+    persistUrl("e3", 1L, 0, base);
+    persistUrl("e4", 1L, 0, null);
+    persistUrl("e5", 1L, 0, base.plusHours(1));
+
+    assertThat(walk(1L, "expiresAt", true, 2)).containsExactly("e2", "e4", "e3", "e5", "e1");
+    assertThat(walk(1L, "expiresAt", false, 2)).containsExactly("e1", "e5", "e3", "e4", "e2");
+  }
+
+  @Test
+  @DisplayName("Should return the rows before a backward cursor nearest first")
+  void shouldReturnTheRowsBeforeABackwardCursorNearestFirst() {
+    Url first = persistUrl("b1", 1L, 0, null);
+    Url second = persistUrl("b2", 1L, 0, null);
+    Url third = persistUrl("b3", 1L, 0, null);
+
+    List<UrlSummary> page =
+        urlRepository.findPage(
+            1L, "id", false, new UrlCursor("id", false, true, null, first.getId()), 10);
+
+    assertThat(page).extracting(UrlSummary::id).containsExactly(second.getId(), third.getId());
+  }
+
+  @Test
+  @DisplayName("Should count URLs by owner")
+  void shouldCountUrlsByOwner() {
+    persistUrl("n1", 1L, 0, null);
+    persistUrl("n2", 1L, 0, null);
+    persistUrl("n3", 2L, 0, null);
+
+    assertThat(urlRepository.countByCreatedBy(1L)).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("Should select summaries for one owner with the requested sort and total")
+  void shouldSelectSummariesForOneOwnerWithTheRequestedSortAndTotal() {
+    persistUrl("s1", 1L, 2, null);
+    persistUrl("s2", 1L, 9, null);
+    persistUrl("s3", 2L, 5, null);
+    persistUrl("s4", 1L, 4, null);
+
+    Page<UrlSummary> page =
+        urlRepository.findSummariesByCreatedBy(
+            1L, PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "clicks")));
+
+    assertThat(page.getContent()).extracting(UrlSummary::shortCode).containsExactly("s2", "s4");
+    assertThat(page.getContent().get(0).longUrl()).isEqualTo("https://www.example.com/s2");
+    assertThat(page.getContent().get(0).createdBy()).isEqualTo(1L);
+    assertThat(page.getTotalElements()).isEqualTo(3);
+  }
+
+  @Test
+  @DisplayName("Should select a summary slice that knows whether more rows follow")
+  void shouldSelectASummarySliceThatKnowsWhetherMoreRowsFollow() {
+    persistUrl("l1", 1L, 0, null);
+    persistUrl("l2", 2L, 0, null);
+    persistUrl("l3", 1L, 0, null);
+
+    Slice<UrlSummary> first = urlRepository.findSummarySlice(PageRequest.of(0, 2, Sort.by("id")));
+    Slice<UrlSummary> last = urlRepository.findSummarySlice(PageRequest.of(1, 2, Sort.by("id")));
+
+    assertThat(first.getContent()).extracting(UrlSummary::shortCode).containsExactly("l1", "l2");
+    assertThat(first.hasNext()).isTrue();
+    assertThat(last.getContent()).extracting(UrlSummary::shortCode).containsExactly("l3");
+    assertThat(last.hasNext()).isFalse();
+  }
 }
@@ -0,0 +1,159 @@
+package com.example.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import com.example.service.ThresholdNotificationDispatcher.OverflowPolicy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ThresholdNotificationDispatcher Tests")
+class ThresholdNotificationDispatcherTest {
+
+  @Mock private NotificationService notificationService;
+
+  private SimpleMeterRegistry meterRegistry;
+  private ThresholdNotificationDispatcher dispatcher;
+  private final CountDownLatch release = new CountDownLatch(1);
+
+  private void startDispatcher(int queueCapacity, OverflowPolicy overflowPolicy) {
+    meterRegistry = new SimpleMeterRegistry();
+    dispatcher = new ThresholdNotificationDispatcher(notificationService, meterRegistry);
+    ReflectionTestUtils.setField(dispatcher, "threads", 1);
+    ReflectionTestUtils.setField(dispatcher, "queueCapacity", queueCapacity);
+    ReflectionTestUtils.setField(dispatcher, "overflowPolicy", overflowPolicy);
+    dispatcher.init();
+  }
+
+  private void blockWorkerOn(String shortCode) throws InterruptedException {
+    CountDownLatch started = new CountDownLatch(1);
+    doAnswer(
+            invocation -> {
+              started.countDown();
+              release.await(5, TimeUnit.SECONDS);
+              return null;
+            })
+        .when(notificationService)
+        .sendThresholdNotification(shortCode);
+    dispatcher.dispatch(shortCode);
+    assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+  }
+
+  private double dropped() {
+    return meterRegistry.get("notification.dispatcher.dropped").counter().count();
+  }
+
+  @BeforeEach
+  void setUp() {
+    startDispatcher(10, OverflowPolicy.DROP_NEWEST);
+  }
+
+  @AfterEach
+  void tearDown() throws InterruptedException {
+    release.countDown();
+    dispatcher.shutdown();
+  }
+
+  @Test
+  @DisplayName("Should send notification on a dispatcher thread")
+  void shouldSendNotificationOnADispatcherThread() {
+    AtomicReference<Thread> sender = new AtomicReference<>();
+    doAnswer(
+            invocation -> {
+              sender.set(Thread.currentThread());
+              return null;
+            })
+        .when(notificationService)
+        .sendThresholdNotification("abc1234");
+
+    dispatcher.dispatch("abc1234");
+
+    verify(notificationService, timeout(5000)).sendThresholdNotification("abc1234");
+    assertThat(sender.get()).isNotSameAs(Thread.currentThread());
+  }
+
+  @Test
+  @DisplayName("Should return immediately while notification service is slow")
+  void shouldReturnImmediatelyWhileNotificationServiceIsSlow() throws InterruptedException {
+    blockWorkerOn("slow123");
+
+    long start = System.nanoTime();
+    dispatcher.dispatch("abc1234");
+
+    assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(1000);
+    assertThat(dispatcher.queueSize()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Should coalesce events for a short code that is already queued")
+  void shouldCoalesceEventsForAShortCodeThatIsAlreadyQueued() throws InterruptedException {
+    blockWorkerOn("slow123");
+
+    dispatcher.dispatch("abc1234");
+    dispatcher.dispatch("abc1234");
+    dispatcher.dispatch("abc1234");
+    release.countDown();
+
+    verify(notificationService, timeout(5000)).sendThresholdNotification("abc1234");
+    assertThat(meterRegistry.get("notification.dispatcher.coalesced").counter().count())
+        .isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("Should drop the newest event when the queue is full")
+  void shouldDropTheNewestEventWhenTheQueueIsFull() throws InterruptedException {
+    dispatcher.shutdown();
+    startDispatcher(1, OverflowPolicy.DROP_NEWEST);
+    blockWorkerOn("slow123");
+
+    dispatcher.dispatch("first12");
+    dispatcher.dispatch("second1");
+    release.countDown();
+
+    verify(notificationService, timeout(5000)).sendThresholdNotification("first12");
+    verify(notificationService, never()).sendThresholdNotification("second1");
+    assertThat(dropped()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Should drop the oldest event when the queue is full")
+  void shouldDropTheOldestEventWhenTheQueueIsFull() throws InterruptedException {
+    dispatcher.shutdown();
+    startDispatcher(1, OverflowPolicy.DROP_OLDEST);
+    blockWorkerOn("slow123");
+
+    dispatcher.dispatch("first12");
+    dispatcher.dispatch("second1");
+    release.countDown();
+
+    verify(notificationService, timeout(5000)).sendThresholdNotification("second1");
+    verify(notificationService, never()).sendThresholdNotification("first12");
+    assertThat(dropped()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Should count failed notifications without propagating them")
+  void shouldCountFailedNotificationsWithoutPropagatingThem() throws InterruptedException {
+    doThrow(new RuntimeException("unavailable"))
+        .when(notificationService)
+        .sendThresholdNotification("abc1234");
+
+    dispatcher.dispatch("abc1234");
+
+    verify(notificationService, timeout(5000)).sendThresholdNotification("abc1234");
+    dispatcher.shutdown();
+    assertThat(meterRegistry.get("notification.dispatcher.failed").counter().count())
+        .isEqualTo(1);
+  }
+}
@@ -0,0 +1,184 @@
+package com.example.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.example.dto.UrlDto;
+import com.example.model.Url;
+import com.example.repository.UrlJdbcRepository;
+import com.example.security.UserPrincipal;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UrlExportService Tests")
+class UrlExportServiceTest {
+
+  @Mock private UrlJdbcRepository urlJdbcRepository;
+
+  @Mock private UrlService urlService;
+
+  private final ObjectMapper objectMapper =
+      new ObjectMapper()
+          .registerModule(new JavaTimeModule())
+          .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+  private UrlExportService exportService;
+
+  @BeforeEach
+  void setUp() {
+    exportService = new UrlExportService(urlJdbcRepository, urlService, objectMapper);
+    ReflectionTestUtils.setField(exportService, "chunkSize", 2);
+  }
+
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  private void authenticate(long userId, String role) {
+    UserPrincipal principal = new UserPrincipal(userId, "test@example.com", role);
+    SecurityContextHolder.getContext()
+        .setAuthentication(new UsernamePasswordAuthenticationToken(principal, "token", List.of()));
+  }
+
+  private static Url url(long id, String shortCode, String longUrl) {
+    Url url = new Url();
+    url.setId(id);
+    url.setShortCode(shortCode);
+    url.setLongUrl(longUrl);
+    url.setCreatedAt(LocalDateTime.of(2026, 1, 2, 3, 4, 5));
+    url.setUpdatedAt(LocalDateTime.of(2026, 1, 2, 3, 4, 5));
+    return url;
+  }
+
+  @SuppressWarnings("unchecked")
+  private void stubRows(Long owner, Url... rows) {
+    doAnswer(
+            invocation -> {
+              Consumer<Url> action = invocation.getArgument(2);
+              Runnable afterChunk = invocation.getArgument(3);
+              for (Url row : rows) {
+                action.accept(row);
+              }
+              afterChunk.run();
+              return null;
+            })
+        .when(urlJdbcRepository)
+        .forEachUrl(eq(owner), eq(2), any(Consumer.class), any(Runnable.class));
+    when(urlService.toUrlDto(any(Url.class)))
+        .thenAnswer(
+            invocation -> {
+              Url url = invocation.getArgument(0);
+              UrlDto dto = new UrlDto();
+              dto.setId(url.getId());
+              dto.setShortCode(url.getShortCode());
+              dto.setShortUrl("http://short.url/" + url.getShortCode());
+              dto.setLongUrl(url.getLongUrl());
+              dto.setCreatedAt(url.getCreatedAt());
+              dto.setUpdatedAt(url.getUpdatedAt());
+              return dto;
+            });
+  }
+
+  private static String write(StreamingResponseBody body) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    body.writeTo(out);
+    return out.toString(StandardCharsets.UTF_8);
+  }
+
+  @Test
+  @DisplayName("Should export only the caller's URLs as NDJSON")
+  void shouldExportOnlyTheCallersUrlsAsNdjson() throws IOException {
+    authenticate(7L, "USER");
+    stubRows(7L, url(1, "abc1234", "https://a.com"), url(5, "def5678", "https://b.com"));
+
+    String[] lines = write(exportService.export(UrlFileFormat.NDJSON)).split("\n");
+
+    assertThat(lines).hasSize(2);
+    JsonNode first = objectMapper.readTree(lines[0]);
+    assertThat(first.get("shortCode").asText()).isEqualTo("abc1234");
+    assertThat(first.get("shortUrl").asText()).isEqualTo("http://short.url/abc1234");
+    assertThat(first.get("createdAt").asText()).isEqualTo("2026-01-02T03:04:05");
+    assertThat(objectMapper.readTree(lines[1]).get("id").asLong()).isEqualTo(5);
+  }
+
+  @Test
+  @DisplayName("Should export every URL for admins as CSV with escaped fields")
+  void shouldExportEveryUrlForAdminsAsCsvWithEscapedFields() throws IOException {
+    authenticate(1L, "ADMIN");
+    stubRows(null, url(1, "abc1234", "https://a.com/?q=1,2&say=\"hi\""));
+
+    String csv = write(exportService.export(UrlFileFormat.CSV));
+
+    assertThat(csv)
+        .isEqualTo(
+            UrlExportService.CSV_HEADER
+                + "\n1,abc1234,http://short.url/abc1234,\"https://a.com/?q=1,2&say=\"\"hi\"\"\","
+                + "0,false,2026-01-02T03:04:05,2026-01-02T03:04:05,\n");
+  }
+
+  @Test
+  @DisplayName("Should resolve the owner when the export is requested, not when it is written")
+  void shouldResolveTheOwnerWhenTheExportIsRequestedNotWhenItIsWritten() throws IOException {
+    authenticate(7L, "USER");
+    StreamingResponseBody body = exportService.export(UrlFileFormat.NDJSON);
+    SecurityContextHolder.clearContext();
+    stubRows(7L, url(1, "abc1234", "https://a.com"));
+
+    assertThat(write(body)).contains("abc1234");
+  }
+
+  @Test
+  @DisplayName("Should surface client disconnects as IOException")
+  @SuppressWarnings("unchecked")
+  void shouldSurfaceClientDisconnectsAsIoException() {
+    authenticate(7L, "USER");
+    stubRows(7L, url(1, "abc1234", "https://a.com"));
+    OutputStream broken =
+        new OutputStream() {
+          @Override
+          public void write(int b) throws IOException {
+            throw new IOException("Broken pipe");
+          }
+        };
+
+    assertThatThrownBy(() -> exportService.export(UrlFileFormat.CSV).writeTo(broken))
+        .isInstanceOf(IOException.class)
+        .hasMessage("Broken pipe");
+  }
+
+  @Test
+  @DisplayName("Should leave plain CSV fields unquoted")
+  void shouldLeavePlainCsvFieldsUnquoted() throws IOException {
+    StringWriter writer = new StringWriter();
+
+    UrlExportService.writeCsvField(writer, "https://a.com/path");
+    writer.write('|');
+    UrlExportService.writeCsvField(writer, "line\nbreak");
+
+    assertThat(writer.toString()).isEqualTo("https://a.com/path|\"line\nbreak\"");
+  }
+}
@@ -0,0 +1,247 @@
+package com.example.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.example.dto.BatchShortenResponse;
+import com.example.dto.BatchShortenResult;
+import com.example.dto.UrlDto;
+import com.example.security.UserPrincipal;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UrlImportService Tests")
+class UrlImportServiceTest {
+
+  @Mock private UrlService urlService;
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private SimpleMeterRegistry meterRegistry;
+  private UrlImportService importService;
+
+  @BeforeEach
+  void setUp() {
+    UserPrincipal principal = new UserPrincipal(7L, "test@example.com", "USER");
+    SecurityContextHolder.getContext()
+        .setAuthentication(new UsernamePasswordAuthenticationToken(principal, "token", List.of()));
+
+    meterRegistry = new SimpleMeterRegistry();
+    importService = new UrlImportService(urlService, objectMapper, meterRegistry);
+    ReflectionTestUtils.setField(importService, "chunkSize", 2);
+    ReflectionTestUtils.setField(importService, "parallelism", 2);
+    ReflectionTestUtils.setField(importService, "maxLineLength", 64);
+    ReflectionTestUtils.setField(importService, "batchMaxSize", 100);
+    importService.init();
+  }
+
+  @AfterEach
+  void tearDown() throws InterruptedException {
+    importService.shutdown();
+    SecurityContextHolder.clearContext();
+  }
+
+  /** Answers addUrls like the real service: URLs containing "bad" fail, the rest succeed. */
+  private void stubAddUrls() {
+    when(urlService.addUrls(anyList(), eq(7L)))
+        .thenAnswer(
+            invocation -> {
+              List<String> urls = invocation.getArgument(0);
+              List<BatchShortenResult> results = new ArrayList<>();
+              for (int i = 0; i < urls.size(); i++) {
+                BatchShortenResult result = new BatchShortenResult();
+                result.setIndex(i);
+                result.setLongUrl(urls.get(i));
+                if (urls.get(i).contains("bad")) {
+                  result.setError("Invalid URL provided");
+                } else {
+                  UrlDto url = new UrlDto();
+                  url.setShortCode("c" + urls.get(i).hashCode());
+                  result.setSuccess(true);
+                  result.setUrl(url);
+                }
+                results.add(result);
+              }
+              BatchShortenResponse response = new BatchShortenResponse();
+              response.setResults(results);
+              return response;
+            });
+  }
+
+  private List<JsonNode> run(String body, UrlFileFormat format) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    importService.importUrls(
+        new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), format, out);
+    List<JsonNode> lines = new ArrayList<>();
+    for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+      lines.add(objectMapper.readTree(line));
+    }
+    return lines;
+  }
+
+  @Test
+  @DisplayName("Should stream one result per line in order followed by a summary")
+  void shouldStreamOneResultPerLineInOrderFollowedByASummary() throws IOException {
+    stubAddUrls();
+
+    List<JsonNode> lines =
+        run(
+            "\"https://a.com\"\n"
+                + "{\"url\":\"https://bad.com\"}\n"
+                + "\n"
+                + "not json\n"
+                + "\"https://c.com\"\r\n"
+                + "{\"link\":\"https://d.com\"}\n"
+                + "\"https://e.com\"",
+            UrlFileFormat.NDJSON);
+
+    assertThat(lines).hasSize(7);
+    assertThat(lines.subList(0, 6))
+        .extracting(line -> line.get("index").asInt())
+        .containsExactly(1, 2, 4, 5, 6, 7);
+    assertThat(lines.get(0).get("success").asBoolean()).isTrue();
+    assertThat(lines.get(1).get("error").asText()).isEqualTo("Invalid URL provided");
+    assertThat(lines.get(2).get("error").asText()).isEqualTo("Malformed JSON");
+    assertThat(lines.get(3).get("longUrl").asText()).isEqualTo("https://c.com");
+    assertThat(lines.get(4).get("success").asBoolean()).isFalse();
+    assertThat(lines.get(5).get("longUrl").asText()).isEqualTo("https://e.com");
+    assertThat(lines.get(6).get("total").asInt()).isEqualTo(6);
+    assertThat(lines.get(6).get("succeeded").asInt()).isEqualTo(3);
+    assertThat(lines.get(6).get("failed").asInt()).isEqualTo(3);
+    assertThat(meterRegistry.get("url.import.lines").tag("result", "failed").counter().count())
+        .isEqualTo(3.0);
+  }
+
+  @Test
+  @DisplayName("Should send each chunk of parsed lines to the batch service separately")
+  void shouldSendEachChunkOfParsedLinesToTheBatchServiceSeparately() throws IOException {
+    stubAddUrls();
+
+    run("\"https://a.com\"\n\"https://b.com\"\n\"https://c.com\"\n", UrlFileFormat.NDJSON);
+
+    verify(urlService).addUrls(List.of("https://a.com", "https://b.com"), 7L);
+    verify(urlService).addUrls(List.of("https://c.com"), 7L);
+  }
+
+  @Test
+  @DisplayName("Should read the first CSV column and skip a header row")
+  void shouldReadTheFirstCsvColumnAndSkipAHeaderRow() throws IOException {
+    stubAddUrls();
+
+    List<JsonNode> lines =
+        run(
+            "url,comment\nhttps://a.com,first\n\"https://b.com/?q=1,2\",\"quoted\"\n",
+            UrlFileFormat.CSV);
+
+    assertThat(lines).hasSize(3);
+    assertThat(lines.get(0).get("index").asInt()).isEqualTo(2);
+    assertThat(lines.get(0).get("longUrl").asText()).isEqualTo("https://a.com");
+    assertThat(lines.get(1).get("longUrl").asText()).isEqualTo("https://b.com/?q=1,2");
+  }
+
+  @Test
+  @DisplayName("Should reject overlong lines without buffering them")
+  void shouldRejectOverlongLinesWithoutBufferingThem() throws IOException {
+    stubAddUrls();
+
+    List<JsonNode> lines =
+        run(
+            "\"https://a.com/" + "x".repeat(10_000) + "\"\n\"https://b.com\"\n",
+            UrlFileFormat.NDJSON);
+
+    assertThat(lines.get(0).get("error").asText()).isEqualTo("Line exceeds 64 chars");
+    assertThat(lines.get(1).get("index").asInt()).isEqualTo(2);
+    assertThat(lines.get(1).get("success").asBoolean()).isTrue();
+    verify(urlService).addUrls(List.of("https://b.com"), 7L);
+  }
+
+  @Test
+  @DisplayName("Should not call the batch service for a chunk without valid lines")
+  void shouldNotCallTheBatchServiceForAChunkWithoutValidLines() throws IOException {
+    List<JsonNode> lines = run("[]\n42\n", UrlFileFormat.NDJSON);
+
+    assertThat(lines).hasSize(3);
+    assertThat(lines.get(2).get("failed").asInt()).isEqualTo(2);
+    verifyNoInteractions(urlService);
+  }
+
+  @Test
+  @DisplayName("Should process chunks with the uploader's security context")
+  void shouldProcessChunksWithTheUploadersSecurityContext() throws IOException {
+    AtomicReference<Object> principal = new AtomicReference<>();
+    when(urlService.addUrls(anyList(), eq(7L)))
+        .thenAnswer(
+            invocation -> {
+              principal.set(SecurityContextHolder.getContext().getAuthentication().getPrincipal());
+              BatchShortenResponse response = new BatchShortenResponse();
+              response.setResults(List.of(new BatchShortenResult()));
+              return response;
+            });
+
+    run("\"https://a.com\"\n", UrlFileFormat.NDJSON);
+
+    assertThat(principal.get()).isInstanceOf(UserPrincipal.class);
+  }
+
+  @Test
+  @DisplayName("Should abort without a summary line when a chunk fails")
+  void shouldAbortWithoutASummaryLineWhenAChunkFails() {
+    when(urlService.addUrls(anyList(), eq(7L))).thenThrow(new IllegalStateException("db down"));
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    assertThatThrownBy(
+            () ->
+                importService.importUrls(
+                    new ByteArrayInputStream("\"https://a.com\"\n".getBytes()),
+                    UrlFileFormat.NDJSON,
+                    out))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("db down");
+    assertThat(out.toString(StandardCharsets.UTF_8)).doesNotContain("total");
+  }
+
+  @Test
+  @DisplayName("Should reject a chunk size above the batch limit")
+  void shouldRejectAChunkSizeAboveTheBatchLimit() {
+    UrlImportService service = new UrlImportService(urlService, objectMapper, meterRegistry);
+    ReflectionTestUtils.setField(service, "chunkSize", 101);
+    ReflectionTestUtils.setField(service, "batchMaxSize", 100);
+
+    assertThatThrownBy(service::init).isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  @DisplayName("Should split lines on LF and CRLF across buffer boundaries")
+  void shouldSplitLinesOnLfAndCrlfAcrossBufferBoundaries() throws IOException {
+    String longLine = "y".repeat(9000);
+    UrlImportService.LineReader reader =
+        new UrlImportService.LineReader(new StringReader("a\r\n" + longLine + "\nb"), 10_000);
+
+    assertThat(reader.readLine()).isEqualTo("a");
+    assertThat(reader.readLine()).isEqualTo(longLine);
+    assertThat(reader.readLine()).isEqualTo("b");
+    assertThat(reader.lineNumber()).isEqualTo(3);
+    assertThat(reader.readLine()).isNull();
+  }
+}
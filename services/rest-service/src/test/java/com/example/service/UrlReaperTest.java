@@ -0,0 +1,150 @@
+package com.example.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.example.cache.ClickCounter;
+import com.example.cache.RedirectCache;
+import com.example.cache.ShortCodeFilter;
+import com.example.datasource.ReplicaRoutingDataSource;
+import com.example.repository.ExpiredUrl;
+import com.example.repository.UrlJdbcRepository;
+import com.example.store.RedirectStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UrlReaper Tests")
+class UrlReaperTest {
+
+  @Mock private UrlJdbcRepository urlJdbcRepository;
+  @Mock private RedirectStore redirectStore;
+  @Mock private RedirectCache redirectCache;
+  @Mock private ClickCounter clickCounter;
+  @Mock private ShortCodeFilter shortCodeFilter;
+  @Mock private ReplicaRoutingDataSource replicaDataSource;
+
+  private SimpleMeterRegistry meterRegistry;
+  private UrlReaper reaper;
+
+  private final LocalDateTime expiredAt = LocalDateTime.now().minusDays(30);
+  private final ExpiredUrl first = new ExpiredUrl(1, "exp0001", expiredAt);
+  private final ExpiredUrl second = new ExpiredUrl(2, "exp0002", expiredAt);
+  private final ExpiredUrl third = new ExpiredUrl(3, "exp0003", expiredAt);
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    reaper =
+        new UrlReaper(
+            urlJdbcRepository,
+            redirectStore,
+            redirectCache,
+            clickCounter,
+            shortCodeFilter,
+            replicaDataSource,
+            meterRegistry);
+    ReflectionTestUtils.setField(reaper, "gracePeriodHours", 24L);
+    ReflectionTestUtils.setField(reaper, "batchSize", 2);
+    ReflectionTestUtils.setField(reaper, "maxRowsPerSecond", 0);
+    ReflectionTestUtils.setField(reaper, "maxRowsPerRun", 100);
+    reaper.init();
+  }
+
+  @Test
+  @DisplayName("Should archive expired URLs chunk by chunk, continuing after the last key")
+  void shouldArchiveExpiredUrlsChunkByChunkContinuingAfterTheLastKey() {
+    when(urlJdbcRepository.findExpired(any(), isNull(), eq(2))).thenReturn(List.of(first, second));
+    when(urlJdbcRepository.findExpired(any(), eq(second), eq(2))).thenReturn(List.of(third));
+    when(urlJdbcRepository.findExpired(any(), eq(third), eq(2))).thenReturn(List.of());
+    when(urlJdbcRepository.archiveExpired(anyList(), any(), any()))
+        .thenAnswer(i -> i.<List<Long>>getArgument(0).size());
+
+    assertThat(reaper.reap()).isEqualTo(3);
+
+    verify(urlJdbcRepository).archiveExpired(eq(List.of(1L, 2L)), any(), any());
+    verify(urlJdbcRepository).archiveExpired(eq(List.of(3L)), any(), any());
+    assertThat(meterRegistry.counter("url.reaper.reaped").count()).isEqualTo(3);
+    assertThat(meterRegistry.timer("url.reaper.batch").count()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("Should only reap URLs expired longer than the grace period")
+  void shouldOnlyReapUrlsExpiredLongerThanTheGracePeriod() {
+    when(urlJdbcRepository.findExpired(any(), any(), anyInt())).thenReturn(List.of());
+
+    LocalDateTime before = LocalDateTime.now().minusHours(24);
+    reaper.reap();
+
+    verify(urlJdbcRepository)
+        .findExpired(
+            argThat(
+                cutoff ->
+                    !cutoff.isBefore(before)
+                        && !cutoff.isAfter(LocalDateTime.now().minusHours(24))),
+            isNull(),
+            eq(2));
+  }
+
+  @Test
+  @DisplayName("Should evict reaped short codes from the redirect store, cache and click counter")
+  void shouldEvictReapedShortCodesFromTheRedirectStoreCacheAndClickCounter() {
+    when(urlJdbcRepository.findExpired(any(), isNull(), anyInt())).thenReturn(List.of(first));
+    when(urlJdbcRepository.findExpired(any(), eq(first), anyInt())).thenReturn(List.of());
+    when(urlJdbcRepository.archiveExpired(anyList(), any(), any())).thenReturn(1);
+
+    reaper.reap();
+
+    verify(redirectStore).remove("exp0001");
+    verify(redirectCache).invalidate("exp0001");
+    verify(clickCounter).evict("exp0001");
+    verify(shortCodeFilter).recordRemoval();
+  }
+
+  @Test
+  @DisplayName("Should stop once the per-run limit is reached")
+  void shouldStopOnceThePerRunLimitIsReached() {
+    ReflectionTestUtils.setField(reaper, "maxRowsPerRun", 3);
+    when(urlJdbcRepository.findExpired(any(), isNull(), eq(2))).thenReturn(List.of(first, second));
+    when(urlJdbcRepository.findExpired(any(), eq(second), eq(1))).thenReturn(List.of(third));
+    when(urlJdbcRepository.archiveExpired(anyList(), any(), any()))
+        .thenAnswer(i -> i.<List<Long>>getArgument(0).size());
+
+    assertThat(reaper.reap()).isEqualTo(3);
+
+    verify(urlJdbcRepository, times(2)).findExpired(any(), any(), anyInt());
+  }
+
+  @Test
+  @DisplayName("Should not reap while a read replica is out of rotation")
+  void shouldNotReapWhileAReadReplicaIsOutOfRotation() {
+    when(replicaDataSource.replicaCount()).thenReturn(2);
+    when(replicaDataSource.healthyReplicas()).thenReturn(1);
+
+    assertThat(reaper.reap()).isZero();
+
+    verifyNoInteractions(urlJdbcRepository);
+  }
+
+  @Test
+  @DisplayName("Should give up the run when the database fails")
+  void shouldGiveUpTheRunWhenTheDatabaseFails() {
+    when(urlJdbcRepository.findExpired(any(), isNull(), anyInt())).thenReturn(List.of(first));
+    when(urlJdbcRepository.archiveExpired(anyList(), any(), any()))
+        .thenThrow(new DataAccessResourceFailureException("down"));
+
+    assertThat(reaper.reap()).isZero();
+
+    verifyNoInteractions(redirectStore, redirectCache, clickCounter, shortCodeFilter);
+  }
+}
@@ -5,30 +5,56 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
+import com.example.cache.ClickCounter;
+import com.example.cache.RedirectCache;
+import com.example.cache.RedirectEntry;
+import com.example.cache.ShortCodeFilter;
+import com.example.dto.BatchShortenResponse;
+import com.example.dto.UrlCursorPage;
 import com.example.dto.UrlDto;
+import com.example.dto.UrlSummary;
 import com.example.exception.InvalidUrlException;
+import com.example.exception.ShortCodeRateExceededException;
 import com.example.exception.ThresholdReachedException;
 import com.example.exception.UrlExpiredException;
 import com.example.model.Url;
+import com.example.repository.RedirectJdbcRepository;
+import com.example.repository.UrlCursor;
+import com.example.repository.UrlJdbcRepository;
 import com.example.repository.UrlRepository;
+import com.example.shortcode.ShortCodeGenerator;
+import com.example.store.RedirectStore;
+import com.example.util.UrlNormalizer;
 import com.example.util.UserContext;
+import com.example.validation.BannedHostProvider;
+import com.example.validation.HostValidator;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Arrays;
-import java.util.HashSet;
+import java.util.Collections;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.test.util.ReflectionTestUtils;
 
@@ -38,18 +64,45 @@ class UrlServiceTest {
 
   @Mock private UrlRepository urlRepository;
 
+  @Mock private UrlJdbcRepository urlJdbcRepository;
+
+  @Mock private RedirectJdbcRepository redirectJdbcRepository;
+
+  @Mock private RedirectStore redirectStore;
+
   @Mock private NotificationService notificationService;
 
+  @Mock private RedirectCache redirectCache;
+
+  @Mock private ClickCounter clickCounter;
+
+  @Mock private ShortCodeFilter shortCodeFilter;
+
+  @Mock private ThresholdNotificationDispatcher thresholdDispatcher;
+
+  @Mock private ShortCodeGenerator shortCodeGenerator;
+
+  @Mock private HostValidator hostValidator;
+
+  @Mock private BannedHostProvider bannedHostProvider;
+
+  @Spy private UrlNormalizer urlNormalizer = new UrlNormalizer();
+
   @InjectMocks private UrlService urlService;
 
   private MockedStatic<UserContext> userContextMock;
 
   @BeforeEach
   void setUp() {
-    ReflectionTestUtils.setField(urlService, "bannedHosts", new HashSet<>(Arrays.asList()));
     ReflectionTestUtils.setField(urlService, "urlExpirationHours", 24);
     ReflectionTestUtils.setField(urlService, "notificationThreshold", 100);
     ReflectionTestUtils.setField(urlService, "baseUrl", "http://short.url");
+    ReflectionTestUtils.setField(urlService, "batchMaxSize", 100);
+    ReflectionTestUtils.setField(urlService, "batchJdbcSize", 2);
+    ReflectionTestUtils.setField(urlService, "batchValidationParallelism", 4);
+    ReflectionTestUtils.setField(urlService, "maxPageSize", 50);
+    ReflectionTestUtils.setField(urlService, "replicaMaxLagSeconds", 5L);
+    ReflectionTestUtils.setField(urlService, "replicaHealthCheckIntervalMs", 5000L);
 
     userContextMock = mockStatic(UserContext.class);
     userContextMock.when(UserContext::getCurrentUserId).thenReturn(1L);
@@ -63,6 +116,26 @@ class UrlServiceTest {
     }
   }
 
+  private void stubBatchInsertAssignsIds() {
+    long[] nextId = {100};
+    doAnswer(
+            invocation -> {
+              List<Url> chunk = invocation.getArgument(0);
+              chunk.forEach(url -> url.setId(nextId[0]++));
+              return null;
+            })
+        .when(urlJdbcRepository)
+        .insertUrls(anyList());
+  }
+
+  private void stubRedirectCacheMiss(String shortCode) {
+    when(shortCodeFilter.mightContain(shortCode)).thenReturn(true);
+    when(redirectCache.get(eq(shortCode), any()))
+        .thenAnswer(
+            invocation ->
+                invocation.<Function<String, RedirectEntry>>getArgument(1).apply(shortCode));
+  }
+
   @Test
   @DisplayName("Should add URL successfully with valid URL")
   void shouldAddUrlSuccessfully() {
@@ -78,7 +151,8 @@ class UrlServiceTest {
     savedUrl.setCreatedAt(LocalDateTime.now());
     savedUrl.setUpdatedAt(LocalDateTime.now());
 
-    when(urlRepository.findByShortCode(anyString())).thenReturn(Optional.empty());
+    when(hostValidator.isResolvable(anyString())).thenReturn(true);
+    when(shortCodeGenerator.nextCode()).thenReturn("abc1234");
     when(urlRepository.save(any(Url.class))).thenReturn(savedUrl);
 
     UrlDto result = urlService.addUrl(longUrl);
@@ -90,6 +164,8 @@ class UrlServiceTest {
     assertThat(result.getClicks()).isEqualTo(0);
 
     verify(urlRepository).save(any(Url.class));
+    verify(shortCodeFilter).put(result.getShortCode());
+    verify(redirectStore).put(eq(result.getShortCode()), any(RedirectEntry.class));
     verify(notificationService).sendUrlCreatedNotification(anyString(), eq(longUrl));
   }
 
@@ -131,23 +207,28 @@ class UrlServiceTest {
     url1.setId(1L);
     url1.setShortCode("abc123");
     url1.setLongUrl("https://example1.com");
+    url1.setCreatedBy(1L);
 
     Url url2 = new Url();
     url2.setId(2L);
     url2.setShortCode("xyz789");
     url2.setLongUrl("https://example2.com");
+    url2.setCreatedBy(2L);
 
-    Page<Url> urlPage = new PageImpl<>(Arrays.asList(url1, url2));
+    Page<UrlSummary> urlPage = new PageImpl<>(Arrays.asList(summary(url1), summary(url2)));
 
-    when(urlRepository.findAll(any(Pageable.class))).thenReturn(urlPage);
+    when(urlRepository.findSummaries(any(Pageable.class))).thenReturn(urlPage);
 
-    Page<Url> result = urlService.getUrls(0, 10, null, null);
+    Page<UrlDto> result = urlService.getUrls(0, 10, null, null);
 
     assertThat(result).isNotNull();
     assertThat(result.getContent()).hasSize(2);
-    assertThat(result.getContent()).containsExactly(url1, url2);
+    assertThat(result.getContent())
+        .extracting(UrlDto::getShortCode)
+        .containsExactly("abc123", "xyz789");
+    assertThat(result.getContent()).extracting(UrlDto::getCreatedBy).containsExactly(1L, 2L);
 
-    verify(urlRepository).findAll(any(Pageable.class));
+    verify(urlRepository).findSummaries(any(Pageable.class));
   }
 
   @Test
@@ -163,6 +244,7 @@ class UrlServiceTest {
     url.setUpdatedAt(LocalDateTime.now());
 
     when(urlRepository.findByShortCode(shortCode)).thenReturn(Optional.of(url));
+    when(urlJdbcRepository.getClickCount(shortCode)).thenReturn(5L);
 
     UrlDto result = urlService.getUrlByShortCode(shortCode);
 
@@ -175,6 +257,27 @@ class UrlServiceTest {
     verify(urlRepository).findByShortCode(shortCode);
   }
 
+  @Test
+  @DisplayName("Should include clicks not yet folded into the URL when getting it by short code")
+  void shouldIncludeClicksNotYetFoldedWhenGettingUrlByShortCode() {
+    String shortCode = "abc123";
+    Url url = new Url();
+    url.setId(1L);
+    url.setShortCode(shortCode);
+    url.setLongUrl("https://example.com");
+    url.setClicks(5);
+    url.setCreatedAt(LocalDateTime.now());
+    url.setUpdatedAt(LocalDateTime.now());
+
+    when(urlRepository.findByShortCode(shortCode)).thenReturn(Optional.of(url));
+    when(urlJdbcRepository.getClickCount(shortCode)).thenReturn(12L);
+
+    UrlDto result = urlService.getUrlByShortCode(shortCode);
+
+    assertThat(result.getClicks()).isEqualTo(12);
+    assertThat(url.getClicks()).isEqualTo(5);
+  }
+
   @Test
   @DisplayName("Should throw NoSuchElementException when short code does not exist")
   void shouldThrowNoSuchElementExceptionWhenShortCodeNotFound() {
@@ -199,18 +302,81 @@ class UrlServiceTest {
     url.setClicks(5);
     url.setExpiresAt(LocalDateTime.now().plusHours(1));
 
-    when(urlRepository.findByShortCode(shortCode)).thenReturn(Optional.of(url));
-    when(urlRepository.getClickCount(shortCode)).thenReturn(6);
+    stubRedirectCacheMiss(shortCode);
+    when(redirectJdbcRepository.findByShortCode(shortCode)).thenReturn(RedirectEntry.from(url));
+    when(clickCounter.increment(shortCode)).thenReturn(6L);
 
-    Url result = urlService.redirect(shortCode);
+    RedirectEntry result = urlService.redirect(shortCode);
 
     assertThat(result).isNotNull();
-    assertThat(result.getShortCode()).isEqualTo(shortCode);
+    assertThat(result.longUrl()).isEqualTo("https://example.com");
 
-    verify(urlRepository).findByShortCode(shortCode);
-    verify(urlRepository).incrementClickCount(shortCode);
-    verify(urlRepository).getClickCount(shortCode);
-    verify(notificationService, never()).sendThresholdNotification(anyString());
+    verify(redirectJdbcRepository).findByShortCode(shortCode);
+    verify(redirectStore, never()).put(anyString(), any());
+    verify(clickCounter).increment(shortCode);
+    verify(thresholdDispatcher, never()).dispatch(anyString());
+  }
+
+  @Test
+  @DisplayName("Should fill the redirect store with a replica entry dated back by the replica lag")
+  void shouldFillTheRedirectStoreWithAReplicaEntryDatedBackByTheReplicaLag() {
+    String shortCode = "abc123";
+    RedirectEntry replicaEntry =
+        new RedirectEntry("https://example.com", LocalDateTime.now().plusHours(1), 1L);
+
+    stubRedirectCacheMiss(shortCode);
+    when(redirectJdbcRepository.findByShortCode(shortCode)).thenReturn(replicaEntry);
+    when(clickCounter.increment(shortCode)).thenReturn(1L);
+
+    long before = System.nanoTime();
+    urlService.redirect(shortCode);
+
+    ArgumentCaptor<Long> readAsOf = ArgumentCaptor.forClass(Long.class);
+    verify(redirectStore).fill(eq(shortCode), eq(replicaEntry), readAsOf.capture(), any());
+    assertThat(before - readAsOf.getValue())
+        .isGreaterThanOrEqualTo(Duration.ofSeconds(11).toNanos());
+    verify(redirectJdbcRepository, never()).findByShortCodeOnPrimary(anyString());
+  }
+
+  @Test
+  @DisplayName("Should fill the redirect store with the primary entry when the replica missed")
+  void shouldFillTheRedirectStoreWithThePrimaryEntryWhenTheReplicaMissed() {
+    String shortCode = "abc123";
+    RedirectEntry primaryEntry =
+        new RedirectEntry("https://example.com", LocalDateTime.now().plusHours(1), 1L);
+
+    stubRedirectCacheMiss(shortCode);
+    when(redirectJdbcRepository.findByShortCode(shortCode)).thenReturn(null);
+    when(redirectJdbcRepository.findByShortCodeOnPrimary(shortCode)).thenReturn(primaryEntry);
+    when(clickCounter.increment(shortCode)).thenReturn(1L);
+
+    long before = System.nanoTime();
+    urlService.redirect(shortCode);
+
+    ArgumentCaptor<Long> readAsOf = ArgumentCaptor.forClass(Long.class);
+    verify(redirectStore).fill(eq(shortCode), eq(primaryEntry), readAsOf.capture(), any());
+    assertThat(readAsOf.getValue() - before).isNotNegative();
+    verify(redirectJdbcRepository).findByShortCodeOnPrimary(shortCode);
+  }
+
+  @Test
+  @DisplayName("Should read the primary when a replica has not seen the short code yet")
+  void shouldReadThePrimaryWhenAReplicaHasNotSeenTheShortCodeYet() {
+    String shortCode = "fresh12";
+    Url url = new Url();
+    url.setShortCode(shortCode);
+    url.setLongUrl("https://example.com");
+    url.setExpiresAt(LocalDateTime.now().plusDays(1));
+
+    stubRedirectCacheMiss(shortCode);
+    when(redirectJdbcRepository.findByShortCode(shortCode)).thenReturn(null);
+    when(redirectJdbcRepository.findByShortCodeOnPrimary(shortCode))
+        .thenReturn(RedirectEntry.from(url));
+    when(clickCounter.increment(shortCode)).thenReturn(1L);
+
+    RedirectEntry result = urlService.redirect(shortCode);
+
+    assertThat(result.longUrl()).isEqualTo("https://example.com");
   }
 
   @Test
@@ -223,13 +389,14 @@ class UrlServiceTest {
     url.setLongUrl("https://example.com");
     url.setExpiresAt(LocalDateTime.now().minusHours(1));
 
-    when(urlRepository.findByShortCode(shortCode)).thenReturn(Optional.of(url));
+    stubRedirectCacheMiss(shortCode);
+    when(redirectJdbcRepository.findByShortCode(shortCode)).thenReturn(RedirectEntry.from(url));
 
     assertThatThrownBy(() -> urlService.redirect(shortCode))
         .isInstanceOf(UrlExpiredException.class);
 
-    verify(urlRepository).findByShortCode(shortCode);
-    verify(urlRepository, never()).incrementClickCount(anyString());
+    verify(redirectJdbcRepository).findByShortCode(shortCode);
+    verify(clickCounter, never()).increment(anyString());
   }
 
   @Test
@@ -243,15 +410,16 @@ class UrlServiceTest {
     url.setClicks(100);
     url.setExpiresAt(LocalDateTime.now().plusHours(1));
 
-    when(urlRepository.findByShortCode(shortCode)).thenReturn(Optional.of(url));
-    when(urlRepository.getClickCount(shortCode)).thenReturn(101);
+    stubRedirectCacheMiss(shortCode);
+    when(redirectJdbcRepository.findByShortCode(shortCode)).thenReturn(RedirectEntry.from(url));
+    when(clickCounter.increment(shortCode)).thenReturn(101L);
 
     assertThatThrownBy(() -> urlService.redirect(shortCode))
         .isInstanceOf(ThresholdReachedException.class);
 
-    verify(urlRepository).incrementClickCount(shortCode);
-    verify(urlRepository).getClickCount(shortCode);
-    verify(notificationService).sendThresholdNotification(shortCode);
+    verify(clickCounter).increment(shortCode);
+    verify(thresholdDispatcher).dispatch(shortCode);
+    verify(notificationService, never()).sendThresholdNotification(anyString());
   }
 
   @Test
@@ -265,13 +433,14 @@ class UrlServiceTest {
     url.setClicks(5);
     url.setExpiresAt(null);
 
-    when(urlRepository.findByShortCode(shortCode)).thenReturn(Optional.of(url));
-    when(urlRepository.getClickCount(shortCode)).thenReturn(6);
+    stubRedirectCacheMiss(shortCode);
+    when(redirectJdbcRepository.findByShortCode(shortCode)).thenReturn(RedirectEntry.from(url));
+    when(clickCounter.increment(shortCode)).thenReturn(6L);
 
-    Url result = urlService.redirect(shortCode);
+    RedirectEntry result = urlService.redirect(shortCode);
 
     assertThat(result).isNotNull();
-    verify(urlRepository).incrementClickCount(shortCode);
+    verify(clickCounter).increment(shortCode);
   }
 
   @Test
@@ -289,6 +458,10 @@ class UrlServiceTest {
 
     verify(urlRepository).findByShortCode(shortCode);
     verify(urlRepository).delete(url);
+    verify(redirectStore).remove(shortCode);
+    verify(redirectCache).invalidate(shortCode);
+    verify(clickCounter).evict(shortCode);
+    verify(shortCodeFilter).recordRemoval();
   }
 
   @Test
@@ -303,31 +476,104 @@ class UrlServiceTest {
 
     verify(urlRepository).findByShortCode(shortCode);
     verify(urlRepository, never()).delete(any(Url.class));
+    verify(redirectCache, never()).invalidate(anyString());
+  }
+
+  @Test
+  @DisplayName("Should serve a redirect from the redirect store without querying the database")
+  void shouldServeARedirectFromTheRedirectStoreWithoutQueryingTheDatabase() {
+    String shortCode = "abc1234";
+    RedirectEntry stored =
+        new RedirectEntry("https://example.com", LocalDateTime.now().plusHours(1), 1L);
+
+    stubRedirectCacheMiss(shortCode);
+    when(redirectStore.find(shortCode)).thenReturn(stored);
+    when(clickCounter.increment(shortCode)).thenReturn(1L);
+
+    assertThat(urlService.redirect(shortCode)).isSameAs(stored);
+
+    verifyNoInteractions(redirectJdbcRepository);
+    verify(redirectStore, never()).put(anyString(), any());
+  }
+
+  @Test
+  @DisplayName("Should serve redirect from cache without querying the repository")
+  void shouldServeRedirectFromCacheWithoutQueryingRepository() {
+    String shortCode = "abc123";
+    RedirectEntry cached =
+        new RedirectEntry("https://example.com", LocalDateTime.now().plusHours(1), 1L);
+
+    when(redirectCache.get(eq(shortCode), any())).thenReturn(cached);
+    when(clickCounter.increment(shortCode)).thenReturn(6L);
+
+    RedirectEntry result = urlService.redirect(shortCode);
+
+    assertThat(result).isSameAs(cached);
+    verify(redirectJdbcRepository, never()).findByShortCode(anyString());
   }
 
   @Test
-  @DisplayName("Should generate unique short code when collision occurs")
-  void shouldGenerateUniqueShortCodeWhenCollisionOccurs() {
+  @DisplayName("Should throw NoSuchElementException when redirecting to unknown short code")
+  void shouldThrowNoSuchElementExceptionWhenRedirectingToUnknownShortCode() {
+    String shortCode = "notexists";
+
+    stubRedirectCacheMiss(shortCode);
+    when(redirectJdbcRepository.findByShortCode(shortCode)).thenReturn(null);
+
+    assertThatThrownBy(() -> urlService.redirect(shortCode))
+        .isInstanceOf(NoSuchElementException.class);
+
+    verify(clickCounter, never()).increment(anyString());
+  }
+
+  @Test
+  @DisplayName("Should reject short codes the filter knows are absent without a query")
+  void shouldRejectShortCodesTheFilterKnowsAreAbsentWithoutAQuery() {
+    String shortCode = "zzzzzzz";
+
+    when(redirectCache.get(eq(shortCode), any()))
+        .thenAnswer(
+            invocation ->
+                invocation.<Function<String, RedirectEntry>>getArgument(1).apply(shortCode));
+    when(shortCodeFilter.mightContain(shortCode)).thenReturn(false);
+
+    assertThatThrownBy(() -> urlService.redirect(shortCode))
+        .isInstanceOf(NoSuchElementException.class);
+
+    verify(redirectJdbcRepository, never()).findByShortCode(anyString());
+    verify(clickCounter, never()).increment(anyString());
+  }
+
+  @Test
+  @DisplayName("Should use generated short code without checking for collisions")
+  void shouldUseGeneratedShortCodeWithoutCheckingForCollisions() {
     String longUrl = "https://www.example.com";
 
-    Url existingUrl = new Url();
-    existingUrl.setShortCode("abc123");
+    when(hostValidator.isResolvable(anyString())).thenReturn(true);
+    when(shortCodeGenerator.nextCode()).thenReturn("xyz7890");
+    when(urlRepository.save(any(Url.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
-    Url savedUrl = new Url();
-    savedUrl.setId(1L);
-    savedUrl.setShortCode("xyz789");
-    savedUrl.setLongUrl(longUrl);
-    savedUrl.setClicks(0);
+    UrlDto result = urlService.addUrl(longUrl);
 
-    when(urlRepository.findByShortCode(anyString()))
-        .thenReturn(Optional.of(existingUrl))
-        .thenReturn(Optional.empty());
-    when(urlRepository.save(any(Url.class))).thenReturn(savedUrl);
+    assertThat(result.getShortCode()).isEqualTo("xyz7890");
+    verify(urlRepository, never()).findByShortCode(anyString());
+  }
+
+  @Test
+  @DisplayName("Should retry with a new short code when the generated one is taken")
+  void shouldRetryWithANewShortCodeWhenTheGeneratedOneIsTaken() {
+    String longUrl = "https://www.example.com";
+
+    when(hostValidator.isResolvable(anyString())).thenReturn(true);
+    when(shortCodeGenerator.nextCode()).thenReturn("abc1234").thenReturn("xyz7890");
+    when(urlRepository.save(any(Url.class)))
+        .thenThrow(new DataIntegrityViolationException("duplicate short_code"))
+        .thenAnswer(invocation -> invocation.getArgument(0));
 
     UrlDto result = urlService.addUrl(longUrl);
 
-    assertThat(result).isNotNull();
-    verify(urlRepository, atLeast(2)).findByShortCode(anyString());
+    assertThat(result.getShortCode()).isEqualTo("xyz7890");
+    verify(urlRepository, times(2)).save(any(Url.class));
   }
 
   @Test
@@ -341,7 +587,8 @@ class UrlServiceTest {
     savedUrl.setLongUrl(httpUrl);
     savedUrl.setClicks(0);
 
-    when(urlRepository.findByShortCode(anyString())).thenReturn(Optional.empty());
+    when(hostValidator.isResolvable(anyString())).thenReturn(true);
+    when(shortCodeGenerator.nextCode()).thenReturn("abc1234");
     when(urlRepository.save(any(Url.class))).thenReturn(savedUrl);
 
     UrlDto result = urlService.addUrl(httpUrl);
@@ -364,7 +611,8 @@ class UrlServiceTest {
     savedUrl.setClicks(0);
     savedUrl.setExpiresAt(LocalDateTime.now().plusHours(48));
 
-    when(urlRepository.findByShortCode(anyString())).thenReturn(Optional.empty());
+    when(hostValidator.isResolvable(anyString())).thenReturn(true);
+    when(shortCodeGenerator.nextCode()).thenReturn("abc1234");
     when(urlRepository.save(any(Url.class))).thenReturn(savedUrl);
 
     UrlDto result = urlService.addUrl(longUrl);
@@ -377,6 +625,7 @@ class UrlServiceTest {
   @DisplayName("Should throw InvalidUrlException for invalid DNS domain")
   void shouldThrowInvalidUrlExceptionForInvalidDnsDomain() {
     String invalidDnsUrl = "https://this-domain-definitely-does-not-exist-xyz12345.invalid";
+    when(hostValidator.isResolvable(anyString())).thenReturn(false);
 
     assertThatThrownBy(() -> urlService.addUrl(invalidDnsUrl))
         .isInstanceOf(InvalidUrlException.class);
@@ -389,6 +638,7 @@ class UrlServiceTest {
   @DisplayName("Should throw InvalidUrlException for non-resolvable domain")
   void shouldThrowInvalidUrlExceptionForNonResolvableDomain() {
     String nonResolvableUrl = "https://invalid-domain-that-does-not-resolve-99999.test";
+    when(hostValidator.isResolvable(anyString())).thenReturn(false);
 
     assertThatThrownBy(() -> urlService.addUrl(nonResolvableUrl))
         .isInstanceOf(InvalidUrlException.class);
@@ -397,6 +647,236 @@ class UrlServiceTest {
     verify(notificationService, never()).sendUrlCreatedNotification(anyString(), anyString());
   }
 
+  @Test
+  @DisplayName("Should store the hash of the normalized URL")
+  void shouldStoreTheHashOfTheNormalizedUrl() {
+    String expectedHash = urlNormalizer.hash("https://www.example.com/page");
+    when(hostValidator.isResolvable(anyString())).thenReturn(true);
+    when(shortCodeGenerator.nextCode()).thenReturn("abc1234");
+    when(urlRepository.save(any(Url.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+    urlService.addUrl("https://www.Example.com:443/page/");
+
+    verify(urlRepository).save(argThat((Url url) -> url.getUrlHash().equals(expectedHash)));
+  }
+
+  @Test
+  @DisplayName("Should return the existing short code for a duplicate URL when dedup is enabled")
+  void shouldReturnTheExistingShortCodeForADuplicateUrlWhenDedupIsEnabled() {
+    ReflectionTestUtils.setField(urlService, "dedupEnabled", true);
+    String hash = urlNormalizer.hash("https://www.example.com/page");
+    Url existing = new Url();
+    existing.setId(7L);
+    existing.setShortCode("xyz7890");
+    existing.setLongUrl("https://www.example.com/page");
+    existing.setCreatedBy(1L);
+    existing.setExpiresAt(LocalDateTime.now().plusDays(1));
+    when(hostValidator.isResolvable(anyString())).thenReturn(true);
+    when(urlRepository.findFirstByCreatedByAndUrlHashAndExpiresAtAfterOrderByIdDesc(
+            eq(1L), eq(hash), any()))
+        .thenReturn(Optional.of(existing));
+
+    UrlDto result = urlService.addUrl("https://WWW.EXAMPLE.COM/page/");
+
+    assertThat(result.getId()).isEqualTo(7L);
+    assertThat(result.getShortCode()).isEqualTo("xyz7890");
+    verify(urlRepository, never()).save(any(Url.class));
+    verify(notificationService, never()).sendUrlCreatedNotification(anyString(), anyString());
+  }
+
+  @Test
+  @DisplayName("Should create a new short code when no unexpired duplicate exists")
+  void shouldCreateANewShortCodeWhenNoUnexpiredDuplicateExists() {
+    ReflectionTestUtils.setField(urlService, "dedupEnabled", true);
+    when(hostValidator.isResolvable(anyString())).thenReturn(true);
+    when(urlRepository.findFirstByCreatedByAndUrlHashAndExpiresAtAfterOrderByIdDesc(
+            eq(1L), anyString(), any()))
+        .thenReturn(Optional.empty());
+    when(shortCodeGenerator.nextCode()).thenReturn("abc1234");
+    when(urlRepository.save(any(Url.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+    UrlDto result = urlService.addUrl("https://www.example.com/page");
+
+    assertThat(result.getShortCode()).isEqualTo("abc1234");
+    verify(urlRepository).save(any(Url.class));
+  }
+
+  @Test
+  @DisplayName("Should not look up duplicates when dedup is disabled")
+  void shouldNotLookUpDuplicatesWhenDedupIsDisabled() {
+    when(hostValidator.isResolvable(anyString())).thenReturn(true);
+    when(shortCodeGenerator.nextCode()).thenReturn("abc1234");
+    when(urlRepository.save(any(Url.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+    urlService.addUrl("https://www.example.com/page");
+
+    verify(urlRepository, never())
+        .findFirstByCreatedByAndUrlHashAndExpiresAtAfterOrderByIdDesc(any(), any(), any());
+  }
+
+  @Test
+  @DisplayName("Should create valid URLs in JDBC batches and report invalid ones per item")
+  void shouldCreateValidUrlsInJdbcBatchesAndReportInvalidOnesPerItem() {
+    when(hostValidator.checkAsync("www.example.com"))
+        .thenReturn(CompletableFuture.completedFuture(true));
+    when(shortCodeGenerator.nextCode()).thenReturn("code001", "code002", "code003");
+    stubBatchInsertAssignsIds();
+
+    BatchShortenResponse response =
+        urlService.addUrls(
+            List.of(
+                "https://www.example.com/a",
+                "ftp://www.example.com/b",
+                "https://www.example.com/c",
+                "https://www.example.com/d"));
+
+    assertThat(response.getTotal()).isEqualTo(4);
+    assertThat(response.getSucceeded()).isEqualTo(3);
+    assertThat(response.getFailed()).isEqualTo(1);
+    assertThat(response.getResults().get(0).getUrl().getShortCode()).isEqualTo("code001");
+    assertThat(response.getResults().get(1).isSuccess()).isFalse();
+    assertThat(response.getResults().get(1).getError()).isEqualTo("Invalid URL provided");
+    assertThat(response.getResults().get(3).getUrl().getShortUrl())
+        .isEqualTo("http://short.url/code003");
+
+    verify(hostValidator, times(1)).checkAsync("www.example.com");
+    verify(urlJdbcRepository, times(2)).insertUrls(anyList());
+    verify(urlRepository, never()).save(any(Url.class));
+    verify(shortCodeFilter, times(3)).put(anyString());
+    verify(notificationService).sendUrlsCreatedNotification(3);
+    verify(notificationService, never()).sendUrlCreatedNotification(anyString(), anyString());
+  }
+
+  @Test
+  @DisplayName("Should fail the rest of a batch at once when the generator runs out of codes")
+  void shouldFailTheRestOfABatchAtOnceWhenTheGeneratorRunsOutOfCodes() {
+    when(hostValidator.checkAsync("www.example.com"))
+        .thenReturn(CompletableFuture.completedFuture(true));
+    when(shortCodeGenerator.nextCode())
+        .thenReturn("code001", "code002")
+        .thenThrow(new ShortCodeRateExceededException());
+    stubBatchInsertAssignsIds();
+
+    BatchShortenResponse response =
+        urlService.addUrls(
+            List.of(
+                "https://www.example.com/a",
+                "https://www.example.com/b",
+                "https://www.example.com/c"));
+
+    assertThat(response.getSucceeded()).isEqualTo(2);
+    assertThat(response.getFailed()).isEqualTo(1);
+    assertThat(response.getResults().get(2).getError()).isEqualTo("Failed to create short URL");
+    verify(urlJdbcRepository, times(1)).insertUrls(anyList());
+    verify(urlRepository, never()).save(any(Url.class));
+  }
+
+  @Test
+  @DisplayName("Should report URLs with unresolvable hosts as failed items")
+  void shouldReportUrlsWithUnresolvableHostsAsFailedItems() {
+    when(hostValidator.checkAsync("www.example.com"))
+        .thenReturn(CompletableFuture.completedFuture(true));
+    when(hostValidator.checkAsync("nowhere.invalid"))
+        .thenReturn(CompletableFuture.completedFuture(false));
+    when(shortCodeGenerator.nextCode()).thenReturn("code001");
+    stubBatchInsertAssignsIds();
+
+    BatchShortenResponse response =
+        urlService.addUrls(List.of("https://nowhere.invalid/x", "https://www.example.com/a"));
+
+    assertThat(response.getResults().get(0).isSuccess()).isFalse();
+    assertThat(response.getResults().get(1).isSuccess()).isTrue();
+  }
+
+  @Test
+  @DisplayName("Should retry a chunk row by row when its batch insert hits a duplicate code")
+  void shouldRetryAChunkRowByRowWhenItsBatchInsertHitsADuplicateCode() {
+    when(hostValidator.checkAsync("www.example.com"))
+        .thenReturn(CompletableFuture.completedFuture(true));
+    when(shortCodeGenerator.nextCode()).thenReturn("taken01", "code002", "code003", "code004");
+    doThrow(new DataIntegrityViolationException("duplicate"))
+        .when(urlJdbcRepository)
+        .insertUrls(anyList());
+    long[] nextId = {1};
+    when(urlRepository.save(any(Url.class)))
+        .thenAnswer(
+            invocation -> {
+              Url url = invocation.getArgument(0);
+              url.setId(nextId[0]++);
+              return url;
+            });
+
+    BatchShortenResponse response =
+        urlService.addUrls(List.of("https://www.example.com/a", "https://www.example.com/b"));
+
+    assertThat(response.getSucceeded()).isEqualTo(2);
+    assertThat(response.getResults().get(0).getUrl().getShortCode()).isEqualTo("code003");
+    assertThat(response.getResults().get(1).getUrl().getShortCode()).isEqualTo("code004");
+    verify(urlRepository, times(2)).save(any(Url.class));
+  }
+
+  @Test
+  @DisplayName("Should keep batch results when the aggregated notification fails")
+  void shouldKeepBatchResultsWhenTheAggregatedNotificationFails() {
+    when(hostValidator.checkAsync("www.example.com"))
+        .thenReturn(CompletableFuture.completedFuture(true));
+    when(shortCodeGenerator.nextCode()).thenReturn("code001");
+    stubBatchInsertAssignsIds();
+    doThrow(new RuntimeException("notification-service down"))
+        .when(notificationService)
+        .sendUrlsCreatedNotification(1);
+
+    BatchShortenResponse response = urlService.addUrls(List.of("https://www.example.com/a"));
+
+    assertThat(response.getSucceeded()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Should reuse one link for duplicate URLs in a batch when dedup is enabled")
+  void shouldReuseOneLinkForDuplicateUrlsInABatchWhenDedupIsEnabled() {
+    ReflectionTestUtils.setField(urlService, "dedupEnabled", true);
+    when(hostValidator.checkAsync("www.example.com"))
+        .thenReturn(CompletableFuture.completedFuture(true));
+    when(urlRepository.findFirstByCreatedByAndUrlHashAndExpiresAtAfterOrderByIdDesc(
+            eq(1L), anyString(), any()))
+        .thenReturn(Optional.empty());
+    when(shortCodeGenerator.nextCode()).thenReturn("code001");
+    stubBatchInsertAssignsIds();
+
+    BatchShortenResponse response =
+        urlService.addUrls(List.of("https://www.example.com/a", "https://WWW.example.com/a/"));
+
+    assertThat(response.getSucceeded()).isEqualTo(2);
+    assertThat(response.getResults().get(1).getUrl().getShortCode()).isEqualTo("code001");
+    verify(notificationService).sendUrlsCreatedNotification(1);
+  }
+
+  @Test
+  @DisplayName("Should reject empty and oversized batches")
+  void shouldRejectEmptyAndOversizedBatches() {
+    ReflectionTestUtils.setField(urlService, "batchMaxSize", 2);
+
+    assertThatThrownBy(() -> urlService.addUrls(List.of()))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> urlService.addUrls(Collections.nCopies(3, "https://www.example.com")))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("at most 2");
+
+    verifyNoInteractions(urlJdbcRepository);
+  }
+
+  @Test
+  @DisplayName("Should throw InvalidUrlException for banned host")
+  void shouldThrowInvalidUrlExceptionForBannedHost() {
+    when(bannedHostProvider.isBanned("ads.spam-site.com")).thenReturn(true);
+
+    assertThatThrownBy(() -> urlService.addUrl("https://ads.spam-site.com/offer"))
+        .isInstanceOf(InvalidUrlException.class);
+
+    verify(hostValidator, never()).isResolvable(anyString());
+    verify(urlRepository, never()).save(any(Url.class));
+  }
+
   @Test
   @DisplayName("Should throw IllegalArgumentException when page number is negative")
   void shouldThrowIllegalArgumentExceptionWhenPageNumberIsNegative() {
@@ -404,7 +884,7 @@ class UrlServiceTest {
         .isInstanceOf(IllegalArgumentException.class)
         .hasMessageContaining("Page number cannot be negative");
 
-    verify(urlRepository, never()).findAll(any(Pageable.class));
+    verify(urlRepository, never()).findSummaries(any(Pageable.class));
   }
 
   @Test
@@ -414,7 +894,7 @@ class UrlServiceTest {
         .isInstanceOf(IllegalArgumentException.class)
         .hasMessageContaining("Page size must be greater than zero");
 
-    verify(urlRepository, never()).findAll(any(Pageable.class));
+    verify(urlRepository, never()).findSummaries(any(Pageable.class));
   }
 
   @Test
@@ -424,7 +904,104 @@ class UrlServiceTest {
         .isInstanceOf(IllegalArgumentException.class)
         .hasMessageContaining("Page size must be greater than zero");
 
-    verify(urlRepository, never()).findAll(any(Pageable.class));
+    verify(urlRepository, never()).findSummaries(any(Pageable.class));
+  }
+
+  @Test
+  @DisplayName("Should reject page sizes above the configured maximum")
+  void shouldRejectPageSizesAboveTheConfiguredMaximum() {
+    assertThatThrownBy(() -> urlService.getUrls(0, 51, null, null))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("must not exceed 50");
+    assertThatThrownBy(() -> urlService.getUrlPage(null, 51, null, null, false))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("must not exceed 50");
+
+    verify(urlRepository, never()).findSummaries(any(Pageable.class));
+  }
+
+  private static UrlSummary pageRow(long id, int clicks) {
+    return new UrlSummary(
+        id, "code" + id, "https://example.com/" + id, clicks, null, null, null, 1L);
+  }
+
+  private static UrlSummary summary(Url url) {
+    return new UrlSummary(
+        url.getId(),
+        url.getShortCode(),
+        url.getLongUrl(),
+        url.getClicks(),
+        url.getCreatedAt(),
+        url.getUpdatedAt(),
+        url.getExpiresAt(),
+        url.getCreatedBy());
+  }
+
+  @Test
+  @DisplayName("Should return a first keyset page with a next cursor and no total")
+  void shouldReturnAFirstKeysetPageWithANextCursorAndNoTotal() {
+    userContextMock.when(UserContext::getCurrentUserRole).thenReturn("user");
+    when(urlRepository.findPage(1L, "clicks", true, null, 3))
+        .thenReturn(List.of(pageRow(4, 1), pageRow(2, 5), pageRow(9, 5)));
+
+    UrlCursorPage page = urlService.getUrlPage(null, 2, "clicks", "asc", false);
+
+    assertThat(page.getUrls()).extracting(UrlDto::getShortCode).containsExactly("code4", "code2");
+    assertThat(page.isHasNext()).isTrue();
+    assertThat(page.isHasPrevious()).isFalse();
+    assertThat(page.getTotalElements()).isNull();
+    assertThat(UrlCursor.decode(page.getNextCursor()))
+        .isEqualTo(new UrlCursor("clicks", true, false, "5", 2));
+    verify(urlRepository, never()).countByCreatedBy(anyLong());
+  }
+
+  @Test
+  @DisplayName("Should continue from a cursor using the sort it was issued for")
+  void shouldContinueFromACursorUsingTheSortItWasIssuedFor() {
+    UrlCursor cursor = new UrlCursor("clicks", true, false, "5", 2);
+    when(urlRepository.findPage(null, "clicks", true, cursor, 3))
+        .thenReturn(List.of(pageRow(9, 5)));
+    when(urlRepository.count()).thenReturn(3L);
+
+    UrlCursorPage page = urlService.getUrlPage(cursor.encode(), 2, null, null, true);
+
+    assertThat(page.getUrls()).extracting(UrlDto::getId).containsExactly(9L);
+    assertThat(page.isHasNext()).isFalse();
+    assertThat(page.getNextCursor()).isNull();
+    assertThat(page.isHasPrevious()).isTrue();
+    assertThat(UrlCursor.decode(page.getPreviousCursor()))
+        .isEqualTo(new UrlCursor("clicks", true, true, "5", 9));
+    assertThat(page.getTotalElements()).isEqualTo(3L);
+  }
+
+  @Test
+  @DisplayName("Should reverse rows read before a backward cursor")
+  void shouldReverseRowsReadBeforeABackwardCursor() {
+    UrlCursor cursor = new UrlCursor("id", false, true, "5", 5);
+    when(urlRepository.findPage(null, "id", false, cursor, 3))
+        .thenReturn(List.of(pageRow(6, 0), pageRow(7, 0), pageRow(8, 0)));
+
+    UrlCursorPage page = urlService.getUrlPage(cursor.encode(), 2, null, null, false);
+
+    assertThat(page.getUrls()).extracting(UrlDto::getId).containsExactly(7L, 6L);
+    assertThat(page.isHasNext()).isTrue();
+    assertThat(page.isHasPrevious()).isTrue();
+    assertThat(UrlCursor.decode(page.getNextCursor()).id()).isEqualTo(6L);
+  }
+
+  @Test
+  @DisplayName("Should reject malformed cursors and cursors for another sort")
+  void shouldRejectMalformedCursorsAndCursorsForAnotherSort() {
+    String clicksCursor = new UrlCursor("clicks", true, false, "5", 2).encode();
+
+    assertThatThrownBy(() -> urlService.getUrlPage("not-a-cursor", 10, null, null, false))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Invalid cursor");
+    assertThatThrownBy(() -> urlService.getUrlPage(clicksCursor, 10, "id", null, false))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("does not match");
+    assertThatThrownBy(() -> urlService.getUrlPage(clicksCursor, 10, null, "desc", false))
+        .isInstanceOf(IllegalArgumentException.class);
   }
 
   @Test
@@ -434,7 +1011,7 @@ class UrlServiceTest {
         .isInstanceOf(IllegalArgumentException.class)
         .hasMessageContaining("Invalid sortBy");
 
-    verify(urlRepository, never()).findAll(any(Pageable.class));
+    verify(urlRepository, never()).findSummaries(any(Pageable.class));
   }
 
   @Test
@@ -444,7 +1021,7 @@ class UrlServiceTest {
         .isInstanceOf(IllegalArgumentException.class)
         .hasMessageContaining("Invalid sortDirection");
 
-    verify(urlRepository, never()).findAll(any(Pageable.class));
+    verify(urlRepository, never()).findSummaries(any(Pageable.class));
   }
 
   @Test
@@ -458,15 +1035,15 @@ class UrlServiceTest {
     url2.setId(2L);
     url2.setClicks(10);
 
-    Page<Url> urlPage = new PageImpl<>(Arrays.asList(url1, url2));
+    Page<UrlSummary> urlPage = new PageImpl<>(Arrays.asList(summary(url1), summary(url2)));
 
-    when(urlRepository.findAll(any(Pageable.class))).thenReturn(urlPage);
+    when(urlRepository.findSummaries(any(Pageable.class))).thenReturn(urlPage);
 
-    Page<Url> result = urlService.getUrls(0, 10, "clicks", "asc");
+    Page<UrlDto> result = urlService.getUrls(0, 10, "clicks", "asc");
 
     assertThat(result).isNotNull();
     assertThat(result.getContent()).hasSize(2);
-    verify(urlRepository).findAll(any(Pageable.class));
+    verify(urlRepository).findSummaries(any(Pageable.class));
   }
 
   @Test
@@ -480,15 +1057,15 @@ class UrlServiceTest {
     url2.setId(2L);
     url2.setShortCode("abc123");
 
-    Page<Url> urlPage = new PageImpl<>(Arrays.asList(url1, url2));
+    Page<UrlSummary> urlPage = new PageImpl<>(Arrays.asList(summary(url1), summary(url2)));
 
-    when(urlRepository.findAll(any(Pageable.class))).thenReturn(urlPage);
+    when(urlRepository.findSummaries(any(Pageable.class))).thenReturn(urlPage);
 
-    Page<Url> result = urlService.getUrls(0, 10, "shortCode", "desc");
+    Page<UrlDto> result = urlService.getUrls(0, 10, "shortCode", "desc");
 
     assertThat(result).isNotNull();
     assertThat(result.getContent()).hasSize(2);
-    verify(urlRepository).findAll(any(Pageable.class));
+    verify(urlRepository).findSummaries(any(Pageable.class));
   }
 
   @Test
@@ -502,28 +1079,46 @@ class UrlServiceTest {
     url2.setId(2L);
     url2.setExpiresAt(LocalDateTime.now().plusHours(2));
 
-    Page<Url> urlPage = new PageImpl<>(Arrays.asList(url1, url2));
+    Page<UrlSummary> urlPage = new PageImpl<>(Arrays.asList(summary(url1), summary(url2)));
 
-    when(urlRepository.findAll(any(Pageable.class))).thenReturn(urlPage);
+    when(urlRepository.findSummaries(any(Pageable.class))).thenReturn(urlPage);
 
-    Page<Url> result = urlService.getUrls(0, 10, "expiresAt", "asc");
+    Page<UrlDto> result = urlService.getUrls(0, 10, "expiresAt", "asc");
 
     assertThat(result).isNotNull();
     assertThat(result.getContent()).hasSize(2);
-    verify(urlRepository).findAll(any(Pageable.class));
+    verify(urlRepository).findSummaries(any(Pageable.class));
   }
 
   @Test
   @DisplayName("Should use default sort parameters when not provided")
   void shouldUseDefaultSortParametersWhenNotProvided() {
-    Page<Url> urlPage = new PageImpl<>(Arrays.asList());
+    Page<UrlSummary> urlPage = new PageImpl<UrlSummary>(List.of());
 
-    when(urlRepository.findAll(any(Pageable.class))).thenReturn(urlPage);
+    when(urlRepository.findSummaries(any(Pageable.class))).thenReturn(urlPage);
 
-    Page<Url> result = urlService.getUrls(0, 10, null, null);
+    Page<UrlDto> result = urlService.getUrls(0, 10, null, null);
 
     assertThat(result).isNotNull();
-    verify(urlRepository).findAll(any(Pageable.class));
+    verify(urlRepository).findSummaries(any(Pageable.class));
+  }
+
+  @Test
+  @DisplayName("Should list URLs as a slice without counting them")
+  void shouldListUrlsAsASliceWithoutCountingThem() {
+    userContextMock.when(UserContext::getCurrentUserId).thenReturn(5L);
+    userContextMock.when(UserContext::getCurrentUserRole).thenReturn("user");
+    when(urlRepository.findSummarySliceByCreatedBy(eq(5L), any(Pageable.class)))
+        .thenReturn(new SliceImpl<>(List.of(pageRow(3, 0)), PageRequest.of(0, 1), true));
+
+    Slice<UrlDto> result = urlService.getUrlSlice(0, 1, "clicks", "desc");
+
+    assertThat(result.getContent())
+        .extracting(UrlDto::getShortUrl)
+        .containsExactly("http://short.url/code3");
+    assertThat(result.hasNext()).isTrue();
+    verify(urlRepository, never()).findSummariesByCreatedBy(anyLong(), any(Pageable.class));
+    verify(urlRepository, never()).countByCreatedBy(anyLong());
   }
 
   @Test
@@ -543,7 +1138,8 @@ class UrlServiceTest {
     savedUrl.setCreatedAt(LocalDateTime.now());
     savedUrl.setUpdatedAt(LocalDateTime.now());
 
-    when(urlRepository.findByShortCode(anyString())).thenReturn(Optional.empty());
+    when(hostValidator.isResolvable(anyString())).thenReturn(true);
+    when(shortCodeGenerator.nextCode()).thenReturn("abc1234");
     when(urlRepository.save(any(Url.class))).thenReturn(savedUrl);
 
     UrlDto result = urlService.addUrl(longUrl);
@@ -571,16 +1167,16 @@ class UrlServiceTest {
     url2.setId(2L);
     url2.setCreatedBy(2L);
 
-    Page<Url> urlPage = new PageImpl<>(Arrays.asList(url1, url2));
+    Page<UrlSummary> urlPage = new PageImpl<>(Arrays.asList(summary(url1), summary(url2)));
 
-    when(urlRepository.findAll(any(Pageable.class))).thenReturn(urlPage);
+    when(urlRepository.findSummaries(any(Pageable.class))).thenReturn(urlPage);
 
-    Page<Url> result = urlService.getUrls(0, 10, null, null);
+    Page<UrlDto> result = urlService.getUrls(0, 10, null, null);
 
     assertThat(result).isNotNull();
     assertThat(result.getContent()).hasSize(2);
-    verify(urlRepository).findAll(any(Pageable.class));
-    verify(urlRepository, never()).findByCreatedBy(anyLong(), any(Pageable.class));
+    verify(urlRepository).findSummaries(any(Pageable.class));
+    verify(urlRepository, never()).findSummariesByCreatedBy(anyLong(), any(Pageable.class));
   }
 
   @Test
@@ -594,17 +1190,18 @@ class UrlServiceTest {
     url1.setId(1L);
     url1.setCreatedBy(userId);
 
-    Page<Url> urlPage = new PageImpl<>(Arrays.asList(url1));
+    Page<UrlSummary> urlPage = new PageImpl<>(Arrays.asList(summary(url1)));
 
-    when(urlRepository.findByCreatedBy(eq(userId), any(Pageable.class))).thenReturn(urlPage);
+    when(urlRepository.findSummariesByCreatedBy(eq(userId), any(Pageable.class)))
+        .thenReturn(urlPage);
 
-    Page<Url> result = urlService.getUrls(0, 10, null, null);
+    Page<UrlDto> result = urlService.getUrls(0, 10, null, null);
 
     assertThat(result).isNotNull();
     assertThat(result.getContent()).hasSize(1);
-    assertThat(result.getContent().get(0).getCreatedBy()).isEqualTo(userId);
-    verify(urlRepository).findByCreatedBy(eq(userId), any(Pageable.class));
-    verify(urlRepository, never()).findAll(any(Pageable.class));
+    assertThat(result.getContent().get(0).getId()).isEqualTo(1L);
+    verify(urlRepository).findSummariesByCreatedBy(eq(userId), any(Pageable.class));
+    verify(urlRepository, never()).findSummaries(any(Pageable.class));
   }
 
   @Test
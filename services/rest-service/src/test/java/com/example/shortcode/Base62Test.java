@@ -0,0 +1,43 @@
+package com.example.shortcode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Base62 Tests")
+class Base62Test {
+
+  @Test
+  @DisplayName("Should encode to a fixed width padded with zeros")
+  void shouldEncodeToAFixedWidthPaddedWithZeros() {
+    assertThat(Base62.encode(0, 7)).isEqualTo("0000000");
+    assertThat(Base62.encode(61, 7)).isEqualTo("000000z");
+    assertThat(Base62.encode(62, 7)).isEqualTo("0000010");
+    assertThat(Base62.encode(Base62.CAPACITY_7 - 1, 7)).isEqualTo("zzzzzzz");
+  }
+
+  @Test
+  @DisplayName("Should round trip values through decode")
+  void shouldRoundTripValuesThroughDecode() {
+    for (long value : new long[] {0, 1, 12345, 987_654_321L, Base62.CAPACITY_7 - 1}) {
+      assertThat(Base62.decode(Base62.encode(value, 7))).isEqualTo(value);
+    }
+  }
+
+  @Test
+  @DisplayName("Should reject values that do not fit")
+  void shouldRejectValuesThatDoNotFit() {
+    assertThatThrownBy(() -> Base62.encode(Base62.CAPACITY_7, 7))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> Base62.encode(-1, 7)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  @DisplayName("Should reject characters outside the alphabet")
+  void shouldRejectCharactersOutsideTheAlphabet() {
+    assertThatThrownBy(() -> Base62.decode("abc-123")).isInstanceOf(IllegalArgumentException.class);
+    assertThat(Base62.digit('_')).isEqualTo(-1);
+  }
+}
@@ -0,0 +1,77 @@
+package com.example.shortcode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BlockAllocatedShortCodeGenerator Tests")
+class BlockAllocatedShortCodeGeneratorTest {
+
+  @Mock private ShortCodeBlockAllocator allocator;
+
+  private BlockAllocatedShortCodeGenerator generator;
+
+  private void configure(boolean scramble) {
+    ReflectionTestUtils.setField(generator, "blockSize", 10);
+    ReflectionTestUtils.setField(generator, "scramble", scramble);
+    ReflectionTestUtils.setField(generator, "scrambleKey", 0L);
+    generator.init();
+  }
+
+  @BeforeEach
+  void setUp() {
+    generator = new BlockAllocatedShortCodeGenerator(allocator);
+  }
+
+  @Test
+  @DisplayName("Should hand out a whole block before leasing the next one")
+  void shouldHandOutAWholeBlockBeforeLeasingTheNextOne() {
+    configure(false);
+    when(allocator.leaseBlock(10)).thenReturn(1L).thenReturn(101L);
+
+    for (int i = 0; i < 10; i++) {
+      assertThat(generator.nextCode()).isEqualTo(Base62.encode(1 + i, 7));
+    }
+    assertThat(generator.nextCode()).isEqualTo(Base62.encode(101, 7));
+
+    verify(allocator, times(2)).leaseBlock(10);
+  }
+
+  @Test
+  @DisplayName("Should generate seven-character unique codes when scrambled")
+  void shouldGenerateSevenCharacterUniqueCodesWhenScrambled() {
+    configure(true);
+    when(allocator.leaseBlock(10)).thenReturn(1L, 11L, 21L, 31L, 41L);
+
+    Set<String> codes = new HashSet<>();
+    for (int i = 0; i < 50; i++) {
+      String code = generator.nextCode();
+      assertThat(code).hasSize(7).matches("[0-9A-Za-z]{7}");
+      codes.add(code);
+    }
+
+    assertThat(codes).hasSize(50);
+  }
+
+  @Test
+  @DisplayName("Should retry the lease when the sequence row was created concurrently")
+  void shouldRetryTheLeaseWhenTheSequenceRowWasCreatedConcurrently() {
+    configure(false);
+    when(allocator.leaseBlock(10))
+        .thenThrow(new DataIntegrityViolationException("duplicate"))
+        .thenReturn(11L);
+
+    assertThat(generator.nextCode()).isEqualTo(Base62.encode(11, 7));
+  }
+}
@@ -0,0 +1,171 @@
+package com.example.shortcode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.example.repository.ShortCodeReservationJdbcRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PooledShortCodeGenerator Tests")
+class PooledShortCodeGeneratorTest {
+
+  @Mock private ShortCodeGenerator delegate;
+  @Mock private ShortCodeReservationJdbcRepository reservationRepo;
+
+  private SimpleMeterRegistry meterRegistry;
+  private PooledShortCodeGenerator pool;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    pool = new PooledShortCodeGenerator(delegate, reservationRepo, meterRegistry);
+    ReflectionTestUtils.setField(pool, "node", "node-1");
+    ReflectionTestUtils.setField(pool, "lowWatermark", 2);
+    ReflectionTestUtils.setField(pool, "highWatermark", 5);
+    ReflectionTestUtils.setField(pool, "refillBatchSize", 2);
+    ReflectionTestUtils.setField(pool, "leaseTimeoutMs", 600_000L);
+    pool.init();
+  }
+
+  @AfterEach
+  void tearDown() throws InterruptedException {
+    pool.shutdown();
+  }
+
+  private void stubSequentialCodes() {
+    AtomicInteger sequence = new AtomicInteger();
+    lenient().when(delegate.nextCode()).thenAnswer(i -> "code" + sequence.incrementAndGet());
+  }
+
+  @Test
+  @DisplayName("Should reserve codes in batches up to the high watermark")
+  void shouldReserveCodesInBatchesUpToTheHighWatermark() {
+    stubSequentialCodes();
+
+    pool.refill();
+
+    assertThat(pool.size()).isEqualTo(5);
+    verify(reservationRepo).reserve(eq("node-1"), eq(List.of("code1", "code2")), any());
+    verify(reservationRepo).reserve(eq("node-1"), eq(List.of("code3", "code4")), any());
+    verify(reservationRepo).reserve(eq("node-1"), eq(List.of("code5")), any());
+    assertThat(meterRegistry.counter("short.code.pool.reserved").count()).isEqualTo(5);
+  }
+
+  @Test
+  @DisplayName("Should hand out pooled codes in reservation order")
+  void shouldHandOutPooledCodesInReservationOrder() {
+    stubSequentialCodes();
+    pool.refill();
+
+    assertThat(pool.nextCode()).isEqualTo("code1");
+    assertThat(pool.nextCode()).isEqualTo("code2");
+    assertThat(pool.size()).isEqualTo(3);
+  }
+
+  @Test
+  @DisplayName("Should not refill while the pool is above the low watermark")
+  void shouldNotRefillWhileThePoolIsAboveTheLowWatermark() {
+    stubSequentialCodes();
+    pool.refill();
+    pool.nextCode();
+    clearInvocations(reservationRepo);
+
+    pool.refill();
+
+    verify(reservationRepo, never()).reserve(any(), any(), any());
+    verify(reservationRepo).release(List.of("code1"));
+  }
+
+  @Test
+  @DisplayName("Should fall back to the generator and count exhaustion when the pool is empty")
+  void shouldFallBackToTheGeneratorAndCountExhaustionWhenThePoolIsEmpty() {
+    stubSequentialCodes();
+
+    String code = pool.nextCode();
+
+    assertThat(code).startsWith("code");
+    assertThat(meterRegistry.counter("short.code.pool.exhausted").count()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Should put unused reservations back into the pool on the first refill")
+  void shouldPutUnusedReservationsBackIntoThePoolOnTheFirstRefill() {
+    when(reservationRepo.findUnused("node-1")).thenReturn(List.of("kept001", "kept002", "kept003"));
+
+    pool.refill();
+    pool.refill();
+
+    assertThat(pool.nextCode()).isEqualTo("kept001");
+    verify(reservationRepo).releaseUsed("node-1");
+    verify(reservationRepo, times(1)).findUnused("node-1");
+    assertThat(meterRegistry.counter("short.code.pool.recovered").count()).isEqualTo(3);
+  }
+
+  @Test
+  @DisplayName("Should adopt codes whose reservations expired under another node name")
+  void shouldAdoptCodesWhoseReservationsExpiredUnderAnotherNodeName() {
+    LocalDateTime now = LocalDateTime.parse("2026-10-16T12:00:00");
+    setClock(now);
+    when(reservationRepo.adoptExpired("node-1", now.minusMinutes(10), now))
+        .thenReturn(List.of("lost001", "lost002"));
+
+    pool.refill();
+
+    assertThat(pool.nextCode()).isEqualTo("lost001");
+    verify(reservationRepo).renew("node-1", now);
+    assertThat(meterRegistry.counter("short.code.pool.recovered").count()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("Should renew the lease once every third of the lease timeout")
+  void shouldRenewTheLeaseOnceEveryThirdOfTheLeaseTimeout() {
+    stubSequentialCodes();
+    LocalDateTime start = LocalDateTime.parse("2026-10-16T12:00:00");
+    setClock(start);
+    pool.refill();
+    setClock(start.plusMinutes(3));
+    pool.refill();
+    setClock(start.plusMinutes(4));
+    pool.refill();
+
+    verify(reservationRepo).renew("node-1", start);
+    verify(reservationRepo).renew("node-1", start.plusMinutes(4));
+    verify(reservationRepo, times(2)).renew(eq("node-1"), any());
+    verify(reservationRepo, times(2)).adoptExpired(eq("node-1"), any(), any());
+  }
+
+  private void setClock(LocalDateTime now) {
+    ReflectionTestUtils.setField(
+        pool, "clock", Clock.fixed(now.toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+  }
+
+  @Test
+  @DisplayName("Should keep the pool usable when reserving codes fails")
+  void shouldKeepThePoolUsableWhenReservingCodesFails() {
+    stubSequentialCodes();
+    doThrow(new DataAccessResourceFailureException("down"))
+        .when(reservationRepo)
+        .reserve(any(), any(), any());
+
+    pool.refill();
+
+    assertThat(pool.size()).isZero();
+    assertThat(pool.nextCode()).startsWith("code");
+  }
+}
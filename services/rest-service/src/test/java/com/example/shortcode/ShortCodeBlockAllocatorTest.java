@@ -0,0 +1,51 @@
+package com.example.shortcode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.repository.ShortCodeSequenceRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+@DataJpaTest
+@Import(ShortCodeBlockAllocator.class)
+@TestPropertySource(locations = "classpath:application.properties")
+@DisplayName("ShortCodeBlockAllocator Tests")
+class ShortCodeBlockAllocatorTest {
+
+  private final ShortCodeBlockAllocator allocator;
+  private final ShortCodeSequenceRepository sequenceRepository;
+
+  @Autowired
+  public ShortCodeBlockAllocatorTest(
+      ShortCodeBlockAllocator allocator, ShortCodeSequenceRepository sequenceRepository) {
+    this.allocator = allocator;
+    this.sequenceRepository = sequenceRepository;
+  }
+
+  @Test
+  @DisplayName("Should create the sequence on first lease")
+  void shouldCreateTheSequenceOnFirstLease() {
+    long start = allocator.leaseBlock(100);
+
+    assertThat(start).isEqualTo(1);
+    assertThat(sequenceRepository.findById(ShortCodeBlockAllocator.SEQUENCE_NAME))
+        .get()
+        .extracting("nextValue")
+        .isEqualTo(101L);
+  }
+
+  @Test
+  @DisplayName("Should lease consecutive non-overlapping blocks")
+  void shouldLeaseConsecutiveNonOverlappingBlocks() {
+    long first = allocator.leaseBlock(100);
+    long second = allocator.leaseBlock(50);
+    long third = allocator.leaseBlock(100);
+
+    assertThat(second).isEqualTo(first + 100);
+    assertThat(third).isEqualTo(second + 50);
+  }
+}
@@ -0,0 +1,53 @@
+package com.example.shortcode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("ShortCodePermutation Tests")
+class ShortCodePermutationTest {
+
+  @Test
+  @DisplayName("Should map distinct ids to distinct values within range")
+  void shouldMapDistinctIdsToDistinctValuesWithinRange() {
+    ShortCodePermutation permutation = new ShortCodePermutation(42);
+    Set<Long> seen = new HashSet<>();
+
+    for (long id = 0; id < 200_000; id++) {
+      long value = permutation.apply(id);
+      assertThat(value).isBetween(0L, Base62.CAPACITY_7 - 1);
+      assertThat(seen.add(value)).isTrue();
+    }
+  }
+
+  @Test
+  @DisplayName("Should stay in range at the top of the domain")
+  void shouldStayInRangeAtTheTopOfTheDomain() {
+    ShortCodePermutation permutation = new ShortCodePermutation(7);
+
+    for (long id = Base62.CAPACITY_7 - 10_000; id < Base62.CAPACITY_7; id++) {
+      assertThat(permutation.apply(id)).isLessThan(Base62.CAPACITY_7);
+    }
+  }
+
+  @Test
+  @DisplayName("Should not produce sequential codes for sequential ids")
+  void shouldNotProduceSequentialCodesForSequentialIds() {
+    ShortCodePermutation permutation = new ShortCodePermutation(0);
+
+    long first = permutation.apply(1000);
+    long second = permutation.apply(1001);
+
+    assertThat(Math.abs(second - first)).isGreaterThan(1000);
+  }
+
+  @Test
+  @DisplayName("Should depend on the key")
+  void shouldDependOnTheKey() {
+    assertThat(new ShortCodePermutation(1).apply(1000))
+        .isNotEqualTo(new ShortCodePermutation(2).apply(1000));
+  }
+}
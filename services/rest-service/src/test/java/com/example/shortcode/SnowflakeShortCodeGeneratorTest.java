@@ -0,0 +1,165 @@
+package com.example.shortcode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.exception.ShortCodeRateExceededException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@DisplayName("SnowflakeShortCodeGenerator Tests")
+class SnowflakeShortCodeGeneratorTest {
+
+  /** Clock whose time the test moves by hand, including backwards. */
+  private static final class MutableClock extends Clock {
+    private Instant now;
+
+    private MutableClock(Instant now) {
+      this.now = now;
+    }
+
+    void advanceSeconds(long seconds) {
+      now = now.plusSeconds(seconds);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+  }
+
+  private SnowflakeShortCodeGenerator newGenerator(long nodeId, Clock clock, boolean scramble) {
+    SnowflakeShortCodeGenerator generator = new SnowflakeShortCodeGenerator();
+    ReflectionTestUtils.setField(generator, "nodeId", nodeId);
+    ReflectionTestUtils.setField(generator, "scramble", scramble);
+    ReflectionTestUtils.setField(generator, "scrambleKey", 0L);
+    ReflectionTestUtils.setField(generator, "clock", clock);
+    generator.init();
+    return generator;
+  }
+
+  @Test
+  @Timeout(10)
+  @DisplayName("Should produce no collisions across simulated nodes")
+  void shouldProduceNoCollisionsAcrossSimulatedNodes() {
+    MutableClock clock = new MutableClock(Instant.parse("2026-10-16T12:00:00Z"));
+    List<SnowflakeShortCodeGenerator> nodes = new ArrayList<>();
+    for (long nodeId = 0; nodeId <= SnowflakeShortCodeGenerator.MAX_NODE_ID; nodeId++) {
+      nodes.add(newGenerator(nodeId, clock, true));
+    }
+
+    Set<String> codes = new HashSet<>();
+    int generated = 0;
+    for (int second = 0; second < 20; second++) {
+      for (SnowflakeShortCodeGenerator node : nodes) {
+        for (int i = 0; i < 100; i++) {
+          codes.add(node.nextCode());
+          generated++;
+        }
+      }
+      // Step forward most of the time but jump backwards now and then.
+      clock.advanceSeconds(second % 5 == 4 ? -1 : 1);
+    }
+
+    assertThat(codes).hasSize(generated);
+    assertThat(codes).allMatch(code -> code.matches("[0-9A-Za-z]{7}"));
+  }
+
+  @Test
+  @DisplayName("Should keep ids increasing when the clock goes backwards")
+  void shouldKeepIdsIncreasingWhenTheClockGoesBackwards() {
+    MutableClock clock = new MutableClock(Instant.parse("2026-10-16T12:00:00Z"));
+    SnowflakeShortCodeGenerator generator = newGenerator(3, clock, false);
+
+    long before = generator.nextId();
+    clock.advanceSeconds(-60);
+    long after = generator.nextId();
+
+    assertThat(after).isGreaterThan(before);
+  }
+
+  @Test
+  @DisplayName("Should borrow the next second when a second's sequence is used up")
+  void shouldBorrowTheNextSecondWhenASecondsSequenceIsUsedUp() {
+    MutableClock clock = new MutableClock(Instant.parse("2026-10-16T12:00:00Z"));
+    SnowflakeShortCodeGenerator generator = newGenerator(1, clock, false);
+
+    long previous = -1;
+    for (int i = 0; i <= SnowflakeShortCodeGenerator.MAX_SEQUENCE + 1; i++) {
+      long id = generator.nextId();
+      assertThat(id).isGreaterThan(previous);
+      previous = id;
+    }
+
+    int timestampShift =
+        SnowflakeShortCodeGenerator.NODE_BITS + SnowflakeShortCodeGenerator.SEQUENCE_BITS;
+    long firstSecond =
+        Instant.parse("2026-10-16T12:00:00Z").getEpochSecond()
+            - SnowflakeShortCodeGenerator.EPOCH_SECOND;
+    assertThat(previous >>> timestampShift).isEqualTo(firstSecond + 1);
+  }
+
+  @Test
+  @Timeout(1)
+  @DisplayName("Should fail at once instead of waiting when the borrowed seconds are used up")
+  void shouldFailAtOnceInsteadOfWaitingWhenTheBorrowedSecondsAreUsedUp() {
+    MutableClock clock = new MutableClock(Instant.parse("2026-10-16T12:00:00Z"));
+    SnowflakeShortCodeGenerator generator = newGenerator(1, clock, false);
+    long burst =
+        (SnowflakeShortCodeGenerator.MAX_BORROW_SECONDS + 1)
+            * (SnowflakeShortCodeGenerator.MAX_SEQUENCE + 1);
+    for (long i = 0; i < burst; i++) {
+      generator.nextCode();
+    }
+
+    assertThatThrownBy(generator::nextCode).isInstanceOf(ShortCodeRateExceededException.class);
+
+    clock.advanceSeconds(1);
+    assertThat(generator.nextCode()).hasSize(ShortCodeGenerator.CODE_LENGTH);
+  }
+
+  @Test
+  @DisplayName("Should encode the node id into every id")
+  void shouldEncodeTheNodeIdIntoEveryId() {
+    MutableClock clock = new MutableClock(Instant.parse("2026-10-16T12:00:00Z"));
+    SnowflakeShortCodeGenerator generator = newGenerator(17, clock, false);
+
+    long id = generator.nextId();
+
+    assertThat(
+            (id >>> SnowflakeShortCodeGenerator.SEQUENCE_BITS)
+                & SnowflakeShortCodeGenerator.MAX_NODE_ID)
+        .isEqualTo(17);
+  }
+
+  @Test
+  @DisplayName("Should reject node ids outside the configured range")
+  void shouldRejectNodeIdsOutsideTheConfiguredRange() {
+    Clock clock = Clock.systemUTC();
+
+    assertThatThrownBy(() -> newGenerator(32, clock, false))
+        .isInstanceOf(IllegalStateException.class);
+    assertThatThrownBy(() -> newGenerator(-1, clock, false))
+        .isInstanceOf(IllegalStateException.class);
+  }
+}
@@ -0,0 +1,152 @@
+package com.example.store;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.cache.RedirectEntry;
+import com.example.cache.UrlCodec;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@DisplayName("MappedRedirectStore Tests")
+class MappedRedirectStoreTest {
+
+  @TempDir Path directory;
+
+  private SimpleMeterRegistry meterRegistry;
+  private MappedRedirectStore store;
+
+  private final RedirectEntry entry =
+      new RedirectEntry("https://www.example.com", LocalDateTime.now().plusDays(1), 1L);
+
+  @BeforeEach
+  void setUp() throws IOException {
+    store = open();
+  }
+
+  @AfterEach
+  void tearDown() {
+    store.close();
+  }
+
+  private MappedRedirectStore open() throws IOException {
+    meterRegistry = new SimpleMeterRegistry();
+    MappedRedirectStore opened = new MappedRedirectStore(meterRegistry, new UrlCodec());
+    ReflectionTestUtils.setField(opened, "directory", directory.toString());
+    ReflectionTestUtils.setField(opened, "initialSizeMb", 1);
+    ReflectionTestUtils.setField(opened, "compactionGarbageRatio", 0.5);
+    opened.init();
+    return opened;
+  }
+
+  @Test
+  @DisplayName("Should keep redirects across a restart")
+  void shouldKeepRedirectsAcrossARestart() throws IOException {
+    store.put("abc1234", entry);
+    store.put("def5678", entry);
+    store.remove("def5678");
+    store.close();
+
+    store = open();
+
+    assertThat(store.find("abc1234")).isEqualTo(entry);
+    assertThat(store.find("def5678")).isNull();
+    assertThat(meterRegistry.get("redirect.store.entries").gauge().value()).isEqualTo(1);
+    assertThat(meterRegistry.get("redirect.store.index.memory").gauge().value()).isPositive();
+  }
+
+  @Test
+  @DisplayName("Should fill a redirect without reading the primary when nothing was removed since")
+  void shouldFillARedirectWithoutReadingThePrimaryWhenNothingWasRemovedSince() {
+    AtomicInteger primaryReads = new AtomicInteger();
+    long readAsOf = System.nanoTime();
+
+    store.fill("abc1234", entry, readAsOf, () -> countRead(primaryReads, entry));
+
+    assertThat(store.find("abc1234")).isEqualTo(entry);
+    assertThat(primaryReads).hasValue(0);
+  }
+
+  @Test
+  @DisplayName("Should not keep a redirect removed after it was read")
+  void shouldNotKeepARedirectRemovedAfterItWasRead() {
+    AtomicInteger primaryReads = new AtomicInteger();
+    long readAsOf = System.nanoTime();
+    store.remove("abc1234");
+
+    store.fill("abc1234", entry, readAsOf, () -> countRead(primaryReads, null));
+
+    assertThat(store.find("abc1234")).isNull();
+    assertThat(primaryReads).hasValue(1);
+  }
+
+  @Test
+  @DisplayName("Should keep a redirect the primary still has after a removal")
+  void shouldKeepARedirectThePrimaryStillHasAfterARemoval() {
+    AtomicInteger primaryReads = new AtomicInteger();
+    long readAsOf = System.nanoTime();
+    store.remove("abc1234");
+
+    store.fill("abc1234", entry, readAsOf, () -> countRead(primaryReads, entry));
+
+    assertThat(store.find("abc1234")).isEqualTo(entry);
+    assertThat(primaryReads).hasValue(1);
+  }
+
+  @Test
+  @DisplayName("Should check a redirect read before the store was opened")
+  void shouldCheckARedirectReadBeforeTheStoreWasOpened() throws IOException {
+    AtomicInteger primaryReads = new AtomicInteger();
+    long readAsOf = System.nanoTime();
+    store.close();
+    store = open();
+
+    store.fill("abc1234", entry, readAsOf, () -> countRead(primaryReads, null));
+
+    assertThat(store.find("abc1234")).isNull();
+    assertThat(primaryReads).hasValue(1);
+  }
+
+  private static RedirectEntry countRead(AtomicInteger reads, RedirectEntry result) {
+    reads.incrementAndGet();
+    return result;
+  }
+
+  @Test
+  @DisplayName("Should compact once superseded records pass the garbage ratio")
+  void shouldCompactOnceSupersededRecordsPassTheGarbageRatio() {
+    store.put("abc1234", entry);
+    store.maintain();
+    assertThat(meterRegistry.counter("redirect.store.compactions").count()).isZero();
+
+    store.put("abc1234", entry);
+    store.put("abc1234", entry);
+    long before = store.sizeBytes();
+    store.maintain();
+
+    assertThat(meterRegistry.counter("redirect.store.compactions").count()).isEqualTo(1);
+    assertThat(store.sizeBytes()).isLessThan(before);
+    assertThat(store.find("abc1234")).isEqualTo(entry);
+  }
+
+  @Test
+  @DisplayName("Should stop serving and delete its file after a failed write")
+  void shouldStopServingAndDeleteItsFileAfterAFailedWrite() {
+    store.put("abc1234", entry);
+
+    store.put("broken1", new RedirectEntry(null, null, null));
+
+    assertThat(store.find("abc1234")).isNull();
+    assertThat(directory.resolve(RedirectLog.FILE_NAME)).doesNotExist();
+    store.put("def5678", entry);
+    assertThat(store.find("def5678")).isNull();
+  }
+}
@@ -0,0 +1,169 @@
+package com.example.store;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.cache.RedirectEntry;
+import com.example.cache.UrlCodec;
+import com.example.cache.UrlDictionary;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@DisplayName("RedirectLog Tests")
+class RedirectLogTest {
+
+  private static final long CAPACITY = 4096;
+
+  @TempDir Path directory;
+
+  private final UrlCodec urlCodec = new UrlCodec();
+
+  private final RedirectEntry entry =
+      new RedirectEntry(
+          "https://www.example.com/a", LocalDateTime.of(2030, 1, 2, 3, 4, 5, 600_000_000), 7L);
+
+  @Test
+  @DisplayName("Should return the latest record of a short code")
+  void shouldReturnTheLatestRecordOfAShortCode() throws IOException {
+    try (RedirectLog redirectLog = RedirectLog.open(directory, CAPACITY, urlCodec)) {
+      RedirectEntry updated = new RedirectEntry("https://www.example.com/b", null, null);
+      redirectLog.put("abc1234", entry);
+      redirectLog.put("abc1234", updated);
+
+      assertThat(redirectLog.get("abc1234")).isEqualTo(updated);
+      assertThat(redirectLog.get("missing")).isNull();
+      assertThat(redirectLog.entries()).isEqualTo(1);
+      assertThat(redirectLog.garbageBytes()).isPositive();
+    }
+  }
+
+  @Test
+  @DisplayName("Should forget removed short codes")
+  void shouldForgetRemovedShortCodes() throws IOException {
+    try (RedirectLog redirectLog = RedirectLog.open(directory, CAPACITY, urlCodec)) {
+      redirectLog.put("abc1234", entry);
+      redirectLog.remove("abc1234");
+
+      assertThat(redirectLog.get("abc1234")).isNull();
+      assertThat(redirectLog.entries()).isZero();
+      assertThat(redirectLog.garbageBytes()).isEqualTo(redirectLog.sizeBytes());
+    }
+  }
+
+  @Test
+  @DisplayName("Should rebuild the index from the file when reopened")
+  void shouldRebuildTheIndexFromTheFileWhenReopened() throws IOException {
+    try (RedirectLog redirectLog = RedirectLog.open(directory, CAPACITY, urlCodec)) {
+      redirectLog.put("abc1234", entry);
+      redirectLog.put("def5678", entry);
+      redirectLog.remove("def5678");
+    }
+
+    try (RedirectLog redirectLog = RedirectLog.open(directory, CAPACITY, urlCodec)) {
+      assertThat(redirectLog.get("abc1234")).isEqualTo(entry);
+      assertThat(redirectLog.get("def5678")).isNull();
+      assertThat(redirectLog.entries()).isEqualTo(1);
+    }
+  }
+
+  @Test
+  @DisplayName("Should read URLs written with an older dictionary after a newer one is installed")
+  void shouldReadUrlsWrittenWithAnOlderDictionaryAfterANewerOneIsInstalled() throws IOException {
+    try (RedirectLog redirectLog = RedirectLog.open(directory, CAPACITY, urlCodec)) {
+      redirectLog.put("abc1234", entry);
+      long plainBytes = redirectLog.sizeBytes();
+      urlCodec.install(new UrlDictionary(1, List.of("https://www.example.com/")));
+      redirectLog.put("def5678", entry);
+
+      assertThat(redirectLog.sizeBytes() - plainBytes).isLessThan(plainBytes);
+      assertThat(redirectLog.get("abc1234")).isEqualTo(entry);
+      assertThat(redirectLog.get("def5678")).isEqualTo(entry);
+    }
+
+    try (RedirectLog redirectLog = RedirectLog.open(directory, CAPACITY, urlCodec)) {
+      assertThat(redirectLog.get("abc1234")).isEqualTo(entry);
+      assertThat(redirectLog.get("def5678")).isEqualTo(entry);
+    }
+  }
+
+  @Test
+  @DisplayName("Should drop a record cut short by a crash and append after the last intact one")
+  void shouldDropARecordCutShortByACrashAndAppendAfterTheLastIntactOne() throws IOException {
+    long intactBytes;
+    try (RedirectLog redirectLog = RedirectLog.open(directory, CAPACITY, urlCodec)) {
+      redirectLog.put("abc1234", entry);
+      intactBytes = redirectLog.sizeBytes();
+      redirectLog.put("def5678", entry);
+    }
+    try (RandomAccessFile file =
+        new RandomAccessFile(directory.resolve(RedirectLog.FILE_NAME).toFile(), "rw")) {
+      file.seek(intactBytes + 20);
+      file.write(0x5A);
+    }
+
+    try (RedirectLog redirectLog = RedirectLog.open(directory, CAPACITY, urlCodec)) {
+      assertThat(redirectLog.get("abc1234")).isEqualTo(entry);
+      assertThat(redirectLog.get("def5678")).isNull();
+      assertThat(redirectLog.sizeBytes()).isEqualTo(intactBytes);
+      redirectLog.put("xyz7890", entry);
+    }
+
+    try (RedirectLog redirectLog = RedirectLog.open(directory, CAPACITY, urlCodec)) {
+      assertThat(redirectLog.get("xyz7890")).isEqualTo(entry);
+      assertThat(redirectLog.entries()).isEqualTo(2);
+    }
+  }
+
+  @Test
+  @DisplayName("Should grow the file when records no longer fit")
+  void shouldGrowTheFileWhenRecordsNoLongerFit() throws IOException {
+    try (RedirectLog redirectLog = RedirectLog.open(directory, CAPACITY, urlCodec)) {
+      for (int i = 0; i < 200; i++) {
+        redirectLog.put("code" + i, entry);
+      }
+
+      assertThat(redirectLog.sizeBytes()).isGreaterThan(CAPACITY);
+      assertThat(redirectLog.get("code0")).isEqualTo(entry);
+      assertThat(redirectLog.get("code199")).isEqualTo(entry);
+    }
+    try (RedirectLog redirectLog = RedirectLog.open(directory, CAPACITY, urlCodec)) {
+      assertThat(redirectLog.entries()).isEqualTo(200);
+    }
+  }
+
+  @Test
+  @DisplayName("Should keep only live records when compacted")
+  void shouldKeepOnlyLiveRecordsWhenCompacted() throws IOException {
+    try (RedirectLog redirectLog = RedirectLog.open(directory, CAPACITY, urlCodec)) {
+      for (int i = 0; i < 10; i++) {
+        redirectLog.put("code" + i, entry);
+        redirectLog.put("code" + i, entry);
+      }
+      redirectLog.remove("code9");
+      long before = redirectLog.sizeBytes();
+
+      redirectLog.compact();
+
+      assertThat(redirectLog.garbageBytes()).isZero();
+      assertThat(redirectLog.sizeBytes()).isLessThan(before / 2);
+      assertThat(redirectLog.get("code0")).isEqualTo(entry);
+      assertThat(redirectLog.get("code9")).isNull();
+      redirectLog.put("code10", entry);
+    }
+
+    try (RedirectLog redirectLog = RedirectLog.open(directory, CAPACITY, urlCodec)) {
+      assertThat(redirectLog.entries()).isEqualTo(10);
+      assertThat(redirectLog.get("code10")).isEqualTo(entry);
+    }
+    try (Stream<Path> files = Files.list(directory)) {
+      assertThat(files).containsExactly(directory.resolve(RedirectLog.FILE_NAME));
+    }
+  }
+}
@@ -0,0 +1,128 @@
+package com.example.store;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.shortcode.Base62;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("ShortCodeIndex Tests")
+class ShortCodeIndexTest {
+
+  private final ShortCodeIndex index = new ShortCodeIndex();
+
+  @Test
+  @DisplayName("Should pack seven-character base62 codes into positive keys and back")
+  void shouldPackSevenCharacterBase62CodesIntoPositiveKeysAndBack() {
+    for (String shortCode : new String[] {"0000000", "abc1234", "zzzzzzz"}) {
+      long key = ShortCodeIndex.pack(shortCode);
+
+      assertThat(key).isPositive();
+      assertThat(ShortCodeIndex.unpack(key)).isEqualTo(shortCode);
+    }
+    assertThat(ShortCodeIndex.pack("zzzzzzz")).isEqualTo(Base62.CAPACITY_7);
+  }
+
+  @Test
+  @DisplayName("Should not pack codes of another length or alphabet")
+  void shouldNotPackCodesOfAnotherLengthOrAlphabet() {
+    assertThat(ShortCodeIndex.pack("abc123")).isZero();
+    assertThat(ShortCodeIndex.pack("abc12345")).isZero();
+    assertThat(ShortCodeIndex.pack("abc-123")).isZero();
+  }
+
+  @Test
+  @DisplayName("Should return the latest offset of a short code")
+  void shouldReturnTheLatestOffsetOfAShortCode() {
+    assertThat(index.put("abc1234", 10)).isEqualTo(ShortCodeIndex.ABSENT);
+    assertThat(index.put("abc1234", 20)).isEqualTo(10);
+
+    assertThat(index.get("abc1234")).isEqualTo(20);
+    assertThat(index.get("abc1235")).isEqualTo(ShortCodeIndex.ABSENT);
+    assertThat(index.size()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Should keep codes that do not pack alongside packed ones")
+  void shouldKeepCodesThatDoNotPackAlongsidePackedOnes() {
+    index.put("abc1234", 1);
+    index.put("my-link", 2);
+    index.put("abc123", 3);
+
+    assertThat(index.get("my-link")).isEqualTo(2);
+    assertThat(index.get("abc123")).isEqualTo(3);
+    assertThat(index.remove("abc123")).isEqualTo(3);
+    assertThat(index.get("abc123")).isEqualTo(ShortCodeIndex.ABSENT);
+    assertThat(index.size()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("Should forget removed codes and accept them again")
+  void shouldForgetRemovedCodesAndAcceptThemAgain() {
+    index.put("abc1234", 1);
+    index.put("def5678", 2);
+
+    assertThat(index.remove("abc1234")).isEqualTo(1);
+    assertThat(index.remove("abc1234")).isEqualTo(ShortCodeIndex.ABSENT);
+    assertThat(index.get("abc1234")).isEqualTo(ShortCodeIndex.ABSENT);
+    assertThat(index.get("def5678")).isEqualTo(2);
+
+    assertThat(index.put("abc1234", 3)).isEqualTo(ShortCodeIndex.ABSENT);
+    assertThat(index.get("abc1234")).isEqualTo(3);
+    assertThat(index.size()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("Should keep every entry while growing")
+  void shouldKeepEveryEntryWhileGrowing() {
+    for (int i = 0; i < 10_000; i++) {
+      index.put(Base62.encode(i * 7919L, 7), i);
+    }
+
+    assertThat(index.size()).isEqualTo(10_000);
+    for (int i = 0; i < 10_000; i++) {
+      assertThat(index.get(Base62.encode(i * 7919L, 7))).isEqualTo(i);
+    }
+  }
+
+  @Test
+  @DisplayName("Should not grow when codes are added and removed in turn")
+  void shouldNotGrowWhenCodesAreAddedAndRemovedInTurn() {
+    long initial = index.memoryBytes();
+    for (int i = 0; i < 10_000; i++) {
+      String shortCode = Base62.encode(i, 7);
+      index.put(shortCode, i);
+      index.remove(shortCode);
+    }
+
+    assertThat(index.size()).isZero();
+    assertThat(index.memoryBytes()).isEqualTo(initial);
+  }
+
+  @Test
+  @DisplayName("Should visit every entry once")
+  void shouldVisitEveryEntryOnce() {
+    index.put("abc1234", 1);
+    index.put("def5678", 2);
+    index.put("def5678", 3);
+    index.put("my-link", 4);
+    index.put("gone000", 5);
+    index.remove("gone000");
+
+    Map<String, Integer> visited = new HashMap<>();
+    index.forEach((shortCode, offset) -> assertThat(visited.put(shortCode, offset)).isNull());
+
+    assertThat(visited)
+        .containsOnly(Map.entry("abc1234", 1), Map.entry("def5678", 3), Map.entry("my-link", 4));
+  }
+
+  @Test
+  @DisplayName("Should reject negative offsets")
+  void shouldRejectNegativeOffsets() {
+    assertThatThrownBy(() -> index.put("abc1234", -1))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,76 @@
+package com.example.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@DisplayName("UrlNormalizer Tests")
+class UrlNormalizerTest {
+
+  private UrlNormalizer urlNormalizer;
+
+  @BeforeEach
+  void setUp() {
+    urlNormalizer = new UrlNormalizer();
+  }
+
+  @Test
+  @DisplayName("Should lower-case scheme and host but keep the path")
+  void shouldLowerCaseSchemeAndHostButKeepThePath() {
+    assertThat(urlNormalizer.normalize("HTTPS://WWW.Example.COM/Some/Path"))
+        .isEqualTo("https://www.example.com/Some/Path");
+  }
+
+  @Test
+  @DisplayName("Should drop default ports and keep others")
+  void shouldDropDefaultPortsAndKeepOthers() {
+    assertThat(urlNormalizer.normalize("http://example.com:80/a"))
+        .isEqualTo("http://example.com/a");
+    assertThat(urlNormalizer.normalize("https://example.com:443/a"))
+        .isEqualTo("https://example.com/a");
+    assertThat(urlNormalizer.normalize("https://example.com:8443/a"))
+        .isEqualTo("https://example.com:8443/a");
+  }
+
+  @Test
+  @DisplayName("Should treat trailing and missing slashes alike")
+  void shouldTreatTrailingAndMissingSlashesAlike() {
+    assertThat(urlNormalizer.normalize("https://example.com")).isEqualTo("https://example.com/");
+    assertThat(urlNormalizer.normalize("https://example.com/")).isEqualTo("https://example.com/");
+    assertThat(urlNormalizer.normalize("https://example.com/docs/"))
+        .isEqualTo("https://example.com/docs");
+  }
+
+  @Test
+  @DisplayName("Should keep query parameter order unless sorting is enabled")
+  void shouldKeepQueryParameterOrderUnlessSortingIsEnabled() {
+    String url = "https://example.com/search?q=x&b=2&a=1&b=1#top";
+
+    assertThat(urlNormalizer.normalize(url)).isEqualTo(url);
+
+    ReflectionTestUtils.setField(urlNormalizer, "sortQueryParams", true);
+    assertThat(urlNormalizer.normalize(url))
+        .isEqualTo("https://example.com/search?a=1&b=2&b=1&q=x#top");
+  }
+
+  @Test
+  @DisplayName("Should produce a 64-character hex hash that differs per URL")
+  void shouldProduceA64CharacterHexHashThatDiffersPerUrl() {
+    String first = urlNormalizer.hash("https://example.com/a");
+    String second = urlNormalizer.hash("https://example.com/b");
+
+    assertThat(first).hasSize(64).matches("[0-9a-f]{64}");
+    assertThat(first).isNotEqualTo(second).isEqualTo(urlNormalizer.hash("https://example.com/a"));
+  }
+
+  @Test
+  @DisplayName("Should reject relative URLs")
+  void shouldRejectRelativeUrls() {
+    assertThatThrownBy(() -> urlNormalizer.normalize("/relative/path"))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,99 @@
+package com.example.validation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("BannedHostMatcher Tests")
+class BannedHostMatcherTest {
+
+  private static BannedHostMatcher matcherOf(String... entries) {
+    BannedHostMatcher.Builder builder = BannedHostMatcher.builder();
+    for (String entry : entries) {
+      builder.add(entry);
+    }
+    return builder.build();
+  }
+
+  @Test
+  @DisplayName("Should match a banned host and its subdomains")
+  void shouldMatchABannedHostAndItsSubdomains() {
+    BannedHostMatcher matcher = matcherOf("spam-site.com");
+
+    assertThat(matcher.matches("spam-site.com")).isTrue();
+    assertThat(matcher.matches("www.spam-site.com")).isTrue();
+    assertThat(matcher.matches("a.b.spam-site.com")).isTrue();
+  }
+
+  @Test
+  @DisplayName("Should not match hosts that only share a suffix")
+  void shouldNotMatchHostsThatOnlyShareASuffix() {
+    BannedHostMatcher matcher = matcherOf("spam-site.com");
+
+    assertThat(matcher.matches("not-spam-site.com")).isFalse();
+    assertThat(matcher.matches("spam-site.co")).isFalse();
+    assertThat(matcher.matches("com")).isFalse();
+    assertThat(matcher.matches("spam-site.com.evil.org")).isFalse();
+  }
+
+  @Test
+  @DisplayName("Should match only subdomains for wildcard entries")
+  void shouldMatchOnlySubdomainsForWildcardEntries() {
+    BannedHostMatcher matcher = matcherOf("*.tracker.net");
+
+    assertThat(matcher.matches("tracker.net")).isFalse();
+    assertThat(matcher.matches("pixel.tracker.net")).isTrue();
+    assertThat(matcher.matches("a.pixel.tracker.net")).isTrue();
+  }
+
+  @Test
+  @DisplayName("Should ignore case and a trailing dot")
+  void shouldIgnoreCaseAndATrailingDot() {
+    BannedHostMatcher matcher = matcherOf("Spam-Site.COM.");
+
+    assertThat(matcher.matches("WWW.spam-site.com.")).isTrue();
+  }
+
+  @Test
+  @DisplayName("Should keep siblings with shared prefixes apart")
+  void shouldKeepSiblingsWithSharedPrefixesApart() {
+    BannedHostMatcher matcher = matcherOf("ab.com", "ab-c.com", "abc.com", "x.ab.org");
+
+    assertThat(matcher.matches("ab.com")).isTrue();
+    assertThat(matcher.matches("ab-c.com")).isTrue();
+    assertThat(matcher.matches("abc.com")).isTrue();
+    assertThat(matcher.matches("a.com")).isFalse();
+    assertThat(matcher.matches("abcd.com")).isFalse();
+    assertThat(matcher.matches("ab.org")).isFalse();
+    assertThat(matcher.matches("y.x.ab.org")).isTrue();
+    assertThat(matcher.size()).isEqualTo(4);
+  }
+
+  @Test
+  @DisplayName("Should store each distinct label once")
+  void shouldStoreEachDistinctLabelOnce() {
+    BannedHostMatcher matcher = matcherOf("www.a.com", "www.b.com", "www.a.com");
+
+    assertThat(matcher.size()).isEqualTo(2);
+    assertThat(matcher.nodeCount()).isEqualTo(6);
+  }
+
+  @Test
+  @DisplayName("Should match nothing when empty")
+  void shouldMatchNothingWhenEmpty() {
+    assertThat(BannedHostMatcher.empty().matches("example.com")).isFalse();
+    assertThat(BannedHostMatcher.empty().matches("")).isFalse();
+  }
+
+  @Test
+  @DisplayName("Should reject malformed entries")
+  void shouldRejectMalformedEntries() {
+    BannedHostMatcher.Builder builder = BannedHostMatcher.builder();
+
+    assertThatThrownBy(() -> builder.add("a..com")).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> builder.add("www.*.com")).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> builder.add("*")).isInstanceOf(IllegalArgumentException.class);
+  }
+}
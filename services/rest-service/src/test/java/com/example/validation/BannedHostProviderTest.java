@@ -0,0 +1,88 @@
+package com.example.validation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@DisplayName("BannedHostProvider Tests")
+class BannedHostProviderTest {
+
+  @TempDir Path tempDir;
+
+  private BannedHostProvider newProvider(List<String> bannedHosts, String file) {
+    BannedHostProvider provider = new BannedHostProvider();
+    ReflectionTestUtils.setField(provider, "bannedHosts", bannedHosts);
+    ReflectionTestUtils.setField(provider, "file", file);
+    provider.init();
+    return provider;
+  }
+
+  private void writeBlocklist(Path path, Instant modifiedAt, String... lines) throws IOException {
+    Files.write(path, List.of(lines));
+    Files.setLastModifiedTime(path, FileTime.from(modifiedAt));
+  }
+
+  @Test
+  @DisplayName("Should combine property entries with the blocklist file")
+  void shouldCombinePropertyEntriesWithTheBlocklistFile() throws IOException {
+    Path blocklist = tempDir.resolve("banned.txt");
+    writeBlocklist(blocklist, Instant.parse("2026-01-01T00:00:00Z"), "# ads", "ads.net", "");
+
+    BannedHostProvider provider = newProvider(List.of("spam-site.com"), blocklist.toString());
+
+    assertThat(provider.isBanned("www.spam-site.com")).isTrue();
+    assertThat(provider.isBanned("cdn.ads.net")).isTrue();
+    assertThat(provider.isBanned("example.org")).isFalse();
+  }
+
+  @Test
+  @DisplayName("Should swap in the new list when the file changes")
+  void shouldSwapInTheNewListWhenTheFileChanges() throws IOException {
+    Path blocklist = tempDir.resolve("banned.txt");
+    writeBlocklist(blocklist, Instant.parse("2026-01-01T00:00:00Z"), "ads.net");
+    BannedHostProvider provider = newProvider(List.of(), blocklist.toString());
+
+    writeBlocklist(blocklist, Instant.parse("2026-01-02T00:00:00Z"), "tracker.io");
+    provider.reload();
+
+    assertThat(provider.isBanned("ads.net")).isFalse();
+    assertThat(provider.isBanned("tracker.io")).isTrue();
+  }
+
+  @Test
+  @DisplayName("Should keep the previous list when the new file is invalid")
+  void shouldKeepThePreviousListWhenTheNewFileIsInvalid() throws IOException {
+    Path blocklist = tempDir.resolve("banned.txt");
+    writeBlocklist(blocklist, Instant.parse("2026-01-01T00:00:00Z"), "ads.net");
+    BannedHostProvider provider = newProvider(List.of(), blocklist.toString());
+    BannedHostMatcher before = provider.matcher();
+
+    writeBlocklist(blocklist, Instant.parse("2026-01-02T00:00:00Z"), "bad..entry");
+    provider.reload();
+
+    assertThat(provider.matcher()).isSameAs(before);
+    assertThat(provider.isBanned("ads.net")).isTrue();
+  }
+
+  @Test
+  @DisplayName("Should not rebuild when the file is unchanged")
+  void shouldNotRebuildWhenTheFileIsUnchanged() throws IOException {
+    Path blocklist = tempDir.resolve("banned.txt");
+    writeBlocklist(blocklist, Instant.parse("2026-01-01T00:00:00Z"), "ads.net");
+    BannedHostProvider provider = newProvider(List.of(), blocklist.toString());
+    BannedHostMatcher before = provider.matcher();
+
+    provider.reload();
+
+    assertThat(provider.matcher()).isSameAs(before);
+  }
+}
@@ -0,0 +1,143 @@
+package com.example.validation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@DisplayName("HostValidator Tests")
+class HostValidatorTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private HostValidator hostValidator;
+  private AtomicInteger lookups;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    hostValidator = new HostValidator(meterRegistry);
+    lookups = new AtomicInteger();
+    ReflectionTestUtils.setField(hostValidator, "timeoutMs", 500L);
+    ReflectionTestUtils.setField(hostValidator, "positiveTtlSeconds", 300L);
+    ReflectionTestUtils.setField(hostValidator, "negativeTtlSeconds", 30L);
+    ReflectionTestUtils.setField(hostValidator, "cacheMaximumSize", 100L);
+    ReflectionTestUtils.setField(hostValidator, "resolverThreads", 2);
+    ReflectionTestUtils.setField(hostValidator, "resolverQueueCapacity", 10);
+  }
+
+  @AfterEach
+  void tearDown() {
+    hostValidator.shutdown();
+  }
+
+  private void configure(HostValidator.DnsMode mode, Predicate<String> resolver) {
+    ReflectionTestUtils.setField(hostValidator, "dnsMode", mode);
+    ReflectionTestUtils.setField(
+        hostValidator,
+        "resolver",
+        (Predicate<String>)
+            host -> {
+              lookups.incrementAndGet();
+              return resolver.test(host);
+            });
+    hostValidator.init();
+  }
+
+  @Test
+  @DisplayName("Should cache resolvable and unresolvable hosts in cached mode")
+  void shouldCacheResolvableAndUnresolvableHostsInCachedMode() {
+    configure(HostValidator.DnsMode.CACHED, host -> host.endsWith(".com"));
+
+    assertThat(hostValidator.isResolvable("www.example.com")).isTrue();
+    assertThat(hostValidator.isResolvable("WWW.EXAMPLE.COM")).isTrue();
+    assertThat(hostValidator.isResolvable("nowhere.invalid")).isFalse();
+    assertThat(hostValidator.isResolvable("nowhere.invalid")).isFalse();
+
+    assertThat(lookups).hasValue(2);
+  }
+
+  @Test
+  @DisplayName("Should resolve on every check in strict mode")
+  void shouldResolveOnEveryCheckInStrictMode() {
+    configure(HostValidator.DnsMode.STRICT, host -> true);
+
+    hostValidator.isResolvable("www.example.com");
+    hostValidator.isResolvable("www.example.com");
+
+    assertThat(lookups).hasValue(2);
+  }
+
+  @Test
+  @DisplayName("Should not resolve at all when DNS is skipped")
+  void shouldNotResolveAtAllWhenDnsIsSkipped() {
+    configure(HostValidator.DnsMode.SKIP_DNS, host -> false);
+
+    assertThat(hostValidator.isResolvable("nowhere.invalid")).isTrue();
+    assertThat(lookups).hasValue(0);
+  }
+
+  @Test
+  @DisplayName("Should treat a lookup that exceeds the timeout as unresolvable")
+  void shouldTreatALookupThatExceedsTheTimeoutAsUnresolvable() {
+    ReflectionTestUtils.setField(hostValidator, "timeoutMs", 50L);
+    CountDownLatch release = new CountDownLatch(1);
+    configure(
+        HostValidator.DnsMode.CACHED,
+        host -> {
+          try {
+            return release.await(5, TimeUnit.SECONDS);
+          } catch (InterruptedException e) {
+            return false;
+          }
+        });
+
+    long start = System.nanoTime();
+    boolean resolvable = hostValidator.isResolvable("slow.example.com");
+    long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    release.countDown();
+
+    assertThat(resolvable).isFalse();
+    assertThat(elapsedMs).isLessThan(1000);
+    assertThat(meterRegistry.counter("url.validation.dns.timeouts").count()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Should share one lookup between concurrent checks of the same host")
+  void shouldShareOneLookupBetweenConcurrentChecksOfTheSameHost() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    configure(
+        HostValidator.DnsMode.STRICT,
+        host -> {
+          try {
+            return release.await(5, TimeUnit.SECONDS);
+          } catch (InterruptedException e) {
+            return false;
+          }
+        });
+
+    ExecutorService callers = Executors.newFixedThreadPool(4);
+    try {
+      Future<Boolean> first = callers.submit(() -> hostValidator.isResolvable("www.example.com"));
+      Future<Boolean> second = callers.submit(() -> hostValidator.isResolvable("www.example.com"));
+      Thread.sleep(100);
+      release.countDown();
+
+      assertThat(first.get()).isTrue();
+      assertThat(second.get()).isTrue();
+      assertThat(lookups).hasValue(1);
+    } finally {
+      callers.shutdownNow();
+    }
+  }
+}
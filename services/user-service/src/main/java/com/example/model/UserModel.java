@@ -8,14 +8,29 @@ import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 @Entity
-@Table(name = "users")
+@Table(
+    name = "users",
+    indexes = {
+      @Index(name = "idx_users_role", columnList = "role"),
+      @Index(name = "idx_users_auth_provider", columnList = "auth_provider"),
+      @Index(name = "idx_users_created_at", columnList = "created_at"),
+      @Index(name = "idx_users_updated_at", columnList = "updated_at")
+    })
 @EntityListeners(AuditingEntityListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
 public class UserModel {
+  /** Ids are leased from {@code id_sequence} in blocks so Hibernate can batch inserts. */
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.TABLE, generator = "users_id")
+  @TableGenerator(
+      name = "users_id",
+      table = "id_sequence",
+      pkColumnName = "name",
+      valueColumnName = "last_id",
+      pkColumnValue = "users",
+      allocationSize = 50)
   private long id;
 
   @Column(name = "username", nullable = false, unique = true)
@@ -9,8 +9,15 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 public interface UserRepository extends JpaRepository<UserModel, Long> {
+  // Login, refresh and logout read the user and save it back, so they must not see a stale replica.
+  @Transactional
   Optional<UserModel> findByEmail(String email);
 
+  /** {@link #findById} on the primary, for reading back a row this request just updated. */
+  @Transactional
+  @Query("SELECT u FROM UserModel u WHERE u.id = :id")
+  Optional<UserModel> findByIdOnPrimary(@Param("id") Long id);
+
   @Modifying
   @Transactional
   @Query("UPDATE UserModel u SET u.isDeleted = true WHERE u.id = :id")
@@ -265,7 +265,7 @@ public class GrpcUserService extends UserServiceGrpc.UserServiceImplBase {
           throw Status.UNKNOWN.withDescription("Unable to login").asRuntimeException();
         }
 
-        UserModel updatedUser = userRepo.findById(existingUser.getId()).orElseThrow();
+        UserModel updatedUser = userRepo.findByIdOnPrimary(existingUser.getId()).orElseThrow();
         Instant createdAtInstant = updatedUser.getCreatedAt().atZone(ZoneOffset.UTC).toInstant();
         Instant updatedAtInstant = updatedUser.getUpdatedAt().atZone(ZoneOffset.UTC).toInstant();
 
@@ -324,7 +324,7 @@ public class GrpcUserService extends UserServiceGrpc.UserServiceImplBase {
                   savedUser.getId(), savedUser.getEmail(), savedUser.getRole());
 
           userRepo.updateRefreshTokenJti(savedUser.getId(), refreshToken.jti());
-          UserModel updatedUser = userRepo.findById(savedUser.getId()).orElseThrow();
+          UserModel updatedUser = userRepo.findByIdOnPrimary(savedUser.getId()).orElseThrow();
 
           Instant createdAtInstant = updatedUser.getCreatedAt().atZone(ZoneOffset.UTC).toInstant();
           Instant updatedAtInstant = updatedUser.getUpdatedAt().atZone(ZoneOffset.UTC).toInstant();
@@ -673,7 +673,7 @@ public class GrpcUserService extends UserServiceGrpc.UserServiceImplBase {
 
       UserModel user =
           userRepo
-              .findById(id)
+              .findByIdOnPrimary(id)
               .orElseThrow(
                   () ->
                       Status.NOT_FOUND.withDescription("Unable to find user").asRuntimeException());
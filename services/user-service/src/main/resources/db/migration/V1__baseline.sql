@@ -0,0 +1,19 @@
+-- Schema as previously created by Hibernate's ddl-auto=update. IF NOT EXISTS lets this run as a
+-- no-op against databases that already have it.
+
+CREATE TABLE IF NOT EXISTS users (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    username VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    password VARCHAR(255),
+    role VARCHAR(255) NOT NULL,
+    google_id VARCHAR(255),
+    auth_provider VARCHAR(255),
+    refresh_token_jti VARCHAR(255),
+    is_deleted BIT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
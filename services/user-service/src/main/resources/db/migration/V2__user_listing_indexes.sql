@@ -0,0 +1,8 @@
+-- One index per sortBy accepted by GetAllUsers. username and email are covered by their unique
+-- constraints and id by the primary key, which InnoDB also appends to each index below as the
+-- tie-break.
+
+CREATE INDEX idx_users_role ON users (role);
+CREATE INDEX idx_users_auth_provider ON users (auth_provider);
+CREATE INDEX idx_users_created_at ON users (created_at);
+CREATE INDEX idx_users_updated_at ON users (updated_at);
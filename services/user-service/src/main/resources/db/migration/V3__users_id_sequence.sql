@@ -0,0 +1,12 @@
+-- User ids are now allocated by Hibernate in blocks from id_sequence (pooled-lo, last id stored)
+-- instead of AUTO_INCREMENT, so inserts can be batched. The sequence starts after the highest
+-- existing id. The table is shared with the other services, each owning its own row. Versions that
+-- still insert through AUTO_INCREMENT must not run alongside this one.
+
+CREATE TABLE IF NOT EXISTS id_sequence (
+    name VARCHAR(64) NOT NULL,
+    last_id BIGINT NOT NULL,
+    PRIMARY KEY (name)
+);
+
+INSERT INTO id_sequence (name, last_id) SELECT 'users', COALESCE(MAX(id), 0) FROM users;